@@ -11,6 +11,9 @@
 
 package org.kitodo.api.command;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
 public interface CommandInterface {
 
     /**
@@ -21,4 +24,23 @@ public interface CommandInterface {
      * @return A commandResult, which contains id and result messages.
      */
     CommandResult runCommand(String command);
+
+    /**
+     * Runs a given command in the background. The number of commands of the
+     * same class running at the same time is limited; further commands wait.
+     * If the command exceeds its timeout, it is killed together with all
+     * processes it started. Cancelling the future kills the command as well.
+     *
+     * @param command
+     *            The command as a String.
+     * @param commandClass
+     *            The class of the command, for example “task” or
+     *            “condition”. Limits and timeouts can be configured per class.
+     * @param timeout
+     *            The time after which the command is killed. If
+     *            {@code null}, the timeout configured for the class is used.
+     * @return A future for the commandResult, which contains id and result
+     *         messages.
+     */
+    CompletableFuture<CommandResult> runCommandAsync(String command, String commandClass, Duration timeout);
 }
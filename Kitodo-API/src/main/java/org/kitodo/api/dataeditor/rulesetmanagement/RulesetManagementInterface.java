@@ -136,6 +136,17 @@ public interface RulesetManagementInterface {
      */
     void load(File rulesetFile) throws IOException;
 
+    /**
+     * Returns whether none of the files read when loading the ruleset has
+     * been changed since. A loaded ruleset which is up to date can be shared
+     * instead of being loaded again.
+     *
+     * @return whether the loaded ruleset is up to date
+     */
+    default boolean isUpToDate() {
+        return false;
+    }
+
     /**
      * Returns the “always showing” value or otherwise the default value if the
      * attribute is not set.
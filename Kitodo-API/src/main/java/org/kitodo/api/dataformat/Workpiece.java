@@ -17,6 +17,7 @@ import java.util.Comparator;
 import java.util.GregorianCalendar;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -51,6 +52,12 @@ public class Workpiece {
      */
     private LogicalDivision logicalStructure = new LogicalDivision();
 
+    /**
+     * The index over the structure, if it was created and not invalidated
+     * since.
+     */
+    private WorkpieceIndex index;
+
     /**
      * Returns the creation date of the workpiece.
      *
@@ -124,6 +131,7 @@ public class Workpiece {
      */
     public void setPhysicalStructure(PhysicalDivision physicalStructure) {
         this.physicalStructure = physicalStructure;
+        this.index = null;
     }
 
     /**
@@ -134,6 +142,39 @@ public class Workpiece {
      */
     public void setLogicalStructure(LogicalDivision logicalStructure) {
         this.logicalStructure = logicalStructure;
+        this.index = null;
+    }
+
+    /**
+     * Returns the index over the structure of the workpiece. The index is
+     * created on first use and kept until it is invalidated.
+     *
+     * @return the index
+     */
+    public WorkpieceIndex getIndex() {
+        if (Objects.isNull(index)) {
+            index = new WorkpieceIndex(this);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the index over the structure of the workpiece, if it has been
+     * created. Use this to keep the index up to date without creating it.
+     *
+     * @return the index, if it has been created
+     */
+    public Optional<WorkpieceIndex> getIndexIfCreated() {
+        return Optional.ofNullable(index);
+    }
+
+    /**
+     * Drops the index over the structure of the workpiece. This must be called
+     * after divisions were added, removed, moved or renumbered, so that the
+     * index is created again on next use.
+     */
+    public void invalidateIndex() {
+        this.index = null;
     }
 
     @Override
@@ -0,0 +1,255 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.api.dataformat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An index over the structure of a workpiece. It answers lookups that
+ * otherwise need a walk through the structure trees: physical divisions by
+ * their ID, the parent of a division, the views showing a physical division
+ * and the logical divisions they belong to, and the pages and tracks in their
+ * order.
+ *
+ * <p>
+ * The index is obtained from {@link Workpiece#getIndex()}. Divisions are
+ * looked up by identity, since they compare their whole subtree in
+ * {@code equals()}. Assigning and unassigning views is maintained by
+ * {@link #addView(LogicalDivision, View)} and
+ * {@link #removeView(LogicalDivision, View)}. After any other change to the
+ * structure, the index must be dropped with {@link Workpiece#invalidateIndex()}.
+ */
+public class WorkpieceIndex {
+    private final Map<String, PhysicalDivision> physicalDivisionsById = new HashMap<>();
+    private final Map<LogicalDivision, LogicalDivision> logicalParents = new IdentityHashMap<>();
+    private final Map<PhysicalDivision, PhysicalDivision> physicalParents = new IdentityHashMap<>();
+    private final Map<PhysicalDivision, List<Assignment>> assignments = new IdentityHashMap<>();
+    private final List<PhysicalDivision> pages;
+    private final Map<PhysicalDivision, Integer> pagePositions = new IdentityHashMap<>();
+    private final Map<Integer, PhysicalDivision> pagesByOrder = new HashMap<>();
+
+    /**
+     * Creates the index of a workpiece.
+     *
+     * @param workpiece
+     *            workpiece to index
+     */
+    WorkpieceIndex(Workpiece workpiece) {
+        indexPhysicalDivisions(workpiece.getPhysicalStructure(), null);
+        indexLogicalDivisions(workpiece.getLogicalStructure(), null);
+        pages = workpiece.getAllPhysicalDivisionChildrenSortedFilteredByPageAndTrack();
+        for (int position = 0; position < pages.size(); position++) {
+            PhysicalDivision page = pages.get(position);
+            pagePositions.put(page, position);
+            pagesByOrder.putIfAbsent(page.getOrder(), page);
+        }
+    }
+
+    private void indexPhysicalDivisions(PhysicalDivision physicalDivision, PhysicalDivision parent) {
+        physicalParents.put(physicalDivision, parent);
+        physicalDivisionsById.putIfAbsent(physicalDivision.getDivId(), physicalDivision);
+        for (PhysicalDivision child : physicalDivision.getChildren()) {
+            indexPhysicalDivisions(child, physicalDivision);
+        }
+    }
+
+    private void indexLogicalDivisions(LogicalDivision logicalDivision, LogicalDivision parent) {
+        logicalParents.put(logicalDivision, parent);
+        for (View view : logicalDivision.getViews()) {
+            addView(logicalDivision, view);
+        }
+        for (LogicalDivision child : logicalDivision.getChildren()) {
+            indexLogicalDivisions(child, logicalDivision);
+        }
+    }
+
+    /**
+     * Returns the physical division with the given ID.
+     *
+     * @param divId
+     *            ID of the physical division
+     * @return the physical division, or {@code null} if there is none
+     */
+    public PhysicalDivision getPhysicalDivision(String divId) {
+        return physicalDivisionsById.get(divId);
+    }
+
+    /**
+     * Returns whether the physical division is part of the physical structure.
+     *
+     * @param physicalDivision
+     *            physical division to check
+     * @return whether the physical division is part of the physical structure
+     */
+    public boolean contains(PhysicalDivision physicalDivision) {
+        return physicalParents.containsKey(physicalDivision);
+    }
+
+    /**
+     * Returns the parent of a logical division.
+     *
+     * @param logicalDivision
+     *            logical division whose parent is searched
+     * @return the parent, or {@code null} for the root, or if the division is
+     *         not part of the logical structure
+     */
+    public LogicalDivision getParent(LogicalDivision logicalDivision) {
+        return logicalParents.get(logicalDivision);
+    }
+
+    /**
+     * Returns the parent of a physical division.
+     *
+     * @param physicalDivision
+     *            physical division whose parent is searched
+     * @return the parent, or {@code null} for the root, or if the division is
+     *         not part of the physical structure
+     */
+    public PhysicalDivision getParent(PhysicalDivision physicalDivision) {
+        return physicalParents.get(physicalDivision);
+    }
+
+    /**
+     * Returns the ancestors of a logical division, starting with the root.
+     *
+     * @param logicalDivision
+     *            logical division whose ancestors are searched
+     * @return the ancestors, empty for the root, or if the division is not
+     *         part of the logical structure
+     */
+    public LinkedList<LogicalDivision> getAncestors(LogicalDivision logicalDivision) {
+        LinkedList<LogicalDivision> ancestors = new LinkedList<>();
+        for (LogicalDivision parent = logicalParents.get(logicalDivision); Objects.nonNull(parent);
+                parent = logicalParents.get(parent)) {
+            ancestors.addFirst(parent);
+        }
+        return ancestors;
+    }
+
+    /**
+     * Returns the views showing a physical division.
+     *
+     * @param physicalDivision
+     *            physical division whose views are searched
+     * @return the views
+     */
+    public List<View> getViews(PhysicalDivision physicalDivision) {
+        List<View> views = new ArrayList<>();
+        for (Assignment assignment : assignments.getOrDefault(physicalDivision, Collections.emptyList())) {
+            views.add(assignment.view);
+        }
+        return views;
+    }
+
+    /**
+     * Returns the logical divisions a physical division is assigned to.
+     *
+     * @param physicalDivision
+     *            physical division whose logical divisions are searched
+     * @return the logical divisions
+     */
+    public List<LogicalDivision> getLogicalDivisions(PhysicalDivision physicalDivision) {
+        List<LogicalDivision> logicalDivisions = new ArrayList<>();
+        for (Assignment assignment : assignments.getOrDefault(physicalDivision, Collections.emptyList())) {
+            logicalDivisions.add(assignment.logicalDivision);
+        }
+        return logicalDivisions;
+    }
+
+    /**
+     * Returns the physical divisions of type “page” or “track”, sorted by
+     * their {@code order}. This is the list returned by
+     * {@link Workpiece#getAllPhysicalDivisionChildrenSortedFilteredByPageAndTrack()}
+     * when the index was created.
+     *
+     * @return the pages and tracks as an unmodifiable list
+     */
+    public List<PhysicalDivision> getPages() {
+        return Collections.unmodifiableList(pages);
+    }
+
+    /**
+     * Returns the position of a page or track in {@link #getPages()}.
+     *
+     * @param physicalDivision
+     *            page or track whose position is searched
+     * @return the position, or -1 if it is not a page or track of the
+     *         workpiece
+     */
+    public int getPagePosition(PhysicalDivision physicalDivision) {
+        return pagePositions.getOrDefault(physicalDivision, -1);
+    }
+
+    /**
+     * Returns the page or track with the given {@code order}.
+     *
+     * @param order
+     *            order of the page or track
+     * @return the first page or track with the order, or {@code null} if there
+     *         is none
+     */
+    public PhysicalDivision getPageByOrder(int order) {
+        return pagesByOrder.get(order);
+    }
+
+    /**
+     * Records that a view was added to a logical division.
+     *
+     * @param logicalDivision
+     *            logical division the view was added to
+     * @param view
+     *            view added
+     */
+    public void addView(LogicalDivision logicalDivision, View view) {
+        if (Objects.nonNull(view.getPhysicalDivision())) {
+            assignments.computeIfAbsent(view.getPhysicalDivision(), physicalDivision -> new ArrayList<>(1))
+                    .add(new Assignment(logicalDivision, view));
+        }
+    }
+
+    /**
+     * Records that a view was removed from a logical division.
+     *
+     * @param logicalDivision
+     *            logical division the view was removed from
+     * @param view
+     *            view removed
+     */
+    public void removeView(LogicalDivision logicalDivision, View view) {
+        List<Assignment> viewAssignments = assignments.get(view.getPhysicalDivision());
+        if (Objects.nonNull(viewAssignments)) {
+            for (int i = viewAssignments.size() - 1; i >= 0; i--) {
+                if (viewAssignments.get(i).logicalDivision == logicalDivision) {
+                    viewAssignments.remove(i);
+                    break;
+                }
+            }
+        }
+    }
+
+    private static final class Assignment {
+        private final LogicalDivision logicalDivision;
+        private final View view;
+
+        private Assignment(LogicalDivision logicalDivision, View view) {
+            this.logicalDivision = logicalDivision;
+            this.view = view;
+        }
+    }
+}
@@ -11,6 +11,7 @@
 
 package org.kitodo.api.externaldatamanagement;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -37,6 +38,25 @@ public interface ExternalDataImportInterface {
      */
     DataRecord getFullRecordById(DataImport dataImport, String identifier) throws NoRecordFoundException;
 
+    /**
+     * Get the full records with the given IDs from the catalog. Implementations
+     * may retrieve the records concurrently.
+     *
+     * @param dataImport
+     *            DataImport object encapsulating all information required to perform the import
+     * @param identifiers
+     *            The IDs of the records that will be imported.
+     * @return The queried records, in the order of the IDs.
+     */
+    default List<DataRecord> getFullRecordsById(DataImport dataImport, List<String> identifiers)
+            throws NoRecordFoundException {
+        List<DataRecord> records = new ArrayList<>(identifiers.size());
+        for (String identifier : identifiers) {
+            records.add(getFullRecordById(dataImport, identifier));
+        }
+        return records;
+    }
+
     /**
      * Get a list of full records from the query constructed by the given search parameters.
      *
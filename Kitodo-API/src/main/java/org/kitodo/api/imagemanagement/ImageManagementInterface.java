@@ -14,6 +14,10 @@ package org.kitodo.api.imagemanagement;
 import java.awt.Image;
 import java.io.IOException;
 import java.net.URI;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.commons.lang3.tuple.Pair;
 
 public interface ImageManagementInterface {
 
@@ -50,6 +54,30 @@ public interface ImageManagementInterface {
     boolean createDerivative(URI imageFileUri, double percent, URI resultFileUri, ImageFileFormat resultFileFormat)
             throws IOException;
 
+    /**
+     * Creates several derivatives for an image at a given path. An
+     * implementation may read the image only once for all derivatives.
+     *
+     * @param imageFileUri
+     *            the URI to the image
+     * @param derivatives
+     *            the URIs to save the derivatives to, mapped to the percentage
+     *            of scaling and the format for each derivative
+     * @return true, if all derivatives were created, false otherwise
+     * @throws IOException
+     *             if the plug-in is configured incorrectly, the image is
+     *             missing or corrupted, etc.
+     */
+    default boolean createDerivatives(URI imageFileUri, Map<URI, Pair<Double, ImageFileFormat>> derivatives)
+            throws IOException {
+        boolean created = true;
+        for (Entry<URI, Pair<Double, ImageFileFormat>> derivative : derivatives.entrySet()) {
+            created &= createDerivative(imageFileUri, derivative.getValue().getKey(), derivative.getKey(),
+                derivative.getValue().getValue());
+        }
+        return created;
+    }
+
     /**
      * Changes the size (in pixel) of the image.
      *
@@ -12,6 +12,9 @@
 package org.kitodo.api.validation.longtermpreservation;
 
 import java.net.URI;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.kitodo.api.validation.ValidationInterface;
 import org.kitodo.api.validation.ValidationResult;
@@ -30,4 +33,21 @@ public interface LongTermPreservationValidationInterface extends ValidationInter
      */
     ValidationResult validate(URI fileUri, FileType fileType);
 
+    /**
+     * Validates several files of the same type for long-term preservation.
+     * Implementations may validate the files concurrently.
+     *
+     * @param fileUris
+     *            The uris to the images, which should be validated.
+     * @param fileType
+     *            The fileType of the images at the given paths.
+     * @return the validation results, in the order of the uris
+     */
+    default Map<URI, ValidationResult> validate(Collection<URI> fileUris, FileType fileType) {
+        Map<URI, ValidationResult> validationResults = new LinkedHashMap<>();
+        for (URI fileUri : fileUris) {
+            validationResults.put(fileUri, validate(fileUri, fileType));
+        }
+        return validationResults;
+    }
 }
@@ -0,0 +1,155 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.security;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * The authorities of an authentication, compiled for fast checks. Each
+ * authority title is given a number, and the authorities are kept as bit sets:
+ * one for the global authorities, one for the client authorities of any client,
+ * and one per client. Checking an authority does not create any objects. An
+ * index is immutable; it is compiled again when the authorities change.
+ */
+public final class AuthorityIndex {
+
+    private static final String GLOBAL_SUFFIX = "_GLOBAL";
+    private static final String CLIENT_INFIX = "_CLIENT_";
+    private static final String ANY_CLIENT = "ANY";
+
+    /**
+     * Numbers of the authority titles, shared by all indexes. There is only a
+     * limited number of authority titles.
+     */
+    private static final Map<String, Integer> authorityNumbers = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextAuthorityNumber = new AtomicInteger();
+
+    private final Collection<? extends GrantedAuthority> source;
+    private final BitSet global = new BitSet();
+    private final BitSet anyClient = new BitSet();
+    private final int[] clientIds;
+    private final BitSet[] clientAuthorities;
+
+    private AuthorityIndex(Collection<? extends GrantedAuthority> authorities) {
+        this.source = authorities;
+        Map<Integer, BitSet> authoritiesByClient = new TreeMap<>();
+        for (GrantedAuthority grantedAuthority : authorities) {
+            String authority = grantedAuthority.getAuthority();
+            if (Objects.isNull(authority)) {
+                continue;
+            }
+            if (authority.endsWith(GLOBAL_SUFFIX)) {
+                global.set(numberOf(authority.substring(0, authority.length() - GLOBAL_SUFFIX.length())));
+                continue;
+            }
+            int infix = authority.lastIndexOf(CLIENT_INFIX);
+            if (infix < 0) {
+                continue;
+            }
+            int number = numberOf(authority.substring(0, infix));
+            String client = authority.substring(infix + CLIENT_INFIX.length());
+            if (ANY_CLIENT.equals(client)) {
+                anyClient.set(number);
+            } else {
+                try {
+                    authoritiesByClient.computeIfAbsent(Integer.valueOf(client), clientId -> new BitSet())
+                            .set(number);
+                } catch (NumberFormatException e) {
+                    // not a client authority
+                }
+            }
+        }
+        clientIds = authoritiesByClient.keySet().stream().mapToInt(Integer::intValue).toArray();
+        clientAuthorities = authoritiesByClient.values().toArray(new BitSet[0]);
+    }
+
+    /**
+     * Compiles the given authorities.
+     *
+     * @param authorities
+     *            authorities of an authentication, as given by
+     *            {@code SecurityUserDetails}
+     * @return the compiled authorities
+     */
+    public static AuthorityIndex compile(Collection<? extends GrantedAuthority> authorities) {
+        return new AuthorityIndex(Objects.nonNull(authorities) ? authorities : Collections.emptyList());
+    }
+
+    private static int numberOf(String authorityTitle) {
+        return authorityNumbers.computeIfAbsent(authorityTitle, unused -> nextAuthorityNumber.getAndIncrement());
+    }
+
+    /**
+     * Returns whether this index was compiled from the given collection of
+     * authorities. As the authorities of an authentication cannot be changed,
+     * a different collection means a different authentication.
+     *
+     * @param authorities
+     *            authorities of an authentication
+     * @return whether the index was compiled from them
+     */
+    public boolean isCompiledFrom(Collection<? extends GrantedAuthority> authorities) {
+        return source == authorities;
+    }
+
+    /**
+     * Checks whether the authority is granted globally.
+     *
+     * @param authorityTitle
+     *            title of the authority
+     * @return whether the authority is granted globally
+     */
+    public boolean hasAuthorityGlobal(String authorityTitle) {
+        Integer number = authorityNumbers.get(authorityTitle);
+        return Objects.nonNull(number) && global.get(number);
+    }
+
+    /**
+     * Checks whether the authority is granted for a client.
+     *
+     * @param authorityTitle
+     *            title of the authority
+     * @param clientId
+     *            ID of the client
+     * @return whether the authority is granted for the client
+     */
+    public boolean hasAuthorityForClient(String authorityTitle, int clientId) {
+        Integer number = authorityNumbers.get(authorityTitle);
+        if (Objects.isNull(number)) {
+            return false;
+        }
+        int client = Arrays.binarySearch(clientIds, clientId);
+        return client >= 0 && clientAuthorities[client].get(number);
+    }
+
+    /**
+     * Checks whether the authority is granted for any client.
+     *
+     * @param authorityTitle
+     *            title of the authority
+     * @return whether the authority is granted for at least one client
+     */
+    public boolean hasAuthorityForAnyClient(String authorityTitle) {
+        Integer number = authorityNumbers.get(authorityTitle);
+        return Objects.nonNull(number) && anyClient.get(number);
+    }
+}
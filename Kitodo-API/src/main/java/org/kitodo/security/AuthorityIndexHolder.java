@@ -0,0 +1,34 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.security;
+
+/**
+ * A principal that keeps the compiled authorities of its authentication, so
+ * that they are compiled only once per session and not on every check.
+ */
+public interface AuthorityIndexHolder {
+
+    /**
+     * Returns the compiled authorities.
+     *
+     * @return the compiled authorities, or {@code null} if not yet compiled
+     */
+    AuthorityIndex getAuthorityIndex();
+
+    /**
+     * Sets the compiled authorities.
+     *
+     * @param authorityIndex
+     *            the compiled authorities
+     */
+    void setAuthorityIndex(AuthorityIndex authorityIndex);
+}
@@ -11,13 +11,13 @@
 
 package org.kitodo.security;
 
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 /**
@@ -26,16 +26,38 @@ import org.springframework.security.core.context.SecurityContextHolder;
  */
 public abstract class SecurityAccess {
 
-    private static final String GLOBAL_IDENTIFIER = "GLOBAL";
-    private static final String CLIENT_IDENTIFIER = "CLIENT";
+    private static final AuthorityIndex NO_AUTHORITIES = AuthorityIndex.compile(null);
 
-    private Collection<? extends GrantedAuthority> getAuthoritiesOfCurrentAuthentication() {
+    /**
+     * Authority titles of the comma separated lists passed to the
+     * {@code hasAny...} methods. The lists are given in the views, so there is
+     * only a limited number of them.
+     */
+    private static final Map<String, String[]> authorityTitleLists = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the compiled authorities of the current authentication. If the
+     * principal can keep them, they are compiled only once per
+     * authentication.
+     *
+     * @return the compiled authorities
+     */
+    protected AuthorityIndex getAuthorityIndex() {
         Authentication authentication = getCurrentAuthentication();
-        if (Objects.nonNull(authentication)) {
-            return authentication.getAuthorities();
-        } else {
-            return new ArrayList<>();
+        if (Objects.isNull(authentication)) {
+            return NO_AUTHORITIES;
+        }
+        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
+        if (!(authentication.getPrincipal() instanceof AuthorityIndexHolder)) {
+            return AuthorityIndex.compile(authorities);
+        }
+        AuthorityIndexHolder holder = (AuthorityIndexHolder) authentication.getPrincipal();
+        AuthorityIndex authorityIndex = holder.getAuthorityIndex();
+        if (Objects.isNull(authorityIndex) || !authorityIndex.isCompiledFrom(authorities)) {
+            authorityIndex = AuthorityIndex.compile(authorities);
+            holder.setAuthorityIndex(authorityIndex);
         }
+        return authorityIndex;
     }
 
     /**
@@ -54,7 +76,7 @@ public abstract class SecurityAccess {
      * @return true if the current user has the specified authority
      */
     public boolean hasAuthorityGlobal(String authorityTitle) {
-        return hasAuthority(authorityTitle + "_" + GLOBAL_IDENTIFIER);
+        return getAuthorityIndex().hasAuthorityGlobal(authorityTitle);
     }
 
     /**
@@ -65,8 +87,7 @@ public abstract class SecurityAccess {
      * @return true if the current user has the specified authority
      */
     public boolean hasAuthorityForClient(String authorityTitle) {
-        String clientAuthority = authorityTitle + "_" + CLIENT_IDENTIFIER + "_" + getClientId();
-        return hasAuthority(clientAuthority);
+        return getAuthorityIndex().hasAuthorityForClient(authorityTitle, getClientId());
     }
 
     /**
@@ -77,7 +98,9 @@ public abstract class SecurityAccess {
      * @return true if the current user has the specified authority
      */
     public boolean hasAuthorityGlobalOrForClient(String authorityTitle) {
-        return hasAuthorityGlobal(authorityTitle) || hasAuthorityForClient(authorityTitle);
+        AuthorityIndex authorityIndex = getAuthorityIndex();
+        return authorityIndex.hasAuthorityGlobal(authorityTitle)
+                || authorityIndex.hasAuthorityForClient(authorityTitle, getClientId());
     }
 
     /**
@@ -139,14 +162,8 @@ public abstract class SecurityAccess {
         return SecurityContextHolder.getContext().getAuthentication();
     }
 
-    private boolean hasAuthority(String authorityTitle) {
-        SimpleGrantedAuthority authority = new SimpleGrantedAuthority(authorityTitle);
-        Collection<? extends GrantedAuthority> authorities = getAuthoritiesOfCurrentAuthentication();
-        return authorities.contains(authority);
-    }
-
     private String[] getStringArray(String values) {
         // remove white spaces and split values
-        return values.replaceAll("\\s+", "").split(",");
+        return authorityTitleLists.computeIfAbsent(values, unused -> values.replaceAll("\\s+", "").split(","));
     }
 }
@@ -0,0 +1,80 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.api.dataformat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+public class WorkpieceIndexTest {
+
+    @Test
+    public void shouldIndexStructure() {
+        Workpiece workpiece = new Workpiece();
+        PhysicalDivision secondPage = addPage(workpiece, 2);
+        PhysicalDivision firstPage = addPage(workpiece, 1);
+        LogicalDivision chapter = new LogicalDivision();
+        workpiece.getLogicalStructure().getChildren().add(chapter);
+        View view = View.of(firstPage);
+        chapter.getViews().add(view);
+
+        WorkpieceIndex index = workpiece.getIndex();
+        assertEquals(Arrays.asList(firstPage, secondPage), index.getPages(), "Pages are not in order");
+        assertThrows(UnsupportedOperationException.class, () -> index.getPages().clear(),
+            "Pages of the index can be modified");
+        assertEquals(1, index.getPagePosition(secondPage), "Wrong position of page");
+        assertSame(secondPage, index.getPageByOrder(2), "Wrong page for order");
+        assertSame(firstPage, index.getPhysicalDivision(firstPage.getDivId()), "Wrong page for ID");
+        assertSame(workpiece.getPhysicalStructure(), index.getParent(firstPage), "Wrong parent of page");
+        assertEquals(Collections.singletonList(workpiece.getLogicalStructure()), index.getAncestors(chapter),
+            "Wrong ancestors of chapter");
+        assertEquals(Collections.singletonList(chapter), index.getLogicalDivisions(firstPage),
+            "Wrong logical divisions of page");
+        assertTrue(index.getViews(secondPage).isEmpty(), "Unassigned page has views");
+    }
+
+    @Test
+    public void shouldMaintainAssignedViews() {
+        Workpiece workpiece = new Workpiece();
+        PhysicalDivision page = addPage(workpiece, 1);
+        LogicalDivision chapter = new LogicalDivision();
+        workpiece.getLogicalStructure().getChildren().add(chapter);
+        WorkpieceIndex index = workpiece.getIndex();
+
+        View view = View.of(page);
+        chapter.getViews().add(view);
+        workpiece.getIndexIfCreated().ifPresent(created -> created.addView(chapter, view));
+        assertEquals(Collections.singletonList(view), index.getViews(page), "Added view is missing");
+
+        chapter.getViews().remove(view);
+        index.removeView(chapter, view);
+        assertTrue(index.getLogicalDivisions(page).isEmpty(), "Removed view is still indexed");
+
+        workpiece.invalidateIndex();
+        assertNotSame(index, workpiece.getIndex(), "Invalidated index is still used");
+    }
+
+    private static PhysicalDivision addPage(Workpiece workpiece, int order) {
+        PhysicalDivision page = new PhysicalDivision();
+        page.setType(PhysicalDivision.TYPE_PAGE);
+        page.setOrder(order);
+        workpiece.getPhysicalStructure().getChildren().add(page);
+        return page;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+public class AuthorityIndexTest {
+
+    private static final List<GrantedAuthority> AUTHORITIES = Arrays.asList(
+        new SimpleGrantedAuthority("viewAllClients_GLOBAL"),
+        new SimpleGrantedAuthority("editProcess_CLIENT_ANY"),
+        new SimpleGrantedAuthority("editProcess_CLIENT_1"),
+        new SimpleGrantedAuthority("viewAllBatches_CLIENT_1"),
+        new SimpleGrantedAuthority("viewAllBatches_CLIENT_200"));
+
+    @Test
+    public void shouldCheckGlobalAuthorities() {
+        AuthorityIndex authorityIndex = AuthorityIndex.compile(AUTHORITIES);
+        assertTrue(authorityIndex.hasAuthorityGlobal("viewAllClients"), "Global authority should be granted");
+        assertFalse(authorityIndex.hasAuthorityGlobal("editProcess"), "Client authority should not be global");
+        assertFalse(authorityIndex.hasAuthorityGlobal("unknownAuthority"), "Unknown authority should not be granted");
+    }
+
+    @Test
+    public void shouldCheckClientAuthorities() {
+        AuthorityIndex authorityIndex = AuthorityIndex.compile(AUTHORITIES);
+        assertTrue(authorityIndex.hasAuthorityForClient("editProcess", 1), "Authority should be granted for client");
+        assertFalse(authorityIndex.hasAuthorityForClient("editProcess", 200),
+            "Authority should not be granted for other client");
+        assertTrue(authorityIndex.hasAuthorityForClient("viewAllBatches", 200),
+            "Authority should be granted for second client");
+        assertFalse(authorityIndex.hasAuthorityForClient("viewAllClients", 1),
+            "Global authority should not be granted for client");
+        assertTrue(authorityIndex.hasAuthorityForAnyClient("editProcess"), "Authority should be granted for any client");
+    }
+
+    @Test
+    public void shouldRecognizeSourceAuthorities() {
+        AuthorityIndex authorityIndex = AuthorityIndex.compile(AUTHORITIES);
+        assertTrue(authorityIndex.isCompiledFrom(AUTHORITIES), "Index should be compiled from its authorities");
+        assertFalse(authorityIndex.isCompiledFrom(Collections.emptyList()),
+            "Index should not be compiled from other authorities");
+        assertFalse(AuthorityIndex.compile(null).hasAuthorityGlobal("viewAllClients"),
+            "Empty index should not grant authorities");
+    }
+}
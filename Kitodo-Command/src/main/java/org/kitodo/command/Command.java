@@ -11,23 +11,14 @@
 
 package org.kitodo.command;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Scanner;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 import org.kitodo.api.command.CommandInterface;
 import org.kitodo.api.command.CommandResult;
 
 public class Command implements CommandInterface {
 
-    private static final Logger logger = LogManager.getLogger(Command.class);
-    private static final String CHARSET = "UTF-8";
-
     /**
      * Method executes a script.
      *
@@ -37,62 +28,22 @@ public class Command implements CommandInterface {
      */
     @Override
     public CommandResult runCommand(String command) {
-        CommandResult commandResult;
-        Process process;
-        String[] callSequence = command.split("[\\r\\n\\s]+");
-
-        try {
-            process = new ProcessBuilder(callSequence).start();
-            try (InputStream inputStream = process.getInputStream();
-                    InputStream errorInputStream = process.getErrorStream()) {
-                List<String> outputMessage = inputStreamArrayToList(inputStream);
-                List<String> errorMessage = inputStreamArrayToList(errorInputStream);
-                int errCode = process.waitFor();
-
-                outputMessage.addAll(errorMessage);
-
-                commandResult = new CommandResult(command, errCode == 0, outputMessage);
-                if (commandResult.isSuccessful()) {
-                    logger.info("Execution of Command {} was successful!: {}",
-                        commandResult.getCommand(), commandResult.getMessages());
-                } else {
-                    logger.error("Execution of Command {} failed!: {}",
-                        commandResult.getCommand(), commandResult.getMessages());
-                }
-            }
-        } catch (InterruptedException e) {
-            commandResult = new CommandResult(command, false, Collections.singletonList(e.getMessage()));
-            logger.error("Execution of Command Thread was interrupted!");
-            Thread.currentThread().interrupt();
-            return commandResult;
-        } catch (IOException e) {
-            List<String> errorMessages = new ArrayList<>();
-            errorMessages.add(e.getCause().toString());
-            errorMessages.add(e.getMessage());
-            commandResult = new CommandResult(command, false, errorMessages);
-            logger.error("Execution of Command {} failed!: {}", commandResult.getCommand(),
-                commandResult.getMessages());
-            return commandResult;
-        }
-        return commandResult;
+        return CommandExecutor.getInstance().run(command, CommandExecutor.DEFAULT_CLASS, null, null);
     }
 
     /**
-     * The method reads an InputStream and returns it as a ArrayList.
+     * Method executes a script in the background.
      *
-     * @param inputStream
-     *            The Stream to convert.
-     * @return A ArrayList holding the single lines.
+     * @param command
+     *            The command as a String.
+     * @param commandClass
+     *            The class of the command.
+     * @param timeout
+     *            The timeout, or {@code null} for the timeout of the class.
+     * @return A future for the command result.
      */
-    private static ArrayList<String> inputStreamArrayToList(InputStream inputStream) {
-        ArrayList<String> list = new ArrayList<>();
-
-        try (Scanner inputLines = new Scanner(inputStream, CHARSET)) {
-            while (inputLines.hasNextLine()) {
-                String myLine = inputLines.nextLine();
-                list.add(myLine);
-            }
-        }
-        return list;
+    @Override
+    public CompletableFuture<CommandResult> runCommandAsync(String command, String commandClass, Duration timeout) {
+        return CommandExecutor.getInstance().submit(command, commandClass, timeout);
     }
 }
@@ -0,0 +1,408 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.command;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.api.command.CommandResult;
+import org.kitodo.config.KitodoConfig;
+import org.kitodo.config.enums.ParameterCommand;
+
+/**
+ * Runs commands as operating system processes. Standard output and standard
+ * error are read concurrently, so that a command cannot block on a full pipe,
+ * and only the last lines of each are kept. Commands are grouped into classes.
+ * The number of commands of a class running at the same time can be limited,
+ * and each class can have a timeout after which a command is killed together
+ * with all processes it started. Classes without a configured limit run their
+ * commands at once, as before. Run times are recorded per class.
+ */
+class CommandExecutor {
+    private static final Logger logger = LogManager.getLogger(CommandExecutor.class);
+
+    /**
+     * Class of commands run without naming a class.
+     */
+    static final String DEFAULT_CLASS = "default";
+
+    private static final int DEFAULT_MAX_OUTPUT_LINES = 1000;
+
+    private static volatile CommandExecutor instance = null;
+
+    private final ExecutorService executor;
+    private final Map<String, CommandClass> commandClasses = new ConcurrentHashMap<>();
+    private final int defaultMaxParallel;
+    private final long defaultTimeoutSecs;
+    private final int maxOutputLines;
+
+    /**
+     * Return singleton variable of type CommandExecutor.
+     *
+     * @return unique instance of CommandExecutor
+     */
+    static CommandExecutor getInstance() {
+        CommandExecutor localReference = instance;
+        if (Objects.isNull(localReference)) {
+            synchronized (CommandExecutor.class) {
+                localReference = instance;
+                if (Objects.isNull(localReference)) {
+                    localReference = new CommandExecutor(
+                            KitodoConfig.getIntParameter(ParameterCommand.MAX_PARALLEL, 0),
+                            KitodoConfig.getIntParameter(ParameterCommand.TIMEOUT_SEC, 0),
+                            KitodoConfig.getIntParameter(ParameterCommand.MAX_OUTPUT_LINES, DEFAULT_MAX_OUTPUT_LINES));
+                    instance = localReference;
+                }
+            }
+        }
+        return localReference;
+    }
+
+    /**
+     * Creates a new command executor.
+     *
+     * @param defaultMaxParallel
+     *            number of commands of a class running at the same time, if
+     *            not configured for the class. 0 means no limit.
+     * @param defaultTimeoutSecs
+     *            timeout of a command in seconds, if not configured for the
+     *            class. 0 means no timeout.
+     * @param maxOutputLines
+     *            number of lines of standard output and standard error kept
+     */
+    CommandExecutor(int defaultMaxParallel, long defaultTimeoutSecs, int maxOutputLines) {
+        this.defaultMaxParallel = Math.max(0, defaultMaxParallel);
+        this.defaultTimeoutSecs = Math.max(0, defaultTimeoutSecs);
+        this.maxOutputLines = Math.max(1, maxOutputLines);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "command-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs a command in the background.
+     *
+     * @param command
+     *            command to run
+     * @param commandClass
+     *            class of the command
+     * @param timeout
+     *            timeout of the command, {@code null} to use the timeout of
+     *            the class
+     * @return a future for the command result. Cancelling the future kills the
+     *         command.
+     */
+    CompletableFuture<CommandResult> submit(String command, String commandClass, Duration timeout) {
+        CompletableFuture<CommandResult> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(run(command, commandClass, timeout, future));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Runs a command in the calling thread. Interrupting the thread kills the
+     * command.
+     *
+     * @param command
+     *            command to run
+     * @param commandClass
+     *            class of the command
+     * @param timeout
+     *            timeout of the command, {@code null} to use the timeout of
+     *            the class
+     * @param cancellation
+     *            future whose cancellation kills the command, may be
+     *            {@code null}
+     * @return the command result
+     */
+    CommandResult run(String command, String commandClass, Duration timeout, CompletableFuture<?> cancellation) {
+        CommandClass limits = getCommandClass(Objects.isNull(commandClass) ? DEFAULT_CLASS : commandClass);
+        final long queuedSince = System.nanoTime();
+        try {
+            limits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Execution of Command Thread was interrupted!");
+            return new CommandResult(command, false, Collections.singletonList(e.getMessage()));
+        }
+        long startedAt = System.nanoTime();
+        Run run = new Run(command);
+        try {
+            if (Objects.isNull(cancellation) || !cancellation.isCancelled()) {
+                execute(run, Objects.nonNull(timeout) ? timeout : limits.timeout, cancellation);
+            } else {
+                run.messages.add("Command was cancelled");
+            }
+        } finally {
+            limits.release();
+            limits.record(startedAt - queuedSince, System.nanoTime() - startedAt, run);
+        }
+        CommandResult commandResult = new CommandResult(command, run.exitCode == 0 && !run.timedOut, run.messages);
+        if (commandResult.isSuccessful()) {
+            logger.info("Execution of Command {} was successful!: {}", command, commandResult.getMessages());
+        } else {
+            logger.error("Execution of Command {} failed!: {}", command, commandResult.getMessages());
+        }
+        return commandResult;
+    }
+
+    private void execute(Run run, Duration timeout, CompletableFuture<?> cancellation) {
+        Process process;
+        try {
+            process = new ProcessBuilder(run.command.split("[\\r\\n\\s]+")).start();
+        } catch (IOException e) {
+            run.messages.add(Objects.toString(e.getCause(), e.toString()));
+            run.messages.add(e.getMessage());
+            return;
+        }
+        if (Objects.nonNull(cancellation)) {
+            cancellation.whenComplete((result, failure) -> {
+                if (cancellation.isCancelled()) {
+                    destroyProcessTree(process);
+                }
+            });
+        }
+        Future<List<String>> output = executor.submit(new LineReader(process.getInputStream(), run.command));
+        Future<List<String>> errors = executor.submit(new LineReader(process.getErrorStream(), run.command));
+        try {
+            if (timeout.isZero() || timeout.isNegative()) {
+                run.exitCode = process.waitFor();
+            } else if (process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                run.exitCode = process.exitValue();
+            } else {
+                run.timedOut = true;
+                destroyProcessTree(process);
+                run.exitCode = process.waitFor();
+            }
+            run.messages.addAll(output.get());
+            run.messages.addAll(errors.get());
+            if (run.timedOut) {
+                run.messages.add("Command was killed after " + timeout.getSeconds() + " s");
+            }
+        } catch (InterruptedException e) {
+            destroyProcessTree(process);
+            Thread.currentThread().interrupt();
+            logger.error("Execution of Command Thread was interrupted!");
+            run.exitCode = -1;
+            run.messages.clear();
+            run.messages.add(e.getMessage());
+        } catch (ExecutionException e) {
+            run.messages.add(e.getCause().toString());
+        }
+    }
+
+    private static void destroyProcessTree(Process process) {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    /**
+     * Returns the class of commands with the given name. The limits of a class
+     * are read from the configuration when the class is first used.
+     *
+     * @param name
+     *            name of the class
+     * @return the class of commands
+     */
+    CommandClass getCommandClass(String name) {
+        return commandClasses.computeIfAbsent(name, className -> new CommandClass(className,
+                getClassParameter(ParameterCommand.MAX_PARALLEL, className, defaultMaxParallel),
+                Duration.ofSeconds(getClassParameter(ParameterCommand.TIMEOUT_SEC, className, defaultTimeoutSecs))));
+    }
+
+    private static long getClassParameter(ParameterCommand parameter, String commandClass, long defaultValue) {
+        String key = parameter.getName() + '.' + commandClass;
+        String value = KitodoConfig.getParameter(key, Long.toString(defaultValue));
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Configuration for key {} is defined as \"{}\", but is not a number! Using \"{}\".", key,
+                value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CommandExecutor " + commandClasses.values();
+    }
+
+    /**
+     * Reads the lines of a stream of a process. Only the last lines are kept.
+     */
+    private class LineReader implements Callable<List<String>> {
+        private final InputStream inputStream;
+        private final String command;
+
+        private LineReader(InputStream inputStream, String command) {
+            this.inputStream = inputStream;
+            this.command = command;
+        }
+
+        @Override
+        public List<String> call() throws IOException {
+            Deque<String> lines = new ArrayDeque<>();
+            long omitted = 0;
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+                for (String line = reader.readLine(); Objects.nonNull(line); line = reader.readLine()) {
+                    logger.trace("{}: {}", command, line);
+                    if (lines.size() == maxOutputLines) {
+                        lines.removeFirst();
+                        omitted++;
+                    }
+                    lines.addLast(line);
+                }
+            }
+            List<String> result = new ArrayList<>(lines.size() + 1);
+            if (omitted > 0) {
+                result.add("[" + omitted + " lines omitted]");
+            }
+            result.addAll(lines);
+            return result;
+        }
+    }
+
+    /**
+     * The state of a run of a command.
+     */
+    private static final class Run {
+        private final String command;
+        private final List<String> messages = new ArrayList<>();
+        private int exitCode = -1;
+        private boolean timedOut;
+
+        private Run(String command) {
+            this.command = command;
+        }
+    }
+
+    /**
+     * A class of commands, with its limits and statistics.
+     */
+    static final class CommandClass {
+        private final String name;
+        private final int maxParallel;
+        private final Semaphore slots;
+        private final AtomicInteger active = new AtomicInteger();
+        private final Duration timeout;
+        private long runs;
+        private long failures;
+        private long timeouts;
+        private long queueWaitNanos;
+        private long runNanos;
+
+        private CommandClass(String name, long maxParallel, Duration timeout) {
+            this.name = name;
+            this.maxParallel = (int) Math.max(0, Math.min(maxParallel, Integer.MAX_VALUE));
+            this.slots = this.maxParallel > 0 ? new Semaphore(this.maxParallel, true) : null;
+            this.timeout = timeout;
+        }
+
+        private void acquire() throws InterruptedException {
+            if (Objects.nonNull(slots)) {
+                slots.acquire();
+            }
+            active.incrementAndGet();
+        }
+
+        private void release() {
+            active.decrementAndGet();
+            if (Objects.nonNull(slots)) {
+                slots.release();
+            }
+        }
+
+        private synchronized void record(long queueWait, long runTime, Run run) {
+            runs++;
+            if (run.exitCode != 0 || run.timedOut) {
+                failures++;
+            }
+            if (run.timedOut) {
+                timeouts++;
+            }
+            queueWaitNanos += queueWait;
+            runNanos += runTime;
+            logger.debug("Command {} of class {} took {} ms after waiting {} ms", run.command, name,
+                TimeUnit.NANOSECONDS.toMillis(runTime), TimeUnit.NANOSECONDS.toMillis(queueWait));
+        }
+
+        /**
+         * Returns the number of commands of this class that may run at the
+         * same time.
+         *
+         * @return the number of commands that may run at the same time, 0 if
+         *         it is not limited
+         */
+        int getMaxParallel() {
+            return maxParallel;
+        }
+
+        /**
+         * Returns the number of commands of this class run.
+         *
+         * @return the number of commands run
+         */
+        synchronized long getRuns() {
+            return runs;
+        }
+
+        /**
+         * Returns the number of commands of this class killed after their
+         * timeout.
+         *
+         * @return the number of commands killed after their timeout
+         */
+        synchronized long getTimeouts() {
+            return timeouts;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return "[class=" + name + ", maxParallel=" + maxParallel + ", active=" + active + ", runs=" + runs
+                    + ", failures=" + failures + ", timeouts=" + timeouts + ", queueWaitMillis="
+                    + TimeUnit.NANOSECONDS.toMillis(queueWaitNanos)
+                    + ", runMillis=" + TimeUnit.NANOSECONDS.toMillis(runNanos) + "]";
+        }
+    }
+}
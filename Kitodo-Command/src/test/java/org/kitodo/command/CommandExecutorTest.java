@@ -0,0 +1,86 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.kitodo.api.command.CommandResult;
+
+@DisabledOnOs(OS.WINDOWS)
+public class CommandExecutorTest {
+
+    @Test
+    public void shouldKeepLastLinesOfOutput() {
+        CommandExecutor commandExecutor = new CommandExecutor(1, 0, 10);
+
+        CommandResult commandResult = commandExecutor.run("seq 1 5000", "test", null, null);
+
+        assertTrue(commandResult.isSuccessful(), "Command should be successful");
+        assertEquals(11, commandResult.getMessages().size(), "Output should be limited");
+        assertEquals("[4990 lines omitted]", commandResult.getMessages().get(0), "Omitted lines should be noted");
+        assertEquals("5000", commandResult.getMessages().get(10), "Last line should be kept");
+    }
+
+    @Test
+    public void shouldKillCommandAfterTimeout() throws Exception {
+        CommandExecutor commandExecutor = new CommandExecutor(1, 0, 10);
+
+        long start = System.nanoTime();
+        CommandResult commandResult = commandExecutor.submit("sleep 30", "test", Duration.ofSeconds(1))
+                .get(20, TimeUnit.SECONDS);
+
+        assertFalse(commandResult.isSuccessful(), "Command should fail after timeout");
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(20), "Command should be killed");
+        assertEquals(1, commandExecutor.getCommandClass("test").getTimeouts(), "Timeout should be recorded");
+    }
+
+    @Test
+    public void shouldLimitCommandsPerClass() throws Exception {
+        CommandExecutor commandExecutor = new CommandExecutor(1, 0, 10);
+
+        CompletableFuture<CommandResult> first = commandExecutor.submit("sleep 1", "test", null);
+        CompletableFuture<CommandResult> second = commandExecutor.submit("sleep 1", "test", null);
+        long start = System.nanoTime();
+        CompletableFuture.allOf(first, second).get(20, TimeUnit.SECONDS);
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(1900),
+            "Commands of the same class should run one after the other");
+        assertEquals(2, commandExecutor.getCommandClass("test").getRuns(), "Runs should be recorded");
+        assertEquals(1, commandExecutor.getCommandClass("test").getMaxParallel(), "Wrong limit");
+    }
+
+    @Test
+    public void shouldRunUnconfiguredCommandsInParallel() throws Exception {
+        CommandExecutor commandExecutor = new CommandExecutor(0, 0, 10);
+
+        CompletableFuture<CommandResult> first = commandExecutor.submit("sleep 1", null, null);
+        CompletableFuture<CommandResult> second = commandExecutor.submit("sleep 1", null, null);
+        long start = System.nanoTime();
+        CompletableFuture.allOf(first, second).get(20, TimeUnit.SECONDS);
+
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1900),
+            "Commands without a configured limit should run at the same time");
+        assertEquals(2, commandExecutor.getCommandClass(CommandExecutor.DEFAULT_CLASS).getRuns(),
+            "Runs should be recorded");
+        assertEquals(0, commandExecutor.getCommandClass(CommandExecutor.DEFAULT_CLASS).getMaxParallel(),
+            "Default class should not be limited");
+    }
+}
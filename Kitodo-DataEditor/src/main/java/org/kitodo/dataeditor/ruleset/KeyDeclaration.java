@@ -134,7 +134,7 @@ class KeyDeclaration extends Labeled {
      */
     KeyDeclaration getSubkeyDeclaration(String keyId) {
         if (optionalKey.isPresent()) {
-            Optional<Key> keyInKey = optionalKey.get().getKeys().parallelStream()
+            Optional<Key> keyInKey = optionalKey.get().getKeys().stream()
                     .filter(key -> keyId.equals(key.getId())).findAny();
             if (keyInKey.isPresent()) {
                 return new KeyDeclaration(ruleset, keyInKey.get());
@@ -150,7 +150,7 @@ class KeyDeclaration extends Labeled {
      */
     Collection<KeyDeclaration> getKeyDeclarations() {
         if (optionalKey.isPresent()) {
-            return optionalKey.get().getKeys().parallelStream().map(key -> new KeyDeclaration(ruleset, key))
+            return optionalKey.get().getKeys().stream().map(key -> new KeyDeclaration(ruleset, key))
                     .collect(Collectors.toList());
         } else {
             return Collections.emptyList();
@@ -196,7 +196,7 @@ class KeyDeclaration extends Labeled {
         if (!optionalKey.isPresent()) {
             return Collections.emptySet();
         }
-        return optionalKey.get().getOptions().parallelStream().map(option -> option.getValue())
+        return optionalKey.get().getOptions().stream().map(option -> option.getValue())
                 .collect(Collectors.toSet());
     }
 
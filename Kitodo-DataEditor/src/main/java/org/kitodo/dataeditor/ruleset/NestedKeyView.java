@@ -66,7 +66,7 @@ class NestedKeyView<D extends KeyDeclaration> extends AbstractKeyView<D> impleme
                                                                  LinkedHashMap<String,
                                                                          AuxiliaryTableRow> auxiliaryTable) {
 
-        additionallySelectedKeys.parallelStream().map(auxiliaryTable::get)
+        additionallySelectedKeys.stream().map(auxiliaryTable::get)
                 .forEach(AuxiliaryTableRow::addOneAdditionalField);
     }
 
@@ -193,7 +193,7 @@ class NestedKeyView<D extends KeyDeclaration> extends AbstractKeyView<D> impleme
      */
     private void addAnyRules(LinkedHashMap<String, AuxiliaryTableRow> auxiliaryTable) {
 
-        auxiliaryTable.entrySet().parallelStream().forEach(entry -> entry.getValue()
+        auxiliaryTable.entrySet().forEach(entry -> entry.getValue()
                 .setRule(rule.getRuleForKey(entry.getKey(), division)));
     }
 
@@ -464,7 +464,7 @@ class NestedKeyView<D extends KeyDeclaration> extends AbstractKeyView<D> impleme
     }
 
     private AuxiliaryTableRow retrieveOrCompute(String keyId) {
-        Optional<KeyDeclaration> optionalKeyDeclaration = super.declaration.getKeyDeclarations().parallelStream()
+        Optional<KeyDeclaration> optionalKeyDeclaration = super.declaration.getKeyDeclarations().stream()
                 .filter(childKeyDeclaration -> keyId.equals(childKeyDeclaration.getId())).findAny();
         KeyDeclaration keyDeclaration = optionalKeyDeclaration.orElseGet(() -> new KeyDeclaration(ruleset, keyId));
         return new AuxiliaryTableRow(keyDeclaration, settings);
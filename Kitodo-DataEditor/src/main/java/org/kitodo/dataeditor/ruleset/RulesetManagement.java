@@ -15,13 +15,17 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale.LanguageRange;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import javax.xml.bind.JAXBException;
@@ -65,6 +69,27 @@ public class RulesetManagement implements RulesetManagementInterface {
      */
     private Ruleset ruleset;
 
+    /**
+     * The files read when loading the ruleset, mapped to their modification
+     * times when they were read.
+     */
+    private Map<File, Long> loadedFiles = Collections.emptyMap();
+
+    /**
+     * Views on the divisions of the ruleset already created. The views do not
+     * change once created, so they are shared between all callers asking for
+     * the same division, acquisition stage and languages.
+     */
+    private final Map<ViewKey, StructuralElementViewInterface> structuralElementViews = new ConcurrentHashMap<>();
+
+    /**
+     * Views on the keys of the ruleset already created.
+     */
+    private final Map<ViewKey, NestedKeyView<KeyDeclaration>> metadataViews = new ConcurrentHashMap<>();
+
+    private final AtomicLong viewHits = new AtomicLong();
+    private final AtomicLong viewMisses = new AtomicLong();
+
     /**
      * Returns the acquisition levels defined in this rule set. This function
      * was not parallelized to repeatedly serve JSF in the same order when the
@@ -174,9 +199,19 @@ public class RulesetManagement implements RulesetManagementInterface {
             List<LanguageRange> priorityList) {
 
         Optional<Division> division = ruleset.getDivision(divisionId);
-        DivisionDeclaration divisionDeclaration = division.isPresent() ? new DivisionDeclaration(ruleset, division.get())
-                : new DivisionDeclaration(ruleset, divisionId);
-        return new DivisionView(ruleset, divisionDeclaration, acquisitionStage, priorityList);
+        if (!division.isPresent()) {
+            return new DivisionView(ruleset, new DivisionDeclaration(ruleset, divisionId), acquisitionStage,
+                    priorityList);
+        }
+        ViewKey viewKey = new ViewKey(divisionId, acquisitionStage, priorityList);
+        StructuralElementViewInterface view = structuralElementViews.get(viewKey);
+        if (Objects.nonNull(view)) {
+            viewHits.incrementAndGet();
+            return view;
+        }
+        viewMisses.incrementAndGet();
+        return structuralElementViews.computeIfAbsent(viewKey, missing -> new DivisionView(ruleset,
+            new DivisionDeclaration(ruleset, division.get()), acquisitionStage, priorityList));
     }
 
     /**
@@ -193,9 +228,38 @@ public class RulesetManagement implements RulesetManagementInterface {
     @Override
     public NestedKeyView<KeyDeclaration> getMetadataView(String keyId, String acquisitionStage, List<LanguageRange> priorityList) {
         Optional<Key> key = ruleset.getKey(keyId);
-        KeyDeclaration keyDeclaration = key.isPresent() ? new KeyDeclaration(ruleset, key.get()) : new KeyDeclaration(ruleset, keyId);
-        Rule rule = ruleset.getRuleForKey(keyId);
-        return new NestedKeyView<>(ruleset, keyDeclaration, rule, ruleset.getSettings(acquisitionStage), priorityList);
+        if (!key.isPresent()) {
+            return new NestedKeyView<>(ruleset, new KeyDeclaration(ruleset, keyId), ruleset.getRuleForKey(keyId),
+                    ruleset.getSettings(acquisitionStage), priorityList);
+        }
+        ViewKey viewKey = new ViewKey(keyId, acquisitionStage, priorityList);
+        NestedKeyView<KeyDeclaration> view = metadataViews.get(viewKey);
+        if (Objects.nonNull(view)) {
+            viewHits.incrementAndGet();
+            return view;
+        }
+        viewMisses.incrementAndGet();
+        return metadataViews.computeIfAbsent(viewKey, missing -> new NestedKeyView<>(ruleset,
+            new KeyDeclaration(ruleset, key.get()), ruleset.getRuleForKey(keyId),
+            ruleset.getSettings(acquisitionStage), priorityList));
+    }
+
+    /**
+     * Returns how often an already created view could be returned.
+     *
+     * @return the number of view cache hits
+     */
+    public long getViewHitCount() {
+        return viewHits.get();
+    }
+
+    /**
+     * Returns how often a view had to be created.
+     *
+     * @return the number of view cache misses
+     */
+    public long getViewMissCount() {
+        return viewMisses.get();
     }
 
     /**
@@ -230,8 +294,26 @@ public class RulesetManagement implements RulesetManagementInterface {
      */
     @Override
     public void load(File rulesetFile) throws IOException {
-        this.ruleset = read(rulesetFile);
-        initializeNamespaces(ruleset.getKeys(), rulesetFile.getParentFile());
+        Map<File, Long> files = new LinkedHashMap<>();
+        this.ruleset = read(rulesetFile, files);
+        initializeNamespaces(ruleset.getKeys(), rulesetFile.getParentFile(), files);
+        ruleset.compile();
+        this.loadedFiles = files;
+        structuralElementViews.clear();
+        metadataViews.clear();
+    }
+
+    @Override
+    public boolean isUpToDate() {
+        if (loadedFiles.isEmpty()) {
+            return false;
+        }
+        for (Map.Entry<File, Long> loadedFile : loadedFiles.entrySet()) {
+            if (loadedFile.getKey().lastModified() != loadedFile.getValue()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -241,10 +323,12 @@ public class RulesetManagement implements RulesetManagementInterface {
      *            the keys of the rule set (are processed recursively)
      * @param home
      *            the ruleset directory
+     * @param files
+     *            map to which the read files are added
      * @throws IOException
      *             if I/O fails
      */
-    private void initializeNamespaces(List<Key> keys, File home) throws IOException {
+    private void initializeNamespaces(List<Key> keys, File home, Map<File, Long> files) throws IOException {
         for (Key key : keys) {
             Optional<String> optionalNamespace = key.getNamespace();
             if (optionalNamespace.isPresent()) {
@@ -252,6 +336,7 @@ public class RulesetManagement implements RulesetManagementInterface {
                 File file = new File(home, namespaceURI.replaceFirst("^.*?/([^/]*?)[#/]?$", "$1").concat(".xml"));
                 if (file.isFile()) {
                     try {
+                        files.put(file, file.lastModified());
                         Namespace namespace = read(Namespace.class, file);
                         if (namespace.isAbout(namespaceURI)) {
                             key.setOptions(namespace.getOptions());
@@ -270,15 +355,17 @@ public class RulesetManagement implements RulesetManagementInterface {
                 }
             }
             // is applied recursively to the sub-elements
-            initializeNamespaces(key.getKeys(), home);
+            initializeNamespaces(key.getKeys(), home, files);
         }
     }
 
-    private static Ruleset read(File rulesetFile) throws IOException {
+    private static Ruleset read(File rulesetFile, Map<File, Long> files) throws IOException {
         Ruleset result = new Ruleset();
+        files.put(rulesetFile, rulesetFile.lastModified());
         Ruleset base = read(Ruleset.class, rulesetFile);
         for (String include : base.getIncludes()) {
             File includedFile = new File(rulesetFile.getParentFile(), include);
+            files.put(includedFile, includedFile.lastModified());
             Ruleset included = read(Ruleset.class, includedFile);
             result.addAll(included);
         }
@@ -325,8 +412,7 @@ public class RulesetManagement implements RulesetManagementInterface {
 
     @Override
     public boolean isAlwaysShowingForKey(String keyId) {
-        Optional<Setting> optionalSetting = ruleset.getSettings().parallelStream()
-                .filter(setting -> setting.getKey().equals(keyId)).findAny();
+        Optional<Setting> optionalSetting = ruleset.getSetting(keyId);
         if (optionalSetting.isPresent()) {
             return optionalSetting.get().isAlwaysShowing();
         }
@@ -378,4 +464,44 @@ public class RulesetManagement implements RulesetManagementInterface {
         }
         return result;
     }
+
+    @Override
+    public String toString() {
+        return "RulesetManagement [files=" + loadedFiles.keySet() + ", viewHits=" + viewHits + ", viewMisses="
+                + viewMisses + "]";
+    }
+
+    /**
+     * Identifies a view by the division or key, the acquisition stage and the
+     * language priority list it was created for.
+     */
+    private static final class ViewKey {
+        private final String id;
+        private final String acquisitionStage;
+        private final List<LanguageRange> priorityList;
+
+        private ViewKey(String id, String acquisitionStage, List<LanguageRange> priorityList) {
+            this.id = id;
+            this.acquisitionStage = acquisitionStage;
+            this.priorityList = Objects.nonNull(priorityList) ? List.copyOf(priorityList) : null;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof ViewKey)) {
+                return false;
+            }
+            ViewKey other = (ViewKey) object;
+            return Objects.equals(id, other.id) && Objects.equals(acquisitionStage, other.acquisitionStage)
+                    && Objects.equals(priorityList, other.priorityList);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, acquisitionStage, priorityList);
+        }
+    }
 }
@@ -42,7 +42,7 @@ public class Settings {
      *            we start with this setting
      */
     public Settings(Collection<Setting> baseSettings) {
-        this.currentSettings = baseSettings.parallelStream()
+        this.currentSettings = baseSettings.stream()
                 .collect(Collectors.toMap(Setting::getKey, Function.identity()));
     }
 
@@ -159,7 +159,7 @@ public class Settings {
      */
     public void merge(Collection<Setting> other) {
         Collection<Setting> merged = merge(currentSettings.values(), other);
-        currentSettings = merged.parallelStream().collect(Collectors.toMap(Setting::getKey, Function.identity()));
+        currentSettings = merged.stream().collect(Collectors.toMap(Setting::getKey, Function.identity()));
     }
 
     /**
@@ -173,9 +173,9 @@ public class Settings {
      * @return connection of two times settings
      */
     private List<Setting> merge(Collection<Setting> currentSettings, Collection<Setting> otherSettings) {
-        Map<String, Setting> currentSettingsMap = currentSettings.parallelStream()
+        Map<String, Setting> currentSettingsMap = currentSettings.stream()
                 .collect(Collectors.toMap(Setting::getKey, Function.identity()));
-        Map<String, Setting> otherSettingsMap = otherSettings.parallelStream()
+        Map<String, Setting> otherSettingsMap = otherSettings.stream()
                 .collect(Collectors.toMap(Setting::getKey, Function.identity()));
         Set<String> keyIds = new HashSet<>(currentSettingsMap.keySet());
         keyIds.addAll(otherSettingsMap.keySet());
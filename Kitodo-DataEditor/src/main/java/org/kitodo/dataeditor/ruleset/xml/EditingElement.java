@@ -13,7 +13,6 @@ package org.kitodo.dataeditor.ruleset.xml;
 
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Optional;
 
 import javax.xml.bind.annotation.XmlElement;
 
@@ -34,18 +33,6 @@ class EditingElement {
     @XmlElement(name = "acquisitionStage", namespace = "http://names.kitodo.org/ruleset/v2")
     private List<AcquisitionStage> acquisitionStages = new LinkedList<>();
 
-    /**
-     * Returns an acquisition stage by name.
-     *
-     * @param name
-     *            name of the acquisition stage
-     * @return an optional object of type AcquisitionStage
-     */
-    Optional<AcquisitionStage> getAcquisitionStage(String name) {
-        return acquisitionStages.parallelStream().filter(acquisitionStage -> name.equals(acquisitionStage.getName()))
-                .findFirst();
-    }
-
     /**
      * Returns the acquisition stages.
      *
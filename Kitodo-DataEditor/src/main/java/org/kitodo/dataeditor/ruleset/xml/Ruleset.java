@@ -14,6 +14,7 @@ package org.kitodo.dataeditor.ruleset.xml;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
@@ -21,6 +22,7 @@ import java.util.Locale.LanguageRange;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import javax.xml.bind.annotation.XmlAttribute;
@@ -74,6 +76,12 @@ public class Ruleset {
 
     private transient List<Key> keys;
 
+    /**
+     * Hash indexes over the declarations of the ruleset. They are built once
+     * after loading and dropped whenever the declarations change.
+     */
+    private transient volatile Index index;
+
     /**
      * Inserts all information from another ruleset into this ruleset. Information
      * of the same name will be overwritten.
@@ -81,6 +89,7 @@ public class Ruleset {
      * @param other ruleset to insert
      */
     public void addAll(Ruleset other) {
+        index = null;
         if (Objects.nonNull(other.declaration)) {
             if (Objects.isNull(declaration)) {
                 declaration = other.declaration;
@@ -136,10 +145,7 @@ public class Ruleset {
      * @return the acquisition stage, if there is one
      */
     public Optional<AcquisitionStage> getAcquisitionStage(String name) {
-        if (editing == null) {
-            return Optional.empty();
-        }
-        return editing.getAcquisitionStage(name);
+        return Optional.ofNullable(getIndex().acquisitionStages.get(name));
     }
 
     /**
@@ -172,14 +178,7 @@ public class Ruleset {
      * @return the division, if there is one
      */
     public Optional<Division> getDivision(String id) {
-        Optional<Division> optionalDivision = declaration.getDivisions().parallelStream()
-                .filter(division -> division.getId().equals(id)).findFirst();
-        if (optionalDivision.isPresent()) {
-            return optionalDivision;
-        } else {
-            return this.getDivisions().parallelStream().flatMap(division -> division.getDivisions().parallelStream())
-                    .filter(division -> division.getId().equals(id)).findFirst();
-        }
+        return Optional.ofNullable(getIndex().divisions.get(id));
     }
 
     /**
@@ -190,9 +189,7 @@ public class Ruleset {
      * @return the restriction rule if there is one
      */
     public Optional<RestrictivePermit> getDivisionRestriction(String division) {
-        return restrictions.parallelStream()
-                .filter(restriction -> division.equals(restriction.getDivision().orElse(null)))
-                .findFirst();
+        return Optional.ofNullable(getIndex().divisionRestrictions.get(division));
     }
 
     /**
@@ -272,7 +269,7 @@ public class Ruleset {
      * @return a key, if any
      */
     public Optional<Key> getKey(String keyId) {
-        return declaration.getKeys().parallelStream().filter(key -> keyId.equals(key.getId())).findAny();
+        return Optional.ofNullable(getIndex().keys.get(keyId));
     }
 
     /**
@@ -283,8 +280,7 @@ public class Ruleset {
      * @return the restriction on a key, if any
      */
     public Optional<RestrictivePermit> getKeyRestriction(String keyId) {
-        return restrictions.parallelStream().filter(restriction -> keyId.equals(restriction.getKey().orElse(null)))
-                .findAny();
+        return Optional.ofNullable(getIndex().keyRestrictions.get(keyId));
     }
 
     /**
@@ -295,6 +291,7 @@ public class Ruleset {
     public List<Key> getKeys() {
         if (Objects.isNull(keys)) {
             keys = defineMetsDivKeys(declaration.getKeys());
+            index = null;
         }
         return keys;
     }
@@ -329,7 +326,7 @@ public class Ruleset {
      *            labels for the key if it is not defined
      */
     private static void defineKey(List<Key> keys, String id, Type type, Label... labels) {
-        Optional<Key> definition = keys.parallelStream().filter(key -> key.getId().equalsIgnoreCase(id)).findAny();
+        Optional<Key> definition = keys.stream().filter(key -> key.getId().equalsIgnoreCase(id)).findAny();
         Key key;
         if (definition.isPresent()) {
             key = definition.get();
@@ -372,13 +369,27 @@ public class Ruleset {
      * @return settings for acquisition stage
      */
     public Settings getSettings(String acquisitionStage) {
-        Settings settings = new Settings(this.getSettings());
+        Index index = getIndex();
         if (Objects.isNull(acquisitionStage)) {
-            return settings;
+            return index.baseSettings;
         }
-        Optional<AcquisitionStage> optionalAcquisitionStage = this.getAcquisitionStage(acquisitionStage);
-        optionalAcquisitionStage.ifPresent(stage -> settings.merge(stage.getSettings()));
-        return settings;
+        return index.stageSettings.computeIfAbsent(acquisitionStage, stageName -> {
+            Settings settings = new Settings(this.getSettings());
+            Optional.ofNullable(index.acquisitionStages.get(stageName))
+                    .ifPresent(stage -> settings.merge(stage.getSettings()));
+            return settings;
+        });
+    }
+
+    /**
+     * Returns a setting by the key it applies to.
+     *
+     * @param keyId
+     *            key for which the setting is to be returned
+     * @return the setting, if there is one
+     */
+    public Optional<Setting> getSetting(String keyId) {
+        return Optional.ofNullable(getIndex().settings.get(keyId));
     }
 
     /**
@@ -418,4 +429,67 @@ public class Ruleset {
             return new Rule(this, this.getDivisionRestriction(division));
         }
     }
+
+    /**
+     * Builds the hash indexes of the ruleset, so that looking up declarations
+     * does not need to scan them. Indexes are built on first use otherwise.
+     */
+    public void compile() {
+        getIndex();
+    }
+
+    private Index getIndex() {
+        Index localReference = index;
+        if (Objects.isNull(localReference)) {
+            localReference = new Index(this);
+            index = localReference;
+        }
+        return localReference;
+    }
+
+    /**
+     * Hash indexes over the declarations of a ruleset. If several declarations
+     * share an identifier, the first one is indexed, as a scan would find it.
+     */
+    private static final class Index {
+        private final Map<String, Key> keys = new HashMap<>();
+        private final Map<String, Division> divisions = new HashMap<>();
+        private final Map<String, RestrictivePermit> keyRestrictions = new HashMap<>();
+        private final Map<String, RestrictivePermit> divisionRestrictions = new HashMap<>();
+        private final Map<String, Setting> settings = new HashMap<>();
+        private final Map<String, AcquisitionStage> acquisitionStages = new HashMap<>();
+        private final Settings baseSettings;
+        private final Map<String, Settings> stageSettings = new ConcurrentHashMap<>();
+
+        private Index(Ruleset ruleset) {
+            for (Key key : ruleset.declaration.getKeys()) {
+                putIfIdentified(keys, key.getId(), key);
+            }
+            for (Division division : ruleset.declaration.getDivisions()) {
+                putIfIdentified(divisions, division.getId(), division);
+            }
+            for (Division division : ruleset.declaration.getDivisions()) {
+                for (Division subdivision : division.getDivisions()) {
+                    putIfIdentified(divisions, subdivision.getId(), subdivision);
+                }
+            }
+            for (RestrictivePermit restriction : ruleset.restrictions) {
+                putIfIdentified(keyRestrictions, restriction.getKey().orElse(null), restriction);
+                putIfIdentified(divisionRestrictions, restriction.getDivision().orElse(null), restriction);
+            }
+            for (Setting setting : ruleset.getSettings()) {
+                putIfIdentified(settings, setting.getKey(), setting);
+            }
+            for (AcquisitionStage acquisitionStage : ruleset.getAcquisitionStages()) {
+                putIfIdentified(acquisitionStages, acquisitionStage.getName(), acquisitionStage);
+            }
+            baseSettings = new Settings(ruleset.getSettings());
+        }
+
+        private static <T> void putIfIdentified(Map<String, T> map, String id, T value) {
+            if (Objects.nonNull(id)) {
+                map.putIfAbsent(id, value);
+            }
+        }
+    }
 }
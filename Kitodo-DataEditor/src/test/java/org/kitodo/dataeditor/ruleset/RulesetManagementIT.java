@@ -22,11 +22,15 @@ import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Month;
 import java.time.MonthDay;
 import java.util.ArrayList;
@@ -43,6 +47,7 @@ import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.kitodo.api.MdSec;
 import org.kitodo.api.Metadata;
 import org.kitodo.api.MetadataEntry;
@@ -846,6 +851,46 @@ public class RulesetManagementIT {
             contains("author", "editor"));
     }
 
+    /**
+     * This test verifies that a loaded ruleset is only reported to be up to
+     * date as long as its file is unchanged.
+     */
+    @Test
+    public void testRulesetIsUpToDateUntilItsFileIsChanged(@TempDir Path tempDir) throws IOException {
+        RulesetManagement underTest = new RulesetManagement();
+        assertFalse(underTest.isUpToDate());
+
+        File rulesetFile = Files.copy(Path.of("src/test/resources/testRulesAreCorrectlyMerged.xml"),
+            tempDir.resolve("testRulesAreCorrectlyMerged.xml")).toFile();
+        underTest.load(rulesetFile);
+        assertTrue(underTest.isUpToDate());
+
+        assertTrue(rulesetFile.setLastModified(rulesetFile.lastModified() + 1000));
+        assertFalse(underTest.isUpToDate());
+    }
+
+    /**
+     * This test verifies that views are created once per division or key,
+     * acquisition stage and language priority list.
+     */
+    @Test
+    public void testViewsAreReused() throws IOException {
+        RulesetManagement underTest = new RulesetManagement();
+        underTest.load(new File("src/test/resources/testRulesAreCorrectlyMerged.xml"));
+
+        StructuralElementViewInterface sevi = underTest.getStructuralElementView(BOOK, "", ENGL);
+        assertSame(sevi, underTest.getStructuralElementView(BOOK, "", LanguageRange.parse("en")));
+        assertNotSame(sevi, underTest.getStructuralElementView(BOOK, "", LanguageRange.parse("de")));
+        assertNotSame(sevi, underTest.getStructuralElementView(BOOK, "edit", ENGL));
+        MetadataViewInterface mvi = underTest.getMetadataView("personContributor", "", ENGL);
+        assertSame(mvi, underTest.getMetadataView("personContributor", "", ENGL));
+        assertEquals(2, underTest.getViewHitCount());
+        assertEquals(4, underTest.getViewMissCount());
+
+        underTest.load(new File("src/test/resources/testRulesAreCorrectlyMerged.xml"));
+        assertNotSame(sevi, underTest.getStructuralElementView(BOOK, "", ENGL));
+    }
+
     /**
      * This test verifies that unspecified unrestricted rules remove keys that
      * have a maxOccurs of zero.
@@ -12,8 +12,10 @@
 package org.kitodo.data.database.persistence;
 
 import java.io.Serializable;
+import java.lang.reflect.ParameterizedType;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -81,6 +83,64 @@ public abstract class BaseDAO<T extends BaseBean> implements Serializable {
      */
     public abstract List<T> getAllNotIndexed(int offset, int size) throws DAOException;
 
+    /**
+     * Retrieves BaseBean objects with an id greater than the given one, ordered
+     * by id. In contrast to {@link #getAll(int, int)} the costs of this keyset
+     * pagination do not grow with the position inside the table.
+     *
+     * @param lastId
+     *            id of the last object of the previous page, 0 for the first
+     *            page
+     * @param size
+     *            amount of results
+     * @return constrained list of persisted beans
+     */
+    public List<T> getAllAfterId(int lastId, int size) throws DAOException {
+        return retrieveObjectsAfterId(getEntityName(), getSubsetCondition(), lastId, size);
+    }
+
+    /**
+     * Retrieves not indexed BaseBean objects with an id greater than the given
+     * one, ordered by id.
+     *
+     * @param lastId
+     *            id of the last object of the previous page, 0 for the first
+     *            page
+     * @param size
+     *            amount of results
+     * @return constrained list of persisted beans
+     */
+    public List<T> getAllNotIndexedAfterId(int lastId, int size) throws DAOException {
+        return retrieveObjectsAfterId(getEntityName(),
+            getSubsetCondition() + " AND (indexAction = 'INDEX' OR indexAction IS NULL)", lastId, size);
+    }
+
+    /**
+     * Returns the HQL condition restricting the objects of this DAO to the
+     * subset of the database configured in "database.subset.dates". Only the
+     * largest tables are restricted, so the default condition is always true.
+     *
+     * @return HQL condition
+     */
+    String getSubsetCondition() {
+        return " 1=1 ";
+    }
+
+    /**
+     * Returns the name of the entity this DAO is for. The name is derived from
+     * the type argument of the DAO class.
+     *
+     * @return name of the entity
+     */
+    String getEntityName() {
+        Class<?> daoClass = getClass();
+        while (!BaseDAO.class.equals(daoClass.getSuperclass())) {
+            daoClass = daoClass.getSuperclass();
+        }
+        ParameterizedType baseDAO = (ParameterizedType) daoClass.getGenericSuperclass();
+        return ((Class<?>) baseDAO.getActualTypeArguments()[0]).getSimpleName();
+    }
+
     /**
      * Saves a BaseBean object to the database.
      *
@@ -340,6 +400,131 @@ public abstract class BaseDAO<T extends BaseBean> implements Serializable {
         }
     }
 
+    /**
+     * Retrieve objects of the given entity matching the given condition whose
+     * id is greater than the given id. The objects are read-only, as they are
+     * only loaded to be written to the index. Before the session is closed,
+     * the associations needed to index them are fetched with
+     * {@link #prefetchForIndexing(Session, List)}.
+     *
+     * @param entity
+     *            name of the entity
+     * @param condition
+     *            HQL condition, use " 1=1 " to retrieve all objects
+     * @param lastId
+     *            id of the last object of the previous page
+     * @param max
+     *            amount of results
+     * @return constrained list of results
+     */
+    @SuppressWarnings("unchecked")
+    List<T> retrieveObjectsAfterId(String entity, String condition, int lastId, int max) throws DAOException {
+        try (Session session = HibernateUtil.getSession()) {
+            Query<T> sessionQuery = session.createQuery(
+                "FROM " + entity + " WHERE (" + condition + ") AND id > :lastId ORDER BY id ASC");
+            sessionQuery.setParameter("lastId", lastId);
+            sessionQuery.setMaxResults(max);
+            sessionQuery.setReadOnly(true);
+            List<T> objects = sessionQuery.list();
+            if (!objects.isEmpty()) {
+                prefetchForIndexing(session, objects);
+            }
+            return objects;
+        } catch (PersistenceException e) {
+            throw new DAOException(e);
+        }
+    }
+
+    /**
+     * Runs the given action for the objects of the given entity matching the
+     * given condition whose id is greater than the given id, in order of id.
+     * The objects are loaded in chunks, and each chunk is processed in a unit
+     * of work of its own, which is closed before the next chunk is loaded. So
+     * the memory needed does not grow with the number of objects, unless the
+     * operation runs inside an enclosing unit of work. The operation stops
+     * early if the current thread is interrupted.
+     *
+     * @param entity
+     *            name of the entity
+     * @param condition
+     *            HQL condition, use " 1=1 " to process all objects
+     * @param parameters
+     *            parameters of the condition
+     * @param lastId
+     *            objects up to this id are skipped, 0 to process all objects
+     * @param chunkSize
+     *            number of objects loaded at a time
+     * @param action
+     *            action to run for each object
+     * @return the number of processed objects
+     */
+    @SuppressWarnings("unchecked")
+    int forEachInChunks(String entity, String condition, Map<String, Object> parameters, int lastId, int chunkSize,
+            BeanAction<T> action) throws DAOException {
+        int processed = 0;
+        int afterId = lastId;
+        while (true) {
+            try (UnitOfWork unitOfWork = HibernateUtil.beginUnitOfWork()) {
+                Query<T> query = unitOfWork.getSession().createQuery(
+                    "FROM " + entity + " WHERE (" + condition + ") AND id > :lastId ORDER BY id ASC");
+                addParameters(query, parameters);
+                query.setParameter("lastId", afterId);
+                query.setMaxResults(chunkSize);
+                List<T> chunk = query.list();
+                for (T bean : chunk) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        return processed;
+                    }
+                    action.accept(bean);
+                    afterId = bean.getId();
+                    processed++;
+                }
+                if (chunk.size() < chunkSize) {
+                    return processed;
+                }
+            } catch (PersistenceException e) {
+                throw new DAOException(e);
+            }
+        }
+    }
+
+    /**
+     * Initializes the lazy associations which are read when the given objects
+     * are indexed, so that creating their index documents does not load them
+     * one object at a time. Called with the session which loaded the objects.
+     * Does nothing by default.
+     *
+     * @param session
+     *            session which loaded the objects
+     * @param objects
+     *            objects to be indexed, not empty
+     */
+    void prefetchForIndexing(Session session, List<T> objects) {
+    }
+
+    /**
+     * Runs a fetch join query for the objects with the given ids. The result
+     * is not needed, the query is only run to initialize the fetched
+     * associations of the objects held by the session.
+     *
+     * @param session
+     *            session holding the objects
+     * @param query
+     *            HQL query with a fetch join, selecting by the parameter
+     *            {@code ids}
+     * @param ids
+     *            ids of the objects
+     */
+    static void fetchAssociation(Session session, String query, Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Query<?> sessionQuery = session.createQuery(query);
+        sessionQuery.setParameterList("ids", ids);
+        sessionQuery.setReadOnly(true);
+        sessionQuery.list();
+    }
+
     /**
      * Retrieve all objects fro given class.
      *
@@ -374,11 +559,29 @@ public abstract class BaseDAO<T extends BaseBean> implements Serializable {
         }
     }
 
+    /**
+     * Marks the given objects as indexed with a single update statement. The
+     * objects must all be of the same type.
+     *
+     * @param baseBeans
+     *            objects to mark as indexed
+     */
     void storeAsIndexed(List<T> baseBeans) throws DAOException {
-        for (BaseBean baseBean : baseBeans) {
-            BaseIndexedBean entity = (BaseIndexedBean) getById(baseBean.getId());
-            entity.setIndexAction(IndexAction.DONE);
-            storeObject((T) entity);
+        if (baseBeans.isEmpty()) {
+            return;
+        }
+        List<Integer> ids = baseBeans.stream().map(BaseBean::getId).collect(Collectors.toList());
+        try (Session session = HibernateUtil.getSession()) {
+            String entityName = session.getMetamodel().entity(Hibernate.getClass(baseBeans.get(0))).getName();
+            Transaction transaction = session.beginTransaction();
+            session.createQuery("UPDATE " + entityName + " SET indexAction = :indexAction WHERE id IN (:ids)")
+                    .setParameter("indexAction", IndexAction.DONE).setParameterList("ids", ids).executeUpdate();
+            transaction.commit();
+        } catch (PersistenceException e) {
+            throw new DAOException(e);
+        }
+        for (T baseBean : baseBeans) {
+            ((BaseIndexedBean) baseBean).setIndexAction(IndexAction.DONE);
         }
     }
 
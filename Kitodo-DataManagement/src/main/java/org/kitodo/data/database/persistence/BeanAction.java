@@ -0,0 +1,36 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.data.database.persistence;
+
+import org.kitodo.data.database.beans.BaseBean;
+import org.kitodo.data.database.exceptions.DAOException;
+
+/**
+ * An action run for each object of a chunked bulk operation.
+ *
+ * @param <T>
+ *            type of the objects
+ */
+@FunctionalInterface
+public interface BeanAction<T extends BaseBean> {
+
+    /**
+     * Runs the action for one object.
+     *
+     * @param bean
+     *            the object
+     * @throws DAOException
+     *             if the object cannot be processed. The bulk operation is
+     *             stopped.
+     */
+    void accept(T bean) throws DAOException;
+}
@@ -28,6 +28,7 @@ public class HibernateUtil {
     private static StandardServiceRegistry registry;
     private static SessionFactory sessionFactory;
     private static final ThreadLocal<Session> threadSession = new ThreadLocal<>();
+    private static final ThreadLocal<UnitOfWork> threadUnitOfWork = new ThreadLocal<>();
 
     /**
      * Private constructor to hide the implicit public one.
@@ -37,11 +38,16 @@ public class HibernateUtil {
     }
 
     /**
-     * Retrieves the current Session.
+     * Retrieves the current Session. Inside a unit of work, this is the
+     * session of the unit of work.
      *
      * @return Session
      */
     public static Session getSession() {
+        UnitOfWork unitOfWork = threadUnitOfWork.get();
+        if (Objects.nonNull(unitOfWork)) {
+            return unitOfWork.getSession();
+        }
         Session session = threadSession.get();
 
         if (Objects.isNull(session)) {
@@ -59,6 +65,35 @@ public class HibernateUtil {
         return session;
     }
 
+    /**
+     * Begins a unit of work on the current thread. Until it is closed, all
+     * database accesses of the thread share its session. If a unit of work is
+     * already running on the thread, the returned one takes part in it.
+     *
+     * @return the unit of work, to be closed by the caller
+     */
+    public static UnitOfWork beginUnitOfWork() {
+        UnitOfWork enclosing = threadUnitOfWork.get();
+        if (Objects.nonNull(enclosing)) {
+            return new UnitOfWork(enclosing);
+        }
+        UnitOfWork unitOfWork = new UnitOfWork(getSessionFactory().openSession());
+        threadUnitOfWork.set(unitOfWork);
+        return unitOfWork;
+    }
+
+    /**
+     * Removes the given unit of work from the current thread.
+     *
+     * @param unitOfWork
+     *            unit of work being closed
+     */
+    static void endUnitOfWork(UnitOfWork unitOfWork) {
+        if (threadUnitOfWork.get() == unitOfWork) {
+            threadUnitOfWork.remove();
+        }
+    }
+
     /**
      * Retrieve current SessionFactory.
      *
@@ -11,13 +11,25 @@
 
 package org.kitodo.data.database.persistence;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import org.hibernate.Session;
 import org.kitodo.data.database.beans.Process;
 import org.kitodo.data.database.exceptions.DAOException;
 
 public class ProcessDAO extends BaseDAO<Process> {
 
+    /**
+     * Lazy collections of a process read by its index document. Each is
+     * fetched with a query of its own, as Hibernate cannot fetch several lists
+     * in one query.
+     */
+    private static final List<String> INDEXED_COLLECTIONS = Arrays.asList("tasks", "comments", "batches",
+        "properties", "templates", "workpieces", "children");
+
     @Override
     public Process getById(Integer id) throws DAOException {
         Process process = retrieveObject(Process.class, id);
@@ -45,6 +57,41 @@ public class ProcessDAO extends BaseDAO<Process> {
             offset, size);
     }
 
+    @Override
+    String getSubsetCondition() {
+        return getDateFilter("creationDate");
+    }
+
+    @Override
+    void prefetchForIndexing(Session session, List<Process> processes) {
+        List<Integer> ids = processes.stream().map(Process::getId).collect(Collectors.toList());
+        for (String collection : INDEXED_COLLECTIONS) {
+            fetchAssociation(session,
+                "FROM Process process LEFT JOIN FETCH process." + collection + " WHERE process.id IN (:ids)", ids);
+        }
+    }
+
+    /**
+     * Runs the given action for the processes of a project, in order of id.
+     * The processes are loaded in chunks, each in a unit of work of its own,
+     * so the memory needed does not depend on the size of the project.
+     *
+     * @param projectId
+     *            ID of the project
+     * @param lastId
+     *            processes up to this id are skipped, 0 to process all
+     * @param chunkSize
+     *            number of processes loaded at a time
+     * @param action
+     *            action to run for each process
+     * @return the number of processed processes
+     */
+    public int forEachOfProject(int projectId, int lastId, int chunkSize, BeanAction<Process> action)
+            throws DAOException {
+        return forEachInChunks("Process", "project.id = :projectId",
+            Collections.singletonMap("projectId", projectId), lastId, chunkSize, action);
+    }
+
     /**
      * Save process with regard to its progress.
      *
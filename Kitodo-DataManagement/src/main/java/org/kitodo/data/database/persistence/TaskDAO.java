@@ -11,16 +11,20 @@
 
 package org.kitodo.data.database.persistence;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.persistence.PersistenceException;
 
 import org.hibernate.Session;
 import org.hibernate.query.NativeQuery;
 import org.hibernate.type.StandardBasicTypes;
+import org.kitodo.data.database.beans.BaseBean;
 import org.kitodo.data.database.beans.Process;
 import org.kitodo.data.database.beans.Task;
 import org.kitodo.data.database.enums.TaskStatus;
@@ -58,6 +62,26 @@ public class TaskDAO extends BaseDAO<Task> {
             size);
     }
 
+    @Override
+    String getSubsetCondition() {
+        return getDateFilter("processingBegin");
+    }
+
+    @Override
+    void prefetchForIndexing(Session session, List<Task> tasks) {
+        fetchAssociation(session, "FROM Task task LEFT JOIN FETCH task.roles WHERE task.id IN (:ids)",
+            getIds(tasks));
+        fetchAssociation(session, "FROM Process process LEFT JOIN FETCH process.comments WHERE process.id IN (:ids)",
+            getIds(tasks.stream().map(Task::getProcess).filter(Objects::nonNull).collect(Collectors.toList())));
+        fetchAssociation(session,
+            "FROM Template template LEFT JOIN FETCH template.projects WHERE template.id IN (:ids)",
+            getIds(tasks.stream().map(Task::getTemplate).filter(Objects::nonNull).collect(Collectors.toList())));
+    }
+
+    private static Set<Integer> getIds(Collection<? extends BaseBean> beans) {
+        return beans.stream().map(BaseBean::getId).collect(Collectors.toSet());
+    }
+
     @Override
     public void remove(Integer id) throws DAOException {
         removeObject(Task.class, id);
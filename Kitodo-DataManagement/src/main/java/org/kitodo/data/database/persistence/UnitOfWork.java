@@ -0,0 +1,128 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.data.database.persistence;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.Session;
+
+/**
+ * A session shared by all database accesses of the current thread until the
+ * unit of work is closed. Objects loaded inside a unit of work stay attached
+ * to its session, so their lazy associations can be loaded without attaching
+ * them again. Closing the unit of work clears and closes the session, so that
+ * the loaded objects do not stay in memory. Use it with try-with-resources:
+ *
+ * <pre>
+ * try (UnitOfWork unitOfWork = HibernateUtil.beginUnitOfWork()) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * <p>The writing methods of the DAOs keep committing their own transactions
+ * inside a unit of work.</p>
+ */
+public final class UnitOfWork implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(UnitOfWork.class);
+
+    private final Session session;
+    private final Session sharedSession;
+    private final boolean joined;
+
+    /**
+     * Creates a unit of work for a new session.
+     *
+     * @param session
+     *            session of the unit of work, is closed with it
+     */
+    UnitOfWork(Session session) {
+        this.session = session;
+        this.sharedSession = (Session) Proxy.newProxyInstance(Session.class.getClassLoader(),
+            new Class<?>[] {Session.class }, (proxy, method, arguments) -> {
+                if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                    return null;
+                }
+                try {
+                    return method.invoke(session, arguments);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        this.joined = false;
+    }
+
+    /**
+     * Creates a unit of work that takes part in an enclosing one. Closing it
+     * leaves the session open.
+     *
+     * @param enclosing
+     *            the unit of work already running on the current thread
+     */
+    UnitOfWork(UnitOfWork enclosing) {
+        this.session = enclosing.session;
+        this.sharedSession = enclosing.sharedSession;
+        this.joined = true;
+    }
+
+    /**
+     * Returns the session to be used by the database accesses inside this
+     * unit of work. Closing the returned session has no effect.
+     *
+     * @return the session of this unit of work
+     */
+    Session getSession() {
+        return sharedSession;
+    }
+
+    /**
+     * Removes all loaded objects from the session. Changes not yet written are
+     * discarded.
+     */
+    public void clear() {
+        session.clear();
+    }
+
+    /**
+     * Returns the number of objects currently held by the session. The number
+     * grows with every loaded object until the unit of work is cleared.
+     *
+     * @return the number of managed entities
+     */
+    public int getManagedEntityCount() {
+        return session.isOpen() ? session.getStatistics().getEntityCount() : 0;
+    }
+
+    /**
+     * Ends this unit of work. The session is cleared and closed, unless this
+     * unit of work takes part in an enclosing one.
+     */
+    @Override
+    public void close() {
+        if (joined) {
+            return;
+        }
+        try {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Closing unit of work holding {} entities", getManagedEntityCount());
+            }
+            if (session.isOpen()) {
+                session.clear();
+                session.close();
+            }
+        } finally {
+            HibernateUtil.endUnitOfWork(this);
+        }
+    }
+}
@@ -104,7 +104,26 @@ public class IndexRestClient extends KitodoRestClient {
      *            list of json documents to the index
      */
     void addTypeSync(String type, Map<Integer, Map<String, Object>> documentsToIndex) throws CustomResponseException {
+        addTypeSync(type, documentsToIndex, false);
+    }
+
+    /**
+     * Add list of documents to the index in one synchronous bulk request.
+     *
+     * @param type
+     *            for which request is performed
+     * @param documentsToIndex
+     *            list of json documents to the index
+     * @param waitForRefresh
+     *            if true, the request returns after the documents became
+     *            visible to search, without forcing an immediate refresh
+     */
+    void addTypeSync(String type, Map<Integer, Map<String, Object>> documentsToIndex, boolean waitForRefresh)
+            throws CustomResponseException {
         BulkRequest bulkRequest = prepareBulkRequest(type, documentsToIndex);
+        if (waitForRefresh) {
+            bulkRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.WAIT_UNTIL);
+        }
 
         try {
             BulkResponse bulkResponse = highLevelClient.bulk(bulkRequest, RequestOptions.DEFAULT);
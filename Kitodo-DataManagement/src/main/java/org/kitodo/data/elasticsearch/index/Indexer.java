@@ -121,6 +121,32 @@ public class Indexer<T extends BaseIndexedBean, S extends BaseType> extends Inde
         }
     }
 
+    /**
+     * Send already created documents to the index in one bulk request. This
+     * allows to create the documents and to send them in different threads.
+     *
+     * @param documents
+     *            documents mapped by the id of their beans
+     */
+    public void performMultipleRequests(Map<Integer, Map<String, Object>> documents) throws CustomResponseException {
+        performMultipleRequests(documents, false);
+    }
+
+    /**
+     * Send already created documents to the index in one bulk request.
+     *
+     * @param documents
+     *            documents mapped by the id of their beans
+     * @param waitForRefresh
+     *            if true, the request returns after the documents became
+     *            visible to search
+     */
+    public void performMultipleRequests(Map<Integer, Map<String, Object>> documents, boolean waitForRefresh)
+            throws CustomResponseException {
+        IndexRestClient restClient = initiateRestClient();
+        restClient.addTypeSync(this.type, documents, waitForRefresh);
+    }
+
     private IndexRestClient initiateRestClient() {
         IndexRestClient restClient = IndexRestClient.getInstance();
         restClient.setIndexBase(index);
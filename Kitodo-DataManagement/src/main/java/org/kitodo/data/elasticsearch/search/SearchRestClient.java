@@ -112,6 +112,7 @@ public class SearchRestClient extends KitodoRestClient {
         SearchSourceBuilder sourceBuilder = new SearchSourceBuilder();
         sourceBuilder.query(query);
         sourceBuilder.aggregation(aggregation);
+        sourceBuilder.size(0);
 
         SearchRequest searchRequest = new SearchRequest(this.indexBase + "_" + type);
         searchRequest.source(sourceBuilder);
@@ -199,6 +200,48 @@ public class SearchRestClient extends KitodoRestClient {
         }
     }
 
+    /**
+     * Get the documents following the given sort values. Unlike paging with an
+     * offset, this is not limited to the first 10,000 hits, so all documents
+     * responding to a query can be read page by page.
+     *
+     * @param type
+     *            for which request is performed
+     * @param query
+     *            to find the documents
+     * @param sort
+     *            sort condition, must give the documents a total order
+     * @param searchAfter
+     *            sort values of the last document of the previous page, or
+     *            null for the first page
+     * @param size
+     *            number of documents of the page
+     * @return the hits of the page
+     */
+    SearchHits getDocumentsAfter(String type, QueryBuilder query, SortBuilder sort, Object[] searchAfter, int size)
+            throws CustomResponseException, DataException {
+        SearchSourceBuilder sourceBuilder = new SearchSourceBuilder();
+        sourceBuilder.query(query);
+        sourceBuilder.sort(sort);
+        sourceBuilder.size(size);
+        if (Objects.nonNull(searchAfter)) {
+            sourceBuilder.searchAfter(searchAfter);
+        }
+
+        SearchRequest searchRequest = new SearchRequest(this.indexBase + "_" + type);
+        searchRequest.source(sourceBuilder);
+
+        try {
+            SearchResponse response = highLevelClient.search(searchRequest, RequestOptions.DEFAULT);
+            return response.getHits();
+        } catch (ResponseException e) {
+            handleResponseException(e);
+            return SearchHits.empty();
+        } catch (IOException e) {
+            throw new DataException(e);
+        }
+    }
+
     /**
      * Retrieves a map of document IDs to their corresponding base type for the given list of IDs.
      *
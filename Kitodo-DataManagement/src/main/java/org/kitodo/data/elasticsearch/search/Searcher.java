@@ -223,6 +223,36 @@ public class Searcher extends Index {
         return searchResults;
     }
 
+    /**
+     * Find a page of documents following the given sort values. Used to read
+     * all documents responding to a query, without the 10,000 hits limit of
+     * paging by offset.
+     *
+     * @param query
+     *            as QueryBuilder
+     * @param sort
+     *            sort condition, must give the documents a total order
+     * @param searchAfter
+     *            sort values of the last document of the previous page, or
+     *            null for the first page
+     * @param size
+     *            number of documents of the page
+     * @return list of JSON objects
+     */
+    public List<Map<String, Object>> findDocumentsAfter(QueryBuilder query, SortBuilder sort, Object[] searchAfter,
+            int size) throws CustomResponseException, DataException {
+        SearchRestClient restClient = initiateRestClient();
+        List<Map<String, Object>> searchResults = new ArrayList<>();
+
+        SearchHits hits = restClient.getDocumentsAfter(this.type, query, sort, searchAfter, size);
+        for (SearchHit hit : hits.getHits()) {
+            Map<String, Object> result = hit.getSourceAsMap();
+            result.put("id", hit.getId());
+            searchResults.add(result);
+        }
+        return searchResults;
+    }
+
     private SearchRestClient initiateRestClient() {
         SearchRestClient restClient = SearchRestClient.getInstance();
         restClient.setIndexBase(index);
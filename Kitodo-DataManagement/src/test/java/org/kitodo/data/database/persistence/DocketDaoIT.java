@@ -35,8 +35,15 @@ public class DocketDaoIT {
 
         assertEquals(3, docketDAO.getAll().size(), "Objects were not saved or not found!");
         assertEquals(2, docketDAO.getAll(1,2).size(), "Objects were not saved or not found!");
+        assertEquals(2, docketDAO.getAllAfterId(1, 5).size(), "Objects were not saved or not found!");
+        assertEquals(2, docketDAO.getAllNotIndexedAfterId(0, 5).size(), "Objects were not saved or not found!");
+        assertEquals(1, docketDAO.getAllNotIndexedAfterId(2, 5).size(), "Objects were not saved or not found!");
         assertEquals("first_docket", docketDAO.getById(1).getTitle(), "Object was not saved or not found!");
 
+        docketDAO.saveAsIndexed(docketDAO.getAllNotIndexedAfterId(0, 5));
+        assertEquals(0, docketDAO.getAllNotIndexedAfterId(0, 5).size(), "Objects were not marked as indexed!");
+        assertEquals(IndexAction.DONE, docketDAO.getById(3).getIndexAction(), "Object was not marked as indexed!");
+
         docketDAO.remove(1);
         docketDAO.remove(dockets.get(1));
         assertEquals(1, docketDAO.getAll().size(), "Objects were not removed or not found!");
@@ -0,0 +1,173 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.data.database.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kitodo.data.database.beans.Process;
+import org.kitodo.data.database.beans.Project;
+import org.kitodo.data.database.beans.Task;
+import org.kitodo.data.database.enums.TaskStatus;
+import org.kitodo.data.database.exceptions.DAOException;
+import org.kitodo.data.elasticsearch.index.type.ProcessType;
+import org.kitodo.data.elasticsearch.index.type.TaskType;
+
+public class ProcessDaoIT {
+
+    private static final Logger logger = LogManager.getLogger(ProcessDaoIT.class);
+
+    private static final int NUMBER_OF_PROCESSES = 20;
+    private static final int TASKS_PER_PROCESS = 3;
+
+    private static final ProcessDAO processDAO = new ProcessDAO();
+    private static final ProjectDAO projectDAO = new ProjectDAO();
+
+    @BeforeAll
+    public static void prepareProcesses() throws DAOException {
+        Project project = new Project();
+        project.setTitle("Indexing project");
+        projectDAO.save(project);
+
+        for (int i = 1; i <= NUMBER_OF_PROCESSES; i++) {
+            Process process = new Process();
+            process.setTitle("Indexing process " + i);
+            process.setCreationDate(new Date());
+            process.setProject(project);
+            List<Task> tasks = new ArrayList<>();
+            for (int j = 1; j <= TASKS_PER_PROCESS; j++) {
+                Task task = new Task();
+                task.setTitle("Task " + j);
+                task.setOrdering(j);
+                task.setProcessingStatus(TaskStatus.OPEN);
+                task.setProcess(process);
+                tasks.add(task);
+            }
+            process.setTasks(tasks);
+            processDAO.save(process);
+        }
+    }
+
+    @AfterAll
+    public static void removeProcesses() throws DAOException {
+        for (Process process : processDAO.getAll()) {
+            processDAO.remove(process);
+        }
+        for (Project project : projectDAO.getAll()) {
+            projectDAO.remove(project);
+        }
+    }
+
+    @Test
+    public void shouldLoadProcessesAfterId() throws DAOException {
+        List<Process> processes = processDAO.getAllAfterId(0, NUMBER_OF_PROCESSES);
+        assertEquals(NUMBER_OF_PROCESSES, processes.size(), "Processes were not saved or not found!");
+        int lastId = processes.get(processes.size() - 1).getId();
+        assertTrue(processDAO.getAllAfterId(lastId, NUMBER_OF_PROCESSES).isEmpty(),
+            "Processes after the last one were found!");
+        for (Process process : processes) {
+            assertEquals(TASKS_PER_PROCESS, process.getTasks().size(), "Tasks were not loaded!");
+            assertTrue(process.getChildren().isEmpty(), "Children were not loaded!");
+        }
+    }
+
+    @Test
+    public void shouldLoadObjectsOfEachDaoAfterId() throws DAOException {
+        assertEquals(NUMBER_OF_PROCESSES, processDAO.getAllNotIndexedAfterId(0, NUMBER_OF_PROCESSES * 2).size(),
+            "Not indexed processes were not found!");
+        List<Project> projects = projectDAO.getAllAfterId(0, 10);
+        assertEquals(1, projects.size(), "Project was not found!");
+        assertEquals(projects, projectDAO.getAllNotIndexedAfterId(0, 10), "Not indexed project was not found!");
+    }
+
+    @Test
+    public void shouldLoadTasksAfterId() throws DAOException {
+        List<Task> tasks = new TaskDAO().getAllAfterId(0, NUMBER_OF_PROCESSES * TASKS_PER_PROCESS);
+        assertEquals(NUMBER_OF_PROCESSES * TASKS_PER_PROCESS, tasks.size(), "Tasks were not saved or not found!");
+        Map<Integer, Map<String, Object>> documents = new TaskType().createDocuments(tasks);
+        assertEquals(tasks.size(), documents.size(), "Documents were not created!");
+    }
+
+    @Test
+    public void shouldShareSessionInUnitOfWork() throws DAOException {
+        int processId = processDAO.getAllAfterId(0, 1).get(0).getId();
+        try (UnitOfWork unitOfWork = HibernateUtil.beginUnitOfWork()) {
+            Process process = processDAO.getById(processId);
+            assertSame(process, processDAO.getById(processId), "Process was loaded twice in one unit of work!");
+            assertTrue(unitOfWork.getManagedEntityCount() > 0, "Process is not held by the unit of work!");
+            unitOfWork.clear();
+            assertEquals(0, unitOfWork.getManagedEntityCount(), "Unit of work was not cleared!");
+        }
+        assertNotSame(processDAO.getById(processId), processDAO.getById(processId),
+            "Process was shared outside of a unit of work!");
+    }
+
+    @Test
+    public void shouldProcessProjectInChunks() throws DAOException {
+        int projectId = projectDAO.getAll().get(0).getId();
+        int[] maximumManagedEntities = new int[2];
+        int[] chunkSizes = {5, NUMBER_OF_PROCESSES };
+        for (int i = 0; i < chunkSizes.length; i++) {
+            final int run = i;
+            int processed = processDAO.forEachOfProject(projectId, 0, chunkSizes[run], process -> {
+                try (UnitOfWork unitOfWork = HibernateUtil.beginUnitOfWork()) {
+                    maximumManagedEntities[run] = Math.max(maximumManagedEntities[run],
+                        unitOfWork.getManagedEntityCount());
+                }
+            });
+            assertEquals(NUMBER_OF_PROCESSES, processed, "Not all processes were processed!");
+        }
+        assertTrue(maximumManagedEntities[0] < maximumManagedEntities[1],
+            "Chunks were not released: " + maximumManagedEntities[0] + " entities held with chunks of 5, "
+                    + maximumManagedEntities[1] + " with one chunk");
+    }
+
+    @Test
+    public void shouldIndexProcessesWithFewQueries() throws DAOException {
+        double queriesWithoutPrefetch = getQueriesPerIndexedDocument(false);
+        double queriesWithPrefetch = getQueriesPerIndexedDocument(true);
+        logger.info("Queries per indexed process: {} without, {} with prefetching of associations",
+            queriesWithoutPrefetch, queriesWithPrefetch);
+        // apart from the set-based queries, one query per process counts the task states of the process tree
+        assertTrue(queriesWithPrefetch < 2, "Indexing needs " + queriesWithPrefetch + " queries per process!");
+        assertTrue(queriesWithPrefetch * 4 < queriesWithoutPrefetch, "Prefetching associations did not save queries!");
+    }
+
+    private double getQueriesPerIndexedDocument(boolean prefetch) throws DAOException {
+        SessionFactory sessionFactory = HibernateUtil.getSession().getSessionFactory();
+        sessionFactory.getCache().evictAllRegions();
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        List<Process> processes = prefetch ? processDAO.getAllAfterId(0, NUMBER_OF_PROCESSES)
+                : processDAO.getAll(0, NUMBER_OF_PROCESSES);
+        Map<Integer, Map<String, Object>> documents = new ProcessType().createDocuments(processes);
+        long queries = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        assertEquals(NUMBER_OF_PROCESSES, documents.size(), "Documents were not created!");
+        return (double) queries / documents.size();
+    }
+}
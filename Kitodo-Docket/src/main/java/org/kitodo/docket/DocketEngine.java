@@ -0,0 +1,134 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.docket;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.sax.SAXResult;
+import javax.xml.transform.sax.SAXSource;
+import javax.xml.transform.stream.StreamSource;
+
+import org.apache.fop.apps.FOPException;
+import org.apache.fop.apps.Fop;
+import org.apache.fop.apps.FopFactory;
+import org.apache.fop.apps.FopFactoryBuilder;
+import org.apache.fop.apps.MimeConstants;
+import org.xml.sax.InputSource;
+
+/**
+ * Renders dockets as PDF. The FOP factory is created once, and each XSLT file
+ * is compiled once and then reused until it is modified. The docket XML is not
+ * serialized, but passed as SAX events from the docket data to the XSLT
+ * processor, and FOP writes the PDF directly to the output stream.
+ */
+class DocketEngine {
+
+    private static volatile DocketEngine instance = null;
+
+    private final FopFactory fopFactory;
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+    private final Map<File, CompiledXslt> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Return singleton variable of type DocketEngine.
+     *
+     * @return unique instance of DocketEngine
+     */
+    static DocketEngine getInstance() {
+        DocketEngine localReference = instance;
+        if (Objects.isNull(localReference)) {
+            synchronized (DocketEngine.class) {
+                localReference = instance;
+                if (Objects.isNull(localReference)) {
+                    localReference = new DocketEngine();
+                    instance = localReference;
+                }
+            }
+        }
+        return localReference;
+    }
+
+    private DocketEngine() {
+        FopFactoryBuilder builder = new FopFactoryBuilder(new File(".").toURI());
+        builder.setStrictFOValidation(false);
+        fopFactory = builder.build();
+    }
+
+    /**
+     * Renders the docket XML of an XML log as PDF.
+     *
+     * @param exportXmlLog
+     *            XML log providing the docket XML
+     * @param xsltFile
+     *            XSLT file transforming the docket XML to XSL-FO
+     * @param outputStream
+     *            stream to write the PDF to. The stream is not closed.
+     * @throws IOException
+     *             if the XSLT file cannot be compiled, or rendering fails
+     */
+    void render(ExportXmlLog exportXmlLog, File xsltFile, OutputStream outputStream) throws IOException {
+        try {
+            BufferedOutputStream out = new BufferedOutputStream(outputStream);
+            Fop fop = fopFactory.newFop(MimeConstants.MIME_PDF, out);
+            getTemplates(xsltFile).newTransformer().transform(
+                new SAXSource(new DocketXmlReader(exportXmlLog), new InputSource()),
+                new SAXResult(fop.getDefaultHandler()));
+            out.flush();
+        } catch (FOPException e) {
+            throw new IOException("FOPException occurred", e);
+        } catch (TransformerException e) {
+            throw new IOException("TransformerException occurred", e);
+        }
+    }
+
+    /**
+     * Returns the compiled XSLT file. The file is compiled again if it was
+     * modified since it was last compiled.
+     *
+     * @param xsltFile
+     *            XSLT file
+     * @return the compiled XSLT file
+     * @throws TransformerException
+     *             if the XSLT file cannot be compiled
+     */
+    Templates getTemplates(File xsltFile) throws TransformerException {
+        File key = xsltFile.getAbsoluteFile();
+        long lastModified = key.lastModified();
+        CompiledXslt compiled = templates.get(key);
+        if (Objects.isNull(compiled) || compiled.lastModified != lastModified) {
+            synchronized (transformerFactory) {
+                compiled = new CompiledXslt(transformerFactory.newTemplates(new StreamSource(key)), lastModified);
+            }
+            templates.put(key, compiled);
+        }
+        return compiled.templates;
+    }
+
+    private static final class CompiledXslt {
+        private final Templates templates;
+        private final long lastModified;
+
+        private CompiledXslt(Templates templates, long lastModified) {
+            this.templates = templates;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.docket;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jdom2.JDOMException;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.DTDHandler;
+import org.xml.sax.EntityResolver;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * An XML reader that does not parse, but emits the docket XML of an XML log as
+ * SAX events. This allows to pass the docket XML to an XSLT processor without
+ * serializing it first.
+ */
+class DocketXmlReader implements XMLReader {
+    private static final String NAMESPACES_FEATURE = "http://xml.org/sax/features/namespaces";
+
+    private final ExportXmlLog exportXmlLog;
+    private final Map<String, Boolean> features = new HashMap<>();
+    private final Map<String, Object> properties = new HashMap<>();
+    private ContentHandler contentHandler;
+    private DTDHandler dtdHandler;
+    private EntityResolver entityResolver;
+    private ErrorHandler errorHandler;
+
+    /**
+     * Creates a new reader for the docket XML of an XML log.
+     *
+     * @param exportXmlLog
+     *            XML log providing the docket XML
+     */
+    DocketXmlReader(ExportXmlLog exportXmlLog) {
+        this.exportXmlLog = exportXmlLog;
+        features.put(NAMESPACES_FEATURE, Boolean.TRUE);
+    }
+
+    @Override
+    public boolean getFeature(String name) {
+        return features.getOrDefault(name, Boolean.FALSE);
+    }
+
+    @Override
+    public void setFeature(String name, boolean value) {
+        features.put(name, value);
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        return properties.get(name);
+    }
+
+    @Override
+    public void setProperty(String name, Object value) {
+        properties.put(name, value);
+    }
+
+    @Override
+    public void setEntityResolver(EntityResolver resolver) {
+        this.entityResolver = resolver;
+    }
+
+    @Override
+    public EntityResolver getEntityResolver() {
+        return entityResolver;
+    }
+
+    @Override
+    public void setDTDHandler(DTDHandler handler) {
+        this.dtdHandler = handler;
+    }
+
+    @Override
+    public DTDHandler getDTDHandler() {
+        return dtdHandler;
+    }
+
+    @Override
+    public void setContentHandler(ContentHandler handler) {
+        this.contentHandler = handler;
+    }
+
+    @Override
+    public ContentHandler getContentHandler() {
+        return contentHandler;
+    }
+
+    @Override
+    public void setErrorHandler(ErrorHandler handler) {
+        this.errorHandler = handler;
+    }
+
+    @Override
+    public ErrorHandler getErrorHandler() {
+        return errorHandler;
+    }
+
+    /**
+     * Emits the docket XML. The input source is ignored.
+     */
+    @Override
+    public void parse(InputSource input) throws SAXException {
+        try {
+            exportXmlLog.output(contentHandler);
+        } catch (JDOMException e) {
+            throw new SAXException(e);
+        }
+    }
+
+    /**
+     * Emits the docket XML. The system ID is ignored.
+     */
+    @Override
+    public void parse(String systemId) throws SAXException {
+        parse(new InputSource(systemId));
+    }
+}
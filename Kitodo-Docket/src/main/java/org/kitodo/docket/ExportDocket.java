@@ -11,24 +11,10 @@
 
 package org.kitodo.docket;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 
-import javax.xml.transform.Result;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.sax.SAXResult;
-import javax.xml.transform.stream.StreamSource;
-
-import org.apache.fop.apps.FOPException;
-import org.apache.fop.apps.Fop;
-import org.apache.fop.apps.FopFactory;
-import org.apache.fop.apps.FopFactoryBuilder;
-import org.apache.fop.apps.MimeConstants;
 import org.kitodo.api.docket.DocketData;
 
 /**
@@ -60,13 +46,7 @@ public class ExportDocket {
      *             Throws IOException, when pdfGeneration fails
      */
     void startExport(DocketData docketData, OutputStream outputStream) throws IOException {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        new ExportXmlLog(docketData).accept(out);
-
-        byte[] pdfBytes = generatePdfBytes(out);
-
-        outputStream.write(pdfBytes);
-        outputStream.flush();
+        DocketEngine.getInstance().render(new ExportXmlLog(docketData), xsltFile, outputStream);
         outputStream.close();
     }
 
@@ -80,36 +60,7 @@ public class ExportDocket {
      *             Throws IOException, when pdfGeneration fails.
      */
     void startExport(Iterable<DocketData> docketDataList, OutputStream os) throws IOException {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        new ExportXmlLog(docketDataList).accept(out);
-
-        byte[] pdfBytes = generatePdfBytes(out);
-
-        os.write(pdfBytes);
-    }
-
-    private byte[] generatePdfBytes(ByteArrayOutputStream out) throws IOException {
-        // generate pdf file
-        StreamSource source = new StreamSource(new ByteArrayInputStream(out.toByteArray()));
-        StreamSource transformSource = new StreamSource(xsltFile);
-        FopFactoryBuilder builder = new FopFactoryBuilder(new File(".").toURI());
-        builder.setStrictFOValidation(false);
-        FopFactory fopFactory = builder.build();
-        ByteArrayOutputStream outStream = new ByteArrayOutputStream();
-        // transform xml
-        try {
-            Transformer xslTransformer = TransformerFactory.newInstance().newTransformer(transformSource);
-            Fop fop = fopFactory.newFop(MimeConstants.MIME_PDF, outStream);
-            Result res = new SAXResult(fop.getDefaultHandler());
-            xslTransformer.transform(source, res);
-        } catch (FOPException e) {
-            throw new IOException("FOPException occurred", e);
-        } catch (TransformerException e) {
-            throw new IOException("TransformerException occurred", e);
-        }
-
-        // write the content to output stream
-        return outStream.toByteArray();
+        DocketEngine.getInstance().render(new ExportXmlLog(docketDataList), xsltFile, os);
     }
 
 }
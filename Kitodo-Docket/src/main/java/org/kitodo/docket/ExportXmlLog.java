@@ -21,6 +21,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -44,6 +45,7 @@ import org.jdom2.Namespace;
 import org.jdom2.filter.Filters;
 import org.jdom2.input.SAXBuilder;
 import org.jdom2.output.Format;
+import org.jdom2.output.SAXOutputter;
 import org.jdom2.output.XMLOutputter;
 import org.jdom2.xpath.XPathExpression;
 import org.jdom2.xpath.XPathFactory;
@@ -52,6 +54,9 @@ import org.kitodo.api.docket.Property;
 import org.kitodo.config.KitodoConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
 
 /**
  * This class provides xml logfile generation. After the generation the file
@@ -65,13 +70,19 @@ public class ExportXmlLog implements Consumer<OutputStream> {
     private static final Logger logger = LoggerFactory.getLogger(ExportXmlLog.class);
     private static final String LABEL = "label";
     private static final String NAMESPACE = "http://www.kitodo.org/logfile";
+    private static final String PROCESSES = "processes";
     private static final String PROPERTIES = "properties";
     private static final String PROPERTY = "property";
     private static final String PROPERTY_IDENTIFIER = "propertyIdentifier";
     private static final String VALUE = "value";
+    private static final String XSI = "http://www.w3.org/2001/XMLSchema-instance";
 
     List<DocketData> docketData;
 
+    private final SAXBuilder saxBuilder = new SAXBuilder();
+    private Map<String, XPathExpression<Object>> metsExpressions;
+    private Map<String, XPathExpression<Object>> anchorExpressions;
+
     /**
      * Makes the class polymorphic.
      *
@@ -140,11 +151,11 @@ public class ExportXmlLog implements Consumer<OutputStream> {
 
     void startMultipleExport(OutputStream outputStream) {
         Document answer = new Document();
-        Element root = new Element("processes");
+        Element root = new Element(PROCESSES);
         answer.setRootElement(root);
         Namespace xmlns = Namespace.getNamespace(NAMESPACE);
 
-        Namespace xsi = Namespace.getNamespace("xsi", "http://www.w3.org/2001/XMLSchema-instance");
+        Namespace xsi = Namespace.getNamespace("xsi", XSI);
         root.addNamespaceDeclaration(xsi);
         root.setNamespace(xmlns);
         Attribute attSchema = new Attribute("schemaLocation", NAMESPACE + " XML-logfile.xsd",
@@ -175,6 +186,40 @@ public class ExportXmlLog implements Consumer<OutputStream> {
 
     }
 
+    /**
+     * Emits the production metadata as SAX events to a content handler. For
+     * several processes, the process elements are created and emitted one
+     * after the other, so that only one of them is held in memory at a time.
+     *
+     * @param contentHandler
+     *            content handler to receive the events
+     * @throws JDOMException
+     *             if the content handler fails
+     * @throws SAXException
+     *             if the content handler fails
+     */
+    void output(ContentHandler contentHandler) throws JDOMException, SAXException {
+        SAXOutputter saxOutputter = new SAXOutputter(contentHandler);
+        if (docketData.size() == 1) {
+            saxOutputter.output(createDocument(docketData.get(0), true));
+            return;
+        }
+        contentHandler.startDocument();
+        contentHandler.startPrefixMapping("", NAMESPACE);
+        contentHandler.startPrefixMapping("xsi", XSI);
+        AttributesImpl attributes = new AttributesImpl();
+        attributes.addAttribute(XSI, "schemaLocation", "xsi:schemaLocation", "CDATA",
+            NAMESPACE + " XML-logfile.xsd");
+        contentHandler.startElement(NAMESPACE, PROCESSES, PROCESSES, attributes);
+        for (DocketData processData : docketData) {
+            saxOutputter.outputFragment(createDocument(processData, false).getRootElement().detach());
+        }
+        contentHandler.endElement(NAMESPACE, PROCESSES, PROCESSES);
+        contentHandler.endPrefixMapping("xsi");
+        contentHandler.endPrefixMapping("");
+        contentHandler.endDocument();
+    }
+
     /**
      * This method creates a new xml document with process metadata.
      *
@@ -327,7 +372,7 @@ public class ExportXmlLog implements Consumer<OutputStream> {
     private void processNamespaceDeclaration(boolean addNamespace, Element processElm) {
         if (addNamespace) {
 
-            Namespace xsi = Namespace.getNamespace("xsi", "http://www.w3.org/2001/XMLSchema-instance");
+            Namespace xsi = Namespace.getNamespace("xsi", XSI);
             processElm.addNamespaceDeclaration(xsi);
             Attribute attSchema = new Attribute("schemaLocation", NAMESPACE + " XML-logfile.xsd",
                     xsi);
@@ -358,17 +403,10 @@ public class ExportXmlLog implements Consumer<OutputStream> {
     private List<Element> createMetadataElements(Namespace xmlns, DocketData docketData) {
         List<Element> metadataElements = new ArrayList<>();
         try {
-            HashMap<String, String> names = getNamespacesFromConfig();
-            Namespace[] namespaces = new Namespace[names.size()];
-            int index = 0;
-            for (Iterator<Entry<String, String>> entries = names.entrySet().iterator(); entries.hasNext(); index++) {
-                Entry<String, String> entry = entries.next();
-                namespaces[index] = Namespace.getNamespace(entry.getKey(), entry.getValue());
-            }
-
-            prepareMetadataElements(metadataElements, false, docketData, namespaces, xmlns);
+            compileMetsExpressions();
+            prepareMetadataElements(metadataElements, metsExpressions, docketData, xmlns);
             if (Objects.nonNull(docketData.getParent())) {
-                prepareMetadataElements(metadataElements, true, docketData.getParent(), namespaces, xmlns);
+                prepareMetadataElements(metadataElements, anchorExpressions, docketData.getParent(), xmlns);
             }
 
         } catch (IOException | JDOMException | IllegalArgumentException e) {
@@ -377,6 +415,38 @@ public class ExportXmlLog implements Consumer<OutputStream> {
         return metadataElements;
     }
 
+    /**
+     * Reads the configured METS fields and compiles their XPath expressions.
+     * This is done once for all processes exported.
+     */
+    private void compileMetsExpressions() {
+        if (Objects.nonNull(metsExpressions)) {
+            return;
+        }
+        HashMap<String, String> names = getNamespacesFromConfig();
+        Namespace[] namespaces = new Namespace[names.size()];
+        int index = 0;
+        for (Iterator<Entry<String, String>> entries = names.entrySet().iterator(); entries.hasNext(); index++) {
+            Entry<String, String> entry = entries.next();
+            namespaces[index] = Namespace.getNamespace(entry.getKey(), entry.getValue());
+        }
+        Map<String, XPathExpression<Object>> anchor = compileMetsExpressions(getMetsFieldsFromConfig(true),
+            namespaces);
+        metsExpressions = compileMetsExpressions(getMetsFieldsFromConfig(false), namespaces);
+        anchorExpressions = anchor;
+    }
+
+    private Map<String, XPathExpression<Object>> compileMetsExpressions(Map<String, String> fields,
+            Namespace[] namespaces) {
+        Map<String, XPathExpression<Object>> expressions = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : fields.entrySet()) {
+            String expression = entry.getValue().trim().replace("\n", "");
+            expressions.put(entry.getKey(), XPathFactory.instance().compile(expression, Filters.fpassthrough(),
+                Collections.emptyMap(), namespaces));
+        }
+        return expressions;
+    }
+
     private HashMap<String, String> getNamespacesFromConfig() {
         return getXmlPathFromConfig("namespace");
     }
@@ -411,21 +481,20 @@ public class ExportXmlLog implements Consumer<OutputStream> {
         return fields;
     }
 
-    private void prepareMetadataElements(List<Element> metadataElements, boolean useAnchor, DocketData docketData,
-            Namespace[] namespaces, Namespace xmlns)
+    private void prepareMetadataElements(List<Element> metadataElements,
+            Map<String, XPathExpression<Object>> expressions, DocketData docketData, Namespace xmlns)
             throws IOException, JDOMException {
-        HashMap<String, String> fields = getMetsFieldsFromConfig(useAnchor);
         try (InputStream in = docketData.metadataFile().toURL().openStream()) {
-            Document metsDoc = new SAXBuilder().build(in);
-            prepareMetadataElements(metadataElements, fields, metsDoc, namespaces, xmlns);
+            Document metsDoc = saxBuilder.build(in);
+            prepareMetadataElements(metadataElements, expressions, metsDoc, xmlns);
         }
     }
 
-    private void prepareMetadataElements(List<Element> metadataElements, Map<String, String> fields, Document document,
-            Namespace[] namespaces, Namespace xmlns) {
-        for (Map.Entry<String, String> entry : fields.entrySet()) {
+    private void prepareMetadataElements(List<Element> metadataElements,
+            Map<String, XPathExpression<Object>> expressions, Document document, Namespace xmlns) {
+        for (Map.Entry<String, XPathExpression<Object>> entry : expressions.entrySet()) {
             String key = entry.getKey();
-            List<Object> metsValues = getMetsValues(entry.getValue(), document, namespaces);
+            List<Object> metsValues = entry.getValue().evaluate(document);
             for (Object object : metsValues) {
                 boolean isElement = Filters.element().matches(object);
                 if (isElement || Filters.attribute().matches(object)) {
@@ -450,23 +519,6 @@ public class ExportXmlLog implements Consumer<OutputStream> {
         return fields;
     }
 
-    /**
-     * Get METS values.
-     *
-     * @param expr
-     *            String
-     * @param element
-     *            Object
-     * @param namespaces
-     *            HashMap
-     * @return list of elements
-     */
-    private List<Object> getMetsValues(String expr, Document document, Namespace[] namespaces) {
-        XPathExpression<Object> xpath = XPathFactory.instance().compile(expr.trim().replace("\n", ""),
-            Filters.fpassthrough(), Collections.emptyMap(), namespaces);
-        return xpath.evaluate(document);
-    }
-
     private String replacer(String in) {
         in = in.replace("°", "?");
         in = in.replace("^", "?");
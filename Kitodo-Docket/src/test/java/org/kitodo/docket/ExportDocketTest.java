@@ -11,6 +11,7 @@
 
 package org.kitodo.docket;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
@@ -18,6 +19,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.URISyntaxException;
 
+import javax.xml.transform.TransformerException;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -49,4 +52,12 @@ public class ExportDocketTest {
         assertTrue(file.exists());
     }
 
+    @Test
+    public void shouldReuseCompiledXslt() throws TransformerException {
+        File xslFile = new File("src/test/resources/docket.xsl");
+        DocketEngine docketEngine = DocketEngine.getInstance();
+
+        assertSame(docketEngine.getTemplates(xslFile), docketEngine.getTemplates(xslFile),
+            "XSLT file should be compiled only once");
+    }
 }
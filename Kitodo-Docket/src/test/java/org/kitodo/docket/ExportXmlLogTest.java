@@ -15,10 +15,17 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.nio.file.Paths;
 
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.sax.SAXSource;
+import javax.xml.transform.stream.StreamResult;
+
 import org.junit.jupiter.api.Test;
 import org.kitodo.api.docket.DocketData;
+import org.xml.sax.InputSource;
 
 public class ExportXmlLogTest extends ExportXmlLog {
 
@@ -42,4 +49,15 @@ public class ExportXmlLogTest extends ExportXmlLog {
             assertTrue(buffer.toString().contains("findMeInOutput"), "Output should contain test string");
         }
     }
+
+    /**
+     * Tests if the XML log can be read as SAX events.
+     */
+    @Test
+    public void shouldReadXmlLogAsSaxEvents() throws TransformerException {
+        StringWriter writer = new StringWriter();
+        TransformerFactory.newInstance().newTransformer().transform(
+            new SAXSource(new DocketXmlReader(this), new InputSource()), new StreamResult(writer));
+        assertTrue(writer.toString().contains("findMeInOutput"), "Output should contain test string");
+    }
 }
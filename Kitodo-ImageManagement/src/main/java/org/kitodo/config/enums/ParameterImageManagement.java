@@ -16,7 +16,11 @@ public enum ParameterImageManagement implements ParameterInterface {
     DIR_TMP("ImageManagement.tmpDir"),
     SEARCH_PATH("ImageManagement.searchPath"),
     TIMEOUT_SEC("ImageManagement.timeoutSec"),
-    SSH_HOST("ImageManagement.sshHosts");
+    SSH_HOST("ImageManagement.sshHosts"),
+    SLOTS_PER_HOST("ImageManagement.slotsPerHost"),
+    HOST_FAILURE_THRESHOLD("ImageManagement.hostFailureThreshold"),
+    HOST_RETRY_SEC("ImageManagement.hostRetrySec"),
+    SSH_CONTROL_PERSIST_SEC("ImageManagement.sshControlPersistSec");
 
     private String name;
 
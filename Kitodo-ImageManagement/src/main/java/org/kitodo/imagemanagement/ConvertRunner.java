@@ -15,12 +15,11 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.NoSuchElementException;
-import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.exec.CommandLine;
 import org.apache.commons.exec.DefaultExecutor;
+import org.apache.commons.exec.ExecuteException;
 import org.apache.commons.exec.ExecuteWatchdog;
 import org.apache.commons.exec.Executor;
 import org.apache.commons.exec.PumpStreamHandler;
@@ -32,7 +31,8 @@ import org.kitodo.config.KitodoConfig;
 import org.kitodo.config.enums.ParameterImageManagement;
 
 /**
- * Executes the {@code convert} command.
+ * Executes the {@code convert} command. The host on which the command runs is
+ * assigned by the {@link ConvertScheduler}.
  */
 class ConvertRunner {
     private static final Logger logger = LogManager.getLogger(ConvertRunner.class);
@@ -43,15 +43,24 @@ class ConvertRunner {
     private static final String CONVERT_COMMAND = "convert";
 
     /**
-     * Randomness generator used to distribute the requests evenly on several
-     * configured SSH hosts.
+     * Default timeout.
      */
-    private static final Random RANDOMNESS_GENERATOR = new Random();
+    private static final int DEFAULT_TIMEOUT_SECS = (int) TimeUnit.SECONDS.convert(2, TimeUnit.HOURS);
 
     /**
-     * Default timeout.
+     * Default time to keep a shared SSH connection open after its last use.
      */
-    private static final int DEFAULT_TIMEOUT_SECS = (int) TimeUnit.SECONDS.convert(2, TimeUnit.HOURS);
+    private static final int DEFAULT_CONTROL_PERSIST_SECS = 60;
+
+    /**
+     * Exit value of SSH if the connection failed.
+     */
+    private static final int SSH_CONNECTION_FAILED = 255;
+
+    /**
+     * Maximum number of bytes of command output kept for logging.
+     */
+    private static final int MAX_OUTPUT_BYTES = 64 * 1024;
 
     /**
      * {@code convert} command, optionally with full path.
@@ -59,7 +68,8 @@ class ConvertRunner {
     private String convertCommand = CONVERT_COMMAND;
 
     /**
-     * Executes the ImageMagick command using Apache Commons Exec.
+     * Executes the ImageMagick command using Apache Commons Exec. Waits until
+     * the convert scheduler assigns a host.
      *
      * @param commandLine
      *            command line to execute
@@ -69,37 +79,69 @@ class ConvertRunner {
     void run(IMOperation commandLine) throws IOException {
         Executor executor = new DefaultExecutor();
 
-        OutputStream outAndErr = new ByteArrayOutputStream();
+        OutputStream outAndErr = new LimitedOutputStream(MAX_OUTPUT_BYTES);
         executor.setStreamHandler(new PumpStreamHandler(outAndErr));
 
         long timeoutMillis = 1000L * KitodoConfig.getIntParameter(ParameterImageManagement.TIMEOUT_SEC, DEFAULT_TIMEOUT_SECS);
         executor.setWatchdog(new ExecuteWatchdog(timeoutMillis));
 
-        CommandLine command;
-        try {
-            String sshHosts = KitodoConfig.getParameter(ParameterImageManagement.SSH_HOST);
-            command = new CommandLine("ssh");
-            String[] hosts = sshHosts.split(",");
-            String host = hosts[RANDOMNESS_GENERATOR.nextInt(hosts.length)];
-            command.addArgument(host, false);
-            command.addArgument(convertCommand + ' ' + commandLine.toString(), false);
-        } catch (NoSuchElementException e) {
-            logger.trace("SSH not configured.", e);
-            command = new CommandLine(convertCommand);
-            command.addArguments(commandLine.toString(), false);
-        }
-
+        ConvertScheduler scheduler = ConvertScheduler.getInstance();
+        ConvertScheduler.Host host = scheduler.acquire();
+        CommandLine command = createCommand(host.getName(), commandLine);
+        long begin = System.nanoTime();
+        boolean connectionFailed = false;
         try {
             logger.debug("Executing: {}", command);
             logger.trace("Timeout: {} mins", timeoutMillis / 60000d);
             executor.execute(command);
             logger.debug("Command output:{}{}", System.lineSeparator(), outAndErr.toString());
+        } catch (ExecuteException e) {
+            connectionFailed = !host.getName().isEmpty() && e.getExitValue() == SSH_CONNECTION_FAILED;
+            logger.error("Command output:{}{}", System.lineSeparator(), outAndErr.toString());
+            throw e;
         } catch (IOException | RuntimeException e) {
             logger.error("Command output:{}{}", System.lineSeparator(), outAndErr.toString());
             throw e;
+        } finally {
+            scheduler.release(host, System.nanoTime() - begin, connectionFailed);
+            logger.trace("{}", scheduler);
         }
     }
 
+    /**
+     * Creates the command to run, either locally or on the given SSH host. If
+     * configured, SSH connections to a host are shared between commands.
+     *
+     * @param host
+     *            SSH host, or empty to run locally
+     * @param commandLine
+     *            ImageMagick command line
+     * @return the command to run
+     */
+    private CommandLine createCommand(String host, IMOperation commandLine) {
+        if (host.isEmpty()) {
+            CommandLine command = new CommandLine(convertCommand);
+            command.addArguments(commandLine.toString(), false);
+            return command;
+        }
+        CommandLine command = new CommandLine("ssh");
+        int controlPersistSecs = KitodoConfig.getIntParameter(ParameterImageManagement.SSH_CONTROL_PERSIST_SEC,
+            DEFAULT_CONTROL_PERSIST_SECS);
+        if (controlPersistSecs > 0) {
+            String controlPath = FilenameUtils.concat(KitodoConfig.getParameter(ParameterImageManagement.DIR_TMP,
+                System.getProperty("java.io.tmpdir")), "kitodo-ssh-%C");
+            command.addArgument("-o", false);
+            command.addArgument("ControlMaster=auto", false);
+            command.addArgument("-o", false);
+            command.addArgument("ControlPersist=" + controlPersistSecs, false);
+            command.addArgument("-o", false);
+            command.addArgument("ControlPath=" + controlPath, false);
+        }
+        command.addArgument(host, false);
+        command.addArgument(convertCommand + ' ' + commandLine.toString(), false);
+        return command;
+    }
+
     /**
      * Set the search path. This can either be the directory, or the name of the
      * executable.
@@ -118,4 +160,39 @@ class ConvertRunner {
             throw new IllegalArgumentException("path must either be a directory, or an executable: " + path);
         }
     }
+
+    /**
+     * Keeps the beginning of the command output up to a maximum size, so that
+     * a command writing a lot of output does not fill the memory.
+     */
+    private static final class LimitedOutputStream extends ByteArrayOutputStream {
+        private final int limit;
+        private long discarded;
+
+        private LimitedOutputStream(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            if (count < limit) {
+                super.write(b);
+            } else {
+                discarded++;
+            }
+        }
+
+        @Override
+        public synchronized void write(byte[] bytes, int offset, int length) {
+            int accepted = Math.max(0, Math.min(length, limit - count));
+            super.write(bytes, offset, accepted);
+            discarded += length - accepted;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return discarded == 0 ? super.toString()
+                    : super.toString() + System.lineSeparator() + "[" + discarded + " more bytes]";
+        }
+    }
 }
@@ -0,0 +1,262 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.imagemanagement;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.config.KitodoConfig;
+import org.kitodo.config.enums.ParameterImageManagement;
+
+/**
+ * Distributes the {@code convert} calls to the hosts running ImageMagick.
+ * Each host has a limited number of slots for concurrent calls. A call goes to
+ * the host with the lowest share of occupied slots, and waits if all slots are
+ * occupied. A host whose SSH connection fails repeatedly is taken out of
+ * rotation for some time. If no SSH hosts are configured, ImageMagick runs
+ * locally, which is treated as a single host.
+ */
+class ConvertScheduler {
+    private static final Logger logger = LogManager.getLogger(ConvertScheduler.class);
+
+    /**
+     * Name of the host if ImageMagick runs locally.
+     */
+    static final String LOCAL_HOST = "";
+
+    private static final int DEFAULT_FAILURE_THRESHOLD = 3;
+    private static final int DEFAULT_RETRY_SECS = 60;
+
+    private static volatile ConvertScheduler instance = null;
+
+    private final List<Host> hosts;
+    private final int failureThreshold;
+    private final long retryNanos;
+
+    /**
+     * Return singleton variable of type ConvertScheduler.
+     *
+     * @return unique instance of ConvertScheduler
+     */
+    static ConvertScheduler getInstance() {
+        ConvertScheduler localReference = instance;
+        if (Objects.isNull(localReference)) {
+            synchronized (ConvertScheduler.class) {
+                localReference = instance;
+                if (Objects.isNull(localReference)) {
+                    List<String> hostNames;
+                    try {
+                        hostNames = new ArrayList<>();
+                        for (String host : KitodoConfig.getParameter(ParameterImageManagement.SSH_HOST).split(",")) {
+                            if (StringUtils.isNotBlank(host)) {
+                                hostNames.add(host.trim());
+                            }
+                        }
+                    } catch (NoSuchElementException e) {
+                        logger.trace("SSH not configured.", e);
+                        hostNames = Collections.singletonList(LOCAL_HOST);
+                    }
+                    localReference = new ConvertScheduler(hostNames,
+                            KitodoConfig.getIntParameter(ParameterImageManagement.SLOTS_PER_HOST,
+                                Runtime.getRuntime().availableProcessors()),
+                            KitodoConfig.getIntParameter(ParameterImageManagement.HOST_FAILURE_THRESHOLD,
+                                DEFAULT_FAILURE_THRESHOLD),
+                            TimeUnit.SECONDS.toNanos(KitodoConfig.getIntParameter(
+                                ParameterImageManagement.HOST_RETRY_SEC, DEFAULT_RETRY_SECS)));
+                    instance = localReference;
+                }
+            }
+        }
+        return localReference;
+    }
+
+    /**
+     * Creates a new convert scheduler.
+     *
+     * @param hostNames
+     *            hosts to run ImageMagick on
+     * @param slotsPerHost
+     *            number of concurrent calls per host
+     * @param failureThreshold
+     *            number of consecutive connection failures after which a host
+     *            is taken out of rotation
+     * @param retryNanos
+     *            time after which a host taken out of rotation is tried again
+     */
+    ConvertScheduler(List<String> hostNames, int slotsPerHost, int failureThreshold, long retryNanos) {
+        List<Host> hosts = new ArrayList<>(hostNames.size());
+        for (String hostName : hostNames.isEmpty() ? Collections.singletonList(LOCAL_HOST) : hostNames) {
+            hosts.add(new Host(hostName, Math.max(1, slotsPerHost)));
+        }
+        this.hosts = Collections.unmodifiableList(hosts);
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.retryNanos = retryNanos;
+    }
+
+    /**
+     * Waits for a free slot and occupies it. The slot must be given back by
+     * {@link #release(Host, long, boolean)}.
+     *
+     * @return the host of the slot
+     * @throws InterruptedIOException
+     *             if the thread is interrupted while waiting
+     */
+    synchronized Host acquire() throws InterruptedIOException {
+        final long queuedSince = System.nanoTime();
+        Host host = selectHost();
+        while (Objects.isNull(host)) {
+            try {
+                wait(TimeUnit.NANOSECONDS.toMillis(retryNanos) + 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for ImageMagick");
+            }
+            host = selectHost();
+        }
+        host.active++;
+        host.runs++;
+        host.queueWaitNanos += System.nanoTime() - queuedSince;
+        return host;
+    }
+
+    /**
+     * Gives back a slot.
+     *
+     * @param host
+     *            host of the slot
+     * @param runNanos
+     *            time the call took
+     * @param connectionFailed
+     *            whether the host could not be reached
+     */
+    synchronized void release(Host host, long runNanos, boolean connectionFailed) {
+        host.active--;
+        host.runNanos += runNanos;
+        if (connectionFailed) {
+            host.failures++;
+            host.consecutiveFailures++;
+            if (host.consecutiveFailures >= failureThreshold && hosts.size() > 1) {
+                host.unavailableUntil = System.nanoTime() + retryNanos;
+                logger.warn("Taking ImageMagick host {} out of rotation for {} s after {} failed connections",
+                    host.name, TimeUnit.NANOSECONDS.toSeconds(retryNanos), host.consecutiveFailures);
+            }
+        } else {
+            host.consecutiveFailures = 0;
+        }
+        notifyAll();
+    }
+
+    /**
+     * Selects the host in rotation with the lowest share of occupied slots. If
+     * all hosts are out of rotation, all are considered, so that the calls
+     * fail instead of waiting until a host is back in rotation.
+     *
+     * @return the selected host, or {@code null} if all slots are occupied
+     */
+    private Host selectHost() {
+        long now = System.nanoTime();
+        List<Host> candidates = new ArrayList<>(hosts.size());
+        for (Host host : hosts) {
+            if (host.unavailableUntil - now <= 0) {
+                candidates.add(host);
+            }
+        }
+        if (candidates.isEmpty()) {
+            candidates = hosts;
+        }
+        Host selected = null;
+        for (Host host : candidates) {
+            if (host.active < host.slots && (Objects.isNull(selected)
+                    || (double) host.active / host.slots < (double) selected.active / selected.slots)) {
+                selected = host;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Returns the hosts.
+     *
+     * @return the hosts
+     */
+    List<Host> getHosts() {
+        return hosts;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ConvertScheduler " + hosts;
+    }
+
+    /**
+     * A host running ImageMagick, with its statistics.
+     */
+    static final class Host {
+        private final String name;
+        private final int slots;
+        private int active;
+        private int consecutiveFailures;
+        private long unavailableUntil = System.nanoTime();
+        private long runs;
+        private long failures;
+        private long queueWaitNanos;
+        private long runNanos;
+
+        private Host(String name, int slots) {
+            this.name = name;
+            this.slots = slots;
+        }
+
+        /**
+         * Returns the name of the host, as passed to SSH.
+         *
+         * @return the name of the host, empty if ImageMagick runs locally
+         */
+        String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the number of calls on this host.
+         *
+         * @return the number of calls
+         */
+        long getRuns() {
+            return runs;
+        }
+
+        /**
+         * Returns the number of failed connections to this host.
+         *
+         * @return the number of failed connections
+         */
+        long getFailures() {
+            return failures;
+        }
+
+        @Override
+        public String toString() {
+            return "[host=" + (name.isEmpty() ? "local" : name) + ", active=" + active + "/" + slots + ", runs="
+                    + runs + ", failures=" + failures + ", queueWaitMillis="
+                    + TimeUnit.NANOSECONDS.toMillis(queueWaitNanos) + ", runMillis="
+                    + TimeUnit.NANOSECONDS.toMillis(runNanos) + "]";
+        }
+    }
+}
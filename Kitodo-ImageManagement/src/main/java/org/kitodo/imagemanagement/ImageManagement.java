@@ -17,10 +17,14 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Files;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.function.Function;
 
 import javax.imageio.ImageIO;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.kitodo.api.imagemanagement.ImageFileFormat;
@@ -94,6 +98,34 @@ public class ImageManagement implements ImageManagementInterface {
         return new File(resultUri).exists();
     }
 
+    /**
+     * {@inheritDoc} All derivatives are created in one ImageMagick call, so
+     * that the source image is read and decoded only once.
+     *
+     * @see org.kitodo.api.imagemanagement.ImageManagementInterface#createDerivatives(java.net.URI,
+     *      java.util.Map)
+     */
+    @Override
+    public boolean createDerivatives(URI sourceUri, Map<URI, Pair<Double, ImageFileFormat>> derivatives)
+            throws IOException {
+
+        fileExists(sourceUri);
+        if (derivatives.isEmpty()) {
+            return true;
+        }
+        ImageConverter imageConverter = new ImageConverter(sourceUri);
+        for (Entry<URI, Pair<Double, ImageFileFormat>> derivative : derivatives.entrySet()) {
+            URI resultUri = Objects.requireNonNull(derivative.getKey(), "resultUri must not be null");
+            double factor = derivative.getValue().getKey();
+            Guard.isPositive("factor", factor);
+            imageConverter.addResult(resultUri, derivative.getValue().getValue()).resize(factor);
+            logger.info("Creating derivative from {} as {}, format {}, factor {}%", sourceUri, resultUri,
+                derivative.getValue().getValue(), 100 * factor);
+        }
+        imageConverter.run();
+        return derivatives.keySet().stream().allMatch(resultUri -> new File(resultUri).exists());
+    }
+
     /**
      * {@inheritDoc}
      *
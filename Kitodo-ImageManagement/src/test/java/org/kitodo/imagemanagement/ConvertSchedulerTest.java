@@ -0,0 +1,66 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.imagemanagement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class ConvertSchedulerTest {
+
+    @Test
+    public void shouldAssignLeastLoadedHost() throws Exception {
+        ConvertScheduler scheduler = new ConvertScheduler(Arrays.asList("host1", "host2"), 2, 3,
+                TimeUnit.MINUTES.toNanos(1));
+
+        ConvertScheduler.Host first = scheduler.acquire();
+        ConvertScheduler.Host second = scheduler.acquire();
+        assertNotEquals(first.getName(), second.getName(), "Calls were not distributed to both hosts");
+
+        scheduler.release(first, 0, false);
+        assertEquals(first.getName(), scheduler.acquire().getName(), "Call did not go to the idle host");
+    }
+
+    @Test
+    public void shouldTakeFailingHostOutOfRotation() throws Exception {
+        ConvertScheduler scheduler = new ConvertScheduler(Arrays.asList("host1", "host2"), 1, 2,
+                TimeUnit.MINUTES.toNanos(1));
+
+        for (int i = 0; i < 2; i++) {
+            ConvertScheduler.Host host = scheduler.acquire();
+            assertEquals("host1", host.getName(), "Call did not go to the first host");
+            scheduler.release(host, 0, true);
+        }
+        for (int i = 0; i < 3; i++) {
+            ConvertScheduler.Host host = scheduler.acquire();
+            assertEquals("host2", host.getName(), "Failing host was not taken out of rotation");
+            scheduler.release(host, 0, false);
+        }
+        assertEquals(2, scheduler.getHosts().get(0).getFailures(), "Number of failures is wrong");
+        assertEquals(3, scheduler.getHosts().get(1).getRuns(), "Number of runs is wrong");
+    }
+
+    @Test
+    public void shouldRunLocallyWithoutHosts() throws Exception {
+        ConvertScheduler scheduler = new ConvertScheduler(Collections.emptyList(), 1, 1, 0);
+
+        ConvertScheduler.Host host = scheduler.acquire();
+        assertEquals(ConvertScheduler.LOCAL_HOST, host.getName(), "Call did not run locally");
+        scheduler.release(host, 0, true);
+        assertEquals(ConvertScheduler.LOCAL_HOST, scheduler.acquire().getName(), "Local host was not used again");
+    }
+}
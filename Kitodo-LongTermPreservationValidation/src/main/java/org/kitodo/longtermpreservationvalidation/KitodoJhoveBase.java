@@ -19,6 +19,7 @@ import edu.harvard.hul.ois.jhove.OutputHandler;
 
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.Collections;
+import java.util.TreeMap;
 
 /**
  * A programmatically initializable {@code JHoveBase} class.
@@ -66,4 +67,17 @@ class KitodoJhoveBase extends JhoveBase {
         super.dispatch(App.newAppWithName("Jhove"), super.getModule(moduleName), null, handler, null,
             new String[] {file });
     }
+
+    /**
+     * Returns the release of JHove and its modules. Files validated by another
+     * release may be judged differently.
+     *
+     * @return the releases
+     */
+    String getVersion() {
+        StringBuilder version = new StringBuilder(127).append("JHove ").append(getRelease());
+        new TreeMap<>(super._moduleMap).forEach((name, module) -> version.append(", ").append(name).append(' ')
+                .append(module.getRelease()));
+        return version.toString();
+    }
 }
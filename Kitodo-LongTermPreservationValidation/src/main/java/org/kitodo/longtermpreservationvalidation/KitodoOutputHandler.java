@@ -139,6 +139,24 @@ public class KitodoOutputHandler extends HandlerBase {
         return messages.stream().collect(Collectors.joining(", ", String.valueOf(state).concat(" ("), ")"));
     }
 
+    /**
+     * Returns the result of JHove, before it is mapped to a Kitodo state.
+     *
+     * @return the result of JHove, {@code null} if JHove did not report one
+     */
+    ValidationResultState getState() {
+        return state;
+    }
+
+    /**
+     * Returns the captured messages.
+     *
+     * @return the messages
+     */
+    List<String> getMessages() {
+        return messages;
+    }
+
     /**
      * Returns the captured results as validation result. The function uses
      * reflection since the result’s constructor is package private.
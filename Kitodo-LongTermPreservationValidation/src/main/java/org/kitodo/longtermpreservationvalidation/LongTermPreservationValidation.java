@@ -11,20 +11,42 @@
 
 package org.kitodo.longtermpreservationvalidation;
 
+import edu.harvard.hul.ois.jhove.JhoveException;
+
+import java.io.IOException;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.kitodo.api.validation.ValidationResult;
 import org.kitodo.api.validation.longtermpreservation.FileType;
 import org.kitodo.api.validation.longtermpreservation.LongTermPreservationValidationInterface;
+import org.kitodo.config.KitodoConfig;
 
 /**
  * A LongTermPreservationValidationInterface implementation using Jhove.
  */
 public class LongTermPreservationValidation implements LongTermPreservationValidationInterface {
+    private static final Logger logger = LogManager.getLogger(LongTermPreservationValidation.class);
+
     /**
      * Returns the matching module name for the given file type.
      */
@@ -48,8 +70,23 @@ public class LongTermPreservationValidation implements LongTermPreservationValid
         "edu.harvard.hul.ois.jhove.module.PdfModule", "com.mcgath.jhove.module.PngModule",
         "edu.harvard.hul.ois.jhove.module.TiffModule");
 
+    /**
+     * Initialized JHove instances which are currently not in use. Initializing
+     * JHove is expensive, so the instances are reused. An instance is used by
+     * one thread at a time, so there are at most as many instances as files
+     * are validated at the same time.
+     */
+    private static final Queue<KitodoJhoveBase> IDLE_JHOVE_INSTANCES = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Release of JHove and its modules, determined with the first instance.
+     */
+    private static volatile String jhoveVersion;
+
     /**
      * {@inheritDoc}<!-- . -->
+     * The result is taken from the cache if the file has not been changed since
+     * it was last validated.
      *
      * @param fileUri
      *            file URI to validate
@@ -58,13 +95,96 @@ public class LongTermPreservationValidation implements LongTermPreservationValid
      */
     @Override
     public ValidationResult validate(URI fileUri, FileType fileType) {
+        Path file = Paths.get(fileUri.getPath());
+        BasicFileAttributes attributes = null;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            ValidationResult cached = getCache().get(file, fileType, attributes);
+            if (Objects.nonNull(cached)) {
+                return cached;
+            }
+        } catch (IOException | JhoveException e) {
+            // the file cannot be read or JHove cannot be initialized, this is reported below
+        }
         KitodoOutputHandler result = new KitodoOutputHandler();
+        KitodoJhoveBase jhoveBase = null;
         try {
-            KitodoJhoveBase jhoveBase = new KitodoJhoveBase(MODULES);
+            jhoveBase = borrowJhoveInstance();
             jhoveBase.validate(fileUri.getPath(), MODULE_NAMES.get(fileType), result);
         } catch (Exception e) {
+            // the instance may be left in an inconsistent state, do not reuse it
+            jhoveBase = null;
             result.treatException(e);
+            return result.toValidationResult();
+        } finally {
+            if (Objects.nonNull(jhoveBase)) {
+                IDLE_JHOVE_INSTANCES.add(jhoveBase);
+            }
+        }
+        if (Objects.nonNull(attributes) && Objects.nonNull(result.getState())) {
+            try {
+                getCache().put(file, fileType, attributes, result.getState(), result.getMessages());
+            } catch (JhoveException e) {
+                logger.warn("Cannot cache validation result of {}: {}", file, e.getMessage());
+            }
         }
         return result.toValidationResult();
     }
+
+    /**
+     * Validates the files with up to
+     * {@code LongTermPreservationValidation.threads} files at the same time.
+     */
+    @Override
+    public Map<URI, ValidationResult> validate(Collection<URI> fileUris, FileType fileType) {
+        int threads = Math.min(fileUris.size(), KitodoConfig.getIntParameter(
+            LongTermPreservationValidationConfigParameter.THREADS, Runtime.getRuntime().availableProcessors()));
+        if (threads < 2) {
+            return LongTermPreservationValidationInterface.super.validate(fileUris, fileType);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Map<URI, Future<ValidationResult>> futures = new LinkedHashMap<>();
+            for (URI fileUri : fileUris) {
+                futures.computeIfAbsent(fileUri, uri -> executor.submit(() -> validate(uri, fileType)));
+            }
+            Map<URI, ValidationResult> validationResults = new LinkedHashMap<>();
+            for (Map.Entry<URI, Future<ValidationResult>> entry : futures.entrySet()) {
+                validationResults.put(entry.getKey(), entry.getValue().get());
+            }
+            return validationResults;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new UndeclaredThrowableException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the validation result cache. Before, the release of JHove is
+     * determined, as the results of other releases must not be used.
+     *
+     * @return the validation result cache
+     * @throws JhoveException
+     *             if JHove cannot be initialized
+     */
+    private static ValidationResultCache getCache() throws JhoveException {
+        if (Objects.isNull(jhoveVersion)) {
+            KitodoJhoveBase jhoveBase = borrowJhoveInstance();
+            jhoveVersion = jhoveBase.getVersion();
+            IDLE_JHOVE_INSTANCES.add(jhoveBase);
+        }
+        return ValidationResultCache.getInstance(jhoveVersion);
+    }
+
+    private static KitodoJhoveBase borrowJhoveInstance() throws JhoveException {
+        KitodoJhoveBase jhoveBase = IDLE_JHOVE_INSTANCES.poll();
+        return Objects.nonNull(jhoveBase) ? jhoveBase : new KitodoJhoveBase(MODULES);
+    }
 }
@@ -17,7 +17,7 @@ import org.kitodo.config.enums.ParameterInterface;
 
 /**
  * Implements the ParameterInterface to access the
- * LongTermPreservationValidation mapping.
+ * LongTermPreservationValidation mapping and settings.
  */
 enum LongTermPreservationValidationConfigParameter implements ParameterInterface {
     /**
@@ -72,7 +72,24 @@ enum LongTermPreservationValidationConfigParameter implements ParameterInterface
      * Specifies the Kitodo validation result if JHove is completely undecided
      * about the contents in a file.
      */
-    VALIDATION_RESULT_MAYBE_WELL_FORMED_MAYBE_VALID("LongTermPreservationValidation.mapping.UNDETERMINED.UNDETERMINED");
+    VALIDATION_RESULT_MAYBE_WELL_FORMED_MAYBE_VALID("LongTermPreservationValidation.mapping.UNDETERMINED.UNDETERMINED"),
+
+    /**
+     * Number of files validated at the same time when several files are
+     * validated in one go.
+     */
+    THREADS("LongTermPreservationValidation.threads"),
+
+    /**
+     * File the validation results are kept in, so that unchanged files are not
+     * validated again after a restart.
+     */
+    CACHE_FILE("LongTermPreservationValidation.cacheFile"),
+
+    /**
+     * Maximum number of validation results kept.
+     */
+    CACHE_SIZE("LongTermPreservationValidation.cacheSize");
 
     /**
      * The constant for the indefinite state.
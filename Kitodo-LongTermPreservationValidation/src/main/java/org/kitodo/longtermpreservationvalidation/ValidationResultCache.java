@@ -0,0 +1,282 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.longtermpreservationvalidation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.api.validation.ValidationResult;
+import org.kitodo.api.validation.longtermpreservation.FileType;
+import org.kitodo.config.KitodoConfig;
+
+/**
+ * Keeps the validation results of files, so that a file is validated again
+ * only if its size or its modification time has changed. The results of JHove
+ * are kept, and mapped to the Kitodo state when they are read, so that changes
+ * of the mapping apply to them. If a cache file is configured, the results are
+ * appended to it and read back on start, so that they survive a restart of the
+ * application. The file starts with the release of JHove and its modules, and
+ * is discarded if they have changed. When the cache file holds much more
+ * records than results, because files have been validated again, it is
+ * rewritten.
+ */
+class ValidationResultCache {
+    private static final Logger logger = LogManager.getLogger(ValidationResultCache.class);
+
+    private static final int DEFAULT_CACHE_SIZE = 100000;
+    private static final String FORMAT = "Kitodo long-term preservation validation results 1, ";
+
+    private static volatile ValidationResultCache instance = null;
+
+    private final Path cacheFile;
+    private final int maximumSize;
+    private final String header;
+    private final Map<String, CachedResult> results;
+    private DataOutputStream journal;
+    private int journalRecords;
+
+    /**
+     * Returns the validation result cache configured in the Kitodo
+     * configuration.
+     *
+     * @param version
+     *            release of JHove and its modules
+     * @return unique instance of ValidationResultCache
+     */
+    static ValidationResultCache getInstance(String version) {
+        ValidationResultCache localReference = instance;
+        if (Objects.isNull(localReference)) {
+            synchronized (ValidationResultCache.class) {
+                localReference = instance;
+                if (Objects.isNull(localReference)) {
+                    String cacheFile = KitodoConfig
+                            .getParameter(LongTermPreservationValidationConfigParameter.CACHE_FILE, "");
+                    localReference = new ValidationResultCache(
+                            StringUtils.isBlank(cacheFile) ? null : Paths.get(cacheFile),
+                            KitodoConfig.getIntParameter(LongTermPreservationValidationConfigParameter.CACHE_SIZE,
+                                DEFAULT_CACHE_SIZE), version);
+                    instance = localReference;
+                }
+            }
+        }
+        return localReference;
+    }
+
+    /**
+     * Creates a validation result cache.
+     *
+     * @param cacheFile
+     *            file to keep the results in, may be {@code null} to keep
+     *            them in memory only
+     * @param maximumSize
+     *            maximum number of results kept, 0 disables the cache
+     * @param version
+     *            release of JHove and its modules the results are from
+     */
+    ValidationResultCache(Path cacheFile, int maximumSize, String version) {
+        this.cacheFile = maximumSize > 0 ? cacheFile : null;
+        this.maximumSize = maximumSize;
+        this.header = FORMAT + version;
+        this.results = new LinkedHashMap<String, CachedResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                return size() > ValidationResultCache.this.maximumSize;
+            }
+        };
+        if (Objects.nonNull(this.cacheFile)) {
+            load();
+        }
+    }
+
+    /**
+     * Returns the kept validation result of a file, if the file has not been
+     * changed since.
+     *
+     * @param file
+     *            file that was validated
+     * @param fileType
+     *            file type the file was validated as
+     * @param attributes
+     *            current attributes of the file
+     * @return the validation result, or {@code null} if there is none
+     */
+    synchronized ValidationResult get(Path file, FileType fileType, BasicFileAttributes attributes) {
+        CachedResult cached = results.get(getKey(file, fileType));
+        if (Objects.isNull(cached) || cached.size != attributes.size()
+                || cached.lastModified != attributes.lastModifiedTime().toMillis()) {
+            return null;
+        }
+        return new ValidationResult(cached.state.toState(), cached.messages);
+    }
+
+    /**
+     * Keeps the validation result of a file.
+     *
+     * @param file
+     *            file that was validated
+     * @param fileType
+     *            file type the file was validated as
+     * @param attributes
+     *            attributes of the file when it was validated
+     * @param state
+     *            result of JHove
+     * @param messages
+     *            messages of the validation
+     */
+    synchronized void put(Path file, FileType fileType, BasicFileAttributes attributes, ValidationResultState state,
+            List<String> messages) {
+        if (maximumSize <= 0 || Objects.isNull(state.getWellFormed()) || Objects.isNull(state.getValid())) {
+            return;
+        }
+        String key = getKey(file, fileType);
+        CachedResult cached = new CachedResult(attributes.size(), attributes.lastModifiedTime().toMillis(), state,
+                new ArrayList<>(messages));
+        results.put(key, cached);
+        if (Objects.nonNull(journal)) {
+            try {
+                write(journal, key, cached);
+                journal.flush();
+                journalRecords++;
+                if (journalRecords > 2 * maximumSize) {
+                    compact();
+                }
+            } catch (IOException e) {
+                logger.warn("Cannot write validation result cache {}: {}", cacheFile, e.getMessage());
+                closeJournal();
+            }
+        }
+    }
+
+    private static String getKey(Path file, FileType fileType) {
+        return fileType + " " + file.toAbsolutePath().normalize();
+    }
+
+    private void load() {
+        try {
+            boolean current = false;
+            if (Files.exists(cacheFile)) {
+                try (DataInputStream input = new DataInputStream(
+                        new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+                    current = header.equals(input.readUTF());
+                    if (!current) {
+                        logger.info("Validation result cache {} is from another release of JHove, discarding it",
+                            cacheFile);
+                    }
+                    while (current) {
+                        results.put(input.readUTF(), read(input));
+                        journalRecords++;
+                    }
+                } catch (EOFException e) {
+                    // end of the cache file, the last record may be incomplete
+                }
+            }
+            if (!current || journalRecords > results.size() + results.size() / 2) {
+                compact();
+            } else {
+                journal = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(cacheFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Cannot use validation result cache {}, results are kept in memory only: {}", cacheFile,
+                e.getMessage());
+            closeJournal();
+        }
+    }
+
+    /**
+     * Rewrites the cache file with the current results only.
+     */
+    private void compact() throws IOException {
+        closeJournal();
+        Path temporaryFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+            output.writeUTF(header);
+            for (Map.Entry<String, CachedResult> entry : results.entrySet()) {
+                write(output, entry.getKey(), entry.getValue());
+            }
+        }
+        Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+        journalRecords = results.size();
+        journal = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(cacheFile, StandardOpenOption.APPEND)));
+    }
+
+    private void closeJournal() {
+        if (Objects.nonNull(journal)) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                logger.warn(e.getMessage());
+            }
+            journal = null;
+        }
+    }
+
+    private static CachedResult read(DataInputStream input) throws IOException {
+        long size = input.readLong();
+        long lastModified = input.readLong();
+        ValidationResultState state = new ValidationResultState(TernaryValue.valueOf(input.readUTF()),
+                TernaryValue.valueOf(input.readUTF()));
+        int numberOfMessages = input.readInt();
+        List<String> messages = new ArrayList<>(numberOfMessages);
+        for (int i = 0; i < numberOfMessages; i++) {
+            messages.add(input.readUTF());
+        }
+        return new CachedResult(size, lastModified, state, messages);
+    }
+
+    private static void write(DataOutputStream output, String key, CachedResult cached) throws IOException {
+        output.writeUTF(key);
+        output.writeLong(cached.size);
+        output.writeLong(cached.lastModified);
+        output.writeUTF(cached.state.getWellFormed().name());
+        output.writeUTF(cached.state.getValid().name());
+        output.writeInt(cached.messages.size());
+        for (String message : cached.messages) {
+            output.writeUTF(message);
+        }
+    }
+
+    private static class CachedResult {
+        private final long size;
+        private final long lastModified;
+        private final ValidationResultState state;
+        private final List<String> messages;
+
+        CachedResult(long size, long lastModified, ValidationResultState state, List<String> messages) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.state = state;
+            this.messages = Collections.unmodifiableList(messages);
+        }
+    }
+}
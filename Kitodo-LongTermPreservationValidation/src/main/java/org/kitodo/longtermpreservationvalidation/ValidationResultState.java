@@ -53,6 +53,20 @@ public class ValidationResultState {
         this.valid = TernaryValue.valueOf(valid);
     }
 
+    /**
+     * Creates a validation result state with the specified wellformedness and
+     * validity values.
+     *
+     * @param wellFormed
+     *            whether the file is well formed
+     * @param valid
+     *            whether the file is valid
+     */
+    ValidationResultState(TernaryValue wellFormed, TernaryValue valid) {
+        this.wellFormed = wellFormed;
+        this.valid = valid;
+    }
+
     /**
      * Generates an empty result. The value must be contributed elsewhere.
      */
@@ -71,6 +85,24 @@ public class ValidationResultState {
         return "Examination result:" + wellFormed.toModalAdverb() + " well-formed," + valid.toModalAdverb() + " valid";
     }
 
+    /**
+     * Returns whether the file is well formed.
+     *
+     * @return whether the file is well formed
+     */
+    TernaryValue getWellFormed() {
+        return wellFormed;
+    }
+
+    /**
+     * Returns whether the file is valid.
+     *
+     * @return whether the file is valid
+     */
+    TernaryValue getValid() {
+        return valid;
+    }
+
     /**
      * Returns the state of the validation result state.
      *
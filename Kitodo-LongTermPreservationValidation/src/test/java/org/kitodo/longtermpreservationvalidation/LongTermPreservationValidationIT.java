@@ -19,6 +19,7 @@ import java.net.URISyntaxException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 import org.kitodo.api.validation.State;
@@ -110,4 +111,17 @@ public class LongTermPreservationValidationIT {
         assertEquals(WELL_FORMED_AND_VALID, validationResult.getResultMessages());
     }
 
+    @Test
+    public void testThatSeveralFilesValidateInOneGo() {
+        LongTermPreservationValidationInterface validator = new LongTermPreservationValidation();
+        Map<URI, ValidationResult> validationResults = validator.validate(
+            Arrays.asList(TIF_URI, CORRUPTED_TIF_URI, JAVA_URI), FileType.TIFF);
+        assertEquals(Arrays.asList(TIF_URI, CORRUPTED_TIF_URI, JAVA_URI),
+            Arrays.asList(validationResults.keySet().toArray()));
+        assertEquals(State.SUCCESS, validationResults.get(TIF_URI).getState());
+        assertEquals(WELL_FORMED_AND_VALID, validationResults.get(TIF_URI).getResultMessages());
+        assertEquals(State.ERROR, validationResults.get(CORRUPTED_TIF_URI).getState());
+        assertEquals(State.ERROR, validationResults.get(JAVA_URI).getState());
+    }
+
 }
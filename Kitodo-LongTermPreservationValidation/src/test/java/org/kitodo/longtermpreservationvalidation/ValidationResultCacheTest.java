@@ -0,0 +1,114 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.longtermpreservationvalidation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kitodo.api.validation.State;
+import org.kitodo.api.validation.ValidationResult;
+import org.kitodo.api.validation.longtermpreservation.FileType;
+import org.kitodo.config.KitodoConfig;
+
+public class ValidationResultCacheTest {
+
+    private static final ValidationResultState STATE = new ValidationResultState(TernaryValue.TRUE,
+            TernaryValue.FALSE);
+    private static final List<String> MESSAGES = Arrays.asList("Examination result: well-formed, not valid",
+        "Offset: 0");
+    private static final String MAPPING = "LongTermPreservationValidation.mapping.TRUE.FALSE";
+    private static final String VERSION = "JHove 1.0";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void shouldReturnResultOfUnchangedFile() throws IOException {
+        Path image = Files.write(directory.resolve("image.tif"), new byte[] {1, 2, 3 });
+        ValidationResultCache cache = new ValidationResultCache(null, 10, VERSION);
+        cache.put(image, FileType.TIFF, attributes(image), STATE, MESSAGES);
+
+        ValidationResult cached = cache.get(image, FileType.TIFF, attributes(image));
+        assertNotNull(cached, "Result of unchanged file was not kept!");
+        assertEquals(State.WARNING, cached.getState(), "Result was not mapped to the configured state!");
+        assertEquals(MESSAGES, cached.getResultMessages(), "Messages were not kept!");
+        assertNull(cache.get(image, FileType.JPEG, attributes(image)), "Result was returned for another file type!");
+    }
+
+    @Test
+    public void shouldNotReturnResultOfChangedFile() throws IOException {
+        Path image = Files.write(directory.resolve("image.tif"), new byte[] {1, 2, 3 });
+        ValidationResultCache cache = new ValidationResultCache(null, 10, VERSION);
+        cache.put(image, FileType.TIFF, attributes(image), STATE, MESSAGES);
+
+        Files.setLastModifiedTime(image, FileTime.fromMillis(attributes(image).lastModifiedTime().toMillis() + 1000));
+        assertNull(cache.get(image, FileType.TIFF, attributes(image)), "Result of touched file was returned!");
+        Files.write(image, new byte[] {1, 2, 3, 4 });
+        assertNull(cache.get(image, FileType.TIFF, attributes(image)), "Result of modified file was returned!");
+    }
+
+    @Test
+    public void shouldKeepResultsInCacheFile() throws IOException {
+        Path image = Files.write(directory.resolve("image.tif"), new byte[] {1, 2, 3 });
+        Path cacheFile = directory.resolve("validation.cache");
+        new ValidationResultCache(cacheFile, 10, VERSION).put(image, FileType.TIFF, attributes(image), STATE, MESSAGES);
+
+        ValidationResult cached = new ValidationResultCache(cacheFile, 10, VERSION).get(image, FileType.TIFF,
+            attributes(image));
+        assertNotNull(cached, "Result was not read from the cache file!");
+        assertEquals(MESSAGES, cached.getResultMessages(), "Messages were not read from the cache file!");
+    }
+
+    @Test
+    public void shouldApplyChangedMappingToKeptResults() throws IOException {
+        Path image = Files.write(directory.resolve("image.tif"), new byte[] {1, 2, 3 });
+        ValidationResultCache cache = new ValidationResultCache(null, 10, VERSION);
+        cache.put(image, FileType.TIFF, attributes(image), STATE, MESSAGES);
+
+        Object mapping = KitodoConfig.getConfig().getProperty(MAPPING);
+        try {
+            KitodoConfig.getConfig().setProperty(MAPPING, "ERROR");
+            assertEquals(State.ERROR, cache.get(image, FileType.TIFF, attributes(image)).getState(),
+                "Changed mapping was not applied to kept result!");
+        } finally {
+            KitodoConfig.getConfig().setProperty(MAPPING, mapping);
+        }
+    }
+
+    @Test
+    public void shouldDiscardCacheFileOfOtherRelease() throws IOException {
+        Path image = Files.write(directory.resolve("image.tif"), new byte[] {1, 2, 3 });
+        Path cacheFile = directory.resolve("validation.cache");
+        new ValidationResultCache(cacheFile, 10, VERSION).put(image, FileType.TIFF, attributes(image), STATE,
+            MESSAGES);
+
+        assertNull(new ValidationResultCache(cacheFile, 10, "JHove 2.0").get(image, FileType.TIFF,
+            attributes(image)), "Result of another JHove release was returned!");
+        assertNull(new ValidationResultCache(cacheFile, 10, VERSION).get(image, FileType.TIFF, attributes(image)),
+            "Discarded result was written back to the cache file!");
+    }
+
+    private static BasicFileAttributes attributes(Path file) throws IOException {
+        return Files.readAttributes(file, BasicFileAttributes.class);
+    }
+}
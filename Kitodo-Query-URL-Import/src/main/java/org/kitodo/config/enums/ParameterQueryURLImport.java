@@ -0,0 +1,38 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.config.enums;
+
+public enum ParameterQueryURLImport implements ParameterInterface {
+
+    MAX_CONNECTIONS("QueryURLImport.maxConnections"),
+    PARALLEL_REQUESTS("QueryURLImport.parallelRequests"),
+    MAX_REQUESTS_PER_SECOND("QueryURLImport.maxRequestsPerSecond"),
+    CACHE_SIZE("QueryURLImport.cacheSize"),
+    CACHE_TTL_SEC("QueryURLImport.cacheTtlSec");
+
+    private String name;
+
+    /**
+     * Private constructor to hide the implicit public one.
+     *
+     * @param name
+     *            of parameter
+     */
+    ParameterQueryURLImport(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public java.lang.String toString() {
+        return this.name;
+    }
+}
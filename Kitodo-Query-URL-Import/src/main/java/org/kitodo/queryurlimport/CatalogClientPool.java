@@ -0,0 +1,168 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.queryurlimport;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.api.externaldatamanagement.DataImport;
+import org.kitodo.config.KitodoConfig;
+import org.kitodo.config.enums.ParameterQueryURLImport;
+
+/**
+ * The HTTP clients used to query the catalogues. There is one client for each
+ * import configuration. A client is shared by all threads and keeps its
+ * connections open for further requests. If the server or the credentials of
+ * an import configuration are changed, its client is replaced and closed. If
+ * configured, the requests to each catalogue server are limited to a number
+ * per second, no matter how many threads are querying it.
+ */
+class CatalogClientPool {
+    private static final Logger logger = LogManager.getLogger(CatalogClientPool.class);
+
+    private static final int DEFAULT_MAX_CONNECTIONS = 10;
+    private static final long IDLE_CONNECTION_SECONDS = 30;
+
+    private static final Map<String, CatalogClient> clients = new ConcurrentHashMap<>();
+    private static final Map<List<Object>, Optional<RequestRateLimiter>> rateLimiters = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private CatalogClientPool() {
+    }
+
+    /**
+     * Returns the client for an import configuration.
+     *
+     * @param dataImport
+     *            the import configuration
+     * @return the client
+     */
+    static CloseableHttpClient getClient(DataImport dataImport) {
+        String fingerprint = getFingerprint(dataImport);
+        return clients.compute(String.valueOf(dataImport.getTitle()), (title, client) -> {
+            if (Objects.nonNull(client) && client.fingerprint.equals(fingerprint)) {
+                return client;
+            }
+            if (Objects.nonNull(client)) {
+                close(client.httpClient);
+            }
+            return new CatalogClient(fingerprint, createClient(dataImport.getUsername(), dataImport.getPassword()));
+        }).httpClient;
+    }
+
+    /**
+     * Returns a hash of the server and the credentials of an import
+     * configuration, so that they need not be kept in plain text.
+     */
+    private static String getFingerprint(DataImport dataImport) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : Arrays.asList(dataImport.getScheme(), dataImport.getHost(), dataImport.getPort(),
+                dataImport.getUsername(), dataImport.getPassword())) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return new BigInteger(1, digest.digest()).toString(16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void close(CloseableHttpClient httpClient) {
+        try {
+            httpClient.close();
+        } catch (IOException e) {
+            logger.warn("Cannot close replaced catalogue client: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Waits until a further request may be sent to the server of an import
+     * configuration. The limit is read from
+     * {@code QueryURLImport.maxRequestsPerSecond.<host>}, or else from
+     * {@code QueryURLImport.maxRequestsPerSecond}; a limit of 0 or less means
+     * no limit.
+     *
+     * @param dataImport
+     *            the import configuration
+     * @throws InterruptedIOException
+     *             if the thread is interrupted while waiting
+     */
+    static void awaitRequestPermit(DataImport dataImport) throws InterruptedIOException {
+        List<Object> key = Arrays.asList(dataImport.getScheme(), dataImport.getHost(), dataImport.getPort());
+        Optional<RequestRateLimiter> rateLimiter = rateLimiters.computeIfAbsent(key,
+            unused -> createRateLimiter(dataImport.getHost()));
+        if (rateLimiter.isPresent()) {
+            rateLimiter.get().acquire();
+        }
+    }
+
+    private static Optional<RequestRateLimiter> createRateLimiter(String host) {
+        int requestsPerSecond = KitodoConfig.getIntParameter(ParameterQueryURLImport.MAX_REQUESTS_PER_SECOND, 0);
+        if (Objects.nonNull(host)) {
+            requestsPerSecond = NumberUtils.toInt(KitodoConfig.getParameter(
+                ParameterQueryURLImport.MAX_REQUESTS_PER_SECOND + "." + host, null), requestsPerSecond);
+        }
+        return requestsPerSecond > 0 ? Optional.of(new RequestRateLimiter(requestsPerSecond)) : Optional.empty();
+    }
+
+    private static CloseableHttpClient createClient(String username, String password) {
+        int maxConnections = Math.max(1,
+            KitodoConfig.getIntParameter(ParameterQueryURLImport.MAX_CONNECTIONS, DEFAULT_MAX_CONNECTIONS));
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        HttpClientBuilder httpClientBuilder = HttpClientBuilder.create().setConnectionManager(connectionManager)
+                .evictExpiredConnections().evictIdleConnections(IDLE_CONNECTION_SECONDS, TimeUnit.SECONDS);
+        if (StringUtils.isNotBlank(username) && StringUtils.isNotBlank(password)) {
+            CredentialsProvider provider = new BasicCredentialsProvider();
+            UsernamePasswordCredentials credentials = new UsernamePasswordCredentials(username, password);
+            provider.setCredentials(AuthScope.ANY, credentials);
+            httpClientBuilder.setDefaultCredentialsProvider(provider);
+        }
+        return httpClientBuilder.build();
+    }
+
+    private static class CatalogClient {
+        private final String fingerprint;
+        private final CloseableHttpClient httpClient;
+
+        CatalogClient(String fingerprint, CloseableHttpClient httpClient) {
+            this.fingerprint = fingerprint;
+            this.httpClient = httpClient;
+        }
+    }
+}
@@ -23,6 +23,7 @@ import java.net.URLEncoder;
 import java.net.UnknownHostException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -31,6 +32,11 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import javax.xml.XMLConstants;
@@ -49,18 +55,13 @@ import org.apache.commons.net.ftp.FTPClient;
 import org.apache.commons.net.ftp.FTPFile;
 import org.apache.commons.net.ftp.FTPFileFilter;
 import org.apache.http.HttpEntity;
-import org.apache.http.HttpResponse;
-import org.apache.http.auth.AuthScope;
-import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.StatusLine;
 import org.apache.http.client.ClientProtocolException;
-import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.utils.URLEncodedUtils;
 import org.apache.http.conn.ConnectTimeoutException;
-import org.apache.http.impl.client.BasicCredentialsProvider;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.message.BasicNameValuePair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -72,6 +73,8 @@ import org.kitodo.api.externaldatamanagement.SingleHit;
 import org.kitodo.api.schemaconverter.DataRecord;
 import org.kitodo.api.schemaconverter.FileFormat;
 import org.kitodo.api.schemaconverter.MetadataFormat;
+import org.kitodo.config.KitodoConfig;
+import org.kitodo.config.enums.ParameterQueryURLImport;
 import org.kitodo.exceptions.CatalogException;
 import org.kitodo.exceptions.ConfigException;
 import org.kitodo.exceptions.NoRecordFoundException;
@@ -91,11 +94,10 @@ public class QueryURLImport implements ExternalDataImportInterface {
     private static final String EQUALS_OPERAND = "=";
     private static final String AND = "&";
     private static final String OAI_IDENTIFIER = "identifier";
+    private static final int DEFAULT_PARALLEL_REQUESTS = 4;
+    private static volatile ExecutorService requestExecutor = null;
     private final Charset encoding = StandardCharsets.UTF_8;
 
-    private CloseableHttpClient httpClient = HttpClientBuilder.create().build();
-    private final FTPClient ftpClient = new FTPClient();
-
     @Override
     public DataRecord getFullRecordById(DataImport dataImport, String identifier) throws NoRecordFoundException {
         LinkedHashMap<String, String> queryParameters = new LinkedHashMap<>(dataImport.getUrlParameters());
@@ -112,6 +114,67 @@ public class QueryURLImport implements ExternalDataImportInterface {
         }
     }
 
+    /**
+     * Retrieves the records with up to {@code QueryURLImport.parallelRequests}
+     * requests at the same time. The requests of all imports share these
+     * threads.
+     */
+    @Override
+    public List<DataRecord> getFullRecordsById(DataImport dataImport, List<String> identifiers)
+            throws NoRecordFoundException {
+        int parallelRequests = KitodoConfig.getIntParameter(ParameterQueryURLImport.PARALLEL_REQUESTS,
+            DEFAULT_PARALLEL_REQUESTS);
+        if (Math.min(identifiers.size(), parallelRequests) < 2) {
+            return ExternalDataImportInterface.super.getFullRecordsById(dataImport, identifiers);
+        }
+        ExecutorService executor = getRequestExecutor(parallelRequests);
+        List<Future<DataRecord>> futures = new ArrayList<>(identifiers.size());
+        try {
+            for (String identifier : identifiers) {
+                futures.add(executor.submit(() -> getFullRecordById(dataImport, identifier)));
+            }
+            List<DataRecord> records = new ArrayList<>(identifiers.size());
+            for (Future<DataRecord> future : futures) {
+                records.add(future.get());
+            }
+            return records;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CatalogException(e.getLocalizedMessage());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof NoRecordFoundException) {
+                throw (NoRecordFoundException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new CatalogException(e.getCause().getLocalizedMessage());
+        } finally {
+            for (Future<DataRecord> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static ExecutorService getRequestExecutor(int parallelRequests) {
+        ExecutorService localReference = requestExecutor;
+        if (Objects.isNull(localReference)) {
+            synchronized (QueryURLImport.class) {
+                localReference = requestExecutor;
+                if (Objects.isNull(localReference)) {
+                    AtomicInteger threadNumber = new AtomicInteger();
+                    localReference = Executors.newFixedThreadPool(parallelRequests, runnable -> {
+                        Thread thread = new Thread(runnable, QueryURLImport.class.getSimpleName() + '-'
+                                + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    requestExecutor = localReference;
+                }
+            }
+        }
+        return localReference;
+    }
+
     @Override
     public List<DataRecord> getMultipleFullRecordsFromQuery(DataImport dataImport, String field, String value,
                                                             int rows) {
@@ -180,29 +243,40 @@ public class QueryURLImport implements ExternalDataImportInterface {
         return Collections.emptyList();
     }
 
-    private void reinitializeHttpClient(String username, String password) throws IOException {
-        httpClient.close();
-        if (StringUtils.isNotBlank(username) && StringUtils.isNotBlank(password)) {
-            CredentialsProvider provider = new BasicCredentialsProvider();
-            UsernamePasswordCredentials credentials = new UsernamePasswordCredentials(username, password);
-            provider.setCredentials(AuthScope.ANY, credentials);
-            httpClient = HttpClientBuilder.create().setDefaultCredentialsProvider(provider).build();
-        } else {
-            httpClient = HttpClientBuilder.create().build();
+    private CatalogResponse execute(DataImport dataImport, HttpGet request) throws IOException {
+        String url = request.getURI().toString();
+        ResponseCache responseCache = ResponseCache.getInstance();
+        String cachedContent = responseCache.get(dataImport.getUsername(), url);
+        if (Objects.nonNull(cachedContent)) {
+            logger.debug("Using cached response: {}", url);
+            return new CatalogResponse(SC_OK, null, cachedContent);
+        }
+        CatalogClientPool.awaitRequestPermit(dataImport);
+        logger.debug("Requesting: {}", url);
+        try (CloseableHttpResponse response = CatalogClientPool.getClient(dataImport).execute(request)) {
+            StatusLine statusLine = response.getStatusLine();
+            HttpEntity httpEntity = response.getEntity();
+            String content = null;
+            if (Objects.nonNull(httpEntity)) {
+                try (InputStream inputStream = httpEntity.getContent()) {
+                    content = IOUtils.toString(inputStream, Charset.defaultCharset());
+                }
+            }
+            if (Objects.equals(statusLine.getStatusCode(), SC_OK) && Objects.nonNull(content)) {
+                responseCache.put(dataImport.getUsername(), url, content);
+            }
+            return new CatalogResponse(statusLine.getStatusCode(), statusLine.getReasonPhrase(), content);
         }
     }
 
     private SearchResult performQuery(DataImport dataImport, String queryURL) {
         try {
-            this.reinitializeHttpClient(dataImport.getUsername(), dataImport.getPassword());
-            logger.debug("Requesting: {}", queryURL);
-            HttpResponse response = httpClient.execute(new HttpGet(queryURL));
-            int responseStatusCode = response.getStatusLine().getStatusCode();
-            if (Objects.equals(responseStatusCode, SC_OK)) {
-                return XmlResponseHandler.getSearchResult(response, dataImport);
+            CatalogResponse response = execute(dataImport, new HttpGet(queryURL));
+            if (Objects.equals(response.statusCode, SC_OK)) {
+                return XmlResponseHandler.getSearchResult(response.content, dataImport);
             } else {
-                throw new CatalogException(response.getStatusLine().getReasonPhrase() + " (Http status code "
-                        + responseStatusCode + ")");
+                throw new CatalogException(response.reasonPhrase + " (Http status code "
+                        + response.statusCode + ")");
             }
         } catch (UnknownHostException e) {
             throw new CatalogException("Unknown host: " + e.getMessage());
@@ -222,8 +296,9 @@ public class QueryURLImport implements ExternalDataImportInterface {
             throw new CatalogException("Incomplete credentials configured for FTP import in OPAC configuration "
                     + "for import configuration '" + dataImport.getTitle() + "'");
         }
+        FTPClient ftpClient = new FTPClient();
         try {
-            ftpLogin(dataImport);
+            ftpLogin(ftpClient, dataImport);
             String filepath = dataImport.getPath() + "/" + filename;
             InputStream inputStream = ftpClient.retrieveFileStream(filepath);
             if (Objects.isNull(inputStream)) {
@@ -235,7 +310,7 @@ public class QueryURLImport implements ExternalDataImportInterface {
             if (!ftpClient.completePendingCommand()) {
                 throw new CatalogException("Unable to import '" + filename + "'!");
             }
-            ftpLogout();
+            ftpLogout(ftpClient);
             return dataRecord;
         } catch (IOException e) {
             throw new CatalogException(e.getLocalizedMessage());
@@ -275,22 +350,16 @@ public class QueryURLImport implements ExternalDataImportInterface {
             fullUrl += URLEncoder.encode(idParameter, encoding) + EQUALS_OPERAND + URLEncoder.encode(prefix + identifier, encoding);
         }
         try {
-            this.reinitializeHttpClient(dataImport.getUsername(), dataImport.getPassword());
-            logger.debug("Requesting: {}", fullUrl);
-            HttpResponse response = httpClient.execute(new HttpGet(fullUrl));
-            if (Objects.equals(response.getStatusLine().getStatusCode(), SC_OK)) {
-                HttpEntity httpEntity = response.getEntity();
-                if (Objects.isNull(httpEntity)) {
+            CatalogResponse response = execute(dataImport, new HttpGet(fullUrl));
+            if (Objects.equals(response.statusCode, SC_OK)) {
+                if (Objects.isNull(response.content)) {
                     throw new NoRecordFoundException("No record with ID \"" + identifier + "\" found!");
                 }
-                try (InputStream inputStream = httpEntity.getContent()) {
-                    String content = IOUtils.toString(inputStream, Charset.defaultCharset());
-                    if (Objects.nonNull(interfaceType.getNumberOfRecordsString())
-                            && XmlResponseHandler.extractNumberOfRecords(content, interfaceType) < 1) {
-                        throw new NoRecordFoundException("No record with ID \"" + identifier + "\" found!");
-                    }
-                    return createRecordFromXMLElement(dataImport, content);
+                if (Objects.nonNull(interfaceType.getNumberOfRecordsString())
+                        && XmlResponseHandler.extractNumberOfRecords(response.content, interfaceType) < 1) {
+                    throw new NoRecordFoundException("No record with ID \"" + identifier + "\" found!");
                 }
+                return createRecordFromXMLElement(dataImport, response.content);
             }
             throw new ConfigException("Search Query Request Failed");
         } catch (IOException e) {
@@ -308,19 +377,19 @@ public class QueryURLImport implements ExternalDataImportInterface {
         requestConfigBuilder.setConnectTimeout(3000);
         request.setConfig(requestConfigBuilder.build());
         try {
-            logger.debug("Requesting: {}", queryURL);
-            HttpResponse response = httpClient.execute(request);
-            int responseStatusCode = response.getStatusLine().getStatusCode();
-            if (Objects.equals(responseStatusCode, SC_OK)) {
-                String xmlContent = IOUtils.toString(response.getEntity().getContent(), Charset.defaultCharset());
-                Document document = stringToDocument(xmlContent);
+            CatalogResponse response = execute(dataImport, request);
+            if (Objects.equals(response.statusCode, SC_OK)) {
+                if (Objects.isNull(response.content)) {
+                    return records;
+                }
+                Document document = stringToDocument(response.content);
                 NodeList recordNodes = document.getElementsByTagName(MODS_RECORD_TAG);
                 for (int i = 0; i < recordNodes.getLength(); i++) {
                     records.add(createRecordFromXMLElement(dataImport, nodeToString(recordNodes.item(i))));
                 }
             } else {
-                throw new CatalogException(response.getStatusLine().getReasonPhrase() + " (Http status code "
-                        + responseStatusCode + ")");
+                throw new CatalogException(response.reasonPhrase + " (Http status code "
+                        + response.statusCode + ")");
             }
         } catch (ConnectTimeoutException e) {
             throw new CatalogException("Connection exception: OPAC did not respond within the configured time limit!");
@@ -363,8 +432,9 @@ public class QueryURLImport implements ExternalDataImportInterface {
         }
         SearchResult searchResult = new SearchResult();
         FTPFileFilter searchFilter = file -> file.isFile() && file.getName().contains(filenamePart);
+        FTPClient ftpClient = new FTPClient();
         try {
-            ftpLogin(dataImport);
+            ftpLogin(ftpClient, dataImport);
             FTPFile[] files = ftpClient.listFiles(dataImport.getPath(), searchFilter);
             searchResult.setNumberOfHits(files.length);
             LinkedList<SingleHit> hits = new LinkedList<>();
@@ -372,7 +442,7 @@ public class QueryURLImport implements ExternalDataImportInterface {
                 hits.add(new SingleHit(files[i].getName(), files[i].getName()));
             }
             searchResult.setHits(hits);
-            ftpLogout();
+            ftpLogout(ftpClient);
         } catch (IOException e) {
             throw new CatalogException(e.getMessage());
         } finally {
@@ -468,7 +538,7 @@ public class QueryURLImport implements ExternalDataImportInterface {
         return searchFieldMap;
     }
 
-    private void ftpLogin(DataImport dataImport) throws IOException {
+    private void ftpLogin(FTPClient ftpClient, DataImport dataImport) throws IOException {
         if (dataImport.getPort() > 0) {
             ftpClient.connect(dataImport.getHost(), dataImport.getPort());
         } else {
@@ -484,8 +554,20 @@ public class QueryURLImport implements ExternalDataImportInterface {
         }
     }
 
-    private void ftpLogout() throws IOException {
+    private void ftpLogout(FTPClient ftpClient) throws IOException {
         ftpClient.logout();
         ftpClient.disconnect();
     }
+
+    private static class CatalogResponse {
+        private final int statusCode;
+        private final String reasonPhrase;
+        private final String content;
+
+        CatalogResponse(int statusCode, String reasonPhrase, String content) {
+            this.statusCode = statusCode;
+            this.reasonPhrase = reasonPhrase;
+            this.content = content;
+        }
+    }
 }
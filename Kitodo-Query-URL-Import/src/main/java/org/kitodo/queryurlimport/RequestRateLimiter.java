@@ -0,0 +1,62 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.queryurlimport;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of requests sent to a catalogue per second. Requests are
+ * spaced evenly; a thread asking for a permit waits until the time slot
+ * reserved for it has come.
+ */
+class RequestRateLimiter {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long intervalNanos;
+    private long nextPermit;
+
+    /**
+     * Creates a rate limiter.
+     *
+     * @param requestsPerSecond
+     *            maximum number of requests per second, must be positive
+     */
+    RequestRateLimiter(int requestsPerSecond) {
+        this.intervalNanos = NANOS_PER_SECOND / requestsPerSecond;
+        this.nextPermit = System.nanoTime();
+    }
+
+    /**
+     * Waits until the next request may be sent.
+     *
+     * @throws InterruptedIOException
+     *             if the thread is interrupted while waiting
+     */
+    void acquire() throws InterruptedIOException {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long permit = Math.max(now, nextPermit);
+            nextPermit = permit + intervalNanos;
+            waitNanos = permit - now;
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to query the catalogue");
+            }
+        }
+    }
+}
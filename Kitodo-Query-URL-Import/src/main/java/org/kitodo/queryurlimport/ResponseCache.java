@@ -0,0 +1,172 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.queryurlimport;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.kitodo.config.KitodoConfig;
+import org.kitodo.config.enums.ParameterQueryURLImport;
+
+/**
+ * Keeps the responses of the catalogues for a while, so that the same query is
+ * not sent again when a hit list is opened again or a hierarchy is walked
+ * again. The responses are kept by query URL, where the order of the query
+ * parameters does not matter. The least recently used response is dropped
+ * when the cache is full.
+ */
+class ResponseCache {
+    private static final int DEFAULT_CACHE_SIZE = 500;
+    private static final int DEFAULT_CACHE_TTL_SEC = 300;
+
+    private static volatile ResponseCache instance = null;
+
+    private final int maximumSize;
+    private final long timeToLiveNanos;
+    private final Map<String, CachedResponse> responses;
+
+    /**
+     * Creates a new response cache.
+     *
+     * @param maximumSize
+     *            maximum number of responses kept, 0 disables the cache
+     * @param timeToLiveSecs
+     *            seconds a response is kept
+     */
+    ResponseCache(int maximumSize, long timeToLiveSecs) {
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = TimeUnit.SECONDS.toNanos(timeToLiveSecs);
+        this.responses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > ResponseCache.this.maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the response cache configured in the Kitodo configuration.
+     *
+     * @return the response cache
+     */
+    static ResponseCache getInstance() {
+        ResponseCache localReference = instance;
+        if (Objects.isNull(localReference)) {
+            synchronized (ResponseCache.class) {
+                localReference = instance;
+                if (Objects.isNull(localReference)) {
+                    localReference = new ResponseCache(
+                            KitodoConfig.getIntParameter(ParameterQueryURLImport.CACHE_SIZE, DEFAULT_CACHE_SIZE),
+                            KitodoConfig.getIntParameter(ParameterQueryURLImport.CACHE_TTL_SEC, DEFAULT_CACHE_TTL_SEC));
+                    instance = localReference;
+                }
+            }
+        }
+        return localReference;
+    }
+
+    /**
+     * Returns the cached response to a query.
+     *
+     * @param username
+     *            user name the query is sent with, may be null
+     * @param url
+     *            query URL
+     * @return the response, or {@code null} if there is no response or it
+     *         has expired
+     */
+    synchronized String get(String username, String url) {
+        if (maximumSize <= 0) {
+            return null;
+        }
+        String key = getKey(username, url);
+        CachedResponse response = responses.get(key);
+        if (Objects.isNull(response)) {
+            return null;
+        }
+        if (System.nanoTime() - response.expires >= 0) {
+            responses.remove(key);
+            return null;
+        }
+        return response.content;
+    }
+
+    /**
+     * Adds the response to a query.
+     *
+     * @param username
+     *            user name the query is sent with, may be null
+     * @param url
+     *            query URL
+     * @param content
+     *            content of the response
+     */
+    synchronized void put(String username, String url, String content) {
+        if (maximumSize > 0) {
+            responses.put(getKey(username, url), new CachedResponse(content, System.nanoTime() + timeToLiveNanos));
+        }
+    }
+
+    private static String getKey(String username, String url) {
+        return Objects.toString(username, "") + ' ' + normalize(url);
+    }
+
+    /**
+     * Normalizes a query URL. Scheme and host are converted to lower case, a
+     * default port is removed and the query parameters are sorted.
+     *
+     * @param url
+     *            query URL to normalize
+     * @return the normalized URL
+     */
+    static String normalize(String url) {
+        try {
+            URI uri = new URI(url);
+            if (Objects.isNull(uri.getScheme()) || Objects.isNull(uri.getHost())) {
+                return url;
+            }
+            String scheme = uri.getScheme().toLowerCase();
+            StringBuilder normalized = new StringBuilder(url.length());
+            normalized.append(scheme).append("://").append(uri.getHost().toLowerCase());
+            int port = uri.getPort();
+            if (port > 0 && !("http".equals(scheme) && port == 80) && !("https".equals(scheme) && port == 443)) {
+                normalized.append(':').append(port);
+            }
+            normalized.append(Objects.toString(uri.getRawPath(), ""));
+            String query = uri.getRawQuery();
+            if (Objects.nonNull(query)) {
+                normalized.append('?').append(Arrays.stream(query.split("&")).filter(StringUtils::isNotEmpty)
+                        .sorted().collect(Collectors.joining("&")));
+            }
+            return normalized.toString();
+        } catch (URISyntaxException e) {
+            return url;
+        }
+    }
+
+    private static class CachedResponse {
+        private final String content;
+        private final long expires;
+
+        CachedResponse(String content, long expires) {
+            this.content = content;
+            this.expires = expires;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.queryurlimport;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.jupiter.api.Test;
+import org.kitodo.api.externaldatamanagement.DataImport;
+
+public class CatalogClientPoolTest {
+
+    @Test
+    public void shouldReplaceAndCloseClientOfChangedImportConfiguration() {
+        DataImport dataImport = createDataImport("secret");
+        CloseableHttpClient client = CatalogClientPool.getClient(dataImport);
+        assertSame(client, CatalogClientPool.getClient(createDataImport("secret")),
+            "Client of unchanged import configuration was not reused!");
+
+        CloseableHttpClient replacement = CatalogClientPool.getClient(createDataImport("changed"));
+        assertNotSame(client, replacement, "Client of changed import configuration was not replaced!");
+        assertThrows(IllegalStateException.class, () -> client.execute(new HttpGet("http://localhost:1/")),
+            "Replaced client was not closed!");
+    }
+
+    private static DataImport createDataImport(String password) {
+        DataImport dataImport = new DataImport();
+        dataImport.setTitle("CatalogClientPoolTest");
+        dataImport.setScheme("http");
+        dataImport.setHost("localhost");
+        dataImport.setPort(1);
+        dataImport.setUsername("user");
+        dataImport.setPassword(password);
+        return dataImport;
+    }
+}
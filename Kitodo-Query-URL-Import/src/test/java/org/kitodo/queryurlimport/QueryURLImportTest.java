@@ -12,6 +12,7 @@
 package org.kitodo.queryurlimport;
 
 import static com.xebialabs.restito.builder.stub.StubHttp.whenHttp;
+import static com.xebialabs.restito.builder.verify.VerifyHttp.verifyHttp;
 import static com.xebialabs.restito.semantics.Action.contentType;
 import static com.xebialabs.restito.semantics.Action.ok;
 import static com.xebialabs.restito.semantics.Action.stringContent;
@@ -30,8 +31,10 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
@@ -57,6 +60,8 @@ public class QueryURLImportTest {
     private static final String TEST_FILE_PATH = "src/test/resources/sruTestRecord.xml";
     private static final String OPAC_NAME = "Kalliope";
     private static final String RECORD_ID = "1";
+    private static final String CACHED_RECORD_ID = "2";
+    private static final String PARALLEL_RECORD_ID = "3";
     private static final String RECORD_IDENTIFIER = "recordIdentifier";
     private static final String RECORD_IDENTIFIER_VALUE = "12345";
     private static DataImport dataImport;
@@ -86,16 +91,38 @@ public class QueryURLImportTest {
         assertEquals(RECORD_IDENTIFIER_VALUE, recordIdentifierElement.getTextContent(), "Wrong record identifier found!");
     }
 
+    @Test
+    public void shouldCacheResponses() throws NoRecordFoundException {
+        QueryURLImport queryURLImport = new QueryURLImport();
+        DataRecord firstRecord = queryURLImport.getFullRecordById(dataImport, CACHED_RECORD_ID);
+        DataRecord secondRecord = new QueryURLImport().getFullRecordById(dataImport, CACHED_RECORD_ID);
+        assertEquals(firstRecord.getOriginalData(), secondRecord.getOriginalData(), "Cached record differs!");
+        verifyHttp(server).once(parameter("query", "ead.id=" + CACHED_RECORD_ID));
+    }
+
+    @Test
+    public void shouldGetFullRecordsById() throws NoRecordFoundException {
+        QueryURLImport queryURLImport = new QueryURLImport();
+        List<DataRecord> records = queryURLImport.getFullRecordsById(dataImport,
+            Arrays.asList(PARALLEL_RECORD_ID, RECORD_ID));
+        assertEquals(2, records.size(), "Wrong number of records!");
+        for (DataRecord importRecord : records) {
+            assertNotNull(importRecord.getOriginalData(), "Record without data!");
+        }
+    }
+
     private static void setupServer(String serverResponse) {
-        // endpoint for importing record by id
-        whenHttp(server)
-                .match(get("/sru"),
-                        parameter("version", "1.2"),
-                        parameter("operation", "searchRetrieve"),
-                        parameter("recordSchema", "mods"),
-                        parameter("maximumRecords", "1"),
-                        parameter("query", "ead.id=" + RECORD_ID))
-                .then(ok(), contentType("text/xml"), stringContent(serverResponse));
+        // endpoints for importing record by id
+        for (String recordId : Arrays.asList(RECORD_ID, CACHED_RECORD_ID, PARALLEL_RECORD_ID)) {
+            whenHttp(server)
+                    .match(get("/sru"),
+                            parameter("version", "1.2"),
+                            parameter("operation", "searchRetrieve"),
+                            parameter("recordSchema", "mods"),
+                            parameter("maximumRecords", "1"),
+                            parameter("query", "ead.id=" + recordId))
+                    .then(ok(), contentType("text/xml"), stringContent(serverResponse));
+        }
     }
 
     private Document parseInputStreamToDocument(String inputString) throws ParserConfigurationException,
@@ -0,0 +1,33 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.queryurlimport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class RequestRateLimiterTest {
+
+    @Test
+    public void shouldSpaceRequests() throws Exception {
+        RequestRateLimiter rateLimiter = new RequestRateLimiter(20);
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.acquire();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis >= 190, "Five requests at 20 per second should take at least 200 ms, took "
+                + elapsedMillis + " ms");
+    }
+}
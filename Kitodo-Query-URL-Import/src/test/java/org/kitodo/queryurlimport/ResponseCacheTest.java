@@ -0,0 +1,50 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.queryurlimport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+public class ResponseCacheTest {
+
+    private static final String URL = "http://localhost:8888/sru?version=1.2&query=ead.id%3D1";
+
+    @Test
+    public void shouldNormalizeQueryUrl() {
+        assertEquals(ResponseCache.normalize(URL),
+            ResponseCache.normalize("HTTP://LocalHost:8888/sru?query=ead.id%3D1&version=1.2"),
+            "Order of parameters and case of host should not matter");
+        assertEquals("https://localhost/sru?a=1", ResponseCache.normalize("https://localhost:443/sru?a=1"),
+            "Default port should be removed");
+    }
+
+    @Test
+    public void shouldDropLeastRecentlyUsedResponse() {
+        ResponseCache responseCache = new ResponseCache(2, 60);
+        responseCache.put(null, URL, "first");
+        responseCache.put(null, URL + "2", "second");
+        assertEquals("first", responseCache.get(null, URL), "Response should be cached");
+        responseCache.put(null, URL + "3", "third");
+        assertEquals("first", responseCache.get(null, URL), "Recently used response should be kept");
+        assertNull(responseCache.get(null, URL + "2"), "Least recently used response should be dropped");
+        assertNull(responseCache.get("user", URL), "Responses should be cached per user");
+    }
+
+    @Test
+    public void shouldExpireResponses() {
+        ResponseCache responseCache = new ResponseCache(2, 0);
+        responseCache.put(null, URL, "first");
+        assertNull(responseCache.get(null, URL), "Expired response should not be returned");
+    }
+}
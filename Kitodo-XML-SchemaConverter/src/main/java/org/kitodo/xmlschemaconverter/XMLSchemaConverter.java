@@ -15,20 +15,22 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InvalidClassException;
+import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UnknownFormatConversionException;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.Result;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.URIResolver;
 import javax.xml.transform.sax.SAXResult;
 import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.sax.SAXTransformerFactory;
@@ -50,8 +52,23 @@ public class XMLSchemaConverter implements SchemaConverterInterface {
     private static final FileFormat supportedSourceFileFormat = FileFormat.XML;
     private static final FileFormat supportedTargetFileFormat = FileFormat.XML;
 
+    /**
+     * Compiled stylesheets by mapping file. Compiled stylesheets are thread
+     * safe and are used again as long as the mapping file is unchanged.
+     */
+    private static final Map<File, CompiledStylesheet> compiledStylesheets = new ConcurrentHashMap<>();
+
+    private static final URIResolver uriResolver = (href, base) -> new StreamSource(href.replace("http:", "https:"));
+
+    static {
+        System.setProperty("http.agent", "Chrome");
+    }
+
     /**
      * Converts a given DataRecord to the given MetadataFormat 'targetMetadataFormat' and FileFormat 'targetFileFormat'.
+     * The original data of the record can be a String, an InputStream or a Reader. If there are multiple mapping
+     * files, the output of each mapping is passed to the next one as a stream of SAX events without serializing it in
+     * between.
      *
      * @param record DataRecord to be converted
      * @param targetFileFormat FileFormat to which the given DataRecord is converted
@@ -66,30 +83,21 @@ public class XMLSchemaConverter implements SchemaConverterInterface {
                     + " to " + targetFileFormat + "!");
         }
 
-        if (record.getOriginalData() instanceof String) {
-            String xmlString = (String)record.getOriginalData();
-            String conversionResult;
-
-            if (mappingFiles.isEmpty()) {
-                throw new ConfigException("No mapping files found!");
-            } else {
-                for (File mappingFile : mappingFiles) {
-                    try (InputStream fileStream = Files.newInputStream(mappingFile.toPath())) {
-                        xmlString = transformXmlByXslt(xmlString, fileStream);
-                    }
-                }
-            }
-            conversionResult = xmlString;
-
-            DataRecord resultRecord = new DataRecord();
-            resultRecord.setOriginalData(conversionResult);
-            resultRecord.setFileFormat(targetFileFormat);
-            resultRecord.setMetadataFormat(targetMetadataFormat);
-            return resultRecord;
-        } else {
-            throw new InvalidClassException("OriginalData of DataRecord should be instance of class 'String', is '"
-                    + record.getOriginalData().getClass().getName() + "' instead!");
+        InputSource inputSource = createInputSource(record.getOriginalData());
+        if (mappingFiles.isEmpty()) {
+            throw new ConfigException("No mapping files found!");
+        }
+        List<Templates> stylesheets = new ArrayList<>(mappingFiles.size());
+        for (File mappingFile : mappingFiles) {
+            stylesheets.add(getCompiledStylesheet(mappingFile));
         }
+        String conversionResult = transformXmlByXslt(inputSource, stylesheets);
+
+        DataRecord resultRecord = new DataRecord();
+        resultRecord.setOriginalData(conversionResult);
+        resultRecord.setFileFormat(targetFileFormat);
+        resultRecord.setMetadataFormat(targetMetadataFormat);
+        return resultRecord;
     }
 
     @Override
@@ -102,27 +110,66 @@ public class XMLSchemaConverter implements SchemaConverterInterface {
         return supportedSourceFileFormat.equals(format);
     }
 
-    private String transformXmlByXslt(String xmlString, InputStream stylesheetFile) {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        try {
-            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-        } catch (ParserConfigurationException e) {
-            throw new IllegalArgumentException(e.getMessage(), e);
+    private InputSource createInputSource(Object originalData) throws InvalidClassException {
+        if (originalData instanceof String) {
+            return new InputSource(new StringReader(removeBom((String) originalData)));
+        } else if (originalData instanceof InputStream) {
+            return new InputSource((InputStream) originalData);
+        } else if (originalData instanceof Reader) {
+            return new InputSource((Reader) originalData);
+        } else {
+            throw new InvalidClassException("OriginalData of DataRecord should be instance of class 'String', "
+                    + "'InputStream' or 'Reader', is '" + originalData.getClass().getName() + "' instead!");
+        }
+    }
+
+    /**
+     * Returns the compiled stylesheet of a mapping file. The stylesheet is
+     * compiled again if the file has been changed since it was compiled.
+     *
+     * @param mappingFile
+     *            XSLT mapping file
+     * @return the compiled stylesheet
+     * @throws IOException
+     *             if the mapping file cannot be read
+     */
+    static Templates getCompiledStylesheet(File mappingFile) throws IOException {
+        long lastModified = mappingFile.lastModified();
+        CompiledStylesheet compiledStylesheet = compiledStylesheets.get(mappingFile);
+        if (Objects.nonNull(compiledStylesheet) && compiledStylesheet.lastModified == lastModified) {
+            return compiledStylesheet.templates;
         }
-        factory.setNamespaceAware(true);
+        try (InputStream fileStream = Files.newInputStream(mappingFile.toPath())) {
+            Templates templates = createTransformerFactory().newTemplates(new StreamSource(fileStream));
+            compiledStylesheets.put(mappingFile, new CompiledStylesheet(lastModified, templates));
+            return templates;
+        } catch (TransformerConfigurationException e) {
+            throw new ConfigException("Error in transforming the response to internal format: " + e.getMessage(), e);
+        }
+    }
+
+    private static SAXTransformerFactory createTransformerFactory() {
+        TransformerFactoryImpl transformerFactory = new TransformerFactoryImpl();
+        transformerFactory.setURIResolver(uriResolver);
+        return transformerFactory;
+    }
+
+    private String transformXmlByXslt(InputSource inputSource, List<Templates> stylesheets) {
         try {
             StringWriter stringWriter = new StringWriter();
-            TransformerFactory transformerFactory = new TransformerFactoryImpl();
-            transformerFactory.setURIResolver((href, base) -> new StreamSource(href.replace("http:", "https:")));
-            System.setProperty("http.agent", "Chrome");
-            Transformer xsltTransformer = transformerFactory.newTransformer(new StreamSource(stylesheetFile));
             TransformerHandler handler
                     = ((SAXTransformerFactory) SAXTransformerFactory.newInstance()).newTransformerHandler();
             handler.setResult(new StreamResult(stringWriter));
-            Result saxResult = new SAXResult(handler);
-            xmlString = removeBom(xmlString);
-            SAXSource saxSource = new SAXSource(new InputSource(new StringReader(xmlString)));
-            xsltTransformer.transform(saxSource, saxResult);
+            SAXTransformerFactory transformerFactory = createTransformerFactory();
+            for (int i = stylesheets.size() - 1; i > 0; i--) {
+                TransformerHandler stylesheetHandler = transformerFactory.newTransformerHandler(stylesheets.get(i));
+                stylesheetHandler.getTransformer().setURIResolver(uriResolver);
+                stylesheetHandler.setResult(new SAXResult(handler));
+                handler = stylesheetHandler;
+            }
+            Transformer xsltTransformer = stylesheets.get(0).newTransformer();
+            xsltTransformer.setURIResolver(uriResolver);
+            xsltTransformer.transform(new SAXSource(inputSource), new SAXResult(handler));
             return stringWriter.toString();
         } catch (TransformerException e) {
             throw new ConfigException("Error in transforming the response to internal format: " + e.getMessage(), e);
@@ -135,9 +182,19 @@ public class XMLSchemaConverter implements SchemaConverterInterface {
      * @return xml String without BOM character
      */
     private String removeBom(String xmlStringWithBom) {
-        if (Objects.equals(xmlStringWithBom.charAt(0), ByteOrderMark.UTF_BOM)) {
+        if (!xmlStringWithBom.isEmpty() && Objects.equals(xmlStringWithBom.charAt(0), ByteOrderMark.UTF_BOM)) {
             return xmlStringWithBom.substring(1);
         }
         return xmlStringWithBom;
     }
+
+    private static final class CompiledStylesheet {
+        private final long lastModified;
+        private final Templates templates;
+
+        private CompiledStylesheet(long lastModified, Templates templates) {
+            this.lastModified = lastModified;
+            this.templates = templates;
+        }
+    }
 }
@@ -15,6 +15,9 @@ import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
@@ -25,6 +28,7 @@ import java.net.URISyntaxException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.LinkedList;
 import java.util.List;
@@ -32,10 +36,12 @@ import java.util.Objects;
 
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.Templates;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.kitodo.api.schemaconverter.DataRecord;
 import org.kitodo.api.schemaconverter.FileFormat;
 import org.kitodo.api.schemaconverter.MetadataFormat;
@@ -154,6 +160,47 @@ public class XmlSchemaConverterTest {
         assertEquals("Test-Shelflocator", shelfmarksource, "shelfmarksource after conversion is wrong!");
     }
 
+    @Test
+    public void shouldConvertStreamedRecord() throws IOException, ParserConfigurationException, SAXException,
+            URISyntaxException {
+        DataRecord testRecord = new DataRecord();
+        testRecord.setMetadataFormat(MetadataFormat.MARC);
+        testRecord.setFileFormat(FileFormat.XML);
+
+        DataRecord internalFormatRecord;
+
+        try (InputStream inputStream = Files.newInputStream(Paths.get(MARC_TEST_FILE_PATH))) {
+            testRecord.setOriginalData(inputStream);
+            List<File> xsltFiles = getXsltFiles(MetadataFormat.MARC);
+            internalFormatRecord = converter.convert(testRecord, MetadataFormat.KITODO, FileFormat.XML, xsltFiles);
+        }
+
+        Document resultDocument = parseInputStreamToDocument((String) internalFormatRecord.getOriginalData());
+        NodeList metadataNodes = resultDocument.getElementsByTagName("kitodo:metadata");
+        String title = "";
+        for (int i = 0; i < metadataNodes.getLength(); i++) {
+            Element element = (Element) metadataNodes.item(i);
+            if ("TitleDocMain".equals(element.getAttribute("name"))) {
+                title = element.getTextContent();
+            }
+        }
+        assertEquals("Test-Title", title, "Title after conversion is wrong!");
+    }
+
+    @Test
+    public void shouldCompileStylesheetAgainOnlyIfChanged(@TempDir Path tempDir) throws IOException,
+            URISyntaxException {
+        File mappingFile = Files.copy(getXsltFiles(MetadataFormat.MODS).get(0).toPath(),
+            tempDir.resolve("mods2kitodo.xsl")).toFile();
+
+        Templates compiled = XMLSchemaConverter.getCompiledStylesheet(mappingFile);
+        assertSame(compiled, XMLSchemaConverter.getCompiledStylesheet(mappingFile),
+            "Unchanged stylesheet was compiled again!");
+        assertTrue(mappingFile.setLastModified(mappingFile.lastModified() + 1000));
+        assertNotSame(compiled, XMLSchemaConverter.getCompiledStylesheet(mappingFile),
+            "Changed stylesheet was not compiled again!");
+    }
+
     private Document parseInputStreamToDocument(String inputString) throws ParserConfigurationException,
             IOException, SAXException {
         try (InputStream inputStream = new ByteArrayInputStream(inputString.getBytes(StandardCharsets.UTF_8))) {
@@ -213,6 +213,13 @@ public enum ParameterCore implements ParameterInterface {
      */
     DONE_DIRECTORY_NAME(new Parameter<>("image.doneDirectoryName", "fertig/")),
 
+    /**
+     * Number of images generated at the same time per host running
+     * ImageMagick. If ImageMagick is run on several SSH hosts, this is
+     * multiplied by the number of hosts. Defaults to 1.
+     */
+    IMAGE_GENERATOR_THREADS_PER_HOST(new Parameter<>("image.generator.threadsPerHost", 1)),
+
     /*
      * VISUAL APPEARANCE
      *
@@ -615,14 +622,39 @@ public enum ParameterCore implements ParameterInterface {
 
     ACTIVE_MQ_CREATE_NEW_PROCESSES_QUEUE(new Parameter<UndefinedParameter>("activeMQ.createNewProcesses.queue")),
 
+    ACTIVE_MQ_CREATE_NEW_PROCESSES_CONSUMERS(new Parameter<>("activeMQ.createNewProcesses.consumers", 1)),
+
     ACTIVE_MQ_FINALIZE_STEP_QUEUE(new Parameter<UndefinedParameter>("activeMQ.finalizeStep.queue")),
 
+    ACTIVE_MQ_FINALIZE_STEP_CONSUMERS(new Parameter<>("activeMQ.finalizeStep.consumers", 1)),
+
     ACTIVE_MQ_KITODO_SCRIPT_ALLOW(new Parameter<UndefinedParameter>("activeMQ.kitodoScript.allow")),
 
     ACTIVE_MQ_KITODO_SCRIPT_QUEUE(new Parameter<UndefinedParameter>("activeMQ.kitodoScript.queue")),
 
+    ACTIVE_MQ_KITODO_SCRIPT_CONSUMERS(new Parameter<>("activeMQ.kitodoScript.consumers", 1)),
+
     ACTIVE_MQ_TASK_ACTION_QUEUE(new Parameter<UndefinedParameter>("activeMQ.taskAction.queue")),
 
+    ACTIVE_MQ_TASK_ACTION_CONSUMERS(new Parameter<>("activeMQ.taskAction.consumers", 1)),
+
+    /**
+     * Number of messages the server sends to a consumer in advance.
+     */
+    ACTIVE_MQ_PREFETCH(new Parameter<>("activeMQ.prefetch", 1)),
+
+    /**
+     * Number of times a message whose processing failed is delivered again.
+     * Not all processors are idempotent, so messages are not delivered again
+     * by default.
+     */
+    ACTIVE_MQ_MAXIMUM_REDELIVERIES(new Parameter<>("activeMQ.maximumRedeliveries", 0)),
+
+    /**
+     * Long, value in milliseconds.
+     */
+    ACTIVE_MQ_REDELIVERY_DELAY(new Parameter<>("activeMQ.redeliveryDelay", TimeUnit.SECONDS.toMillis(10))),
+
     ACTIVE_MQ_USER(new Parameter<UndefinedParameter>("activeMQ.user")),
 
     ACTIVE_MQ_RESULTS_TOPIC(new Parameter<UndefinedParameter>("activeMQ.results.topic")),
@@ -641,6 +673,10 @@ public enum ParameterCore implements ParameterInterface {
     ELASTICSEARCH_ATTEMPTS(new Parameter<>("elasticsearch.attempts", 10)),
     ELASTICSEARCH_TIME_BETWEEN_ATTEMPTS(new Parameter<>("elasticsearch.timeBetweenAttempts", 2000)),
     ELASTICSEARCH_THREADS(new Parameter<>("elasticsearch.threads", 4)),
+    ELASTICSEARCH_PIPELINE(new Parameter<>("elasticsearch.pipeline", true)),
+    ELASTICSEARCH_ASYNC_INDEXING(new Parameter<>("elasticsearch.asyncIndexing", false)),
+    ELASTICSEARCH_ASYNC_INDEXING_INTERVAL(new Parameter<>("elasticsearch.asyncIndexing.interval", 1000)),
+    ELASTICSEARCH_METS_CACHE_SIZE(new Parameter<>("elasticsearch.metsCacheSize", 1000)),
 
     /*
      * Security properties
@@ -667,7 +703,44 @@ public enum ParameterCore implements ParameterInterface {
      * Optional parameter controlling whether the import of all elements from an uploaded EAD XML file should be
      * canceled when an exception occurs or not. Defaults to 'false'.
      */
-    STOP_EAD_COLLECTION_IMPORT_ON_EXCEPTION(new Parameter<>("stopEadCollectionImportOnException", false));
+    STOP_EAD_COLLECTION_IMPORT_ON_EXCEPTION(new Parameter<>("stopEadCollectionImportOnException", false)),
+
+    /*
+     * Optional parameter controlling how many records of a mass import are imported at the same time. Default value
+     * is the number of processor cores, but at most 4.
+     */
+    MASS_IMPORT_PARALLEL_RECORDS(new Parameter<>("massImportParallelRecords",
+            Math.min(4, Runtime.getRuntime().availableProcessors()))),
+
+    /*
+     * Optional parameter controlling how many new processes of a mass import are saved and indexed together. Default
+     * value is 10.
+     */
+    MASS_IMPORT_BATCH_SIZE(new Parameter<>("massImportBatchSize", 10)),
+
+    /*
+     * Optional parameter controlling how many child records of a multi-volume work or EAD collection are converted at
+     * the same time. Default value is 4.
+     */
+    HIERARCHY_IMPORT_PARALLEL_RECORDS(new Parameter<>("hierarchyImportParallelRecords", 4)),
+
+    /*
+     * Optional parameter controlling how many child processes of a multi-volume work or EAD collection are saved and
+     * indexed together. Default value is 100.
+     */
+    HIERARCHY_IMPORT_BATCH_SIZE(new Parameter<>("hierarchyImportBatchSize", 100)),
+
+    /*
+     * Optional parameter controlling how many processes a bulk operation loads from the database at a time. Default
+     * value is 100.
+     */
+    BULK_OPERATION_CHUNK_SIZE(new Parameter<>("bulkOperationChunkSize", 100)),
+
+    /*
+     * Optional parameter controlling how many seconds the statistics of a selection of processes are kept. Default
+     * value is 60.
+     */
+    STATISTICS_CACHE_TTL_SEC(new Parameter<>("statisticsCacheTtlSec", 60));
 
     private final Parameter<?> parameter;
 
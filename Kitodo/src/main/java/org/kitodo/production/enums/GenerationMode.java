@@ -11,8 +11,11 @@
 
 package org.kitodo.production.enums;
 
+import java.net.URI;
+import java.util.Map;
 import java.util.function.Predicate;
 
+import org.kitodo.api.validation.ValidationResult;
 import org.kitodo.production.model.Subfolder;
 import org.kitodo.production.services.image.MissingImagesFilterPredicate;
 import org.kitodo.production.services.image.MissingOrDamagedImagesFilterPredicate;
@@ -50,6 +53,11 @@ public enum GenerationMode {
         public Predicate<Subfolder> getFilter(String canonical) {
             return new MissingOrDamagedImagesFilterPredicate(canonical);
         }
+
+        @Override
+        public Predicate<Subfolder> getFilter(String canonical, Map<URI, ValidationResult> validationResults) {
+            return new MissingOrDamagedImagesFilterPredicate(canonical, validationResults);
+        }
     };
 
     /**
@@ -60,4 +68,18 @@ public enum GenerationMode {
      * @return the filter for the generator variant
      */
     public abstract Predicate<Subfolder> getFilter(String canonical);
+
+    /**
+     * Returns the corresponding filter for the generator variant, which uses
+     * validation results determined beforehand where available.
+     *
+     * @param canonical
+     *            canonical part of the file name
+     * @param validationResults
+     *            validation results of the existing images, by URI
+     * @return the filter for the generator variant
+     */
+    public Predicate<Subfolder> getFilter(String canonical, Map<URI, ValidationResult> validationResults) {
+        return getFilter(canonical);
+    }
 }
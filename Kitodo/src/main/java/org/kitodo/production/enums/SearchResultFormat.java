@@ -0,0 +1,48 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+
+package org.kitodo.production.enums;
+
+/**
+ * Enumeration of the file formats a search result can be downloaded in.
+ */
+public enum SearchResultFormat {
+    /**
+     * Office Open XML spreadsheet.
+     */
+    XLSX("search.xlsx"),
+
+    /**
+     * Comma-separated values, UTF-8 encoded.
+     */
+    CSV("search.csv"),
+
+    /**
+     * PDF document with a table.
+     */
+    PDF("search.pdf");
+
+    private final String fileName;
+
+    SearchResultFormat(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * Returns the name of the downloaded file.
+     *
+     * @return the file name
+     */
+    public String getFileName() {
+        return fileName;
+    }
+}
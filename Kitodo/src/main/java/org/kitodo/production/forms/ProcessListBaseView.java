@@ -11,8 +11,6 @@
 
 package org.kitodo.production.forms;
 
-import com.itextpdf.text.DocumentException;
-
 import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
@@ -42,6 +40,7 @@ import org.kitodo.production.process.ProcessMetadataStatistic;
 import org.kitodo.production.services.ServiceManager;
 import org.kitodo.production.services.data.ProcessService;
 import org.kitodo.production.services.dataformat.MetsService;
+import org.opensearch.index.query.QueryBuilder;
 import org.primefaces.PrimeFaces;
 import org.primefaces.component.datatable.DataTable;
 import org.primefaces.event.data.PageEvent;
@@ -150,6 +149,30 @@ public class ProcessListBaseView extends BaseForm {
         return selectedProcesses;
     }
 
+    /**
+     * Returns a query for the processes currently selected in the user
+     * interface, so that statistics can be computed in the index without
+     * loading the processes.
+     *
+     * @return query selecting the selected processes
+     */
+    private QueryBuilder getSelectedProcessesQuery() {
+        ProcessService processService = ServiceManager.getProcessService();
+        if (allSelected) {
+            return processService.getQueryForFilter(this.isShowClosedProcesses(), isShowInactiveProjects(), getFilter())
+                    .mustNot(processService.createSetQueryForIds(new ArrayList<>(excludedProcessIds)));
+        }
+        List<Integer> selectedProcessIds = new ArrayList<>();
+        for (Object selectedProcess : selectedProcessesOrProcessDTOs) {
+            if (selectedProcess instanceof ProcessDTO) {
+                selectedProcessIds.add(((ProcessDTO) selectedProcess).getId());
+            } else if (selectedProcess instanceof Process) {
+                selectedProcessIds.add(((Process) selectedProcess).getId());
+            }
+        }
+        return processService.createSetQueryForIds(selectedProcessIds);
+    }
+
     /**
      * Get stackedBarModel.
      *
@@ -164,7 +187,14 @@ public class ProcessListBaseView extends BaseForm {
      */
     public void showDurationOfTasks() {
         chartMode = ChartMode.BAR;
-        stackedBarModel = ServiceManager.getProcessService().getBarChartModel(getSelectedProcesses());
+        try {
+            stackedBarModel = ServiceManager.getProcessService().getBarChartModel(
+                ServiceManager.getStatisticService().getDurationOfTasks(getSelectedProcessesQuery()));
+        } catch (DataException e) {
+            Helper.setErrorMessage(ERROR_LOADING_MANY, new Object[] {ObjectType.TASK.getTranslationPlural() }, logger,
+                e);
+            return;
+        }
         PrimeFaces.current().executeScript("PF('statisticsDialog').show();");
         PrimeFaces.current().ajax().update("statisticsDialog");
     }
@@ -174,7 +204,13 @@ public class ProcessListBaseView extends BaseForm {
      */
     public void showStateOfVolume() {
         chartMode = ChartMode.PIE;
-        statisticResult = ServiceManager.getProcessService().getProcessTaskStates(getSelectedProcesses());
+        try {
+            statisticResult = ServiceManager.getStatisticService().getProcessTaskStates(getSelectedProcessesQuery());
+        } catch (DataException e) {
+            Helper.setErrorMessage(ERROR_LOADING_MANY, new Object[] {ObjectType.TASK.getTranslationPlural() }, logger,
+                e);
+            return;
+        }
         pieModel = ServiceManager.getProcessService().getPieChardModel(statisticResult);
         PrimeFaces.current().executeScript("PF('statisticsDialog').show();");
         PrimeFaces.current().ajax().update("statisticsDialog");
@@ -375,11 +411,23 @@ public class ProcessListBaseView extends BaseForm {
         try {
             ServiceManager.getProcessService().generateResultAsPdf(this.filter, this.isShowClosedProcesses(),
                     this.isShowInactiveProjects());
-        } catch (IOException | DocumentException e) {
+        } catch (IOException e) {
             Helper.setErrorMessage(ERROR_CREATING, new Object[] {Helper.getTranslation("resultPDF") }, logger, e);
         }
     }
 
+    /**
+     * Generate result as CSV.
+     */
+    public void generateResultAsCsv() {
+        try {
+            ServiceManager.getProcessService().generateResultAsCsv(this.filter, this.isShowClosedProcesses(),
+                    this.isShowInactiveProjects());
+        } catch (IOException e) {
+            Helper.setErrorMessage(ERROR_CREATING, new Object[] {Helper.getTranslation("resultSet") }, logger, e);
+        }
+    }
+
     /**
      * Download to home for selected processes.
      */
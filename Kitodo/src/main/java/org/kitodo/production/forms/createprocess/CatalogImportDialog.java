@@ -260,7 +260,7 @@ public class CatalogImportDialog  extends MetadataImportDialog implements Serial
     private void importChildren(int projectId, int templateId, ImportConfiguration importConfiguration, List<TempProcess> parentProcesses)
             throws SAXException, UnsupportedFormatException, URISyntaxException, ParserConfigurationException,
             IOException, ProcessGenerationException, TransformerException, InvalidMetadataValueException,
-            NoSuchMetadataFieldException {
+            NoSuchMetadataFieldException, XPathExpressionException {
         try {
             this.createProcessForm.setChildProcesses(ServiceManager.getImportService().getChildProcesses(
                     importConfiguration, this.currentRecordId, projectId, templateId, numberOfChildren, parentProcesses));
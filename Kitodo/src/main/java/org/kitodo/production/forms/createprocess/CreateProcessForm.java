@@ -31,6 +31,7 @@ import javax.faces.view.ViewScoped;
 import javax.inject.Named;
 import javax.xml.stream.XMLStreamException;
 
+import org.apache.commons.collections4.ListUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.kitodo.api.MetadataEntry;
@@ -577,12 +578,15 @@ public class CreateProcessForm extends BaseForm implements MetadataTreeTableInte
             PrimeFaces.current().executeScript("PF('progressDialog')");
             PrimeFaces.current().ajax().update("progressForm:progressBar");
         }
-        for (TempProcess childProcess : this.childProcesses) {
-            int currentIndex = childProcesses.indexOf(childProcess);
-            MetadataEditor.addLink(getMainProcess(), String.valueOf(currentIndex),
-                    childProcess.getProcess().getId());
-            ServiceManager.getProcessService().save(childProcess.getProcess());
-            this.progress = (currentIndex + 1) * 100 / this.childProcesses.size();
+        int currentIndex = 0;
+        for (List<TempProcess> batch : ListUtils.partition(this.childProcesses,
+                ImportService.getHierarchyImportBatchSize())) {
+            List<Process> batchProcesses = batch.stream().map(TempProcess::getProcess).collect(Collectors.toList());
+            MetadataEditor.addLinks(getMainProcess(), String.valueOf(currentIndex),
+                    batchProcesses.stream().map(Process::getId).collect(Collectors.toList()));
+            ServiceManager.getProcessService().saveListAndIndex(batchProcesses);
+            currentIndex += batch.size();
+            this.progress = currentIndex * 100 / this.childProcesses.size();
             if (Objects.nonNull(PrimeFaces.current()) && Objects.nonNull(FacesContext.getCurrentInstance())) {
                 PrimeFaces.current().ajax().update("progressForm:progressBar");
             }
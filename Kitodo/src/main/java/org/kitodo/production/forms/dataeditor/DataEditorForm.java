@@ -986,6 +986,7 @@ public class DataEditorForm implements MetadataTreeTableInterface, RulesetSetupI
             logicalDivision.getViews().add(view);
         }
         view.getPhysicalDivision().getLogicalDivisions().add(logicalDivision);
+        workpiece.getIndexIfCreated().ifPresent(workpieceIndex -> workpieceIndex.addView(logicalDivision, view));
     }
 
     void unassignView(LogicalDivision logicalDivision, View view, boolean removeLast) {
@@ -996,6 +997,7 @@ public class DataEditorForm implements MetadataTreeTableInterface, RulesetSetupI
             logicalDivision.getViews().removeFirstOccurrence(view);
         }
         view.getPhysicalDivision().getLogicalDivisions().remove(logicalDivision);
+        workpiece.getIndexIfCreated().ifPresent(workpieceIndex -> workpieceIndex.removeView(logicalDivision, view));
     }
 
     /**
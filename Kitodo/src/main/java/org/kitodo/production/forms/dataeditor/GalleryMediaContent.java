@@ -152,6 +152,15 @@ public class GalleryMediaContent {
         return sendData(mediaViewUri, mediaViewMimeType);
     }
 
+    /**
+     * Returns the URI of the content for the media view.
+     *
+     * @return the URI of the media view, or {@code null} if there is none
+     */
+    public URI getMediaViewUri() {
+        return mediaViewUri;
+    }
+
     /**
      * Returns the order number of the medium (to be displayed to the user).
      *
@@ -180,6 +189,15 @@ public class GalleryMediaContent {
         return sendData(previewUri, previewMimeType);
     }
 
+    /**
+     * Returns the URI of the content for the media preview.
+     *
+     * @return the URI of the preview, or {@code null} if there is none
+     */
+    public URI getPreviewUri() {
+        return previewUri;
+    }
+
     /**
      * Indicates if there is a media view for this media. Production is able to
      * work with media files for which there is currently no adequate display
@@ -817,14 +817,8 @@ public class GalleryPanel {
     }
 
     private void selectMedia(String physicalDivisionOrder, String stripeIndex, String selectionType) {
-        PhysicalDivision selectedPhysicalDivision = null;
-        for (PhysicalDivision physicalDivision : this.dataEditor.getWorkpiece()
-                .getAllPhysicalDivisionChildrenSortedFilteredByPageAndTrack()) {
-            if (Objects.equals(physicalDivision.getOrder(), Integer.parseInt(physicalDivisionOrder))) {
-                selectedPhysicalDivision = physicalDivision;
-                break;
-            }
-        }
+        PhysicalDivision selectedPhysicalDivision = this.dataEditor.getWorkpiece().getIndex()
+                .getPageByOrder(Integer.parseInt(physicalDivisionOrder));
 
         if (Objects.nonNull(selectedPhysicalDivision) && selectedPhysicalDivision.hasMediaPartial()) {
             View mediaView = DataEditorService.getViewOfBaseMediaByMediaFiles(dataEditor.getStructurePanel().getLogicalTree().getChildren(),
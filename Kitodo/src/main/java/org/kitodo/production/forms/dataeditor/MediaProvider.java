@@ -12,9 +12,9 @@
 package org.kitodo.production.forms.dataeditor;
 
 import java.io.Serializable;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.enterprise.context.SessionScoped;
 import javax.faces.context.FacesContext;
@@ -23,6 +23,7 @@ import javax.inject.Named;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.kitodo.production.handler.MediaServlet;
 import org.kitodo.production.helper.Helper;
 import org.primefaces.model.DefaultStreamedContent;
 import org.primefaces.model.StreamedContent;
@@ -37,7 +38,11 @@ public class MediaProvider implements Serializable {
 
     private static final Logger logger = LogManager.getLogger(MediaProvider.class);
 
-    private final Map<Integer, Map<String, GalleryMediaContent>> mediaResolver = new HashMap<>();
+    /**
+     * Media contents per process and canonical ID. The maps are read
+     * concurrently by the {@link MediaServlet}.
+     */
+    private final Map<Integer, Map<String, GalleryMediaContent>> mediaResolver = new ConcurrentHashMap<>();
 
     private static final String PREVIEW = "preview";
 
@@ -49,11 +54,21 @@ public class MediaProvider implements Serializable {
      * @return value of media resolver
      */
     public Map<String, GalleryMediaContent> getMediaResolver(int processId) {
-        if (!mediaResolver.containsKey(processId)) {
-            mediaResolver.put(processId, new HashMap<>());
+        return mediaResolver.computeIfAbsent(processId, key -> new ConcurrentHashMap<>());
+    }
 
-        }
-        return mediaResolver.get(processId);
+    /**
+     * Returns the media content with the given canonical ID of a process.
+     *
+     * @param processId
+     *            process ID
+     * @param id
+     *            canonical ID of the media content
+     * @return the media content, or {@code null} if there is none
+     */
+    public GalleryMediaContent getGalleryMediaContent(int processId, String id) {
+        Map<String, GalleryMediaContent> processMediaContents = mediaResolver.get(processId);
+        return Objects.nonNull(processMediaContents) && Objects.nonNull(id) ? processMediaContents.get(id) : null;
     }
 
     /**
@@ -93,6 +108,34 @@ public class MediaProvider implements Serializable {
         return getMediaContent(MEDIA_VIEW);
     }
 
+    /**
+     * Returns the URL of the preview media of a media content, which is
+     * served by the {@link MediaServlet}.
+     *
+     * @param processId
+     *            process ID
+     * @param galleryMediaContent
+     *            the gallery media content object
+     * @return the URL of the preview media, relative to the context path
+     */
+    public String getPreviewUrl(int processId, GalleryMediaContent galleryMediaContent) {
+        return MediaServlet.getPath(processId, MediaServlet.PREVIEW, galleryMediaContent.getId());
+    }
+
+    /**
+     * Returns the URL of the media view of a media content, which is served
+     * by the {@link MediaServlet}.
+     *
+     * @param processId
+     *            process ID
+     * @param galleryMediaContent
+     *            the gallery media content object
+     * @return the URL of the media view, relative to the context path
+     */
+    public String getMediaViewUrl(int processId, GalleryMediaContent galleryMediaContent) {
+        return MediaServlet.getPath(processId, MediaServlet.MEDIA_VIEW, galleryMediaContent.getId());
+    }
+
     /**
      * Returns if media content has preview variant.
      *
@@ -27,6 +27,7 @@ import org.apache.logging.log4j.Logger;
 import org.kitodo.api.dataformat.LogicalDivision;
 import org.kitodo.api.dataformat.PhysicalDivision;
 import org.kitodo.api.dataformat.View;
+import org.kitodo.api.dataformat.WorkpieceIndex;
 import org.kitodo.config.ConfigCore;
 import org.kitodo.config.enums.ParameterCore;
 import org.kitodo.exceptions.InvalidImagesException;
@@ -112,7 +113,7 @@ public class PaginationPanel {
      *            selected items to set
      */
     public void setPaginationSelectionSelectedItems(List<Integer> selectedItems) {
-        List<PhysicalDivision> physicalDivisions = dataEditor.getWorkpiece().getAllPhysicalDivisionChildrenSortedFilteredByPageAndTrack();
+        List<PhysicalDivision> physicalDivisions = dataEditor.getWorkpiece().getIndex().getPages();
         if (!selectedItems.isEmpty()) {
             int lastItemIndex = selectedItems.get(selectedItems.size() - 1);
             if (this.paginationSelectionSelectedItems.isEmpty()
@@ -285,14 +286,11 @@ public class PaginationPanel {
      */
     public void preparePaginationSelectionSelectedItems() {
         paginationSelectionSelectedItems = new ArrayList<>();
-        List<PhysicalDivision> physicalDivisions = dataEditor.getWorkpiece().getAllPhysicalDivisionChildrenSortedFilteredByPageAndTrack();
+        WorkpieceIndex index = dataEditor.getWorkpiece().getIndex();
         for (Pair<PhysicalDivision, LogicalDivision> selectedElement : dataEditor.getSelectedMedia()) {
-            for (int i = 0; i < physicalDivisions.size(); i++) {
-                PhysicalDivision physicalDivision = physicalDivisions.get(i);
-                if (physicalDivision.equals(selectedElement.getKey())) {
-                    paginationSelectionSelectedItems.add(i);
-                    break;
-                }
+            int position = index.getPagePosition(selectedElement.getKey());
+            if (position >= 0) {
+                paginationSelectionSelectedItems.add(position);
             }
         }
     }
@@ -20,7 +20,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -31,6 +31,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
@@ -95,14 +96,27 @@ public class StructurePanel implements Serializable {
     private DefaultTreeNode physicalTree = null;
 
     /**
-     * HashMap containing the current expansion states of all TreeNodes in the logical structure tree.
+     * The nodes of the logical structure tree by the logical divisions and
+     * views they show. Logical divisions compare their whole subtree in
+     * equals() and hashCode(), so the nodes are looked up by identity.
      */
-    private HashMap<LogicalDivision, Boolean> previousExpansionStatesLogicalTree;
+    private Map<Object, TreeNode> logicalNodes = new IdentityHashMap<>();
 
     /**
-     * HashMap containing the current expansion states of all TreeNodes in the physical structure tree.
+     * The nodes of the physical structure tree by the physical divisions they
+     * show, looked up by identity.
      */
-    private HashMap<PhysicalDivision, Boolean> previousExpansionStatesPhysicalTree;
+    private Map<PhysicalDivision, TreeNode> physicalNodes = new IdentityHashMap<>();
+
+    /**
+     * Map containing the expansion states of the TreeNodes in the logical structure tree before it was rebuilt.
+     */
+    private Map<LogicalDivision, Boolean> previousExpansionStatesLogicalTree;
+
+    /**
+     * Map containing the expansion states of the TreeNodes in the physical structure tree before it was rebuilt.
+     */
+    private Map<PhysicalDivision, Boolean> previousExpansionStatesPhysicalTree;
 
     /**
      * HashMap acting as cache for faster retrieval of Subfolders.
@@ -119,6 +133,12 @@ public class StructurePanel implements Serializable {
      */
     private int order = 1;
 
+    /**
+     * The physical divisions already added to the physical structure when
+     * building the logical and physical trees from the PrimeFaces tree.
+     */
+    private Set<PhysicalDivision> preservedPhysicalDivisions;
+
     /**
      * Active tabs in StructurePanel's accordion.
      */
@@ -164,6 +184,8 @@ public class StructurePanel implements Serializable {
     public void clear() {
         logicalTree = null;
         physicalTree = null;
+        logicalNodes = new IdentityHashMap<>();
+        physicalNodes = new IdentityHashMap<>();
         selectedLogicalNode = null;
         selectedPhysicalNode = null;
         previouslySelectedLogicalNode = null;
@@ -190,8 +212,7 @@ public class StructurePanel implements Serializable {
      * @param selectedStructure The logical division.
      */
     public void deleteLogicalDivision(LogicalDivision selectedStructure) {
-        LinkedList<LogicalDivision> ancestors = MetadataEditor.getAncestorsOfLogicalDivision(selectedStructure,
-                structure);
+        LinkedList<LogicalDivision> ancestors = getAncestors(selectedStructure);
         if (ancestors.isEmpty()) {
             // The selected element is the root node of the tree.
             return;
@@ -215,10 +236,21 @@ public class StructurePanel implements Serializable {
         parent.getViews().sort(Comparator.comparingInt(v -> v.getPhysicalDivision().getOrder()));
 
         parent.getChildren().remove(selectedStructure);
-        show();
+        dataEditor.getWorkpiece().invalidateIndex();
+        updateLogicalNodes(Collections.singletonList(parent));
         dataEditor.getGalleryPanel().updateStripes();
     }
 
+    private LinkedList<LogicalDivision> getAncestors(LogicalDivision logicalDivision) {
+        LinkedList<LogicalDivision> ancestors = dataEditor.getWorkpiece().getIndex().getAncestors(logicalDivision);
+        if (ancestors.isEmpty() && logicalDivision != dataEditor.getWorkpiece().getLogicalStructure()) {
+            // the division was added after the index was created
+            dataEditor.getWorkpiece().invalidateIndex();
+            ancestors = dataEditor.getWorkpiece().getIndex().getAncestors(logicalDivision);
+        }
+        return ancestors;
+    }
+
     private void getAllSubViews(LogicalDivision selectedStructure, Collection<View> views) {
         if (Objects.nonNull(selectedStructure.getViews())) {
             views.addAll(selectedStructure.getViews());
@@ -259,6 +291,7 @@ public class StructurePanel implements Serializable {
             }
         }
 
+        dataEditor.getWorkpiece().invalidateIndex();
         int i = 1;
         for (PhysicalDivision physicalDivision : dataEditor.getWorkpiece().getAllPhysicalDivisionChildrenSortedFilteredByPageAndTrack()) {
             physicalDivision.setOrder(i);
@@ -286,6 +319,7 @@ public class StructurePanel implements Serializable {
         }
         PhysicalDivision parent = ancestors.getLast();
         parent.getChildren().remove(physicalDivision);
+        dataEditor.getWorkpiece().invalidateIndex();
         return true;
     }
 
@@ -367,7 +401,10 @@ public class StructurePanel implements Serializable {
     }
 
     private TreeNode getMatchingTreeNode(TreeNode parent, PhysicalDivision physicalDivision) {
-        TreeNode matchingTreeNode = null;
+        TreeNode matchingTreeNode = physicalNodes.get(physicalDivision);
+        if (Objects.nonNull(matchingTreeNode)) {
+            return matchingTreeNode;
+        }
         for (TreeNode treeNode : parent.getChildren()) {
             if (Objects.nonNull(treeNode) && treeNode.getData() instanceof StructureTreeNode) {
                 StructureTreeNode structureTreeNode = (StructureTreeNode) treeNode.getData();
@@ -428,6 +465,7 @@ public class StructurePanel implements Serializable {
     private void preserveLogical() {
         if (!this.logicalTree.getChildren().isEmpty()) {
             preserveLogicalRecursive(this.logicalTree.getChildren().get(logicalTree.getChildCount() - 1));
+            dataEditor.getWorkpiece().invalidateIndex();
             dataEditor.checkForChanges();
         }
     }
@@ -459,6 +497,7 @@ public class StructurePanel implements Serializable {
     private void preservePhysical() {
         if (!physicalTree.getChildren().isEmpty()) {
             preservePhysicalRecursive(physicalTree.getChildren().get(0));
+            dataEditor.getWorkpiece().invalidateIndex();
             dataEditor.checkForChanges();
         }
     }
@@ -519,33 +558,167 @@ public class StructurePanel implements Serializable {
      * logical structure of the structure tree.
      */
     public void show() {
+        dataEditor.getWorkpiece().invalidateIndex();
         this.structure = dataEditor.getWorkpiece().getLogicalStructure();
 
-        this.previousExpansionStatesLogicalTree = getLogicalTreeNodeExpansionStates(this.logicalTree);
+        this.previousExpansionStatesLogicalTree = getLogicalExpansionStates(logicalNodes.values());
+        this.logicalNodes = new IdentityHashMap<>();
         this.logicalTree = buildStructureTree();
-        updateLogicalNodeExpansionStates(this.logicalTree, this.previousExpansionStatesLogicalTree);
 
-        this.previousExpansionStatesPhysicalTree = getPhysicalTreeNodeExpansionStates(this.physicalTree);
+        showPhysical();
+        resetSelection();
+        dataEditor.checkForChanges();
+    }
+
+    /**
+     * Loads the physical structure tree into the panel. The logical structure
+     * tree is left as it is.
+     */
+    private void showPhysical() {
+        this.previousExpansionStatesPhysicalTree = new IdentityHashMap<>();
+        for (Entry<PhysicalDivision, TreeNode> entry : physicalNodes.entrySet()) {
+            previousExpansionStatesPhysicalTree.put(entry.getKey(), entry.getValue().isExpanded());
+        }
+        this.physicalNodes = new IdentityHashMap<>();
         this.physicalTree = buildMediaTree(dataEditor.getWorkpiece().getPhysicalStructure());
-        updatePhysicalNodeExpansionStates(this.physicalTree, this.previousExpansionStatesPhysicalTree);
+    }
 
+    private void resetSelection() {
         this.selectedLogicalNode = logicalTree.getChildren().get(logicalTree.getChildCount() - 1);
         this.selectedPhysicalNode = physicalTree.getChildren().get(0);
         this.previouslySelectedLogicalNode = selectedLogicalNode;
         this.previouslySelectedPhysicalNode = selectedPhysicalNode;
+    }
+
+    /**
+     * Updates the logical structure tree after the children or views of the
+     * given logical divisions were changed. Only the subtrees of these
+     * divisions are built again. If this changes which views are shown in a
+     * subtree, ancestors showing the same media are built again, too, as they
+     * hide the views that are already shown on a child. If a division is not
+     * shown in the tree, the whole panel is loaded again.
+     *
+     * @param changedDivisions
+     *            logical divisions whose children or views were changed
+     */
+    void updateLogicalNodes(Collection<LogicalDivision> changedDivisions) {
+        if (Objects.isNull(logicalTree)) {
+            show();
+            return;
+        }
+        Map<String, StructuralElementViewInterface> viewCache = new HashMap<>();
+        for (LogicalDivision changedDivision : changedDivisions) {
+            TreeNode treeNode = logicalNodes.get(changedDivision);
+            if (Objects.isNull(treeNode)) {
+                show();
+                return;
+            }
+            Set<PhysicalDivision> changedMedia = rebuildLogicalNode(treeNode, viewCache);
+            while (!changedMedia.isEmpty()) {
+                treeNode = findAncestorShowingAnyOf(treeNode, changedMedia);
+                if (Objects.isNull(treeNode)) {
+                    break;
+                }
+                changedMedia = rebuildLogicalNode(treeNode, viewCache);
+            }
+        }
+        resetSelection();
         dataEditor.checkForChanges();
     }
 
-    private void restoreSelection(String rowKey, TreeNode parentNode) {
-        for (TreeNode childNode : parentNode.getChildren()) {
-            if (Objects.nonNull(childNode) && rowKey.equals(childNode.getRowKey())) {
-                childNode.setSelected(true);
-                break;
-            } else {
-                childNode.setSelected(false);
-                restoreSelection(rowKey, childNode);
+    /**
+     * Builds the subtree of a node of the logical structure tree again. The
+     * node itself is kept, so that its position in the tree and its expansion
+     * state do not change.
+     *
+     * @return the physical divisions whose views are shown in the subtree
+     *         before, but not after, or vice versa
+     */
+    private Set<PhysicalDivision> rebuildLogicalNode(TreeNode treeNode,
+            Map<String, StructuralElementViewInterface> viewCache) {
+        List<TreeNode> oldNodes = new ArrayList<>();
+        collectDescendants(treeNode, oldNodes);
+        Set<PhysicalDivision> changedMedia = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (TreeNode oldNode : oldNodes) {
+            Object dataObject = ((StructureTreeNode) oldNode.getData()).getDataObject();
+            if (logicalNodes.get(dataObject) == oldNode) {
+                logicalNodes.remove(dataObject);
+            }
+            if (dataObject instanceof View) {
+                changedMedia.add(((View) dataObject).getPhysicalDivision());
+            }
+        }
+        oldNodes.add(treeNode);
+        this.previousExpansionStatesLogicalTree = getLogicalExpansionStates(oldNodes);
+
+        LogicalDivision division = getTreeNodeStructuralElement(treeNode);
+        List<Integer> processIds = getAllLinkedProcessIds(division);
+        Map<Integer, String> processTypeMap = processIds.isEmpty() ? Collections.emptyMap()
+                : fetchProcessTypes(processIds);
+        ((DefaultTreeNode) treeNode).setData(buildStructureTreeNode(division, processTypeMap, viewCache));
+        treeNode.getChildren().clear();
+        for (PhysicalDivision shown : buildStructureTreeChildren(division, treeNode, processTypeMap, viewCache)) {
+            if (!changedMedia.remove(shown)) {
+                changedMedia.add(shown);
+            }
+        }
+        return changedMedia;
+    }
+
+    private static void collectDescendants(TreeNode treeNode, List<TreeNode> descendants) {
+        for (TreeNode child : treeNode.getChildren()) {
+            descendants.add(child);
+            collectDescendants(child, descendants);
+        }
+    }
+
+    private TreeNode findAncestorShowingAnyOf(TreeNode treeNode, Set<PhysicalDivision> physicalDivisions) {
+        for (TreeNode ancestor = treeNode.getParent(); Objects.nonNull(ancestor); ancestor = ancestor.getParent()) {
+            LogicalDivision division = getTreeNodeStructuralElement(ancestor);
+            if (Objects.nonNull(division) && division.getViews().stream()
+                    .anyMatch(view -> physicalDivisions.contains(view.getPhysicalDivision()))) {
+                return ancestor;
+            }
+        }
+        return null;
+    }
+
+    private Map<LogicalDivision, Boolean> getLogicalExpansionStates(Collection<TreeNode> treeNodes) {
+        Map<LogicalDivision, Boolean> expansionStates = new IdentityHashMap<>();
+        for (TreeNode treeNode : treeNodes) {
+            LogicalDivision division = getTreeNodeStructuralElement(treeNode);
+            if (Objects.nonNull(division)) {
+                expansionStates.put(division, treeNode.isExpanded());
             }
         }
+        return expansionStates;
+    }
+
+    /**
+     * Returns whether a newly built node showing the given object is expanded.
+     * Nodes of divisions keep their previous state, and new divisions are
+     * expanded. Other nodes are only expanded in a tree built for the first
+     * time.
+     */
+    private static boolean isExpanded(Map<?, Boolean> expansionStates, Object dataObject) {
+        if (Objects.isNull(expansionStates)) {
+            return true;
+        }
+        if (dataObject instanceof LogicalDivision || dataObject instanceof PhysicalDivision) {
+            return expansionStates.getOrDefault(dataObject, Boolean.TRUE);
+        }
+        return false;
+    }
+
+    private void restoreSelection(String rowKey, TreeNode tree) {
+        TreeNode treeNode = tree;
+        for (String index : rowKey.split("_")) {
+            if (!StringUtils.isNumeric(index) || Integer.parseInt(index) >= treeNode.getChildCount()) {
+                return;
+            }
+            treeNode = treeNode.getChildren().get(Integer.parseInt(index));
+        }
+        treeNode.setSelected(true);
     }
 
     /**
@@ -645,10 +818,10 @@ public class StructurePanel implements Serializable {
      * @param result the current corresponding primefaces tree node
      * @param processTypeMap the mapping of process id to basetype
      * @param viewCache a cache for storing and retrieving already processed StructuralElementViews
-     * @return a collection of views that contains all views of the full sub-tree
+     * @return the physical divisions of all views shown in the full sub-tree
      */
-    private Collection<View> buildStructureTreeRecursively(LogicalDivision structure, TreeNode result, Map<Integer,
-            String> processTypeMap, Map<String, StructuralElementViewInterface> viewCache) {
+    private Set<PhysicalDivision> buildStructureTreeRecursively(LogicalDivision structure, TreeNode result,
+            Map<Integer, String> processTypeMap, Map<String, StructuralElementViewInterface> viewCache) {
         StructureTreeNode node = buildStructureTreeNode(structure, processTypeMap, viewCache);
         /*
          * Creating the tree node by handing over the parent node automatically
@@ -656,11 +829,23 @@ public class StructurePanel implements Serializable {
          * framework. So you do not have to add the result anywhere.
          */
         DefaultTreeNode parent = new DefaultTreeNode(STRUCTURE_NODE_TYPE, node, result);
-        if (logicalNodeStateUnknown(this.previousExpansionStatesLogicalTree, parent)) {
-            parent.setExpanded(true);
-        }
+        parent.setExpanded(isExpanded(this.previousExpansionStatesLogicalTree, structure));
+        logicalNodes.put(structure, parent);
+        return buildStructureTreeChildren(structure, parent, processTypeMap, viewCache);
+    }
 
-        Set<View> viewsShowingOnAChild = new HashSet<>();
+    /**
+     * Builds the child nodes of a node of the logical structure tree.
+     *
+     * @param structure the logical structure shown by the node
+     * @param parent the node
+     * @param processTypeMap the mapping of process id to basetype
+     * @param viewCache a cache for storing and retrieving already processed StructuralElementViews
+     * @return the physical divisions of all views shown in the full sub-tree
+     */
+    private Set<PhysicalDivision> buildStructureTreeChildren(LogicalDivision structure, TreeNode parent,
+            Map<Integer, String> processTypeMap, Map<String, StructuralElementViewInterface> viewCache) {
+        Set<PhysicalDivision> viewsShowingOnAChild = Collections.newSetFromMap(new IdentityHashMap<>());
         if (!this.logicalStructureTreeContainsMedia()) {
             for (LogicalDivision child : structure.getChildren()) {
                 viewsShowingOnAChild.addAll(buildStructureTreeRecursively(child, parent, processTypeMap, viewCache));
@@ -673,13 +858,14 @@ public class StructurePanel implements Serializable {
                     // add child and their views
                     viewsShowingOnAChild.addAll(buildStructureTreeRecursively(pair.getRight(), parent,
                             processTypeMap, viewCache));
-                } else if (!viewsShowingOnAChild.contains(pair.getLeft())) {
+                } else if (!viewsShowingOnAChild.contains(pair.getLeft().getPhysicalDivision())) {
                     // add views of current logical division as leaf nodes
-                    DefaultTreeNode viewNode = addTreeNode(buildViewLabel(pair.getLeft()), false, false, pair.getLeft(), parent);
+                    DefaultTreeNode viewNode = addTreeNode(buildViewLabel(pair.getLeft()), false, false, pair.getLeft(),
+                        (DefaultTreeNode) parent);
                     viewNode.setType(pair.getLeft().getPhysicalDivision().hasMediaPartial()
                             ? MEDIA_PARTIAL_NODE_TYPE
                             : VIEW_NODE_TYPE);
-                    viewsShowingOnAChild.add(pair.getLeft());
+                    viewsShowingOnAChild.add(pair.getLeft().getPhysicalDivision());
                 }
             }
         }
@@ -820,10 +1006,13 @@ public class StructurePanel implements Serializable {
             DefaultTreeNode parent) {
         DefaultTreeNode node = new DefaultTreeNode(new StructureTreeNode(label, null, undefined, linked, dataObject),
                 parent);
-        if (dataObject instanceof PhysicalDivision && physicalNodeStateUnknown(this.previousExpansionStatesPhysicalTree, node)
-                || dataObject instanceof LogicalDivision
-                && logicalNodeStateUnknown(this.previousExpansionStatesLogicalTree, node)) {
-            node.setExpanded(true);
+        if (dataObject instanceof PhysicalDivision) {
+            node.setExpanded(isExpanded(this.previousExpansionStatesPhysicalTree, dataObject));
+            physicalNodes.put((PhysicalDivision) dataObject, node);
+        } else if (dataObject instanceof LogicalDivision || dataObject instanceof View) {
+            node.setExpanded(dataObject instanceof LogicalDivision
+                    && isExpanded(this.previousExpansionStatesLogicalTree, dataObject));
+            logicalNodes.put(dataObject, node);
         }
         return node;
     }
@@ -913,9 +1102,7 @@ public class StructurePanel implements Serializable {
     private DefaultTreeNode buildMediaTree(PhysicalDivision mediaRoot) {
         DefaultTreeNode rootTreeNode = new DefaultTreeNode();
         rootTreeNode.setType(PHYS_STRUCTURE_NODE_TYPE);
-        if (physicalNodeStateUnknown(this.previousExpansionStatesPhysicalTree, rootTreeNode)) {
-            rootTreeNode.setExpanded(true);
-        }
+        rootTreeNode.setExpanded(isExpanded(this.previousExpansionStatesPhysicalTree, null));
         buildMediaTreeRecursively(mediaRoot, rootTreeNode);
         return rootTreeNode;
     }
@@ -935,9 +1122,6 @@ public class StructurePanel implements Serializable {
             treeNode.setType(PHYS_STRUCTURE_NODE_TYPE);
         }
 
-        if (physicalNodeStateUnknown(this.previousExpansionStatesPhysicalTree, treeNode)) {
-            treeNode.setExpanded(true);
-        }
         if (Objects.nonNull(physicalDivision.getChildren())) {
             for (PhysicalDivision child : physicalDivision.getChildren()) {
                 buildMediaTreeRecursively(child, treeNode);
@@ -1007,7 +1191,20 @@ public class StructurePanel implements Serializable {
 
     void updatePhysicalNodeSelection(GalleryMediaContent galleryMediaContent) {
         if (Objects.nonNull(physicalTree)) {
-            TreeNode selectedTreeNode = updatePhysicalNodeSelectionRecursive(galleryMediaContent, physicalTree);
+            TreeNode selectedTreeNode = null;
+            if (Objects.nonNull(galleryMediaContent) && Objects.nonNull(galleryMediaContent.getView())) {
+                selectedTreeNode = physicalNodes.get(galleryMediaContent.getView().getPhysicalDivision());
+            }
+            if (Objects.nonNull(selectedTreeNode) && selectedTreeNode.getChildCount() < 1) {
+                for (TreeNode treeNode : Arrays.asList(previouslySelectedPhysicalNode, selectedPhysicalNode)) {
+                    if (Objects.nonNull(treeNode)) {
+                        treeNode.setSelected(false);
+                    }
+                }
+                selectedTreeNode.setSelected(true);
+            } else {
+                selectedTreeNode = updatePhysicalNodeSelectionRecursive(galleryMediaContent, physicalTree);
+            }
             updatePhysicalNodeSelection(selectedTreeNode);
         }
     }
@@ -1031,8 +1228,14 @@ public class StructurePanel implements Serializable {
                 if (!this.logicalStructureTreeContainsMedia()) {
                     selectedTreeNode = updateLogicalNodeSelectionRecursive(structure, logicalTree);
                 } else {
-                    selectedTreeNode = updatePhysSelectionInLogTreeRecursive(galleryMediaContent.getView().getPhysicalDivision(), structure,
-                            logicalTree);
+                    selectedTreeNode = findViewNode(logicalNodes.get(structure),
+                        galleryMediaContent.getView().getPhysicalDivision());
+                    if (Objects.nonNull(selectedTreeNode)) {
+                        selectedTreeNode.setSelected(true);
+                    } else {
+                        selectedTreeNode = updatePhysSelectionInLogTreeRecursive(
+                            galleryMediaContent.getView().getPhysicalDivision(), structure, logicalTree);
+                    }
                 }
                 if (Objects.nonNull(selectedTreeNode)) {
                     setSelectedLogicalNode(selectedTreeNode);
@@ -1072,7 +1275,11 @@ public class StructurePanel implements Serializable {
      * @return the TreeNode that will be selected
      */
     public TreeNode updateLogicalNodeSelectionRecursive(LogicalDivision structure, TreeNode treeNode) {
-        TreeNode matchingTreeNode = null;
+        TreeNode matchingTreeNode = treeNode == logicalTree ? logicalNodes.get(structure) : null;
+        if (Objects.nonNull(matchingTreeNode)) {
+            matchingTreeNode.setSelected(true);
+            return matchingTreeNode;
+        }
         for (TreeNode currentTreeNode : treeNode.getChildren()) {
             if (treeNodeMatchesStructure(structure, currentTreeNode)) {
                 currentTreeNode.setSelected(true);
@@ -1087,6 +1294,20 @@ public class StructurePanel implements Serializable {
         return matchingTreeNode;
     }
 
+    private static TreeNode findViewNode(TreeNode parent, PhysicalDivision physicalDivision) {
+        if (Objects.nonNull(parent)) {
+            for (TreeNode child : parent.getChildren()) {
+                if (child.getData() instanceof StructureTreeNode
+                        && ((StructureTreeNode) child.getData()).getDataObject() instanceof View
+                        && ((View) ((StructureTreeNode) child.getData()).getDataObject())
+                                .getPhysicalDivision() == physicalDivision) {
+                    return child;
+                }
+            }
+        }
+        return null;
+    }
+
     private TreeNode updatePhysicalNodeSelectionRecursive(GalleryMediaContent galleryMediaContent, TreeNode treeNode) {
         if (Objects.isNull(galleryMediaContent)) {
             return null;
@@ -1263,10 +1484,15 @@ public class StructurePanel implements Serializable {
         if (dragParent.getData() instanceof StructureTreeNode) {
             StructureTreeNode dragParentTreeNode = (StructureTreeNode) dragParent.getData();
             if (dragParentTreeNode.getDataObject() instanceof LogicalDivision) {
+                List<LogicalDivision> changedDivisions = new ArrayList<>(
+                        ((View) dragNode.getDataObject()).getPhysicalDivision().getLogicalDivisions());
+                changedDivisions.add((LogicalDivision) dragParentTreeNode.getDataObject());
+                changedDivisions.add((LogicalDivision) dropNode.getDataObject());
                 // FIXME waiting for PrimeFaces' tree drop index bug to be fixed.
                 // Until fixed dropping nodes onto other nodes will produce random drop indices.
                 preserveLogicalAndPhysical();
-                show();
+                showPhysical();
+                updateLogicalNodes(changedDivisions);
                 expandNode(event.getDropNode());
                 dataEditor.getGalleryPanel().updateStripes();
                 dataEditor.getPaginationPanel().show();
@@ -1337,6 +1563,7 @@ public class StructurePanel implements Serializable {
                 Helper.setErrorMessage("Could not append media at correct position. Index exceeded list.");
             }
         }
+        dataEditor.getWorkpiece().invalidateIndex();
     }
 
     /**
@@ -1345,6 +1572,7 @@ public class StructurePanel implements Serializable {
      */
     void changePhysicalOrderFields() {
         ServiceManager.getFileService().renumberPhysicalDivisions(dataEditor.getWorkpiece(), false);
+        dataEditor.getWorkpiece().invalidateIndex();
     }
 
     /**
@@ -1456,21 +1684,22 @@ public class StructurePanel implements Serializable {
         StructuralElementViewInterface divisionView = dataEditor.getRulesetManagement().getStructuralElementView(
                 dropStructure.getType(), dataEditor.getAcquisitionStage(), dataEditor.getPriorityList());
 
-        LinkedList<LogicalDivision> dragParents;
+        LinkedList<LogicalDivision> dragParents = getAncestors(dragStructure);
         if (divisionView.getAllowedSubstructuralElements().containsKey(dragStructure.getType())
                 || Objects.nonNull(dragStructure.getLink())) {
-            dragParents = MetadataEditor.getAncestorsOfLogicalDivision(dragStructure,
-                    dataEditor.getWorkpiece().getLogicalStructure());
             if (!dragParents.isEmpty()) {
                 LogicalDivision parentStructure = dragParents.get(dragParents.size() - 1);
                 if (parentStructure.getChildren().contains(dragStructure)) {
                     if (logicalStructureTreeContainsMedia()) {
                         preserveLogicalAndPhysical();
+                        showPhysical();
                     } else {
                         preserveLogical();
                     }
+                    updateLogicalNodes(Arrays.asList(parentStructure, dropStructure));
                     this.dataEditor.getGalleryPanel().updateStripes();
                     this.dataEditor.getPaginationPanel().show();
+                    return;
                 } else {
                     Helper.setErrorMessage(Helper.getTranslation("dataEditor.childNotContainedError",
                         dragNode.getLabel()));
@@ -1483,7 +1712,11 @@ public class StructurePanel implements Serializable {
             Helper.setErrorMessage(Helper.getTranslation("dataEditor.forbiddenChildElement",
                 dragNode.getLabel(), dropNode.getLabel()));
         }
-        show();
+        if (dragParents.isEmpty()) {
+            show();
+        } else {
+            updateLogicalNodes(Arrays.asList(dragParents.getLast(), dropStructure));
+        }
     }
 
     private void checkPhysicalDragDrop(StructureTreeNode dragNode, StructureTreeNode dropNode) {
@@ -1512,7 +1745,13 @@ public class StructurePanel implements Serializable {
             Helper.setErrorMessage(Helper.getTranslation("dataEditor.forbiddenChildElement",
                 dragNode.getLabel(), dropNode.getLabel()));
         }
-        show();
+        if (logicalStructureTreeContainsMedia()) {
+            show();
+        } else {
+            showPhysical();
+            resetSelection();
+            dataEditor.checkForChanges();
+        }
     }
 
     private void preserveLogicalAndPhysical() throws UnknownTreeNodeDataException {
@@ -1522,7 +1761,9 @@ public class StructurePanel implements Serializable {
                 physicalDivision.getLogicalDivisions().clear();
             }
             dataEditor.getWorkpiece().getPhysicalStructure().getChildren().clear();
+            preservedPhysicalDivisions = Collections.newSetFromMap(new IdentityHashMap<>());
             preserveLogicalAndPhysicalRecursive(this.logicalTree.getChildren().get(logicalTree.getChildCount() - 1));
+            dataEditor.getWorkpiece().invalidateIndex();
         }
     }
 
@@ -1547,7 +1788,7 @@ public class StructurePanel implements Serializable {
             } else if (((StructureTreeNode) child.getData()).getDataObject() instanceof View) {
                 View view = (View) ((StructureTreeNode) child.getData()).getDataObject();
                 structure.getViews().add(view);
-                if (!dataEditor.getWorkpiece().getAllPhysicalDivisions().contains(view.getPhysicalDivision())) {
+                if (preservedPhysicalDivisions.add(view.getPhysicalDivision())) {
                     view.getPhysicalDivision().setOrder(order);
                     dataEditor.getWorkpiece().getPhysicalStructure().getChildren().add(view.getPhysicalDivision());
                     order++;
@@ -1593,98 +1834,6 @@ public class StructurePanel implements Serializable {
         }
     }
 
-    private HashMap<LogicalDivision, Boolean> getLogicalTreeNodeExpansionStates(DefaultTreeNode tree) {
-        if (Objects.nonNull(tree) && tree.getChildCount() == 1) {
-            TreeNode treeRoot = tree.getChildren().get(0);
-            LogicalDivision structuralElement = getTreeNodeStructuralElement(treeRoot);
-            if (Objects.nonNull(structuralElement)) {
-                return getLogicalTreeNodeExpansionStatesRecursively(treeRoot, new HashMap<>());
-            }
-        }
-        return new HashMap<>();
-    }
-
-    private HashMap<LogicalDivision, Boolean> getLogicalTreeNodeExpansionStatesRecursively(TreeNode treeNode,
-            HashMap<LogicalDivision, Boolean> expansionStates) {
-        if (Objects.nonNull(treeNode)) {
-            LogicalDivision structureData = getTreeNodeStructuralElement(treeNode);
-            if (Objects.nonNull(structureData)) {
-                expansionStates.put(structureData, treeNode.isExpanded());
-                for (TreeNode childNode : treeNode.getChildren()) {
-                    expansionStates.putAll(getLogicalTreeNodeExpansionStatesRecursively(childNode, expansionStates));
-                }
-            }
-        }
-        return expansionStates;
-    }
-
-    private HashMap<PhysicalDivision, Boolean> getPhysicalTreeNodeExpansionStates(DefaultTreeNode tree) {
-        if (Objects.nonNull(tree) && tree.getChildCount() == 1) {
-            TreeNode treeRoot = tree.getChildren().get(0);
-            PhysicalDivision physicalDivision = getTreeNodePhysicalDivision(treeRoot);
-            if (Objects.nonNull(physicalDivision)) {
-                return getPhysicalTreeNodeExpansionStatesRecursively(treeRoot, new HashMap<>());
-            }
-        }
-        return new HashMap<>();
-    }
-
-    private HashMap<PhysicalDivision, Boolean> getPhysicalTreeNodeExpansionStatesRecursively(TreeNode treeNode,
-            HashMap<PhysicalDivision, Boolean> expansionStates) {
-        if (Objects.nonNull(treeNode)) {
-            PhysicalDivision physicalDivision = getTreeNodePhysicalDivision(treeNode);
-            if (Objects.nonNull(physicalDivision)) {
-                expansionStates.put(physicalDivision, treeNode.isExpanded());
-                for (TreeNode childNode : treeNode.getChildren()) {
-                    expansionStates.putAll(getPhysicalTreeNodeExpansionStatesRecursively(childNode, expansionStates));
-                }
-            }
-        }
-        return expansionStates;
-    }
-
-    private void updateLogicalNodeExpansionStates(DefaultTreeNode tree, HashMap<LogicalDivision, Boolean> expansionStates) {
-        if (Objects.nonNull(tree) && Objects.nonNull(expansionStates) && !expansionStates.isEmpty()) {
-            updateNodeExpansionStatesRecursively(tree, expansionStates);
-        }
-    }
-
-    private void updateNodeExpansionStatesRecursively(TreeNode treeNode, HashMap<LogicalDivision, Boolean> expansionStates) {
-        LogicalDivision element = getTreeNodeStructuralElement(treeNode);
-        if (Objects.nonNull(element) && expansionStates.containsKey(element)) {
-            treeNode.setExpanded(expansionStates.get(element));
-        }
-        for (TreeNode childNode : treeNode.getChildren()) {
-            updateNodeExpansionStatesRecursively(childNode, expansionStates);
-        }
-    }
-
-    private void updatePhysicalNodeExpansionStates(DefaultTreeNode tree, HashMap<PhysicalDivision, Boolean> expansionStates) {
-        if (Objects.nonNull(tree) && Objects.nonNull(expansionStates) && !expansionStates.isEmpty()) {
-            updatePhysicalNodeExpansionStatesRecursively(tree, expansionStates);
-        }
-    }
-
-    private void updatePhysicalNodeExpansionStatesRecursively(TreeNode treeNode, HashMap<PhysicalDivision, Boolean> expansionStates) {
-        PhysicalDivision physicalDivision = getTreeNodePhysicalDivision(treeNode);
-        if (Objects.nonNull(physicalDivision) && expansionStates.containsKey(physicalDivision)) {
-            treeNode.setExpanded(expansionStates.get(physicalDivision));
-        }
-        for (TreeNode childNode : treeNode.getChildren()) {
-            updatePhysicalNodeExpansionStatesRecursively(childNode, expansionStates);
-        }
-    }
-
-    private boolean logicalNodeStateUnknown(HashMap<LogicalDivision, Boolean> expansionStates, TreeNode treeNode) {
-        LogicalDivision element = getTreeNodeStructuralElement(treeNode);
-        return !Objects.nonNull(expansionStates) || (Objects.nonNull(element) && !expansionStates.containsKey(element));
-    }
-
-    private boolean physicalNodeStateUnknown(HashMap<PhysicalDivision, Boolean> expanionStates, TreeNode treeNode) {
-        PhysicalDivision physicalDivision = getTreeNodePhysicalDivision(treeNode);
-        return Objects.isNull(expanionStates) || (Objects.nonNull(physicalDivision) && !expanionStates.containsKey(physicalDivision));
-    }
-
     private LogicalDivision getTreeNodeStructuralElement(TreeNode treeNode) {
         if (Objects.nonNull(treeNode) && treeNode.getData() instanceof StructureTreeNode) {
             StructureTreeNode structureTreeNode = (StructureTreeNode) treeNode.getData();
@@ -1695,16 +1844,6 @@ public class StructurePanel implements Serializable {
         return null;
     }
 
-    private PhysicalDivision getTreeNodePhysicalDivision(TreeNode treeNode) {
-        if (Objects.nonNull(treeNode) && treeNode.getData() instanceof StructureTreeNode) {
-            StructureTreeNode structureTreeNode = (StructureTreeNode) treeNode.getData();
-            if (structureTreeNode.getDataObject() instanceof PhysicalDivision) {
-                return (PhysicalDivision) structureTreeNode.getDataObject();
-            }
-        }
-        return null;
-    }
-
     private View getTreeNodeView(TreeNode treeNode) {
         if (Objects.nonNull(treeNode) && treeNode.getData() instanceof StructureTreeNode) {
             StructureTreeNode structureTreeNode = (StructureTreeNode) treeNode.getData();
@@ -1888,7 +2027,7 @@ public class StructurePanel implements Serializable {
             LogicalDivision logicalDivision = (LogicalDivision) structureTreeNodeSibling.getDataObject();
             dataEditor.assignView(logicalDivision, viewToAssign, 0);
             severalAssignments.add(viewToAssign.getPhysicalDivision());
-            show();
+            updateLogicalNodes(Collections.singletonList(logicalDivision));
             dataEditor.getSelectedMedia().clear();
             dataEditor.getGalleryPanel().updateStripes();
         }
@@ -1911,7 +2050,7 @@ public class StructurePanel implements Serializable {
                     if (view.getPhysicalDivision().getLogicalDivisions().size() <= 1) {
                         severalAssignments.remove(view.getPhysicalDivision());
                     }
-                    show();
+                    updateLogicalNodes(Collections.singletonList(logicalDivision));
                     dataEditor.getGalleryPanel().updateStripes();
                 }
             }
@@ -16,7 +16,6 @@ import com.opencsv.exceptions.CsvException;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -29,17 +28,21 @@ import javax.inject.Named;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.kitodo.api.dataeditor.rulesetmanagement.RulesetManagementInterface;
+import org.kitodo.data.database.beans.Client;
 import org.kitodo.data.database.beans.ImportConfiguration;
 import org.kitodo.data.database.beans.Template;
+import org.kitodo.data.database.beans.User;
 import org.kitodo.data.database.exceptions.DAOException;
 import org.kitodo.exceptions.ConfigException;
 import org.kitodo.exceptions.ImportException;
 import org.kitodo.production.forms.BaseForm;
 import org.kitodo.production.forms.CsvRecord;
 import org.kitodo.production.helper.Helper;
+import org.kitodo.production.helper.tasks.TaskManager;
+import org.kitodo.production.helper.tasks.TaskState;
 import org.kitodo.production.services.ServiceManager;
-import org.kitodo.production.services.data.ImportService;
 import org.kitodo.production.services.data.MassImportService;
+import org.kitodo.production.thread.MassImportThread;
 import org.primefaces.PrimeFaces;
 import org.primefaces.event.FileUploadEvent;
 import org.primefaces.model.file.UploadedFile;
@@ -63,7 +66,7 @@ public class MassImportForm extends BaseForm {
     private final List<Character> csvSeparatorCharacters = Arrays.asList(',', ';');
     private final MassImportService massImportService = ServiceManager.getMassImportService();
     private final AddMetadataDialog addMetadataDialog = new AddMetadataDialog(this);
-    private HashMap<String, String> importSuccessMap = new HashMap<>();
+    private MassImportThread massImportThread;
     private Integer progress = 0;
     private Boolean rulesetConfigurationForOpacImportComplete = null;
     private String configurationError = null;
@@ -124,7 +127,7 @@ public class MassImportForm extends BaseForm {
     private void resetValues() {
         metadataKeys = new LinkedList<>();
         records = new LinkedList<>();
-        importSuccessMap = new HashMap<>();
+        massImportThread = null;
         importedCsvHeaderLine = "";
         importedCsvLines = new LinkedList<>();
     }
@@ -163,52 +166,54 @@ public class MassImportForm extends BaseForm {
     }
 
     /**
-     * Import all records from list.
+     * Start background task importing all records from list.
      */
     public void startMassImport() {
-        importSuccessMap = new HashMap<>();
-        PrimeFaces.current().ajax().update("massImportResultDialog");
         try {
             Map<String, Map<String, List<String>>> presetMetadata = massImportService.prepareMetadata(metadataKeys, records);
-            importRecords(presetMetadata);
-            PrimeFaces.current().executeScript("PF('massImportResultDialog').show();");
-            PrimeFaces.current().ajax().update("massImportResultDialog");
+            User user = ServiceManager.getUserService().getAuthenticatedUser();
+            Client client = ServiceManager.getUserService().getSessionClientOfAuthenticatedUser();
+            massImportThread = new MassImportThread(presetMetadata, projectId, templateId, importConfiguration, user,
+                    client);
+            TaskManager.addTask(massImportThread);
         } catch (ImportException e) {
-            Helper.setErrorMessage(e.getLocalizedMessage(), logger, e);
-        } catch (ConfigException e) {
-            configurationError = e.getLocalizedMessage();
             PrimeFaces.current().executeScript("PF('massImportProgressBar').cancel();");
-            PrimeFaces.current().executeScript("PF('configErrorDialog').show();");
-            PrimeFaces.current().ajax().update("configErrorDialog");
+            PrimeFaces.current().executeScript("PF('massImportProgressDialog').hide();");
+            Helper.setErrorMessage(e.getLocalizedMessage(), logger, e);
+        }
+    }
+
+    /**
+     * Start background task importing the records whose import failed again.
+     */
+    public void retryFailedImports() {
+        if (Objects.nonNull(massImportThread)) {
+            progress = 0;
+            massImportThread = massImportThread.retryFailedImports();
+            TaskManager.addTask(massImportThread);
         }
     }
 
     /**
-     * Prepare massimport by resetting progress and import success map.
+     * Prepare massimport by resetting progress and import results.
      */
     public void prepare() {
         progress = 0;
-        importSuccessMap = new HashMap<>();
+        massImportThread = null;
         PrimeFaces.current().ajax().update("massImportProgressForm:massImportProgress");
     }
 
     /**
-     * Import records by ID and add preset metadata.
-     *
-     * @param processMetadata Map containing record IDs as keys and preset metadata lists as values
-     */
-    private void importRecords(Map<String, Map<String, List<String>>> processMetadata) {
-        ImportService importService = ServiceManager.getImportService();
-        PrimeFaces.current().ajax().update("massImportProgressDialog");
-        for (Map.Entry<String, Map<String, List<String>>> entry : processMetadata.entrySet()) {
-            try {
-                importService.importProcess(entry.getKey(), projectId, templateId, importConfiguration,
-                        entry.getValue());
-                importSuccessMap.put(entry.getKey(), null);
-            } catch (ImportException e) {
-                importSuccessMap.put(entry.getKey(), e.getLocalizedMessage());
-            }
-            PrimeFaces.current().ajax().update("massImportProgressDialog");
+     * Show the results of the mass import when it has terminated, or the configuration error that stopped it.
+     */
+    public void showResults() {
+        if (Objects.nonNull(massImportThread) && massImportThread.getException() instanceof ConfigException) {
+            configurationError = massImportThread.getException().getLocalizedMessage();
+            PrimeFaces.current().executeScript("PF('configErrorDialog').show();");
+            PrimeFaces.current().ajax().update("configErrorDialog");
+        } else {
+            PrimeFaces.current().executeScript("PF('massImportResultDialog').show();");
+            PrimeFaces.current().ajax().update("massImportResultDialog");
         }
     }
 
@@ -388,9 +393,8 @@ public class MassImportForm extends BaseForm {
      * @return list of IDs of successfully import processes
      */
     public List<String> getSuccessfulImports() {
-        if (Objects.nonNull(importSuccessMap)) {
-            return importSuccessMap.entrySet().stream().filter(entry -> Objects.isNull(entry.getValue()))
-                    .map(Map.Entry::getKey).collect(Collectors.toList());
+        if (Objects.nonNull(massImportThread)) {
+            return massImportThread.getSuccessfulImports();
         }
         return Collections.emptyList();
     }
@@ -401,9 +405,8 @@ public class MassImportForm extends BaseForm {
      * @return list of IDs of failed imports
      */
     public List<String> getFailedImports() {
-        if (Objects.nonNull(importSuccessMap)) {
-            return importSuccessMap.entrySet().stream().filter(entry -> Objects.nonNull(entry.getValue()))
-                    .map(Map.Entry::getKey).collect(Collectors.toList());
+        if (Objects.nonNull(massImportThread)) {
+            return massImportThread.getFailedImports();
         }
         return Collections.emptyList();
     }
@@ -415,7 +418,10 @@ public class MassImportForm extends BaseForm {
      * @return error message of import for ID 'recordId'; returns 'null' if no error occurred
      */
     public String getImportErrorMessage(String recordId) {
-        return importSuccessMap.get(recordId);
+        if (Objects.nonNull(massImportThread)) {
+            return massImportThread.getImportErrorMessage(recordId);
+        }
+        return null;
     }
 
 
@@ -439,10 +445,13 @@ public class MassImportForm extends BaseForm {
      * @return mass import progress
      */
     public int getProgress() {
-        if (records.isEmpty()) {
+        if (Objects.isNull(massImportThread)) {
             progress = 0;
+        } else if (Arrays.asList(TaskState.FINISHED, TaskState.STOPPED, TaskState.CRASHED)
+                .contains(massImportThread.getTaskState())) {
+            progress = 100;
         } else {
-            progress = (importSuccessMap.size() * 100) / records.size();
+            progress = massImportThread.getProgress();
         }
         PrimeFaces.current().ajax().update("massImportProgressForm:massImportProgress");
         return progress;
@@ -454,7 +463,22 @@ public class MassImportForm extends BaseForm {
      * @return number of imported records
      */
     public int getNumberOfProcessesRecords() {
-        return importSuccessMap.size();
+        if (Objects.nonNull(massImportThread)) {
+            return massImportThread.getNumberOfProcessedRecords();
+        }
+        return 0;
+    }
+
+    /**
+     * Get number of records to import.
+     *
+     * @return number of records to import
+     */
+    public int getNumberOfRecords() {
+        if (Objects.nonNull(massImportThread)) {
+            return massImportThread.getNumberOfRecords();
+        }
+        return records.size();
     }
 
     /**
@@ -0,0 +1,286 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.handler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.enterprise.inject.spi.CDI;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.data.exceptions.DataException;
+import org.kitodo.production.beans.Range;
+import org.kitodo.production.forms.dataeditor.GalleryMediaContent;
+import org.kitodo.production.forms.dataeditor.MediaProvider;
+import org.kitodo.production.services.ServiceManager;
+
+/**
+ * Serves the media files shown in the metadata editor outside of the JSF
+ * lifecycle. A media file is addressed by
+ * {@code /media/<process ID>/<preview|mediaView>/<canonical ID>}, and must
+ * have been registered in the {@link MediaProvider} of the session by the
+ * gallery. The authority to view the process is checked once per process and
+ * session. Responses carry a strong entity tag and the modification time of
+ * the file, so that browsers revalidate instead of loading again, and byte
+ * ranges can be requested.
+ */
+public class MediaServlet extends HttpServlet {
+    private static final Logger logger = LogManager.getLogger(MediaServlet.class);
+
+    /**
+     * Path under which the servlet is mapped.
+     */
+    public static final String SERVLET_PATH = "/media";
+
+    /**
+     * Path segment addressing the preview media of a gallery media content.
+     */
+    public static final String PREVIEW = "preview";
+
+    /**
+     * Path segment addressing the media view of a gallery media content.
+     */
+    public static final String MEDIA_VIEW = "mediaView";
+
+    private static final String AUTHORIZED_PROCESSES = MediaServlet.class.getName() + ".authorizedProcesses";
+    private static final Pattern SINGLE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    /**
+     * Returns the path to request a media file, relative to the context path.
+     *
+     * @param processId
+     *            ID of the process
+     * @param variant
+     *            either {@link #PREVIEW} or {@link #MEDIA_VIEW}
+     * @param canonical
+     *            canonical ID of the media file
+     * @return the path to request the media file
+     */
+    public static String getPath(int processId, String variant, String canonical) {
+        try {
+            return SERVLET_PATH + '/' + processId + '/' + variant + '/'
+                    + URLEncoder.encode(canonical, StandardCharsets.UTF_8.name()).replace("+", "%20");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String[] path = StringUtils.split(Objects.toString(request.getPathInfo(), ""), '/');
+        if (path.length != 3 || !StringUtils.isNumeric(path[0]) || path[0].length() > 9) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        int processId = Integer.parseInt(path[0]);
+        if (!isAuthorized(request, processId)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        MediaProvider mediaProvider = CDI.current().select(MediaProvider.class).get();
+        GalleryMediaContent mediaContent = mediaProvider.getGalleryMediaContent(processId, path[2]);
+        URI uri = null;
+        String mimeType = null;
+        if (Objects.nonNull(mediaContent) && PREVIEW.equals(path[1])) {
+            uri = mediaContent.getPreviewUri();
+            mimeType = mediaContent.getPreviewMimeType();
+        } else if (Objects.nonNull(mediaContent) && MEDIA_VIEW.equals(path[1])) {
+            uri = mediaContent.getMediaViewUri();
+            mimeType = mediaContent.getMediaViewMimeType();
+        }
+        File file = Objects.nonNull(uri) ? ServiceManager.getFileService().getFile(uri) : null;
+        if (Objects.isNull(file) || !file.isFile()) {
+            logger.debug("Cannot serve media request {}", request.getPathInfo());
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        send(request, response, file.toPath(), mimeType);
+    }
+
+    private static boolean isAuthorized(HttpServletRequest request, int processId) {
+        HttpSession session = request.getSession(false);
+        if (Objects.isNull(session)) {
+            return false;
+        }
+        Set<Integer> authorizedProcesses = getAuthorizedProcesses(session);
+        if (authorizedProcesses.contains(processId)) {
+            return true;
+        }
+        try {
+            if (!ServiceManager.getSecurityAccessService().hasAuthorityToViewProcess(processId)) {
+                return false;
+            }
+        } catch (DataException e) {
+            logger.error(e.getMessage(), e);
+            return false;
+        }
+        authorizedProcesses.add(processId);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Integer> getAuthorizedProcesses(HttpSession session) {
+        synchronized (MediaServlet.class) {
+            Object authorizedProcesses = session.getAttribute(AUTHORIZED_PROCESSES);
+            if (Objects.isNull(authorizedProcesses)) {
+                authorizedProcesses = ConcurrentHashMap.newKeySet();
+                session.setAttribute(AUTHORIZED_PROCESSES, authorizedProcesses);
+            }
+            return (Set<Integer>) authorizedProcesses;
+        }
+    }
+
+    /**
+     * Sends a file, or the requested range of it. Answers conditional
+     * requests with “not modified” if the file is unchanged.
+     *
+     * @param request
+     *            HTTP request
+     * @param response
+     *            HTTP response
+     * @param file
+     *            file to send
+     * @param mimeType
+     *            Internet MIME type of the file
+     * @throws IOException
+     *             if the file cannot be read or the response cannot be written
+     */
+    static void send(HttpServletRequest request, HttpServletResponse response, Path file, String mimeType)
+            throws IOException {
+        long length = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        String entityTag = '"' + Long.toHexString(length) + '-' + Long.toHexString(lastModified) + '"';
+
+        response.setHeader("ETag", entityTag);
+        response.setDateHeader("Last-Modified", lastModified);
+        response.setHeader("Cache-Control", "private, no-cache");
+        response.setHeader("Accept-Ranges", "bytes");
+        if (isNotModified(request, entityTag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        Range range = getRange(request, entityTag, lastModified, length);
+        if (Objects.isNull(range)) {
+            response.setHeader("Content-Range", "bytes */" + length);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+        if (range.getLength() < length) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader("Content-Range",
+                "bytes " + range.getStart() + "-" + range.getEnd() + "/" + range.getTotal());
+        }
+        response.setContentType(mimeType);
+        response.setContentLengthLong(range.getLength());
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = range.getStart();
+            long remaining = range.getLength();
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    private static boolean isNotModified(HttpServletRequest request, String entityTag, long lastModified) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (Objects.nonNull(ifNoneMatch)) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = StringUtils.removeStart(candidate.trim(), "W/");
+                if (tag.equals(entityTag) || tag.equals("*")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = getDateHeader(request, "If-Modified-Since");
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * Returns the range to send. Only a single range is supported; for
+     * several ranges, or if the If-Range condition does not hold, the whole
+     * file is sent, as allowed by RFC 7233.
+     *
+     * @return the range to send, {@code null} if the requested range cannot
+     *         be satisfied
+     */
+    private static Range getRange(HttpServletRequest request, String entityTag, long lastModified, long length) {
+        Range full = new Range(0, length - 1, length);
+        String rangeHeader = request.getHeader("Range");
+        if (Objects.isNull(rangeHeader)) {
+            return full;
+        }
+        String ifRange = request.getHeader("If-Range");
+        if (Objects.nonNull(ifRange) && !ifRange.equals(entityTag)
+                && getDateHeader(request, "If-Range") / 1000 != lastModified / 1000) {
+            return full;
+        }
+        Matcher matcher = SINGLE_RANGE.matcher(rangeHeader.trim());
+        if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            return full;
+        }
+        long start;
+        long end;
+        try {
+            if (matcher.group(1).isEmpty()) {
+                start = Math.max(0, length - Long.parseLong(matcher.group(2)));
+                end = length - 1;
+            } else {
+                start = Long.parseLong(matcher.group(1));
+                end = matcher.group(2).isEmpty() ? length - 1 : Math.min(Long.parseLong(matcher.group(2)), length - 1);
+            }
+        } catch (NumberFormatException e) {
+            return full;
+        }
+        return start <= end ? new Range(start, end, length) : null;
+    }
+
+    private static long getDateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
@@ -51,7 +51,7 @@ import org.kitodo.production.interfaces.activemq.WebServiceResult;
 
 public class Helper {
 
-    private static Map<String, String> activeMQReporting = null;
+    private static final ThreadLocal<Map<String, String>> activeMQReporting = new ThreadLocal<>();
     private static final Logger logger = LogManager.getLogger(Helper.class);
     private static Map<Locale, ResourceBundle> commonMessages = null;
     private static Map<Locale, ResourceBundle> errorMessages = null;
@@ -315,8 +315,9 @@ public class Helper {
             }
             detail = null;
         }
-        if (Objects.nonNull(activeMQReporting)) {
-            new WebServiceResult(activeMQReporting.get("queueName"), activeMQReporting.get("id"),
+        Map<String, String> reporting = activeMQReporting.get();
+        if (Objects.nonNull(reporting)) {
+            new WebServiceResult(reporting.get("queueName"), reporting.get("id"),
                     MessageLevel.ERROR.equals(level) ? ReportLevel.ERROR :
                             MessageLevel.WARN.equals(level) ? ReportLevel.WARN : ReportLevel.INFO, compoundMessage).send();
         }
@@ -522,7 +523,7 @@ public class Helper {
      *            as Map of Strings
      */
     public static void setActiveMQReporting(Map<String, String> activeMQReporting) {
-        Helper.activeMQReporting = activeMQReporting;
+        Helper.activeMQReporting.set(activeMQReporting);
     }
 
     /**
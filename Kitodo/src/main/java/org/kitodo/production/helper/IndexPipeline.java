@@ -0,0 +1,244 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.helper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.enums.ParameterCore;
+import org.kitodo.data.database.beans.BaseBean;
+import org.kitodo.production.enums.ObjectType;
+import org.kitodo.production.services.data.base.SearchService;
+
+/**
+ * Indexes all objects of one type in three overlapping stages. One thread pages
+ * through the database by id ({@code id > lastId ORDER BY id}), several threads
+ * create the index documents of the fetched batches and one thread sends the
+ * documents to the index in bulk requests. The stages are connected by bounded
+ * queues, so only a few batches are held in memory at the same time.
+ *
+ * <p>In contrast to {@link IndexWorker}, the time needed to fetch a batch does
+ * not depend on its position inside the table, and objects which are marked as
+ * indexed while indexing is running do not shift the following batches.</p>
+ */
+public class IndexPipeline {
+
+    private static final Logger logger = LogManager.getLogger(IndexPipeline.class);
+
+    /**
+     * Marks the end of the data in a queue. Compared by identity.
+     */
+    private static final List<Object> END_OF_DATA = Collections.unmodifiableList(new ArrayList<>());
+
+    private static final int POLL_TIMEOUT = 1000;
+
+    private final SearchService searchService;
+    private final ObjectType objectType;
+    private final IndexWorkerStatus indexWorkerStatus;
+    private final boolean indexAllObjects;
+    private final int builderThreads;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final int timeBetweenAttempts;
+
+    private final BlockingQueue<List<Object>> fetchedBatches;
+    private final BlockingQueue<BuiltBatch> builtBatches;
+    private final AtomicInteger runningBuilders;
+
+    /**
+     * Constructor initializing an index pipeline for the given SearchService.
+     *
+     * @param searchService
+     *            SearchService instance used for indexing
+     * @param objectType
+     *            type of the objects to index
+     * @param indexWorkerStatus
+     *            status shared with the indexing service, used to cancel the
+     *            pipeline and to report failures
+     * @param indexAllObjects
+     *            whether all or only remaining objects are indexed
+     * @param builderThreads
+     *            number of threads creating index documents
+     */
+    public IndexPipeline(SearchService searchService, ObjectType objectType, IndexWorkerStatus indexWorkerStatus,
+            boolean indexAllObjects, int builderThreads) {
+        this.searchService = searchService;
+        this.objectType = objectType;
+        this.indexWorkerStatus = indexWorkerStatus;
+        this.indexAllObjects = indexAllObjects;
+        this.builderThreads = Math.max(1, builderThreads);
+        this.batchSize = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_BATCH);
+        this.maxAttempts = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_ATTEMPTS);
+        this.timeBetweenAttempts = ConfigCore
+                .getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_TIME_BETWEEN_ATTEMPTS);
+        this.fetchedBatches = new ArrayBlockingQueue<>(this.builderThreads);
+        this.builtBatches = new ArrayBlockingQueue<>(this.builderThreads);
+        this.runningBuilders = new AtomicInteger(this.builderThreads);
+    }
+
+    /**
+     * Returns the stages of this pipeline: one fetching stage, the configured
+     * number of document building stages and one sending stage. All of them
+     * must be run concurrently.
+     *
+     * @return the stages to run
+     */
+    public List<Runnable> getStages() {
+        List<Runnable> stages = new ArrayList<>();
+        stages.add(this::fetch);
+        for (int i = 0; i < builderThreads; i++) {
+            stages.add(this::build);
+        }
+        stages.add(this::send);
+        return stages;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void fetch() {
+        try {
+            int lastId = 0;
+            while (!isStopped()) {
+                final int afterId = lastId;
+                List<Object> batch = runWithAttempts("fetch " + objectType + " after id " + afterId,
+                    () -> indexAllObjects ? searchService.getAllAfterId(afterId, batchSize)
+                            : searchService.getAllNotIndexedAfterId(afterId, batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                lastId = ((BaseBean) batch.get(batch.size() - 1)).getId();
+                if (!put(fetchedBatches, batch)) {
+                    return;
+                }
+            }
+            for (int i = 0; i < builderThreads; i++) {
+                if (!put(fetchedBatches, END_OF_DATA)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void build() {
+        try {
+            while (!isStopped()) {
+                List<Object> batch = fetchedBatches.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+                if (batch == END_OF_DATA) {
+                    if (runningBuilders.decrementAndGet() == 0) {
+                        put(builtBatches, new BuiltBatch(END_OF_DATA, Collections.emptyMap()));
+                    }
+                    return;
+                }
+                if (batch != null) {
+                    Map<Integer, Map<String, Object>> documents = runWithAttempts(
+                        "create documents of " + objectType, () -> searchService.createDocuments(batch));
+                    if (!put(builtBatches, new BuiltBatch(batch, documents))) {
+                        return;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void send() {
+        try {
+            while (!isStopped()) {
+                BuiltBatch batch = builtBatches.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+                if (batch != null && batch.beans == END_OF_DATA) {
+                    return;
+                }
+                if (batch != null) {
+                    logger.info("index " + batch.beans.size() + " objects of type " + objectType);
+                    runWithAttempts("send documents of " + objectType, () -> {
+                        searchService.addDocumentsToIndex(batch.beans, batch.documents);
+                        return null;
+                    });
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    private <V> V runWithAttempts(String description, Callable<V> callable) throws Exception {
+        int attempt = 1;
+        while (true) {
+            try {
+                return callable.call();
+            } catch (Exception e) {
+                logger.error(description + " failed in attempt " + attempt + "/" + maxAttempts, e);
+                attempt += 1;
+                if (attempt >= maxAttempts || isStopped()) {
+                    throw e;
+                }
+                Thread.sleep(timeBetweenAttempts);
+            }
+        }
+    }
+
+    /**
+     * Puts an element into the given queue, waiting for space if necessary.
+     *
+     * @return false if the pipeline was stopped while waiting
+     */
+    private <E> boolean put(BlockingQueue<E> queue, E element) throws InterruptedException {
+        while (!queue.offer(element, POLL_TIMEOUT, TimeUnit.MILLISECONDS)) {
+            if (isStopped()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isStopped() {
+        return indexWorkerStatus.hasFailed() || indexWorkerStatus.isCanceled();
+    }
+
+    private void fail(Exception e) {
+        logger.error("stop indexing of " + objectType + " after maximum amount of attempts", e);
+        indexWorkerStatus.markAsFailed();
+    }
+
+    /**
+     * Objects of one batch together with their index documents.
+     */
+    private static final class BuiltBatch {
+        private final List<Object> beans;
+        private final Map<Integer, Map<String, Object>> documents;
+
+        private BuiltBatch(List<Object> beans, Map<Integer, Map<String, Object>> documents) {
+            this.beans = beans;
+            this.documents = documents;
+        }
+    }
+}
@@ -11,25 +11,59 @@
 
 package org.kitodo.production.helper;
 
-import java.util.ArrayList;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+import com.opencsv.CSVWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.poi.hssf.usermodel.HSSFRow;
-import org.apache.poi.hssf.usermodel.HSSFSheet;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
-import org.kitodo.data.elasticsearch.index.type.enums.ProcessTypeField;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.kitodo.data.exceptions.DataException;
 import org.kitodo.production.dto.ProcessDTO;
 import org.kitodo.production.enums.ObjectType;
+import org.kitodo.production.enums.SearchResultFormat;
 import org.kitodo.production.services.ServiceManager;
 import org.opensearch.index.query.BoolQueryBuilder;
-import org.opensearch.index.query.RangeQueryBuilder;
+import org.opensearch.search.sort.SortBuilder;
 import org.opensearch.search.sort.SortOrder;
 
+/**
+ * Writes the processes matching a filter to a spreadsheet, a CSV file or a PDF
+ * table. The processes are read from the index page by page, ordered by id,
+ * and each page is written before the next one is read. So the number of
+ * processes is neither limited by the result window of the index nor by the
+ * memory.
+ */
 public class SearchResultGeneration {
 
+    /**
+     * Number of processes read from the index at a time.
+     */
+    private static final int PAGE_SIZE = 1000;
+
+    /**
+     * Number of rows the spreadsheet keeps in memory.
+     */
+    private static final int ROWS_IN_MEMORY = 100;
+
+    private static final String[] HEADER_KEYS = {"title", "ID", "Datum", "CountImages", "CountStructuralElements",
+        "CountMetadata", "Project", "Status" };
+
     private String filter;
     private boolean showClosedProcesses;
     private boolean showInactiveProjects;
@@ -52,24 +86,34 @@ public class SearchResultGeneration {
     }
 
     /**
-     * Get result.
+     * Writes the result in the given format to the output stream. The rows are
+     * written while the processes are read from the index.
      *
-     * @return HSSFWorkbook
+     * @param format
+     *            format of the result
+     * @param out
+     *            stream to write to, is not closed
+     * @throws IOException
+     *             if the output stream cannot be written or the processes
+     *             cannot be read from the index
      */
-    public HSSFWorkbook getResult() {
-        return getWorkbook();
+    public void writeResult(SearchResultFormat format, OutputStream out) throws IOException {
+        try (RowWriter rowWriter = createRowWriter(format, out)) {
+            rowWriter.writeTitle(Objects.toString(filter, ""));
+            rowWriter.writeRow(Arrays.stream(HEADER_KEYS).map(Helper::getTranslation).toArray());
+            insertRowData(rowWriter);
+        }
     }
 
-    private List<ProcessDTO> getResultsWithFilter() {
-        List<ProcessDTO> processDTOS = new ArrayList<>();
-        try {
-            processDTOS = ServiceManager.getProcessService().findByQuery(getQueryForFilter(ObjectType.PROCESS),
-                ServiceManager.getProcessService().sortById(SortOrder.ASC), true);
-        } catch (DataException e) {
-            logger.error(e.getMessage(), e);
+    private RowWriter createRowWriter(SearchResultFormat format, OutputStream out) throws IOException {
+        switch (format) {
+            case CSV:
+                return new CsvRowWriter(out);
+            case PDF:
+                return new PdfRowWriter(out);
+            default:
+                return new XlsxRowWriter(out);
         }
-
-        return processDTOS;
     }
 
     /**
@@ -96,80 +140,187 @@ public class SearchResultGeneration {
         return query;
     }
 
-    private HSSFWorkbook getWorkbook() {
-        HSSFWorkbook workbook = new HSSFWorkbook();
-        HSSFSheet sheet = workbook.createSheet("Search results");
-
-        HSSFRow title = sheet.createRow(0);
-        title.createCell(0).setCellValue(this.filter);
-        for (int i = 1; i < 8; i++) {
-            title.createCell(i).setCellValue("");
+    private void insertRowData(RowWriter rowWriter) throws IOException {
+        BoolQueryBuilder query = getQueryForFilter(ObjectType.PROCESS);
+        SortBuilder sort = ServiceManager.getProcessService().sortById(SortOrder.ASC);
+        Object[] searchAfter = null;
+        try {
+            List<ProcessDTO> processDTOS;
+            do {
+                processDTOS = ServiceManager.getProcessService().findByQueryAfter(query, sort, searchAfter,
+                    PAGE_SIZE, true);
+                for (ProcessDTO processDTO : processDTOS) {
+                    rowWriter.writeRow(prepareRow(processDTO));
+                }
+                rowWriter.flush();
+                if (!processDTOS.isEmpty()) {
+                    searchAfter = new Object[] {processDTOS.get(processDTOS.size() - 1).getId() };
+                }
+            } while (processDTOS.size() == PAGE_SIZE);
+        } catch (DataException e) {
+            throw new IOException(e.getMessage(), e);
         }
+    }
 
-        setRowHeader(sheet);
+    private Object[] prepareRow(ProcessDTO processDTO) {
+        return new Object[] {processDTO.getTitle(), processDTO.getId(), processDTO.getCreationDate(),
+            processDTO.getNumberOfImages(), processDTO.getNumberOfStructures(), processDTO.getNumberOfMetadata(),
+            processDTO.getProject().getTitle(), processDTO.getSortHelperStatus() };
+    }
 
-        insertRowData(sheet);
+    /**
+     * Writes the rows of the result in one of the formats.
+     */
+    private interface RowWriter extends AutoCloseable {
+        void writeTitle(String title) throws IOException;
 
-        return workbook;
+        void writeRow(Object[] values) throws IOException;
+
+        void flush() throws IOException;
+
+        @Override
+        void close() throws IOException;
     }
 
-    private void insertRowData(HSSFSheet sheet) {
-        int rowCounter = 2;
-        long numberOfProcessedProcesses = 0;
-        int elasticsearchLimit = 9999;
-        try {
-            Long numberOfExpectedProcesses = ServiceManager.getProcessService()
-                    .count(getQueryForFilter(ObjectType.PROCESS));
-            if (numberOfExpectedProcesses > elasticsearchLimit) {
-                List<ProcessDTO> processDTOS;
-                int queriedIds = 0;
-                while (numberOfProcessedProcesses < numberOfExpectedProcesses) {
-                    RangeQueryBuilder rangeQueryBuilder = new RangeQueryBuilder(ProcessTypeField.ID.toString());
-                    rangeQueryBuilder.gte(queriedIds).lt(queriedIds + elasticsearchLimit);
-                    BoolQueryBuilder queryForFilter = getQueryForFilter(ObjectType.PROCESS);
-                    queryForFilter.must(rangeQueryBuilder);
-                    processDTOS = ServiceManager.getProcessService().findByQuery(queryForFilter,
-                        ServiceManager.getProcessService().sortById(SortOrder.ASC), true);
-                    queriedIds += elasticsearchLimit;
-                    for (ProcessDTO processDTO : processDTOS) {
-                        prepareRow(rowCounter, sheet, processDTO);
-                        rowCounter++;
-                    }
-                    numberOfProcessedProcesses += processDTOS.size();
-                }
-            } else {
-                List<ProcessDTO> resultsWithFilter = getResultsWithFilter();
-                for (ProcessDTO processDTO : resultsWithFilter) {
-                    prepareRow(rowCounter, sheet, processDTO);
-                    rowCounter++;
+    /**
+     * Writes a spreadsheet. Only the last rows are kept in memory, the others
+     * are swapped out to a temporary file until the workbook is written.
+     */
+    private static final class XlsxRowWriter implements RowWriter {
+        private final OutputStream out;
+        private final SXSSFWorkbook workbook = new SXSSFWorkbook(ROWS_IN_MEMORY);
+        private final SXSSFSheet sheet = workbook.createSheet("Search results");
+        private int rowCounter = 0;
+
+        private XlsxRowWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void writeTitle(String title) {
+            writeRow(new Object[] {title });
+        }
+
+        @Override
+        public void writeRow(Object[] values) {
+            Row row = sheet.createRow(rowCounter++);
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] instanceof Number) {
+                    row.createCell(i).setCellValue(((Number) values[i]).doubleValue());
+                } else {
+                    row.createCell(i).setCellValue(Objects.toString(values[i], ""));
                 }
             }
-        } catch (DataException e) {
-            logger.error(e.getMessage(), e);
+        }
+
+        @Override
+        public void flush() {
+            // rows are swapped out by the workbook
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                workbook.write(out);
+                out.flush();
+            } finally {
+                workbook.dispose();
+                workbook.close();
+            }
         }
     }
 
-    private void setRowHeader(HSSFSheet sheet) {
-        HSSFRow rowHeader = sheet.createRow(1);
-        rowHeader.createCell(0).setCellValue(Helper.getTranslation("title"));
-        rowHeader.createCell(1).setCellValue(Helper.getTranslation("ID"));
-        rowHeader.createCell(2).setCellValue(Helper.getTranslation("Datum"));
-        rowHeader.createCell(3).setCellValue(Helper.getTranslation("CountImages"));
-        rowHeader.createCell(4).setCellValue(Helper.getTranslation("CountStructuralElements"));
-        rowHeader.createCell(5).setCellValue(Helper.getTranslation("CountMetadata"));
-        rowHeader.createCell(6).setCellValue(Helper.getTranslation("Project"));
-        rowHeader.createCell(7).setCellValue(Helper.getTranslation("Status"));
+    /**
+     * Writes comma-separated values. The title is not written, so that the
+     * file starts with the header row.
+     */
+    private static final class CsvRowWriter implements RowWriter {
+        private final CSVWriter csvWriter;
+
+        private CsvRowWriter(OutputStream out) {
+            this.csvWriter = new CSVWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void writeTitle(String title) {
+            // a title line would break the table structure
+        }
+
+        @Override
+        public void writeRow(Object[] values) {
+            csvWriter.writeNext(Arrays.stream(values).map(value -> Objects.toString(value, ""))
+                    .toArray(String[]::new));
+        }
+
+        @Override
+        public void flush() throws IOException {
+            csvWriter.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            csvWriter.flush();
+        }
     }
 
-    private void prepareRow(int rowCounter, HSSFSheet sheet, ProcessDTO processDTO) {
-        HSSFRow row = sheet.createRow(rowCounter);
-        row.createCell(0).setCellValue(processDTO.getTitle());
-        row.createCell(1).setCellValue(processDTO.getId());
-        row.createCell(2).setCellValue(processDTO.getCreationDate());
-        row.createCell(3).setCellValue(processDTO.getNumberOfImages());
-        row.createCell(4).setCellValue(processDTO.getNumberOfStructures());
-        row.createCell(5).setCellValue(processDTO.getNumberOfMetadata());
-        row.createCell(6).setCellValue(processDTO.getProject().getTitle());
-        row.createCell(7).setCellValue(processDTO.getSortHelperStatus());
+    /**
+     * Writes a PDF table. The table is marked as incomplete, so that the rows
+     * added so far can be written to the document whenever a page of
+     * processes has been added.
+     */
+    private static final class PdfRowWriter implements RowWriter {
+        private final Document document = new Document();
+        private final PdfPTable table = new PdfPTable(HEADER_KEYS.length);
+
+        private PdfRowWriter(OutputStream out) throws IOException {
+            try {
+                PdfWriter writer = PdfWriter.getInstance(document, out);
+                writer.setCloseStream(false);
+                document.setPageSize(new Rectangle(PageSize.A3.getHeight(), PageSize.A3.getWidth()));
+                document.open();
+                table.setSpacingBefore(20);
+                table.setWidths(new int[] {4, 1, 2, 1, 1, 1, 2, 2 });
+                table.setComplete(false);
+            } catch (DocumentException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void writeTitle(String title) throws IOException {
+            try {
+                document.add(new Paragraph(title));
+            } catch (DocumentException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void writeRow(Object[] values) {
+            for (Object value : values) {
+                table.addCell(Objects.toString(value, ""));
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            try {
+                document.add(table);
+            } catch (DocumentException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                table.setComplete(true);
+                document.add(table);
+            } catch (DocumentException e) {
+                throw new IOException(e.getMessage(), e);
+            } finally {
+                document.close();
+            }
+        }
     }
 }
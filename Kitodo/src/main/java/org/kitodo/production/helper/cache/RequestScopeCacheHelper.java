@@ -80,4 +80,18 @@ public class RequestScopeCacheHelper {
         // cache not available, e.g., when called outside of request scope (in a background process)
         return supplier.get();
     }
+
+    /**
+     * Removes all objects whose keys start with the given prefix from the cache
+     * of the current request, e.g., because the cached objects have been
+     * changed.
+     *
+     * @param keyPrefix the prefix of the keys of the objects to remove
+     */
+    public static void removeFromCache(String keyPrefix) {
+        Map<String, Object> cache = getCache();
+        if (Objects.nonNull(cache)) {
+            cache.keySet().removeIf(key -> key.startsWith(keyPrefix));
+        }
+    }
 }
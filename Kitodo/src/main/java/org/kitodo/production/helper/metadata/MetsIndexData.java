@@ -0,0 +1,98 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.helper.metadata;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The data of a METS file which is written to the index of its process.
+ */
+public class MetsIndexData {
+
+    private final List<Map<String, Object>> metadata;
+    private final int numberOfImages;
+    private final int numberOfMetadata;
+    private final int numberOfStructures;
+    private final String baseType;
+
+    /**
+     * Creates the index data of a METS file.
+     *
+     * @param metadata
+     *            the descriptive metadata sections as nested maps
+     * @param numberOfImages
+     *            number of physical divisions of type page
+     * @param numberOfMetadata
+     *            number of metadata of the logical divisions
+     * @param numberOfStructures
+     *            number of logical divisions
+     * @param baseType
+     *            type of the top element of the logical structure
+     */
+    public MetsIndexData(List<Map<String, Object>> metadata, int numberOfImages, int numberOfMetadata,
+            int numberOfStructures, String baseType) {
+        this.metadata = Collections.unmodifiableList(metadata);
+        this.numberOfImages = numberOfImages;
+        this.numberOfMetadata = numberOfMetadata;
+        this.numberOfStructures = numberOfStructures;
+        this.baseType = baseType;
+    }
+
+    /**
+     * Returns the descriptive metadata sections of the METS file, in the form
+     * they are written to the index.
+     *
+     * @return the descriptive metadata sections
+     */
+    public List<Map<String, Object>> getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * Returns the number of physical divisions of type page.
+     *
+     * @return the number of images
+     */
+    public int getNumberOfImages() {
+        return numberOfImages;
+    }
+
+    /**
+     * Returns the number of metadata of all logical divisions.
+     *
+     * @return the number of metadata
+     */
+    public int getNumberOfMetadata() {
+        return numberOfMetadata;
+    }
+
+    /**
+     * Returns the number of logical divisions.
+     *
+     * @return the number of structures
+     */
+    public int getNumberOfStructures() {
+        return numberOfStructures;
+    }
+
+    /**
+     * Returns the type of the top element of the logical structure, and thus
+     * the type of the workpiece.
+     *
+     * @return the base type, may be {@code null}
+     */
+    public String getBaseType() {
+        return baseType;
+    }
+}
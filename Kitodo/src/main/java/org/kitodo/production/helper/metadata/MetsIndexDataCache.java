@@ -0,0 +1,219 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.helper.metadata;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.enums.ParameterCore;
+
+/**
+ * Caches the index data read from the METS files of processes, so that
+ * reindexing a process whose METS file did not change, for example because
+ * only the state of one of its tasks changed, does not read the file again. An
+ * entry is only used as long as size and modification time of the file are
+ * unchanged. Additionally, {@link org.kitodo.production.services.file.FileService}
+ * invalidates entries when it writes, moves or deletes files. If there are
+ * more processes than the configured capacity, the least recently used
+ * entries are dropped.
+ */
+public class MetsIndexDataCache {
+
+    private static volatile MetsIndexDataCache instance = null;
+
+    private final int capacity;
+    private final Map<Integer, CachedData> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Return singleton variable of type MetsIndexDataCache.
+     *
+     * @return unique instance of MetsIndexDataCache
+     */
+    public static MetsIndexDataCache getInstance() {
+        MetsIndexDataCache localReference = instance;
+        if (Objects.isNull(localReference)) {
+            synchronized (MetsIndexDataCache.class) {
+                localReference = instance;
+                if (Objects.isNull(localReference)) {
+                    localReference = new MetsIndexDataCache(
+                            ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_METS_CACHE_SIZE));
+                    instance = localReference;
+                }
+            }
+        }
+        return localReference;
+    }
+
+    /**
+     * Creates a cache holding at most the given number of entries.
+     *
+     * @param capacity
+     *            maximum number of entries, 0 disables the cache
+     */
+    MetsIndexDataCache(int capacity) {
+        this.capacity = Math.max(0, capacity);
+        this.entries = new LinkedHashMap<Integer, CachedData>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CachedData> eldest) {
+                if (size() > MetsIndexDataCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached index data of a process, if the METS file is
+     * unchanged since it was read.
+     *
+     * @param processId
+     *            id of the process
+     * @param file
+     *            METS file of the process
+     * @param length
+     *            current length of the file
+     * @param lastModified
+     *            current modification time of the file
+     * @return the cached index data, or {@code null} if the file must be read
+     */
+    public synchronized MetsIndexData get(Integer processId, File file, long length, long lastModified) {
+        CachedData cachedData = entries.get(processId);
+        if (Objects.nonNull(cachedData) && cachedData.file.equals(file.getAbsoluteFile())
+                && cachedData.length == length && cachedData.lastModified == lastModified) {
+            hits++;
+            return cachedData.metsIndexData;
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Stores the index data read from the METS file of a process. Length and
+     * modification time must have been determined before the file was read.
+     *
+     * @param processId
+     *            id of the process
+     * @param file
+     *            METS file of the process
+     * @param length
+     *            length of the file when it was read
+     * @param lastModified
+     *            modification time of the file when it was read
+     * @param metsIndexData
+     *            index data read from the file
+     */
+    public synchronized void put(Integer processId, File file, long length, long lastModified,
+            MetsIndexData metsIndexData) {
+        if (capacity > 0 && Objects.nonNull(processId)) {
+            entries.put(processId, new CachedData(file.getAbsoluteFile(), length, lastModified, metsIndexData));
+        }
+    }
+
+    /**
+     * Removes the entries of the given file, or of all files below it if it
+     * is a directory.
+     *
+     * @param file
+     *            file or directory that was changed
+     */
+    public synchronized void invalidate(File file) {
+        String path = file.getAbsolutePath();
+        String directory = path.endsWith(File.separator) ? path : path + File.separator;
+        int sizeBefore = entries.size();
+        entries.values().removeIf(cachedData -> cachedData.file.getPath().equals(path)
+                || cachedData.file.getPath().startsWith(directory));
+        invalidations += sizeBefore - entries.size();
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public synchronized void clear() {
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns how often cached index data could be used.
+     *
+     * @return the number of hits
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns how often the METS file had to be read.
+     *
+     * @return the number of misses
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Returns how many entries were dropped because the cache was full.
+     *
+     * @return the number of evictions
+     */
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Returns how many entries were removed because their files were changed.
+     *
+     * @return the number of invalidations
+     */
+    public synchronized long getInvalidationCount() {
+        return invalidations;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "MetsIndexDataCache [size=" + entries.size() + "/" + capacity + ", hits=" + hits + ", misses="
+                + misses + ", evictions=" + evictions + ", invalidations=" + invalidations + "]";
+    }
+
+    private static final class CachedData {
+        private final File file;
+        private final long length;
+        private final long lastModified;
+        private final MetsIndexData metsIndexData;
+
+        private CachedData(File file, long length, long lastModified, MetsIndexData metsIndexData) {
+            this.file = file;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.metsIndexData = metsIndexData;
+        }
+    }
+}
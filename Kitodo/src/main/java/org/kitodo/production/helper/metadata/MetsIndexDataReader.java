@@ -0,0 +1,467 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.helper.metadata;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.lang3.StringUtils;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.XML;
+
+/**
+ * Reads everything the index needs from a METS file in a single pass of a
+ * streaming parser. Only the metadata sections are held in memory while they
+ * are read; the structure maps, which make up most of the file, are only
+ * counted.
+ *
+ * <p>The descriptive metadata sections are returned in the same form as they
+ * were returned by converting the whole file with {@link XML#toJSONObject(String)},
+ * so existing index queries on the metadata keep working. The counts and the
+ * base type correspond to those determined on a workpiece loaded by the METS
+ * service.</p>
+ */
+public class MetsIndexDataReader {
+
+    private static final String METS_NAMESPACE = "http://www.loc.gov/METS/";
+    private static final String KITODO_NAMESPACE = "http://meta.kitodo.org/v1/";
+    private static final String CONTENT = "content";
+    private static final String DIV = "div";
+    private static final String DMD_SEC = "dmdSec";
+    private static final String TYPE = "TYPE";
+    private static final String TYPE_PAGE = "page";
+    private static final Set<String> AMD_SEC_TYPES = new HashSet<>(
+            Arrays.asList("sourceMD", "digiprovMD", "rightsMD", "techMD"));
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    private final XMLStreamReader reader;
+    private final JSONObject dmdSecs = new JSONObject();
+    private final Map<String, Set<String>> metadataOfSections = new HashMap<>();
+    private final List<String[]> sectionsOfLogicalDivisions = new ArrayList<>();
+    private boolean logicalStructMapRead = false;
+    private boolean physicalStructMapRead = false;
+    private int numberOfImages = 0;
+    private int numberOfStructures = 0;
+    private String baseType = null;
+
+    private MetsIndexDataReader(XMLStreamReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the index data from the given METS file.
+     *
+     * @param inputStream
+     *            stream of the METS file
+     * @return the index data
+     * @throws IOException
+     *             if the file cannot be read or parsed
+     */
+    public static MetsIndexData read(InputStream inputStream) throws IOException {
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+            return new MetsIndexDataReader(reader).readDocument();
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            if (Objects.nonNull(reader)) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    throw new IOException(e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private MetsIndexData readDocument() throws XMLStreamException {
+        reader.nextTag();
+        if ("mets".equals(reader.getLocalName())) {
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                readMetsChild();
+            }
+        }
+        return new MetsIndexData(getMetadata(), numberOfImages, countMetadata(), numberOfStructures, baseType);
+    }
+
+    private void readMetsChild() throws XMLStreamException {
+        String localName = reader.getLocalName();
+        if (DMD_SEC.equals(localName)) {
+            Element dmdSec = readElement();
+            accumulate(dmdSecs, dmdSec);
+            addMetadataOfSection(dmdSec, DMD_SEC);
+        } else if (isMetsElement("amdSec")) {
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                String amdSecType = reader.getLocalName();
+                if (isMetsElement(amdSecType) && AMD_SEC_TYPES.contains(amdSecType)) {
+                    addMetadataOfSection(readElement(), amdSecType);
+                } else {
+                    skipElement();
+                }
+            }
+        } else if (isMetsElement("structMap") && "LOGICAL".equals(reader.getAttributeValue(null, TYPE))
+                && !logicalStructMapRead) {
+            logicalStructMapRead = true;
+            readLogicalStructMap();
+        } else if (isMetsElement("structMap") && "PHYSICAL".equals(reader.getAttributeValue(null, TYPE))
+                && !physicalStructMapRead) {
+            physicalStructMapRead = true;
+            readPhysicalStructMap();
+        } else {
+            skipElement();
+        }
+    }
+
+    /**
+     * Reads the logical structure map. Besides counting the divisions, the base
+     * type is determined as the first type found when descending from the root
+     * division along the first children.
+     */
+    private void readLogicalStructMap() throws XMLStreamException {
+        // for each open division: whether it is on the path of first children
+        LinkedList<Boolean> onFirstChildPath = new LinkedList<>();
+        // for each open division: whether a child division has already started
+        LinkedList<Boolean> hasChildDivision = new LinkedList<>();
+        boolean baseTypeFound = false;
+        int depth = 0;
+        while (depth >= 0) {
+            int event = reader.nextTag();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                if (isMetsElement(DIV)) {
+                    numberOfStructures++;
+                    boolean onPath = onFirstChildPath.isEmpty()
+                            || onFirstChildPath.peek() && !hasChildDivision.peek();
+                    if (!hasChildDivision.isEmpty()) {
+                        hasChildDivision.set(0, true);
+                    }
+                    onFirstChildPath.push(onPath);
+                    hasChildDivision.push(false);
+                    String type = reader.getAttributeValue(null, TYPE);
+                    if (onPath && !baseTypeFound && Objects.nonNull(type)) {
+                        baseType = type;
+                        baseTypeFound = true;
+                    }
+                    sectionsOfLogicalDivisions.add(StringUtils.split(StringUtils.defaultString(
+                        reader.getAttributeValue(null, "DMDID")) + ' ' + StringUtils.defaultString(
+                            reader.getAttributeValue(null, "ADMID"))));
+                } else {
+                    skipElement();
+                    depth--;
+                }
+            } else {
+                depth--;
+                if (depth >= 0) {
+                    onFirstChildPath.pop();
+                    hasChildDivision.pop();
+                }
+            }
+        }
+    }
+
+    private void readPhysicalStructMap() throws XMLStreamException {
+        int depth = 0;
+        while (depth >= 0) {
+            int event = reader.nextTag();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (isMetsElement(DIV)) {
+                    depth++;
+                    if (TYPE_PAGE.equals(reader.getAttributeValue(null, TYPE))) {
+                        numberOfImages++;
+                    }
+                } else {
+                    skipElement();
+                }
+            } else {
+                depth--;
+            }
+        }
+    }
+
+    private boolean isMetsElement(String localName) {
+        return METS_NAMESPACE.equals(reader.getNamespaceURI()) && localName.equals(reader.getLocalName());
+    }
+
+    /**
+     * Skips the current element including all of its content. Afterwards, the
+     * reader is positioned on its end tag.
+     */
+    private void skipElement() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Reads the current element including all of its content into memory.
+     * Text is kept as org.json does it: one trimmed segment per run of text
+     * between tags or comments. Afterwards, the reader is positioned on its end
+     * tag.
+     */
+    private Element readElement() throws XMLStreamException {
+        Element element = new Element(reader);
+        StringBuilder segment = new StringBuilder();
+        while (true) {
+            int event = reader.next();
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    element.addText(segment);
+                    element.content.add(readElement());
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    element.addText(segment);
+                    return element;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    segment.append(reader.getText());
+                    element.value.append(reader.getText());
+                    break;
+                default:
+                    // comments and processing instructions end a text segment
+                    element.addText(segment);
+            }
+        }
+    }
+
+    /**
+     * Adds the element to the JSON object in the way {@code XML.toJSONObject()}
+     * adds child elements.
+     */
+    private static void accumulate(JSONObject parent, Element element) {
+        JSONObject jsonObject = new JSONObject();
+        for (String[] attribute : element.attributes) {
+            jsonObject.accumulate(attribute[0], XML.stringToValue(attribute[1]));
+        }
+        for (Object content : element.content) {
+            if (content instanceof Element) {
+                accumulate(jsonObject, (Element) content);
+            } else {
+                jsonObject.accumulate(CONTENT, XML.stringToValue((String) content));
+            }
+        }
+        if (jsonObject.length() == 0) {
+            parent.accumulate(element.qualifiedName, "");
+        } else if (jsonObject.length() == 1 && Objects.nonNull(jsonObject.opt(CONTENT))) {
+            parent.accumulate(element.qualifiedName, jsonObject.opt(CONTENT));
+        } else {
+            parent.accumulate(element.qualifiedName, jsonObject);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> getMetadata() {
+        Object dmdSec = iterateOverJsonObject(dmdSecs).get(DMD_SEC);
+        List<Map<String, Object>> metadata = new ArrayList<>();
+        if (dmdSec instanceof List) {
+            metadata = (List<Map<String, Object>>) dmdSec;
+        } else if (dmdSec instanceof Map) {
+            metadata.add((Map<String, Object>) dmdSec);
+        }
+        return metadata;
+    }
+
+    private Map<String, Object> iterateOverJsonObject(JSONObject xmlJSONObject) {
+        Iterator<String> keys = xmlJSONObject.keys();
+        Map<String, Object> json = new HashMap<>();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            Object value = xmlJSONObject.get(key);
+            if (value instanceof String || value instanceof Integer) {
+                json.put(prepareKey(key), value);
+            } else if (value instanceof Long || value instanceof BigInteger) {
+                json.put(prepareKey(key), value.toString());
+            } else if (value instanceof JSONObject) {
+                JSONObject jsonObject = (JSONObject) value;
+                Map<String, Object> map = iterateOverJsonObject(jsonObject);
+                json.put(prepareKey(key), map);
+            } else if (value instanceof JSONArray) {
+                json.put(prepareKey(key), iterateOverJsonArray((JSONArray) value));
+            }
+        }
+        return json;
+    }
+
+    private Object iterateOverJsonArray(JSONArray jsonArray) {
+        int jsonArraySize = jsonArray.length();
+        List<Object> json = new ArrayList<>(jsonArraySize);
+        for (int i = 0; i < jsonArraySize; i++) {
+            Object value = jsonArray.get(i);
+            if (value instanceof JSONObject) {
+                json.add(iterateOverJsonObject((JSONObject) value));
+            } else if (value instanceof String) {
+                json.add(value);
+            } else if (value instanceof JSONArray) {
+                json.add(iterateOverJsonArray((JSONArray) value));
+            }
+        }
+        return json;
+    }
+
+    private String prepareKey(String key) {
+        if (key.contains(":")) {
+            return key.substring(key.indexOf(':') + 1);
+        }
+        return key;
+    }
+
+    /**
+     * Remembers the Kitodo metadata of a metadata section. Like the metadata of
+     * a division, they are held in a set, so that equal metadata are only
+     * counted once.
+     */
+    private void addMetadataOfSection(Element mdSec, String domain) {
+        String id = mdSec.getAttribute("ID");
+        if (Objects.isNull(id)) {
+            return;
+        }
+        Set<String> metadata = metadataOfSections.computeIfAbsent(id, any -> new HashSet<>());
+        for (Element mdWrap : mdSec.getChildren(METS_NAMESPACE, "mdWrap")) {
+            for (Element xmlData : mdWrap.getChildren(METS_NAMESPACE, "xmlData")) {
+                for (Element kitodo : xmlData.getChildren(KITODO_NAMESPACE, "kitodo")) {
+                    for (Element entry : kitodo.getChildren(KITODO_NAMESPACE, "metadata")) {
+                        if (entry.value.length() > 0) {
+                            metadata.add(domain + ' ' + identify(entry));
+                        }
+                    }
+                    for (Element group : kitodo.getChildren(KITODO_NAMESPACE, "metadataGroup")) {
+                        metadata.add(domain + ' ' + identify(group));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a string which is equal for two metadata elements exactly if the
+     * metadata read from them are equal.
+     */
+    private static String identify(Element metadata) {
+        String key = StringUtils.defaultString(metadata.getAttribute("name"));
+        if ("metadata".equals(metadata.localName)) {
+            return "E" + key.length() + ':' + key + metadata.value.length() + ':' + metadata.value;
+        }
+        Set<String> members = new TreeSet<>();
+        for (Element entry : metadata.getChildren(KITODO_NAMESPACE, "metadata")) {
+            members.add(identify(entry));
+        }
+        for (Element group : metadata.getChildren(KITODO_NAMESPACE, "metadataGroup")) {
+            members.add(identify(group));
+        }
+        return "G" + key.length() + ':' + key + members.size() + '{' + String.join(",", members) + '}';
+    }
+
+    private int countMetadata() {
+        int numberOfMetadata = 0;
+        for (String[] sectionIds : sectionsOfLogicalDivisions) {
+            Set<String> metadata = new HashSet<>();
+            for (String sectionId : sectionIds) {
+                metadata.addAll(metadataOfSections.getOrDefault(sectionId, Collections.emptySet()));
+            }
+            numberOfMetadata += metadata.size();
+        }
+        return numberOfMetadata;
+    }
+
+    /**
+     * An XML element of a metadata section held in memory.
+     */
+    private static final class Element {
+        private final String namespace;
+        private final String localName;
+        private final String qualifiedName;
+        private final List<String[]> attributes = new ArrayList<>();
+        private final List<Object> content = new ArrayList<>();
+        private final StringBuilder value = new StringBuilder();
+
+        private Element(XMLStreamReader reader) {
+            namespace = reader.getNamespaceURI();
+            localName = reader.getLocalName();
+            qualifiedName = prefixed(reader.getPrefix(), localName);
+            for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                String prefix = reader.getNamespacePrefix(i);
+                attributes.add(new String[] {StringUtils.isEmpty(prefix) ? "xmlns" : "xmlns:" + prefix,
+                    StringUtils.defaultString(reader.getNamespaceURI(i)) });
+            }
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                attributes.add(new String[] {prefixed(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                    reader.getAttributeValue(i) });
+            }
+        }
+
+        private static String prefixed(String prefix, String localName) {
+            return StringUtils.isEmpty(prefix) ? localName : prefix + ':' + localName;
+        }
+
+        private void addText(StringBuilder segment) {
+            String text = segment.toString().trim();
+            if (!text.isEmpty()) {
+                content.add(text);
+            }
+            segment.setLength(0);
+        }
+
+        private String getAttribute(String name) {
+            for (String[] attribute : attributes) {
+                if (attribute[0].equals(name)) {
+                    return attribute[1];
+                }
+            }
+            return null;
+        }
+
+        private List<Element> getChildren(String namespace, String localName) {
+            List<Element> children = new ArrayList<>();
+            for (Object child : content) {
+                if (child instanceof Element && Objects.equals(((Element) child).namespace, namespace)
+                        && ((Element) child).localName.equals(localName)) {
+                    children.add((Element) child);
+                }
+            }
+            return children;
+        }
+    }
+}
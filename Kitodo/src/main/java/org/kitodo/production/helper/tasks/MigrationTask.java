@@ -11,7 +11,6 @@
 
 package org.kitodo.production.helper.tasks;
 
-import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.logging.log4j.LogManager;
@@ -35,13 +34,24 @@ public class MigrationTask extends EmptyTask {
     private final MigrationService migrationService;
 
     /**
-     * List of processes to be migrated.
+     * ID of the project whose processes are to be migrated.
      */
-    private final List<Process> processes;
+    private final int projectId;
 
     /**
-     * Migration progress. Points to the index of the next process in case the
-     * thread is interrupted and restarted. Also used for the progress bar.
+     * ID of the last migrated process. The migration continues after it in
+     * case the thread is interrupted and restarted.
+     */
+    private int lastProcessId = 0;
+
+    /**
+     * Title of the process being migrated.
+     */
+    private String processTitle;
+
+    /**
+     * Migration progress. Counts the migrated processes, used for the
+     * progress bar.
      */
     private int progress = 0;
 
@@ -54,7 +64,7 @@ public class MigrationTask extends EmptyTask {
     public MigrationTask(Project project) {
         super(project.getTitle());
         this.migrationService = ServiceManager.getMigrationService();
-        this.processes = project.getProcesses();
+        this.projectId = project.getId();
     }
 
     /**
@@ -67,37 +77,42 @@ public class MigrationTask extends EmptyTask {
     private MigrationTask(MigrationTask sourceMigrationTask) {
         super(sourceMigrationTask);
         this.progress = sourceMigrationTask.progress;
+        this.lastProcessId = sourceMigrationTask.lastProcessId;
         this.migrationService = sourceMigrationTask.migrationService;
-        this.processes = sourceMigrationTask.processes;
+        this.projectId = sourceMigrationTask.projectId;
     }
 
     /**
-     * The method to work the thread.
+     * The method to work the thread. The processes are loaded in chunks, so
+     * that projects with many processes can be migrated in constant memory.
      */
     @Override
     public void run() {
-        String processTitle = null;
         try {
-            for (int index = progress; index < processes.size(); index++) {
-                final long begin = System.nanoTime();
-                Process process = processes.get(index);
-                processTitle = process.getTitle();
-                setWorkDetail(processTitle);
-                migrationService.migrateMetadata(process);
-                if (logger.isTraceEnabled()) {
-                    logger.trace("Migrating {} took {} ms", processTitle,
-                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
-                }
-                progress = index + 1;
-                setProgress(100 * progress / processes.size());
-                if (isInterrupted()) {
-                    return;
-                }
+            long numberOfProcesses = ServiceManager.getProcessService().countProcessesOfProject(projectId);
+            ServiceManager.getProcessService().forEachProcessOfProject(projectId, lastProcessId, process -> {
+                migrate(process);
+                setProgress((int) (100 * progress / Math.max(1, numberOfProcesses)));
+            });
+            if (!isInterrupted()) {
+                setProgress(100);
             }
-            setProgress(100);
         } catch (DAOException exception) {
             Helper.setErrorMessage(exception.getLocalizedMessage(), processTitle, logger, exception);
             super.setException(exception);
         }
     }
+
+    private void migrate(Process process) throws DAOException {
+        final long begin = System.nanoTime();
+        processTitle = process.getTitle();
+        setWorkDetail(processTitle);
+        migrationService.migrateMetadata(process);
+        if (logger.isTraceEnabled()) {
+            logger.trace("Migrating {} took {} ms", processTitle,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+        }
+        lastProcessId = process.getId();
+        progress++;
+    }
 }
@@ -11,16 +11,20 @@
 
 package org.kitodo.production.interfaces.activemq;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import javax.jms.Connection;
 import javax.jms.DeliveryMode;
 import javax.jms.Destination;
 import javax.jms.JMSException;
-import javax.jms.MessageConsumer;
 import javax.jms.MessageProducer;
 import javax.jms.Session;
 import javax.servlet.ServletContextEvent;
@@ -29,6 +33,7 @@ import javax.servlet.annotation.WebListener;
 
 import org.apache.activemq.ActiveMQConnectionFactory;
 import org.apache.activemq.ActiveMQSslConnectionFactory;
+import org.apache.activemq.RedeliveryPolicy;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.kitodo.config.ConfigCore;
@@ -38,7 +43,8 @@ import org.kitodo.config.enums.ParameterCore;
  * The class ActiveMQDirector is the head of all Active MQ processors. It
  * implements the ServletContextListener interface and is called automatically
  * upon server startup. Its job is to connect to the Active MQ server and
- * register the listeners configured.
+ * register the listeners configured. Each queue can be consumed by several
+ * consumers at the same time, see {@link QueueConsumerPool}.
  *
  * <p>
  * The Active MQ services are intended to be run in case that
@@ -54,16 +60,17 @@ public class ActiveMQDirector implements Runnable, ServletContextListener {
     private static final Logger logger = LogManager.getLogger(ActiveMQDirector.class);
 
     // When implementing new services, add them to this list
-    private static Collection<ActiveMQProcessor> services;
+    private static Collection<Supplier<? extends ActiveMQProcessor>> services;
 
     static {
-        services = Arrays.asList(new FinalizeStepProcessor(), new TaskActionProcessor(),
-            new CreateNewProcessesProcessor(), new KitodoScriptProcessor());
+        services = Arrays.asList(FinalizeStepProcessor::new, TaskActionProcessor::new,
+            CreateNewProcessesProcessor::new, KitodoScriptProcessor::new);
     }
 
     private static Connection connection = null;
     private static Session session = null;
     private static MessageProducer resultsTopic;
+    private static final List<QueueConsumerPool> consumerPools = new ArrayList<>();
 
     /**
      * The method is called by the web container on startup
@@ -100,6 +107,7 @@ public class ActiveMQDirector implements Runnable, ServletContextListener {
         factory.setKeyStorePassword(ConfigCore.getParameter(ParameterCore.ACTIVE_MQ_KEYSTORE_PASSWORD));
         factory.setTrustStore(ConfigCore.getParameter(ParameterCore.ACTIVE_MQ_TRUSTSTORE));
         factory.setTrustStorePassword(ConfigCore.getParameter(ParameterCore.ACTIVE_MQ_TRUSTSTORE_PASSWORD));
+        configureConsumption(factory);
 
         if (ConfigCore.getBooleanParameter(ParameterCore.ACTIVE_MQ_USE_AUTH, false))  {
             logger.trace("Using authentication on connection \"" + server + "\"");
@@ -113,6 +121,7 @@ public class ActiveMQDirector implements Runnable, ServletContextListener {
     private Connection getConnectionFromActiveMQFactory(String server) throws JMSException {
         logger.trace("Using the ActiveMQConnectionFactory to establish a connection to \"" + server + "\"");
         ActiveMQConnectionFactory factory = new ActiveMQConnectionFactory(server);
+        configureConsumption(factory);
 
         if (ConfigCore.getBooleanParameter(ParameterCore.ACTIVE_MQ_USE_AUTH, false))  {
             logger.trace("Using authentication on connection \"" + server + "\"");
@@ -123,6 +132,26 @@ public class ActiveMQDirector implements Runnable, ServletContextListener {
         return factory.createConnection();
     }
 
+    /**
+     * Limits the number of messages the server sends to a consumer in
+     * advance, so that messages remain on the server for other consumers
+     * until a consumer is ready for them, and configures how often a message
+     * whose processing failed is delivered again. After that, the server moves
+     * the message to its dead letter queue.
+     */
+    private void configureConsumption(ActiveMQConnectionFactory factory) {
+        factory.getPrefetchPolicy().setQueuePrefetch(
+            ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ACTIVE_MQ_PREFETCH));
+        RedeliveryPolicy redeliveryPolicy = factory.getRedeliveryPolicy();
+        redeliveryPolicy.setMaximumRedeliveries(
+            ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ACTIVE_MQ_MAXIMUM_REDELIVERIES));
+        redeliveryPolicy.setInitialRedeliveryDelay(
+            ConfigCore.getLongParameterOrDefaultValue(ParameterCore.ACTIVE_MQ_REDELIVERY_DELAY));
+        redeliveryPolicy.setRedeliveryDelay(
+            ConfigCore.getLongParameterOrDefaultValue(ParameterCore.ACTIVE_MQ_REDELIVERY_DELAY));
+        factory.setNonBlockingRedelivery(true);
+    }
+
     /**
      * Sets up a connection to an active MQ server. The connection object is
      * global because it is needed later to shut down the connection.
@@ -153,20 +182,23 @@ public class ActiveMQDirector implements Runnable, ServletContextListener {
      * This method registers the listeners with the active MQ server.
      *
      * <p>
-     * If a queue name was configured for a service, a MessageConsumer is set up
-     * to listen on that queue and, in case of incoming messages, make the
-     * service process the message. The message checker is saved inside the
-     * service to be able to shut it down later.
+     * If a queue name was configured for a service, a pool of consumers is set
+     * up to listen on that queue and, in case of incoming messages, make the
+     * service process the message. The pools are saved to be able to shut
+     * them down later.
      */
-    private void registerListeners(Collection<? extends ActiveMQProcessor> processors) {
-        for (ActiveMQProcessor processor : processors) {
+    private void registerListeners(Collection<Supplier<? extends ActiveMQProcessor>> processorFactories) {
+        int maximumRedeliveries = ConfigCore.getIntParameterOrDefaultValue(
+            ParameterCore.ACTIVE_MQ_MAXIMUM_REDELIVERIES);
+        for (Supplier<? extends ActiveMQProcessor> processorFactory : processorFactories) {
+            ActiveMQProcessor processor = processorFactory.get();
             if (Objects.nonNull(processor.getQueueName())) {
-                MessageConsumer messageConsumer;
+                QueueConsumerPool consumerPool = new QueueConsumerPool(processor.getQueueName(), maximumRedeliveries);
+                synchronized (consumerPools) {
+                    consumerPools.add(consumerPool);
+                }
                 try {
-                    Destination queue = session.createQueue(processor.getQueueName());
-                    messageConsumer = session.createConsumer(queue);
-                    messageConsumer.setMessageListener(processor);
-                    processor.setMessageConsumer(messageConsumer);
+                    consumerPool.start(connection, processor, processorFactory);
                 } catch (JMSException | RuntimeException e) {
                     logger.fatal("Error setting up monitoring for \"{}\": Giving up.", processor.getQueueName(), e);
                 }
@@ -223,6 +255,23 @@ public class ActiveMQDirector implements Runnable, ServletContextListener {
         return resultsTopic;
     }
 
+    /**
+     * Returns statistics of the queues being consumed: the number of messages
+     * received, succeeded, failed and delivered again, the processing time,
+     * and how long messages waited in the queue.
+     *
+     * @return statistics by queue name
+     */
+    public static Map<String, String> getQueueStatistics() {
+        Map<String, String> statistics = new LinkedHashMap<>();
+        synchronized (consumerPools) {
+            for (QueueConsumerPool consumerPool : consumerPools) {
+                statistics.put(consumerPool.getQueueName(), consumerPool.toString());
+            }
+        }
+        return statistics;
+    }
+
     /**
      * The method contextDestroyed is called by the web container on shutdown.
      * It shuts down all listeners, the session and last, the connection.
@@ -230,15 +279,11 @@ public class ActiveMQDirector implements Runnable, ServletContextListener {
     @Override
     public void contextDestroyed(ServletContextEvent destruction) {
         // Shut down all message consumers on any queues
-        for (ActiveMQProcessor service : services) {
-            MessageConsumer messageConsumer = service.getMessageConsumer();
-            if (Objects.nonNull(messageConsumer)) {
-                try {
-                    messageConsumer.close();
-                } catch (JMSException e) {
-                    logger.error(e.getMessage(), e);
-                }
+        synchronized (consumerPools) {
+            for (QueueConsumerPool consumerPool : consumerPools) {
+                consumerPool.close();
             }
+            consumerPools.clear();
         }
 
         // quit session
@@ -19,9 +19,11 @@ import java.util.Optional;
 import javax.jms.JMSException;
 import javax.jms.MapMessage;
 import javax.jms.Message;
-import javax.jms.MessageConsumer;
 import javax.jms.MessageListener;
+import javax.jms.Session;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.kitodo.config.ConfigCore;
 import org.kitodo.config.enums.ParameterCore;
 import org.kitodo.data.database.beans.Client;
@@ -43,20 +45,23 @@ import org.springframework.security.core.context.SecurityContextHolder;
  * incoming messages available as MapMessages and publishing the results. When I
  * came clear that this code would be necessary for every processor, I thought
  * an abstract class would be the right place for it. ActiveMQProcessor also
- * provides a place to save the checker for the ActiveMQDirector, to be able to
- * shut it down later.
+ * tells the ActiveMQDirector how many consumers to run for its queue. Each
+ * consumer gets an instance of its own, so a processor only handles one
+ * message at a time.
  */
 public abstract class ActiveMQProcessor implements MessageListener {
+    private static final Logger logger = LogManager.getLogger(ActiveMQProcessor.class);
+
     /**
      * The name of the queue from which this processor is processing messages.
      */
     private String queueName;
 
     /**
-     * The message consumer object that actually receives the messages and
-     * executes {@link #process(MapMessageObjectReader)}.
+     * The number of consumers processing messages from the queue at the same
+     * time.
      */
-    private MessageConsumer messageConsumer;
+    private int consumers;
 
     /**
      * Must be implemented to let the service do what it should do.
@@ -87,7 +92,23 @@ public abstract class ActiveMQProcessor implements MessageListener {
      *            processor from being connected.
      */
     public ActiveMQProcessor(String queueName) {
+        this(queueName, 1);
+    }
+
+    /**
+     * Creates a processor for a queue whose messages are processed by several
+     * consumers at the same time. The ActiveMQDirector creates an instance of
+     * the processor for each consumer.
+     *
+     * @param queueName
+     *            the queue name, if configured, or “null” to prevent the
+     *            processor from being connected.
+     * @param consumers
+     *            the number of consumers
+     */
+    public ActiveMQProcessor(String queueName, int consumers) {
         this.queueName = queueName;
+        this.consumers = Math.max(1, consumers);
     }
 
     /**
@@ -102,20 +123,42 @@ public abstract class ActiveMQProcessor implements MessageListener {
      */
     @Override
     public void onMessage(Message arg) {
-        MapMessageObjectReader message;
-        String ticketID = null;
+        handleMessage(arg, true, null);
+    }
 
+    /**
+     * Processes a message and reports the result to the results topic. If the
+     * message was received in a transacted session, success is reported only
+     * after the session was committed. If processing fails, the session is
+     * rolled back, so that the message is delivered again. A message with
+     * invalid content is committed and reported as failed right away, because
+     * delivering it again would not help.
+     *
+     * @param arg
+     *            the message
+     * @param finalDelivery
+     *            whether the message will not be delivered again if its
+     *            processing fails. Failures of messages that will be delivered
+     *            again are reported as warnings only.
+     * @param session
+     *            transacted session the message was received in, or
+     *            {@code null}
+     * @return whether the message was processed successfully
+     */
+    boolean handleMessage(Message arg, boolean finalDelivery, Session session) {
+        String ticketID = null;
+        Optional<String> optionalLogin = Optional.empty();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
         try {
             // Basic check message
-            message = getMessageFromObjectReader(arg);
+            MapMessageObjectReader message = getMessageFromObjectReader(arg);
             ticketID = message.getMandatoryString("id");
 
             // turn on logging
             turnOnLogging(ticketID);
 
             // set default user
-            Optional<String> optionalLogin = ConfigCore.getOptionalString(ParameterCore.ACTIVE_MQ_USER);
-            SecurityContext securityContext = SecurityContextHolder.getContext();
+            optionalLogin = ConfigCore.getOptionalString(ParameterCore.ACTIVE_MQ_USER);
             if (optionalLogin.isPresent()) {
                 if (Objects.isNull(securityContext.getAuthentication())) {
                     setUserAuthentification(optionalLogin, securityContext);
@@ -126,19 +169,50 @@ public abstract class ActiveMQProcessor implements MessageListener {
 
             // process message
             process(message);
+            if (Objects.nonNull(session)) {
+                session.commit();
+            }
 
+            // if everything ‘s fine, report success
+            new WebServiceResult(queueName, ticketID, ReportLevel.SUCCESS).send();
+            return true;
+        } catch (IllegalArgumentException e) {
+            // invalid content, delivering the message again would not help
+            fail(session, ticketID, true, true, e);
+            return false;
+        } catch (Exception e) {
+            fail(session, ticketID, false, finalDelivery, e);
+            return false;
+        } finally {
             if (optionalLogin.isPresent()) {
                 securityContext.setAuthentication(null);
             }
 
             // turn off logging again
             Helper.setActiveMQReporting(null);
+        }
+    }
 
-            // if everything ‘s fine, report success
-            new WebServiceResult(queueName, ticketID, ReportLevel.SUCCESS).send();
-        } catch (Exception e) {
-            // report any errors
+    /**
+     * Completes the transaction of a failed message and reports the error. An
+     * invalid message is committed, so that it is not delivered again.
+     */
+    private void fail(Session session, String ticketID, boolean invalid, boolean finalDelivery, Exception e) {
+        if (Objects.nonNull(session)) {
+            try {
+                if (invalid) {
+                    session.commit();
+                } else {
+                    session.rollback();
+                }
+            } catch (JMSException jmsException) {
+                logger.error("Error finishing message on \"{}\"", queueName, jmsException);
+            }
+        }
+        if (finalDelivery) {
             new WebServiceResult(queueName, ticketID, ReportLevel.FATAL, e.getMessage()).send();
+        } else {
+            new WebServiceResult(queueName, ticketID, ReportLevel.WARN, e.getMessage() + " (will be retried)").send();
         }
     }
 
@@ -174,22 +248,12 @@ public abstract class ActiveMQProcessor implements MessageListener {
     }
 
     /**
-     * Sets the message consumer to have it later for shutting down the service.
-     *
-     * @param messageConsumer
-     *            the MessageConsumer object responsible for checking messages
-     */
-
-    public void setMessageConsumer(MessageConsumer messageConsumer) {
-        this.messageConsumer = messageConsumer;
-    }
-
-    /**
-     * Returns the message consumer. Maybe null. Used for shutdown.
+     * Returns the number of consumers processing messages from the queue at
+     * the same time.
      *
-     * @return the message consumer
+     * @return the number of consumers
      */
-    public MessageConsumer getMessageConsumer() {
-        return messageConsumer;
+    public int getConsumers() {
+        return consumers;
     }
 }
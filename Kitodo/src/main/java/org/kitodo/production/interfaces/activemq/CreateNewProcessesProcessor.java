@@ -88,7 +88,8 @@ public class CreateNewProcessesProcessor extends ActiveMQProcessor {
      * ActiveMQDirector.registerListeners() from starting this service.
      */
     public CreateNewProcessesProcessor() {
-        super(ConfigCore.getOptionalString(ParameterCore.ACTIVE_MQ_CREATE_NEW_PROCESSES_QUEUE).orElse(null));
+        super(ConfigCore.getOptionalString(ParameterCore.ACTIVE_MQ_CREATE_NEW_PROCESSES_QUEUE).orElse(null),
+            ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ACTIVE_MQ_CREATE_NEW_PROCESSES_CONSUMERS));
     }
 
     /* The main routine processing incoming tickets. The function has been
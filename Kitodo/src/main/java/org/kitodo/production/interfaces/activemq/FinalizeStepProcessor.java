@@ -41,7 +41,8 @@ public class FinalizeStepProcessor extends ActiveMQProcessor {
      * ActiveMQDirector.registerListeners() from starting this service.
      */
     public FinalizeStepProcessor() {
-        super(ConfigCore.getOptionalString(ParameterCore.ACTIVE_MQ_FINALIZE_STEP_QUEUE).orElse(null));
+        super(ConfigCore.getOptionalString(ParameterCore.ACTIVE_MQ_FINALIZE_STEP_QUEUE).orElse(null),
+            ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ACTIVE_MQ_FINALIZE_STEP_CONSUMERS));
     }
 
     /**
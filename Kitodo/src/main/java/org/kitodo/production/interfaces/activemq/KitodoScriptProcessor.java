@@ -44,7 +44,8 @@ public class KitodoScriptProcessor extends ActiveMQProcessor {
     private final ProcessService processService = ServiceManager.getProcessService();
 
     public KitodoScriptProcessor() {
-        super(ConfigCore.getOptionalString(ParameterCore.ACTIVE_MQ_KITODO_SCRIPT_QUEUE).orElse(null));
+        super(ConfigCore.getOptionalString(ParameterCore.ACTIVE_MQ_KITODO_SCRIPT_QUEUE).orElse(null),
+            ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ACTIVE_MQ_KITODO_SCRIPT_CONSUMERS));
     }
 
     @Override
@@ -0,0 +1,213 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.interfaces.activemq;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.jms.Connection;
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.Session;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The consumers of a queue. Each consumer has a processor and a transacted
+ * session of its own, so messages of the queue are processed concurrently. A
+ * message is only acknowledged after it was processed successfully. If
+ * processing fails, the processor rolls the session back and the message is
+ * delivered again, until the maximum number of redeliveries is reached and the
+ * server moves the message to the dead letter queue. The pool counts the messages
+ * and measures processing time and lag, that is, how long a message waited in
+ * the queue before it was processed.
+ */
+class QueueConsumerPool {
+    private static final Logger logger = LogManager.getLogger(QueueConsumerPool.class);
+    private static final String DELIVERY_COUNT = "JMSXDeliveryCount";
+
+    private final String queueName;
+    private final int maximumRedeliveries;
+    private final List<Session> sessions = new ArrayList<>();
+    private final List<MessageConsumer> consumers = new ArrayList<>();
+    private final long startedAt = System.nanoTime();
+    private long received;
+    private long succeeded;
+    private long failed;
+    private long redelivered;
+    private long processingNanos;
+    private long lastLagMillis;
+    private long maxLagMillis;
+
+    /**
+     * Creates a new consumer pool.
+     *
+     * @param queueName
+     *            name of the queue
+     * @param maximumRedeliveries
+     *            number of times a message is delivered again after its
+     *            processing failed
+     */
+    QueueConsumerPool(String queueName, int maximumRedeliveries) {
+        this.queueName = queueName;
+        this.maximumRedeliveries = maximumRedeliveries;
+    }
+
+    /**
+     * Starts the consumers.
+     *
+     * @param connection
+     *            connection to the Active MQ server
+     * @param first
+     *            processor of the first consumer, which also tells the number
+     *            of consumers
+     * @param processorFactory
+     *            creates the processors of the further consumers
+     * @throws JMSException
+     *             if a consumer cannot be set up
+     */
+    void start(Connection connection, ActiveMQProcessor first, Supplier<? extends ActiveMQProcessor> processorFactory)
+            throws JMSException {
+        for (int i = 0; i < first.getConsumers(); i++) {
+            ActiveMQProcessor processor = i == 0 ? first : processorFactory.get();
+            Session session = connection.createSession(true, Session.SESSION_TRANSACTED);
+            sessions.add(session);
+            Destination queue = session.createQueue(queueName);
+            MessageConsumer consumer = session.createConsumer(queue);
+            consumers.add(consumer);
+            consumer.setMessageListener(message -> onMessage(processor, session, message));
+        }
+        logger.info("Listening on \"{}\" with {} consumers", queueName, consumers.size());
+    }
+
+    private void onMessage(ActiveMQProcessor processor, Session session, Message message) {
+        final long start = System.nanoTime();
+        int deliveryCount = getDeliveryCount(message);
+        long lagMillis = 0;
+        try {
+            lagMillis = Math.max(0, System.currentTimeMillis() - message.getJMSTimestamp());
+        } catch (JMSException e) {
+            logger.debug(e.getMessage(), e);
+        }
+        boolean successful = processor.handleMessage(message, deliveryCount > maximumRedeliveries, session);
+        record(successful, deliveryCount > 1, System.nanoTime() - start, lagMillis);
+    }
+
+    private static int getDeliveryCount(Message message) {
+        try {
+            return message.propertyExists(DELIVERY_COUNT) ? message.getIntProperty(DELIVERY_COUNT) : 1;
+        } catch (JMSException | NumberFormatException e) {
+            logger.debug(e.getMessage(), e);
+            return 1;
+        }
+    }
+
+    private synchronized void record(boolean successful, boolean redelivery, long nanos, long lagMillis) {
+        received++;
+        if (successful) {
+            succeeded++;
+        } else {
+            failed++;
+        }
+        if (redelivery) {
+            redelivered++;
+        }
+        processingNanos += nanos;
+        lastLagMillis = lagMillis;
+        maxLagMillis = Math.max(maxLagMillis, lagMillis);
+        logger.debug("Message on \"{}\" {} after {} ms, lag {} ms", queueName, successful ? "processed" : "failed",
+            TimeUnit.NANOSECONDS.toMillis(nanos), lagMillis);
+    }
+
+    /**
+     * Stops the consumers.
+     */
+    void close() {
+        for (MessageConsumer consumer : consumers) {
+            try {
+                consumer.close();
+            } catch (JMSException e) {
+                logger.error(e.getMessage(), e);
+            }
+        }
+        for (Session session : sessions) {
+            try {
+                session.close();
+            } catch (JMSException e) {
+                logger.error(e.getMessage(), e);
+            }
+        }
+        logger.info("Stopped consumers on \"{}\": {}", queueName, this);
+    }
+
+    /**
+     * Returns the name of the queue.
+     *
+     * @return the name of the queue
+     */
+    String getQueueName() {
+        return queueName;
+    }
+
+    /**
+     * Returns the number of messages received.
+     *
+     * @return the number of messages received
+     */
+    synchronized long getReceived() {
+        return received;
+    }
+
+    /**
+     * Returns the number of messages that failed. A message delivered again is
+     * counted for each failed delivery.
+     *
+     * @return the number of messages that failed
+     */
+    synchronized long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Returns the number of messages processed successfully per minute since
+     * the consumers were started.
+     *
+     * @return the throughput in messages per minute
+     */
+    synchronized double getThroughputPerMinute() {
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAt));
+        return succeeded * 60.0 / seconds;
+    }
+
+    /**
+     * Returns how long the last message waited in the queue before it was
+     * processed.
+     *
+     * @return the lag of the last message in milliseconds
+     */
+    synchronized long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "[queue=" + queueName + ", consumers=" + consumers.size() + ", received=" + received + ", succeeded="
+                + succeeded + ", failed=" + failed + ", redelivered=" + redelivered + ", processingMillis="
+                + TimeUnit.NANOSECONDS.toMillis(processingNanos) + ", lastLagMillis=" + lastLagMillis
+                + ", maxLagMillis=" + maxLagMillis + "]";
+    }
+}
@@ -52,7 +52,8 @@ public class TaskActionProcessor extends ActiveMQProcessor {
      * this service.
      */
     public TaskActionProcessor() {
-        super(ConfigCore.getOptionalString(ParameterCore.ACTIVE_MQ_TASK_ACTION_QUEUE).orElse(null));
+        super(ConfigCore.getOptionalString(ParameterCore.ACTIVE_MQ_TASK_ACTION_QUEUE).orElse(null),
+            ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ACTIVE_MQ_TASK_ACTION_CONSUMERS));
         workflowControllerService = new WorkflowControllerService();
     }
 
@@ -76,18 +76,21 @@ public class WebServiceResult {
                 "Processing message \"" + id + '@' + queueName + "\" reports " + level.toLowerCase() + "."
                         + (Objects.nonNull(message) ? " (" + message + ")" : ""));
         } else {
+            // the session is shared by all consumers, but must not be used concurrently
             try {
-                MapMessage report = ActiveMQDirector.getSession().createMapMessage();
+                synchronized (ActiveMQDirector.getSession()) {
+                    MapMessage report = ActiveMQDirector.getSession().createMapMessage();
 
-                report.setString("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME));
-                report.setString("queue", queueName);
-                report.setString("id", id);
-                report.setString("level", level.toLowerCase());
-                if (Objects.nonNull(message)) {
-                    report.setString("message", message);
-                }
+                    report.setString("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME));
+                    report.setString("queue", queueName);
+                    report.setString("id", id);
+                    report.setString("level", level.toLowerCase());
+                    if (Objects.nonNull(message)) {
+                        report.setString("message", message);
+                    }
 
-                ActiveMQDirector.getResultsTopic().send(report);
+                    ActiveMQDirector.getResultsTopic().send(report);
+                }
 
             } catch (JMSException | RuntimeException e) {
                 logger.fatal("Error sending report  for \"{}@{}\" ({}{}): Giving up.", id, queueName,
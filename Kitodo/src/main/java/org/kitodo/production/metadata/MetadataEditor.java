@@ -80,19 +80,7 @@ public class MetadataEditor {
      *             if the METS file cannot be read or written
      */
     public static void addLink(Process process, String insertionPosition, int childProcessId) throws IOException {
-        URI metadataFileUri = ServiceManager.getProcessService().getMetadataFileUri(process);
-        Workpiece workpiece = ServiceManager.getMetsService().loadWorkpiece(metadataFileUri);
-        List<String> indices = Arrays.asList(insertionPosition.split(Pattern.quote(INSERTION_POSITION_SEPARATOR)));
-        LogicalDivision logicalDivision = workpiece.getLogicalStructure();
-        for (int index = 0; index < indices.size(); index++) {
-            if (index < indices.size() - 1) {
-                logicalDivision = logicalDivision.getChildren().get(Integer.parseInt(indices.get(index)));
-            } else {
-                addLink(logicalDivision, Integer.parseInt(indices.get(index)), childProcessId);
-            }
-        }
-        ServiceManager.getFileService().createBackupFile(process);
-        ServiceManager.getMetsService().saveWorkpiece(workpiece, metadataFileUri);
+        addLinks(process, insertionPosition, Collections.singletonList(childProcessId));
     }
 
     /**
@@ -128,6 +116,46 @@ public class MetadataEditor {
         }
     }
 
+    /**
+     * Connects several child processes to a parent process by means of links.
+     * The links are inserted one after the other, beginning at the insertion
+     * position. The METS file of the parent process is read and written only
+     * once, which makes a difference for parents with thousands of children.
+     * This method does not create links between the processes in the
+     * database, this must and can only happen when saving.
+     *
+     * @param process
+     *            the parent process in which the links are to be added
+     * @param insertionPosition
+     *            at which point the first link is to be inserted
+     * @param childProcessIds
+     *            Database IDs of the child processes to be linked
+     * @throws IOException
+     *             if the METS file cannot be read or written
+     */
+    public static void addLinks(Process process, String insertionPosition, List<Integer> childProcessIds)
+            throws IOException {
+        URI metadataFileUri = ServiceManager.getProcessService().getMetadataFileUri(process);
+        Workpiece workpiece = ServiceManager.getMetsService().loadWorkpiece(metadataFileUri);
+        List<String> indices = Arrays.asList(insertionPosition.split(Pattern.quote(INSERTION_POSITION_SEPARATOR)));
+        LogicalDivision logicalDivision = workpiece.getLogicalStructure();
+        for (int index = 0; index < indices.size(); index++) {
+            if (index < indices.size() - 1) {
+                logicalDivision = logicalDivision.getChildren().get(Integer.parseInt(indices.get(index)));
+            } else {
+                int position = Integer.parseInt(indices.get(index));
+                for (int childProcessId : childProcessIds) {
+                    addLink(logicalDivision, position, childProcessId);
+                    if (position >= 0) {
+                        position++;
+                    }
+                }
+            }
+        }
+        ServiceManager.getFileService().createBackupFile(process);
+        ServiceManager.getMetsService().saveWorkpiece(workpiece, metadataFileUri);
+    }
+
     /**
      * Remove link to process with ID 'childProcessId' from workpiece of Process
      * 'parentProcess'.
@@ -307,6 +335,7 @@ public class MetadataEditor {
         if (Objects.nonNull(viewsToAdd) && !viewsToAdd.isEmpty()) {
             handleViewsToAdd(viewsToAdd, newStructure);
         }
+        workpiece.invalidateIndex();
         return newStructure;
     }
 
@@ -403,6 +432,7 @@ public class MetadataEditor {
             default:
                 throw new IllegalStateException("Used InsertionPosition not allowed.");
         }
+        workpiece.invalidateIndex();
         return newPhysicalDivision;
     }
 
@@ -20,6 +20,8 @@ import org.kitodo.data.database.beans.Client;
 import org.kitodo.data.database.beans.Role;
 import org.kitodo.data.database.beans.User;
 import org.kitodo.production.services.ServiceManager;
+import org.kitodo.security.AuthorityIndex;
+import org.kitodo.security.AuthorityIndexHolder;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -31,7 +33,7 @@ import org.springframework.stereotype.Service;
  * authorities, account expired or locked, ...).
  */
 @Service
-public class SecurityUserDetails extends User implements UserDetails {
+public class SecurityUserDetails extends User implements UserDetails, AuthorityIndexHolder {
 
     /**
      * The client which was selected by user after login.
@@ -39,6 +41,12 @@ public class SecurityUserDetails extends User implements UserDetails {
     private Client sessionClient;
     private final User user;
 
+    /**
+     * The authorities of the authentication, compiled for the permission
+     * checks. Compiled again after deserialization of the session.
+     */
+    private transient volatile AuthorityIndex authorityIndex;
+
     public SecurityUserDetails(final User user) {
         super(user);
         this.user = user;
@@ -109,6 +117,16 @@ public class SecurityUserDetails extends User implements UserDetails {
         this.sessionClient = sessionClient;
     }
 
+    @Override
+    public AuthorityIndex getAuthorityIndex() {
+        return authorityIndex;
+    }
+
+    @Override
+    public void setAuthorityIndex(AuthorityIndex authorityIndex) {
+        this.authorityIndex = authorityIndex;
+    }
+
     @Override
     public String getUsername() {
         return super.getLogin();
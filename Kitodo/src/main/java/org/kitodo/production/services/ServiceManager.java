@@ -54,6 +54,7 @@ import org.kitodo.production.services.ocr.OcrdWorkflowService;
 import org.kitodo.production.services.schema.SchemaService;
 import org.kitodo.production.services.security.SecurityAccessService;
 import org.kitodo.production.services.security.SessionService;
+import org.kitodo.production.services.statistic.StatisticService;
 import org.kitodo.production.services.validation.FileStructureValidationService;
 import org.kitodo.production.services.validation.LongTermPreservationValidationService;
 import org.kitodo.production.services.validation.MetadataValidationService;
@@ -98,6 +99,7 @@ public class ServiceManager {
     private static SearchFieldService searchFieldService;
     private static SecurityAccessService securityAccessService;
     private static SessionService sessionService;
+    private static StatisticService statisticService;
     private static TaskService taskService;
     private static TemplateService templateService;
     private static UserService userService;
@@ -404,6 +406,13 @@ public class ServiceManager {
         }
     }
 
+    private static void initializeStatisticService() {
+        if (Objects.isNull(statisticService)) {
+            logServiceInitialization();
+            statisticService = StatisticService.getInstance();
+        }
+    }
+
     /**
      * Initialize AuthorityService if it is not yet initialized and next return
      * it.
@@ -888,6 +897,18 @@ public class ServiceManager {
         return mappingFileService;
     }
 
+    /**
+     * Initialize StatisticService if it is not yet initialized and next return
+     * it.
+     *
+     * @return StatisticService object
+     */
+    public static StatisticService getStatisticService() {
+        initializeStatisticService();
+        logServiceDelivery();
+        return statisticService;
+    }
+
     private static void logServiceInitialization() {
         if (logger.isTraceEnabled()) {
             logger.trace(new RuntimeException().getStackTrace()[1].getMethodName()
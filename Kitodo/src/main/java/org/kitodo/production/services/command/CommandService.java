@@ -11,22 +11,34 @@
 
 package org.kitodo.production.services.command;
 
-import io.reactivex.Flowable;
-import io.reactivex.schedulers.Schedulers;
-
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.kitodo.api.command.CommandInterface;
 import org.kitodo.api.command.CommandResult;
 import org.kitodo.serviceloader.KitodoServiceLoader;
 
 public class CommandService {
+    /**
+     * Class of the scripts run by tasks.
+     */
+    public static final String TASK_SCRIPT = "task";
+
+    /**
+     * Class of the scripts deciding workflow conditions.
+     */
+    public static final String CONDITION_SCRIPT = "condition";
+
+    private static final String DEFAULT_SCRIPT = "default";
+
     private final CommandInterface commandModule;
-    private final ArrayList<CommandResult> finishedCommandResults = new ArrayList<>();
+    private final List<CommandResult> finishedCommandResults = Collections.synchronizedList(new ArrayList<>());
 
     /**
      * Initialize Command Service.
@@ -51,12 +63,39 @@ public class CommandService {
         if (Objects.isNull(script)) {
             return null;
         }
-        CommandResult commandResult = commandModule.runCommand(script);
-        List<String> commandResultMessages = commandResult.getMessages();
-        if (!commandResultMessages.isEmpty() && commandResultMessages.get(0).contains("IOException")) {
-            throw new IOException(commandResultMessages.get(1));
+        return checkForIOException(commandModule.runCommand(script));
+    }
+
+    /**
+     * Method executes a script string of a class of scripts. The number of
+     * scripts of the class running at the same time, and their timeout, can be
+     * configured.
+     *
+     * @param script
+     *            Path to the script file with optional arguments (filepath
+     *            parameter1 parameter2 ...).
+     * @param scriptClass
+     *            The class of the script, for example {@link #TASK_SCRIPT}.
+     *
+     * @return The CommandResult.
+     *
+     * @throws IOException
+     *             an IOException
+     */
+    public CommandResult runCommand(String script, String scriptClass) throws IOException {
+        if (Objects.isNull(script)) {
+            return null;
+        }
+        CompletableFuture<CommandResult> future = commandModule.runCommandAsync(script, scriptClass, null);
+        try {
+            return checkForIOException(future.get());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
         }
-        return commandResult;
     }
 
     /**
@@ -98,6 +137,14 @@ public class CommandService {
 
     }
 
+    private static CommandResult checkForIOException(CommandResult commandResult) throws IOException {
+        List<String> commandResultMessages = commandResult.getMessages();
+        if (!commandResultMessages.isEmpty() && commandResultMessages.get(0).contains("IOException")) {
+            throw new IOException(commandResultMessages.get(1));
+        }
+        return commandResult;
+    }
+
     /**
      * Method runs a specified script file asynchronously.
      *
@@ -106,13 +153,7 @@ public class CommandService {
      */
     public void runCommandAsync(String script) {
         if (Objects.nonNull(script)) {
-            Flowable<CommandResult> source = Flowable.fromCallable(() ->
-                commandModule.runCommand(script)
-            );
-
-            Flowable<CommandResult> commandBackgroundWorker = source.subscribeOn(Schedulers.io());
-            Flowable<CommandResult> commandResultListener = commandBackgroundWorker.observeOn(Schedulers.single());
-            commandResultListener.subscribe(this::handleCommandResult);
+            commandModule.runCommandAsync(script, DEFAULT_SCRIPT, null).thenAccept(this::handleCommandResult);
         }
     }
 
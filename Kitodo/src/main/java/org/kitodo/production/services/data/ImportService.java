@@ -25,12 +25,18 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import javax.faces.model.SelectItem;
@@ -42,6 +48,7 @@ import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -123,7 +130,7 @@ public class ImportService {
     public static final String ACQUISITION_STAGE_CREATE = "create";
 
     private static volatile ImportService instance = null;
-    private static ExternalDataImportInterface importModule;
+    private ExternalDataImportInterface importModule;
     private static final String KITODO_NAMESPACE = "http://meta.kitodo.org/v1/";
     private static final String KITODO_STRING = "kitodo";
 
@@ -149,6 +156,7 @@ public class ImportService {
     private boolean usingTemplates;
 
     private TempProcess parentTempProcess;
+    private static final Object PARENT_LINK_LOCK = new Object();
 
     private static final String CATALOG_IDENTIFIER = "CatalogIDDigital";
 
@@ -711,16 +719,14 @@ public class ImportService {
                                                      int projectId, int templateId, int rows, List<TempProcess> parentProcesses)
             throws SAXException, UnsupportedFormatException, URISyntaxException, ParserConfigurationException,
             NoRecordFoundException, IOException, ProcessGenerationException, TransformerException,
-            InvalidMetadataValueException, NoSuchMetadataFieldException {
+            InvalidMetadataValueException, NoSuchMetadataFieldException, XPathExpressionException {
         importModule = initializeImportModule();
         List<DataRecord> childRecords = searchChildRecords(importConfiguration, elementID, rows);
         LinkedList<TempProcess> childProcesses = new LinkedList<>();
         if (!childRecords.isEmpty()) {
-            SchemaConverterInterface converter = getSchemaConverter(childRecords.get(0));
-            List<File> mappingFiles = getMappingFiles(importConfiguration);
-            for (DataRecord childRecord : childRecords) {
-                DataRecord internalRecord = converter.convert(childRecord, MetadataFormat.KITODO, FileFormat.XML, mappingFiles);
-                Document childDocument = XMLUtils.parseXMLString((String)internalRecord.getOriginalData());
+            // conversion of the records is independent of each other, creating the processes is not
+            List<Document> childDocuments = convertDataRecordsToInternal(childRecords, importConfiguration, false);
+            for (Document childDocument : childDocuments) {
                 TempProcess tempProcess = createTempProcessFromDocument(importConfiguration, childDocument,
                         templateId, projectId);
                 tempProcess.getProcess().setImportConfiguration(importConfiguration);
@@ -796,9 +802,13 @@ public class ImportService {
         eadCollectionProcesses.add(collectionProcess);
 
         List<TempProcess> parentProcesses = Collections.singletonList(collectionProcess);
+        List<DataRecord> fileRecords = new ArrayList<>(childElements.size());
         for (Element fileElement : childElements) {
-            TempProcess currentFileProcess = createTempProcessFromElement(fileElement, importConfiguration,
-                    projectId, templateId, false);
+            fileRecords.add(createRecordFromElement(fileElement, importConfiguration));
+        }
+        for (Document fileDocument : convertDataRecordsToInternal(fileRecords, importConfiguration, false)) {
+            TempProcess currentFileProcess = createTempProcessFromDocument(importConfiguration, fileDocument,
+                    templateId, projectId);
             ProcessHelper.generateAtstslFields(currentFileProcess, parentProcesses, ACQUISITION_STAGE_CREATE, false);
             eadCollectionProcesses.add(currentFileProcess);
         }
@@ -829,14 +839,25 @@ public class ImportService {
                                                            int projectId, int templateId, boolean isParent)
             throws TransformerException, UnsupportedFormatException, XPathExpressionException,
             ProcessGenerationException, URISyntaxException, IOException, ParserConfigurationException, SAXException {
-        String collectionString = XMLUtils.elementToString(element);
-        DataRecord externalCollectionRecord = XMLUtils.createRecordFromXMLElement(collectionString,
-                importConfiguration);
+        DataRecord externalCollectionRecord = createRecordFromElement(element, importConfiguration);
         Document internalEadCollectionDocument = convertDataRecordToInternal(externalCollectionRecord,
                 importConfiguration, isParent);
         return createTempProcessFromDocument(importConfiguration, internalEadCollectionDocument, templateId, projectId);
     }
 
+    /**
+     * Create and return DataRecord from given XML element 'Element'.
+     *
+     * @param element XML element to be transformed into DataRecord
+     * @param importConfiguration ImportConfiguration containing metadata and return format of the record
+     * @return DataRecord containing given XML element as string
+     * @throws TransformerException when XML element could not be transformed to string
+     */
+    public DataRecord createRecordFromElement(Element element, ImportConfiguration importConfiguration)
+            throws TransformerException {
+        return XMLUtils.createRecordFromXMLElement(XMLUtils.elementToString(element), importConfiguration);
+    }
+
     private List<Element> getEADElements(Document document, String level) {
         return XMLUtils.getElementsByTagNameAndAttributeValue(document, StringConstants.C_TAG_NAME,
                 StringConstants.LEVEL, level);
@@ -868,9 +889,14 @@ public class ImportService {
             throws UnsupportedFormatException, URISyntaxException, IOException, ParserConfigurationException,
             SAXException, XPathExpressionException, ProcessGenerationException {
         SchemaConverterInterface converter = getSchemaConverter(dataRecord);
-
         List<File> mappingFiles = getMappingFiles(importConfiguration, isParentInRecord);
+        return convertDataRecordToInternal(dataRecord, importConfiguration, converter, mappingFiles);
+    }
 
+    private Document convertDataRecordToInternal(DataRecord dataRecord, ImportConfiguration importConfiguration,
+                                                 SchemaConverterInterface converter, List<File> mappingFiles)
+            throws UnsupportedFormatException, URISyntaxException, IOException, ParserConfigurationException,
+            SAXException, XPathExpressionException, ProcessGenerationException {
         // transform dataRecord to Kitodo internal format using appropriate SchemaConverter!
         File debugFolder = ConfigCore.getKitodoDebugDirectory();
         if (Objects.nonNull(debugFolder)) {
@@ -914,6 +940,64 @@ public class ImportService {
         return resultDocument;
     }
 
+    /**
+     * Converts the given data records to internal documents. The schema converter and the mapping files are determined
+     * once for all records, and up to 'hierarchyImportParallelRecords' records are converted at the same time. If a
+     * debug folder is configured, the records are converted one after the other, as each conversion writes the same
+     * debug files.
+     *
+     * @param dataRecords the data records to convert, all in the same format
+     * @param importConfiguration the import configuration to use
+     * @param isParentInRecord if parentRecord is in childRecord
+     * @return the converted documents, in the order of the data records
+     */
+    public List<Document> convertDataRecordsToInternal(List<DataRecord> dataRecords,
+                                                       ImportConfiguration importConfiguration,
+                                                       boolean isParentInRecord)
+            throws UnsupportedFormatException, URISyntaxException, IOException, ParserConfigurationException,
+            SAXException, XPathExpressionException, ProcessGenerationException {
+        if (dataRecords.isEmpty()) {
+            return new ArrayList<>();
+        }
+        SchemaConverterInterface converter = getSchemaConverter(dataRecords.get(0));
+        List<File> mappingFiles = getMappingFiles(importConfiguration, isParentInRecord);
+        int parallelRecords = Math.min(dataRecords.size(),
+            ConfigCore.getIntParameterOrDefaultValue(ParameterCore.HIERARCHY_IMPORT_PARALLEL_RECORDS));
+        List<Document> documents = new ArrayList<>(dataRecords.size());
+        if (parallelRecords < 2 || Objects.nonNull(ConfigCore.getKitodoDebugDirectory())) {
+            for (DataRecord dataRecord : dataRecords) {
+                documents.add(convertDataRecordToInternal(dataRecord, importConfiguration, converter, mappingFiles));
+            }
+            return documents;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(parallelRecords);
+        try {
+            List<Future<Document>> futures = new ArrayList<>(dataRecords.size());
+            for (DataRecord dataRecord : dataRecords) {
+                futures.add(executor.submit(() -> convertDataRecordToInternal(dataRecord, importConfiguration,
+                    converter, mappingFiles)));
+            }
+            for (Future<Document> future : futures) {
+                documents.add(future.get());
+            }
+            return documents;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessGenerationException("Interrupted while converting records: " + e.getMessage());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof ProcessGenerationException) {
+                throw (ProcessGenerationException) e.getCause();
+            }
+            throw new ProcessGenerationException(e.getCause().getMessage(), (Exception) e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private NodeList extractMetadataNodeList(Document document) throws ProcessGenerationException {
         NodeList kitodoNodes = document.getElementsByTagNameNS(KITODO_NAMESPACE, KITODO_STRING);
         if (kitodoNodes.getLength() != 1) {
@@ -1218,18 +1302,33 @@ public class ImportService {
                                               List<Locale.LanguageRange> priorityList)
             throws DataException, InvalidMetadataValueException, NoSuchMetadataFieldException,
             ProcessGenerationException, IOException {
+        List<Process> children = new ArrayList<>(childProcesses.size());
         for (TempProcess tempProcess : childProcesses) {
             if (Objects.isNull(tempProcess) || Objects.isNull(tempProcess.getProcess())) {
                 logger.error("Child process {} is null => Skip!", childProcesses.indexOf(tempProcess) + 1);
                 continue;
             }
             processTempProcess(tempProcess, rulesetManagement, acquisitionStage, priorityList, null);
-            Process childProcess = tempProcess.getProcess();
-            ServiceManager.getProcessService().save(childProcess, true);
+            children.add(tempProcess.getProcess());
+        }
+        for (List<Process> batch : ListUtils.partition(children, getHierarchyImportBatchSize())) {
+            ServiceManager.getProcessService().saveListAndIndex(batch);
+        }
+        for (Process childProcess : children) {
             ProcessService.setParentRelations(mainProcess, childProcess);
         }
     }
 
+    /**
+     * Returns the number of child processes of a multi-volume work or an EAD collection that are saved and indexed
+     * together, as configured by 'hierarchyImportBatchSize'.
+     *
+     * @return the batch size, at least 1
+     */
+    public static int getHierarchyImportBatchSize() {
+        return Math.max(1, ConfigCore.getIntParameterOrDefaultValue(ParameterCore.HIERARCHY_IMPORT_BATCH_SIZE));
+    }
+
     /**
      * Add workpiece and template properties to given Process 'process'.
      *
@@ -1362,6 +1461,26 @@ public class ImportService {
      */
     public Process importProcess(String ppn, int projectId, int templateId, ImportConfiguration importConfiguration,
                                  Map<String, List<String>> presetMetadata) throws ImportException {
+        TempProcess tempProcess = createProcessFromRecord(ppn, projectId, templateId, importConfiguration,
+                presetMetadata);
+        saveImportedProcesses(Collections.singletonList(tempProcess));
+        return tempProcess.getProcess();
+    }
+
+    /**
+     * Imports a record and creates a process from it, without saving the process. If the record has a parent
+     * process, it is set as parent of the created process. The process is saved by
+     * {@link #saveImportedProcesses(List)}.
+     * @param ppn the ppn to import
+     * @param projectId the projectId
+     * @param templateId the templateId
+     * @param importConfiguration the selected import configuration
+     * @param presetMetadata Map containing preset metadata with keys as metadata keys and values as metadata values
+     * @return the created process, not yet saved
+     */
+    public TempProcess createProcessFromRecord(String ppn, int projectId, int templateId,
+                                               ImportConfiguration importConfiguration,
+                                               Map<String, List<String>> presetMetadata) throws ImportException {
         LinkedList<TempProcess> processList = new LinkedList<>();
         TempProcess tempProcess;
         Template template;
@@ -1392,38 +1511,75 @@ public class ImportService {
             } else if (ServiceManager.getProcessService().findNumberOfProcessesWithTitle(title) > 0) {
                 throw new ProcessGenerationException(Helper.getTranslation("processTitleAlreadyInUse", title));
             }
-            ServiceManager.getProcessService().save(tempProcess.getProcess(), true);
-            URI processBaseUri = ServiceManager.getFileService().createProcessLocation(tempProcess.getProcess());
-            tempProcess.getProcess().setProcessBaseUri(processBaseUri);
-            OutputStream out = ServiceManager.getFileService()
-                    .write(ServiceManager.getProcessService().getMetadataFileUri(tempProcess.getProcess()));
-            tempProcess.getWorkpiece().setId(tempProcess.getProcess().getId().toString());
-            ServiceManager.getMetsService().save(tempProcess.getWorkpiece(), out);
-            linkToParent(tempProcess);
-            ServiceManager.getProcessService().save(tempProcess.getProcess());
+            if (Objects.nonNull(parentTempProcess) && Objects.nonNull(parentTempProcess.getProcess())) {
+                tempProcess.getProcess().setParent(parentTempProcess.getProcess());
+            }
         } catch (DAOException | IOException | ProcessGenerationException | XPathExpressionException
                 | ParserConfigurationException | NoRecordFoundException | UnsupportedFormatException
                 | URISyntaxException | SAXException | InvalidMetadataValueException | NoSuchMetadataFieldException
-                | DataException | CommandException | TransformerException | CatalogException e) {
+                | DataException | TransformerException | CatalogException e) {
+            logger.error(e);
+            throw new ImportException(e.getLocalizedMessage());
+        }
+        return tempProcess;
+    }
+
+    /**
+     * Saves processes created by {@link #createProcessFromRecord(String, int, int, ImportConfiguration, Map)}
+     * together. The processes are saved to the database in one transaction to get their IDs, then their folders and
+     * metadata files are created and they are linked to their parent processes, and finally they are saved and
+     * indexed together.
+     *
+     * @param tempProcesses the processes to save
+     * @throws ImportException if saving fails. Processes of the list may already be saved then.
+     */
+    public void saveImportedProcesses(List<TempProcess> tempProcesses) throws ImportException {
+        if (tempProcesses.isEmpty()) {
+            return;
+        }
+        List<Process> processes = tempProcesses.stream().map(TempProcess::getProcess).collect(Collectors.toList());
+        try {
+            ServiceManager.getProcessService().saveList(processes);
+            Set<Integer> parentIds = new LinkedHashSet<>();
+            for (TempProcess tempProcess : tempProcesses) {
+                Process process = tempProcess.getProcess();
+                URI processBaseUri = ServiceManager.getFileService().createProcessLocation(process);
+                process.setProcessBaseUri(processBaseUri);
+                tempProcess.getWorkpiece().setId(process.getId().toString());
+                try (OutputStream out = ServiceManager.getFileService()
+                        .write(ServiceManager.getProcessService().getMetadataFileUri(process))) {
+                    ServiceManager.getMetsService().save(tempProcess.getWorkpiece(), out);
+                }
+                if (Objects.nonNull(process.getParent())) {
+                    linkToParent(process);
+                    parentIds.add(process.getParent().getId());
+                }
+            }
+            ServiceManager.getProcessService().saveListAndIndex(processes);
+            // the parent processes are saved once per batch to refresh their index entries
+            for (Integer parentId : parentIds) {
+                ServiceManager.getProcessService().save(ServiceManager.getProcessService().getById(parentId));
+            }
+        } catch (DAOException | DataException | IOException | CommandException | ProcessGenerationException e) {
             logger.error(e);
             throw new ImportException(e.getLocalizedMessage());
         }
-        return tempProcess.getProcess();
     }
 
-    private void linkToParent(TempProcess tempProcess) throws DAOException, ProcessGenerationException, IOException {
-        if (Objects.nonNull(parentTempProcess) && Objects.nonNull(parentTempProcess.getProcess())) {
-            URI parentProcessUri = ServiceManager.getProcessService()
-                    .getMetadataFileUri(parentTempProcess.getProcess());
+    private static void linkToParent(Process process) throws ProcessGenerationException, IOException {
+        Process parentProcess = process.getParent();
+        // several mass import workers may add links to the same parent workpiece
+        synchronized (PARENT_LINK_LOCK) {
+            URI parentProcessUri = ServiceManager.getProcessService().getMetadataFileUri(parentProcess);
             Workpiece workpiece = ServiceManager.getMetsService().loadWorkpiece(parentProcessUri);
             if (Objects.isNull(workpiece)) {
                 throw new ProcessGenerationException("Workpiece of parent process is null!");
             }
-            MetadataEditor.addLink(workpiece.getLogicalStructure(), tempProcess.getProcess().getId());
+            MetadataEditor.addLink(workpiece.getLogicalStructure(), process.getId());
             try (OutputStream outputStream = ServiceManager.getFileService().write(parentProcessUri)) {
                 ServiceManager.getMetsService().save(workpiece, outputStream);
             }
-            ProcessService.setParentRelations(parentTempProcess.getProcess(), tempProcess.getProcess());
+            ProcessService.setParentRelations(parentProcess, process);
         }
     }
 
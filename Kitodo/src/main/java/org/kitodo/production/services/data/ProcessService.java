@@ -19,24 +19,14 @@ import static org.opensearch.index.query.QueryBuilders.matchQuery;
 import static org.opensearch.index.query.QueryBuilders.multiMatchQuery;
 import static org.opensearch.index.query.QueryBuilders.nestedQuery;
 
-import com.itextpdf.text.Document;
-import com.itextpdf.text.DocumentException;
-import com.itextpdf.text.PageSize;
-import com.itextpdf.text.Paragraph;
-import com.itextpdf.text.Rectangle;
-import com.itextpdf.text.pdf.PdfPTable;
-import com.itextpdf.text.pdf.PdfWriter;
-
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.math.BigInteger;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.text.DateFormat;
@@ -51,8 +41,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -78,19 +67,8 @@ import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.search.join.ScoreMode;
-import org.apache.poi.hssf.usermodel.HSSFCell;
-import org.apache.poi.hssf.usermodel.HSSFRow;
-import org.apache.poi.hssf.usermodel.HSSFSheet;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.DataFormatter;
-import org.apache.poi.ss.usermodel.Row;
-import org.json.JSONArray;
-import org.json.JSONObject;
-import org.json.XML;
 import org.kitodo.api.dataeditor.rulesetmanagement.FunctionalDivision;
 import org.kitodo.api.dataformat.LogicalDivision;
-import org.kitodo.api.dataformat.PhysicalDivision;
 import org.kitodo.api.dataformat.Workpiece;
 import org.kitodo.api.docket.DocketData;
 import org.kitodo.api.docket.DocketInterface;
@@ -116,6 +94,7 @@ import org.kitodo.data.database.enums.IndexAction;
 import org.kitodo.data.database.enums.TaskStatus;
 import org.kitodo.data.database.exceptions.DAOException;
 import org.kitodo.data.database.persistence.BaseDAO;
+import org.kitodo.data.database.persistence.BeanAction;
 import org.kitodo.data.database.persistence.ProcessDAO;
 import org.kitodo.data.elasticsearch.exceptions.CustomResponseException;
 import org.kitodo.data.elasticsearch.index.Indexer;
@@ -134,11 +113,15 @@ import org.kitodo.production.dto.PropertyDTO;
 import org.kitodo.production.dto.TaskDTO;
 import org.kitodo.production.enums.ObjectType;
 import org.kitodo.production.enums.ProcessState;
+import org.kitodo.production.enums.SearchResultFormat;
 import org.kitodo.production.helper.Helper;
 import org.kitodo.production.helper.SearchResultGeneration;
 import org.kitodo.production.helper.WebDav;
 import org.kitodo.production.helper.metadata.ImageHelper;
 import org.kitodo.production.helper.metadata.MetadataHelper;
+import org.kitodo.production.helper.metadata.MetsIndexData;
+import org.kitodo.production.helper.metadata.MetsIndexDataCache;
+import org.kitodo.production.helper.metadata.MetsIndexDataReader;
 import org.kitodo.production.helper.metadata.legacytypeimplementations.LegacyDocStructHelperInterface;
 import org.kitodo.production.helper.metadata.legacytypeimplementations.LegacyMetadataHelper;
 import org.kitodo.production.helper.metadata.legacytypeimplementations.LegacyMetadataTypeHelper;
@@ -149,8 +132,8 @@ import org.kitodo.production.metadata.copier.CopierData;
 import org.kitodo.production.metadata.copier.DataCopier;
 import org.kitodo.production.services.ServiceManager;
 import org.kitodo.production.services.data.base.ProjectSearchService;
-import org.kitodo.production.services.dataformat.MetsService;
 import org.kitodo.production.services.file.FileService;
+import org.kitodo.production.services.index.IndexUpdateQueue;
 import org.kitodo.production.services.workflow.WorkflowControllerService;
 import org.kitodo.production.workflow.KitodoNamespaceContext;
 import org.kitodo.serviceloader.KitodoServiceLoader;
@@ -329,19 +312,6 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
         return parents;
     }
 
-    private int getNumberOfImagesForIndex(Workpiece workpiece) {
-        return Math.toIntExact(Workpiece.treeStream(workpiece.getPhysicalStructure())
-                .filter(physicalDivision -> Objects.equals(physicalDivision.getType(), PhysicalDivision.TYPE_PAGE)).count());
-    }
-
-    private int getNumberOfMetadata(Workpiece workpiece) {
-        return Math.toIntExact(MetsService.countLogicalMetadata(workpiece));
-    }
-
-    private int getNumberOfStructures(Workpiece workpiece) {
-        return Math.toIntExact(Workpiece.treeStream(workpiece.getLogicalStructure()).count());
-    }
-
     @Override
     public void addAllObjectsToIndex(List<Process> processes) throws CustomResponseException, DAOException, IOException {
         for (Process process : processes) {
@@ -350,23 +320,41 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
         super.addAllObjectsToIndex(processes);
     }
 
+    @Override
+    public Map<Integer, Map<String, Object>> createDocuments(List<Process> processes) throws IOException {
+        for (Process process : processes) {
+            enrichProcessData(process, true);
+        }
+        return super.createDocuments(processes);
+    }
+
     private void enrichProcessData(Process process, boolean forIndexingAll) throws IOException {
-        process.setMetadata(getMetadataForIndex(process, forIndexingAll));
+        process.setMetadata(Collections.emptyList());
         URI metadataFilePath = fileService.getMetadataFilePath(process, false, forIndexingAll);
-        if (!fileService.fileExist(metadataFilePath)) {
+        File metadataFile = fileService.getFile(metadataFilePath);
+        long length = metadataFile.length();
+        long lastModified = metadataFile.lastModified();
+        if (lastModified == 0L) {
             logger.info("No metadata file for indexing: {}", metadataFilePath);
-        } else {
-            try {
-                Workpiece workpiece = ServiceManager.getMetsService().loadWorkpiece(metadataFilePath);
-                process.setNumberOfImages(getNumberOfImagesForIndex(workpiece));
-                process.setNumberOfMetadata(getNumberOfMetadata(workpiece));
-                process.setNumberOfStructures(getNumberOfStructures(workpiece));
-                process.setBaseType(getBaseType(workpiece));
-            } catch (IllegalArgumentException | IOException e) {
+            return;
+        }
+        MetsIndexDataCache metsIndexDataCache = MetsIndexDataCache.getInstance();
+        MetsIndexData metsIndexData = metsIndexDataCache.get(process.getId(), metadataFile, length, lastModified);
+        if (Objects.isNull(metsIndexData)) {
+            try (InputStream inputStream = fileService.read(metadataFilePath)) {
+                metsIndexData = MetsIndexDataReader.read(inputStream);
+            } catch (IOException e) {
                 logger.warn("Cannot read metadata file for indexing: {}", metadataFilePath);
                 logger.catching(Level.DEBUG, e);
+                return;
             }
+            metsIndexDataCache.put(process.getId(), metadataFile, length, lastModified, metsIndexData);
         }
+        process.setMetadata(metsIndexData.getMetadata());
+        process.setNumberOfImages(metsIndexData.getNumberOfImages());
+        process.setNumberOfMetadata(metsIndexData.getNumberOfMetadata());
+        process.setNumberOfStructures(metsIndexData.getNumberOfStructures());
+        process.setBaseType(metsIndexData.getBaseType());
     }
 
     /**
@@ -578,6 +566,89 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
         dao.saveList(list);
     }
 
+    /**
+     * Runs the given action for the processes of a project, in order of id.
+     * The processes are loaded from the database in chunks of
+     * {@code bulkOperationChunkSize}, and each chunk is released before the
+     * next one is loaded, so that operations on large projects run in
+     * constant memory.
+     *
+     * @param projectId
+     *            ID of the project
+     * @param lastId
+     *            processes up to this id are skipped, 0 to process all
+     * @param action
+     *            action to run for each process
+     * @return the number of processed processes
+     */
+    public int forEachProcessOfProject(int projectId, int lastId, BeanAction<Process> action) throws DAOException {
+        return dao.forEachOfProject(projectId, lastId,
+            Math.max(1, ConfigCore.getIntParameterOrDefaultValue(ParameterCore.BULK_OPERATION_CHUNK_SIZE)), action);
+    }
+
+    /**
+     * Counts the processes of a project.
+     *
+     * @param projectId
+     *            ID of the project
+     * @return the number of processes
+     */
+    public long countProcessesOfProject(int projectId) throws DAOException {
+        return countDatabaseRows("SELECT COUNT(*) FROM Process WHERE project.id = :projectId",
+            Collections.singletonMap("projectId", projectId));
+    }
+
+    /**
+     * Save list of processes to database in one transaction and write them and
+     * their tasks to the index in bulk requests. This avoids a transaction and
+     * several index requests for each process when saving the many processes
+     * of a multi-volume work or an EAD collection. As with
+     * {@link #save(Process, boolean)}, the processes are written to the index
+     * later if asynchronous indexing is enabled.
+     *
+     * @param processes
+     *            processes to save
+     */
+    public void saveListAndIndex(List<Process> processes) throws DataException {
+        if (processes.isEmpty()) {
+            return;
+        }
+        for (Process process : processes) {
+            WorkflowControllerService.updateProcessSortHelperStatus(process);
+            process.setIndexAction(IndexAction.INDEX);
+        }
+        try {
+            dao.saveList(processes);
+            List<Task> tasks = new ArrayList<>();
+            Set<Project> projects = new LinkedHashSet<>();
+            for (Process process : processes) {
+                tasks.addAll(process.getTasks());
+                if (Objects.nonNull(process.getProject())) {
+                    projects.add(process.getProject());
+                }
+            }
+            if (IndexUpdateQueue.isEnabled()) {
+                for (Process process : processes) {
+                    IndexUpdateQueue.add(this, process.getId(), false);
+                }
+                for (Task task : tasks) {
+                    IndexUpdateQueue.add(ServiceManager.getTaskService(), task.getId(), false);
+                }
+                for (Project project : projects) {
+                    IndexUpdateQueue.add(ServiceManager.getProjectService(), project.getId(), false);
+                }
+                return;
+            }
+            addAllObjectsToIndex(processes);
+            ServiceManager.getTaskService().addAllObjectsToIndex(tasks);
+            for (Project project : projects) {
+                ServiceManager.getProjectService().saveToIndex(project, false);
+            }
+        } catch (DAOException | CustomResponseException | IOException e) {
+            throw new DataException(e);
+        }
+    }
+
     @Override
     public void refresh(Process process) {
         dao.refresh(process);
@@ -1018,14 +1089,31 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
         processDTO.setProgressCombined(ProcessTypeField.PROGRESS_COMBINED.getStringValue(jsonObject));
     }
 
+    @Override
+    protected void prefetchRelatedDTOs(List<Map<String, Object>> jsonObjects, boolean related)
+            throws DataException {
+        if (related) {
+            return;
+        }
+        Set<Integer> projects = new HashSet<>();
+        Set<Integer> rulesets = new HashSet<>();
+        for (Map<String, Object> jsonObject : jsonObjects) {
+            projects.add(ProcessTypeField.PROJECT_ID.getIntValue(jsonObject));
+            rulesets.add(ProcessTypeField.RULESET.getIntValue(jsonObject));
+        }
+        ServiceManager.getProjectService().findRelatedByIds(projects, true);
+        ServiceManager.getRulesetService().findRelatedByIds(rulesets, true);
+        ServiceManager.getTaskService().findByIds(getRelatedIds(jsonObjects, ProcessTypeField.TASKS.getKey()), true);
+    }
+
     private void convertRelatedJSONObjects(Map<String, Object> jsonObject, ProcessDTO processDTO) throws DataException {
         int project = ProcessTypeField.PROJECT_ID.getIntValue(jsonObject);
         if (project > 0) {
-            processDTO.setProject(ServiceManager.getProjectService().findById(project, true));
+            processDTO.setProject(ServiceManager.getProjectService().findRelatedById(project, true));
         }
         int ruleset = ProcessTypeField.RULESET.getIntValue(jsonObject);
         if (ruleset > 0) {
-            processDTO.setRuleset(ServiceManager.getRulesetService().findById(ruleset, true));
+            processDTO.setRuleset(ServiceManager.getRulesetService().findRelatedById(ruleset, true));
         }
 
         processDTO.setBatchID(getBatchID(processDTO));
@@ -1554,43 +1642,19 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
      *            for generating search results
      */
     public void generateResultAsPdf(String filter, boolean showClosedProcesses, boolean showInactiveProjects)
-            throws DocumentException, IOException {
-        FacesContext facesContext = FacesContext.getCurrentInstance();
-        if (!facesContext.getResponseComplete()) {
-            ExternalContext response = prepareHeaderInformation(facesContext, "search.pdf");
-            try (OutputStream out = response.getResponseOutputStream()) {
-                SearchResultGeneration sr = new SearchResultGeneration(filter, showClosedProcesses,
-                        showInactiveProjects);
-                HSSFWorkbook wb = sr.getResult();
-                List<List<HSSFCell>> rowList = new ArrayList<>();
-                HSSFSheet mySheet = wb.getSheetAt(0);
-                Iterator<Row> rowIter = mySheet.rowIterator();
-                while (rowIter.hasNext()) {
-                    HSSFRow myRow = (HSSFRow) rowIter.next();
-                    Iterator<Cell> cellIter = myRow.cellIterator();
-                    List<HSSFCell> row = new ArrayList<>();
-                    while (cellIter.hasNext()) {
-                        HSSFCell myCell = (HSSFCell) cellIter.next();
-                        row.add(myCell);
-                    }
-                    rowList.add(row);
-                }
-                Document document = new Document();
-                Rectangle rectangle = new Rectangle(PageSize.A3.getHeight(), PageSize.A3.getWidth());
-                PdfWriter.getInstance(document, out);
-                document.setPageSize(rectangle);
-                document.open();
-                if (!rowList.isEmpty()) {
-                    Paragraph paragraph = new Paragraph(rowList.get(0).get(0).toString());
-                    document.add(paragraph);
-                    document.add(getPdfTable(rowList));
-                }
+            throws IOException {
+        generateResult(filter, showClosedProcesses, showInactiveProjects, SearchResultFormat.PDF);
+    }
 
-                document.close();
-                out.flush();
-                facesContext.responseComplete();
-            }
-        }
+    /**
+     * Generate result as comma-separated values.
+     *
+     * @param filter
+     *            for generating search results
+     */
+    public void generateResultAsCsv(String filter, boolean showClosedProcesses, boolean showInactiveProjects)
+            throws IOException {
+        generateResult(filter, showClosedProcesses, showInactiveProjects, SearchResultFormat.CSV);
     }
 
     /**
@@ -1601,14 +1665,17 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
      */
     public void generateResult(String filter, boolean showClosedProcesses, boolean showInactiveProjects)
             throws IOException {
+        generateResult(filter, showClosedProcesses, showInactiveProjects, SearchResultFormat.XLSX);
+    }
+
+    private void generateResult(String filter, boolean showClosedProcesses, boolean showInactiveProjects,
+            SearchResultFormat format) throws IOException {
         FacesContext facesContext = FacesContext.getCurrentInstance();
         if (!facesContext.getResponseComplete()) {
-            ExternalContext response = prepareHeaderInformation(facesContext, "search.xls");
+            ExternalContext response = prepareHeaderInformation(facesContext, format.getFileName());
             try (OutputStream out = response.getResponseOutputStream()) {
-                SearchResultGeneration sr = new SearchResultGeneration(filter, showClosedProcesses,
-                        showInactiveProjects);
-                HSSFWorkbook wb = sr.getResult();
-                wb.write(out);
+                new SearchResultGeneration(filter, showClosedProcesses, showInactiveProjects).writeResult(format,
+                    out);
                 out.flush();
                 facesContext.responseComplete();
             }
@@ -1649,23 +1716,6 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
         return externalContext;
     }
 
-    private PdfPTable getPdfTable(List<List<HSSFCell>> rowList) throws DocumentException {
-        // create formatter for cells with default locale
-        DataFormatter formatter = new DataFormatter();
-
-        PdfPTable table = new PdfPTable(8);
-        table.setSpacingBefore(20);
-        table.setWidths(new int[] {4, 1, 2, 1, 1, 1, 2, 2 });
-        for (List<HSSFCell> row : rowList) {
-            for (HSSFCell hssfCell : row) {
-                String stringCellValue = formatter.formatCellValue(hssfCell);
-                table.addCell(stringCellValue);
-            }
-        }
-
-        return table;
-    }
-
     private static DocketInterface initialiseDocketModule() {
         KitodoServiceLoader<DocketInterface> loader = new KitodoServiceLoader<>(DocketInterface.class);
         return loader.loadModule();
@@ -2122,85 +2172,6 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
         return commentsForDocket;
     }
 
-    private List<Map<String, Object>> getMetadataForIndex(Process process) {
-        return getMetadataForIndex(process, false);
-    }
-
-    @SuppressWarnings("unchecked")
-    private List<Map<String, Object>> getMetadataForIndex(Process process, boolean forIndexingAll) {
-        try {
-            URI metadataFileUri = ServiceManager.getFileService().getMetadataFilePath(process, false, true);
-            if (!ServiceManager.getFileService().fileExist(metadataFileUri)) {
-                logger.info("No metadata file for indexing: {}", metadataFileUri);
-                return Collections.emptyList();
-            }
-            String metadataFile;
-            try (InputStream inputStream = ServiceManager.getFileService().readMetadataFile(process, forIndexingAll)) {
-                metadataFile = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
-            }
-            JSONObject xmlJSONObject = XML.toJSONObject(metadataFile);
-            Map<String, Object> json = iterateOverJsonObject(xmlJSONObject);
-            if (json.containsKey("mets")) {
-                Map<String, Object> mets = (Map<String, Object>) json.get("mets");
-                Object dmdSec = mets.get("dmdSec");
-                List<Map<String, Object>> metadata = new ArrayList<>();
-                if (dmdSec instanceof List) {
-                    metadata = (List<Map<String, Object>>) dmdSec;
-                } else if (dmdSec instanceof Map) {
-                    metadata.add((Map<String, Object>) dmdSec);
-                }
-                return metadata;
-            }
-        } catch (NullPointerException | IOException e) {
-            logger.warn(e.getMessage(), e);
-        }
-        return Collections.emptyList();
-    }
-
-    private Map<String, Object> iterateOverJsonObject(JSONObject xmlJSONObject) {
-        Iterator<String> keys = xmlJSONObject.keys();
-        Map<String, Object> json = new HashMap<>();
-        while (keys.hasNext()) {
-            String key = keys.next();
-            Object value = xmlJSONObject.get(key);
-            if (value instanceof String || value instanceof Integer) {
-                json.put(prepareKey(key), value);
-            } else if (value instanceof Long || value instanceof BigInteger) {
-                json.put(prepareKey(key), value.toString());
-            } else if (value instanceof JSONObject) {
-                JSONObject jsonObject = (JSONObject) value;
-                Map<String, Object> map = iterateOverJsonObject(jsonObject);
-                json.put(prepareKey(key), map);
-            } else if (value instanceof JSONArray) {
-                json.put(prepareKey(key), iterateOverJsonArray((JSONArray) value));
-            }
-        }
-        return json;
-    }
-
-    private Object iterateOverJsonArray(JSONArray jsonArray) {
-        int jsonArraySize = jsonArray.length();
-        List<Object> json = new ArrayList<>(jsonArraySize);
-        for (int i = 0; i < jsonArraySize; i++) {
-            Object value = jsonArray.get(i);
-            if (value instanceof JSONObject) {
-                json.add(iterateOverJsonObject((JSONObject) value));
-            } else if (value instanceof String) {
-                json.add(value);
-            } else if (value instanceof JSONArray) {
-                json.add(iterateOverJsonArray((JSONArray) value));
-            }
-        }
-        return json;
-    }
-
-    private String prepareKey(String key) {
-        if (key.contains(":")) {
-            return key.substring(key.indexOf(':') + 1);
-        }
-        return key;
-    }
-
     /**
      * Retrieve and return process property value of property with given name
      * 'propertyName' from given ProcessDTO 'process'.
@@ -2721,21 +2692,13 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
     }
 
     /**
-     * Create and return HorizontalBarChartModel for given processes.
+     * Create and return HorizontalBarChartModel for given task durations.
      *
-     * @param processes List of processes
+     * @param durationOfTasks durations of the tasks in days by task title, in task order, by process title, as
+     *                        given by {@code StatisticService.getDurationOfTasks()}
      * @return HorizontalBarChartModel
      */
-    public HorizontalBarChartModel getBarChartModel(List<Process> processes) {
-        LinkedHashMap<String, LinkedHashMap<String,Integer>> durationOfTasks = new LinkedHashMap<>();
-        for (Process selectedProcess : processes) {
-            LinkedHashMap<String,Integer> taskValues = new LinkedHashMap<>();
-            for (Task task  : selectedProcess.getTasks()) {
-                long durationInDays = ServiceManager.getTaskService().getDurationInDays(task);
-                taskValues.put(task.getTitle(), Math.toIntExact(durationInDays));
-            }
-            durationOfTasks.put(selectedProcess.getTitle(), taskValues);
-        }
+    public HorizontalBarChartModel getBarChartModel(Map<String, Map<String, Integer>> durationOfTasks) {
         ChartData data = new ChartData();
         boolean isTask;
         int i = 0;
@@ -2744,7 +2707,7 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
             HorizontalBarChartDataSet barDataSet = new HorizontalBarChartDataSet();
             List<Number> taskDurations = new ArrayList<>();
             for (String processTitle : durationOfTasks.keySet()) {
-                LinkedHashMap<String, Integer> tasksForProcess = durationOfTasks.get(processTitle);
+                Map<String, Integer> tasksForProcess = durationOfTasks.get(processTitle);
                 ArrayList<Integer> durations = new ArrayList<>(tasksForProcess.values());
                 Integer taskDuration = 0;
                 if (durations.size() > i) {
@@ -2785,28 +2748,6 @@ public class ProcessService extends ProjectSearchService<Process, ProcessDTO, Pr
         return options;
     }
 
-    /**
-     * Aggregate and return statistical data about task status of given processes.
-     *
-     * @param processes List of processes for which statistical data is aggregated.
-     * @return statistical data about tasks status of given processes
-     */
-    public Map<String, Integer> getProcessTaskStates(List<Process> processes) {
-        Map<String, Integer> processTaskStates = new LinkedHashMap<>();
-        for (Process process : processes) {
-            Task currentTask = ServiceManager.getProcessService().getCurrentTask(process);
-            if (Objects.nonNull(currentTask)) {
-                String currentTaskTitle = currentTask.getTitle();
-                if (processTaskStates.containsKey(currentTaskTitle)) {
-                    processTaskStates.put(currentTaskTitle, Math.addExact(processTaskStates.get(currentTaskTitle), 1));
-                } else {
-                    processTaskStates.put(currentTaskTitle, 1);
-                }
-            }
-        }
-        return processTaskStates;
-    }
-
     /**
      * Get all tasks of given process which should be visible to the user.
      * @param processDTO process as DTO object
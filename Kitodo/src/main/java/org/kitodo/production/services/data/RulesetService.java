@@ -11,6 +11,7 @@
 
 package org.kitodo.production.services.data;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Paths;
@@ -54,6 +55,7 @@ import org.kitodo.production.helper.Helper;
 import org.kitodo.production.helper.metadata.legacytypeimplementations.LegacyPrefsHelper;
 import org.kitodo.production.services.ServiceManager;
 import org.kitodo.production.services.data.base.ClientSearchService;
+import org.kitodo.production.services.dataeditor.RulesetRegistry;
 import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.Operator;
 import org.opensearch.index.query.QueryBuilder;
@@ -233,7 +235,10 @@ public class RulesetService extends ClientSearchService<Ruleset, RulesetDTO, Rul
     }
 
     /**
-     * Acquires a ruleset Management and loads a ruleset into it.
+     * Returns a ruleset Management in which the ruleset has been loaded. The
+     * loaded ruleset is shared via the {@link RulesetRegistry} as long as its
+     * files are unchanged, so the returned ruleset management must not be
+     * loaded with another ruleset.
      *
      * @param ruleset
      *            database object that references the ruleset
@@ -241,11 +246,11 @@ public class RulesetService extends ClientSearchService<Ruleset, RulesetDTO, Rul
      */
     public RulesetManagementInterface openRuleset(Ruleset ruleset) throws IOException {
         final long begin = System.nanoTime();
-        RulesetManagementInterface rulesetManagement = ServiceManager.getRulesetManagementService()
-                .getRulesetManagement();
         String fileName = ruleset.getFile();
+        File rulesetFile = Paths.get(ConfigCore.getParameter(ParameterCore.DIR_RULESETS), fileName).toFile();
+        RulesetManagementInterface rulesetManagement;
         try {
-            rulesetManagement.load(Paths.get(ConfigCore.getParameter(ParameterCore.DIR_RULESETS), fileName).toFile());
+            rulesetManagement = RulesetRegistry.getInstance().open(rulesetFile);
         } catch (FileNotFoundException | IllegalArgumentException e) {
             throw new RulesetNotFoundException(fileName);
         }
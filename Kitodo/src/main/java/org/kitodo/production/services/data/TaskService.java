@@ -17,6 +17,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -332,7 +333,7 @@ public class TaskService extends ProjectSearchService<Task, TaskDTO, TaskDAO> {
          */
         int process = TaskTypeField.PROCESS_ID.getIntValue(jsonObject);
         if (process > 0 && !related) {
-            taskDTO.setProcess(ServiceManager.getProcessService().findById(process, true));
+            taskDTO.setProcess(ServiceManager.getProcessService().findRelatedById(process, true));
             taskDTO.setBatchAvailable(ServiceManager.getProcessService()
                     .isProcessAssignedToOnlyOneBatch(taskDTO.getProcess().getBatches()));
         }
@@ -350,6 +351,18 @@ public class TaskService extends ProjectSearchService<Task, TaskDTO, TaskDAO> {
         return taskDTO;
     }
 
+    @Override
+    protected void prefetchRelatedDTOs(List<Map<String, Object>> jsonObjects, boolean related)
+            throws DataException {
+        if (!related) {
+            Set<Integer> processes = new HashSet<>();
+            for (Map<String, Object> jsonObject : jsonObjects) {
+                processes.add(TaskTypeField.PROCESS_ID.getIntValue(jsonObject));
+            }
+            ServiceManager.getProcessService().findRelatedByIds(processes, true);
+        }
+    }
+
     /**
      * Parses and adds properties related to the project of a task to the taskDTO.
      * 
@@ -517,7 +530,7 @@ public class TaskService extends ProjectSearchService<Task, TaskDTO, TaskDAO> {
                 logger.info("Calling the shell: {}", script);
 
                 CommandService commandService = ServiceManager.getCommandService();
-                CommandResult commandResult = commandService.runCommand(script);
+                CommandResult commandResult = commandService.runCommand(script, CommandService.TASK_SCRIPT);
                 executedSuccessful = commandResult.isSuccessful();
             }
             finishOrReturnAutomaticTask(task, automatic, executedSuccessful);
@@ -20,9 +20,11 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
@@ -186,10 +188,10 @@ public class TemplateService extends ClientSearchService<Template, TemplateDTO,
         templateDTO.setTitle(TemplateTypeField.TITLE.getStringValue(jsonObject));
         templateDTO.setActive(TemplateTypeField.ACTIVE.getBooleanValue(jsonObject));
         templateDTO.setCreationDate(TemplateTypeField.CREATION_DATE.getStringValue(jsonObject));
-        templateDTO.setDocket(
-            ServiceManager.getDocketService().findById(TemplateTypeField.DOCKET.getIntValue(jsonObject)));
-        templateDTO.setRuleset(
-            ServiceManager.getRulesetService().findById(TemplateTypeField.RULESET_ID.getIntValue(jsonObject)));
+        templateDTO.setDocket(ServiceManager.getDocketService()
+                .findRelatedById(TemplateTypeField.DOCKET.getIntValue(jsonObject), false));
+        templateDTO.setRuleset(ServiceManager.getRulesetService()
+                .findRelatedById(TemplateTypeField.RULESET_ID.getIntValue(jsonObject), false));
         WorkflowDTO workflowDTO = new WorkflowDTO();
         workflowDTO.setTitle(TemplateTypeField.WORKFLOW_TITLE.getStringValue(jsonObject));
         templateDTO.setWorkflow(workflowDTO);
@@ -204,6 +206,20 @@ public class TemplateService extends ClientSearchService<Template, TemplateDTO,
         return templateDTO;
     }
 
+    @Override
+    protected void prefetchRelatedDTOs(List<Map<String, Object>> jsonObjects, boolean related)
+            throws DataException {
+        Set<Integer> dockets = new HashSet<>();
+        Set<Integer> rulesets = new HashSet<>();
+        for (Map<String, Object> jsonObject : jsonObjects) {
+            dockets.add(TemplateTypeField.DOCKET.getIntValue(jsonObject));
+            rulesets.add(TemplateTypeField.RULESET_ID.getIntValue(jsonObject));
+        }
+        ServiceManager.getDocketService().findRelatedByIds(dockets, false);
+        ServiceManager.getRulesetService().findRelatedByIds(rulesets, false);
+        ServiceManager.getTaskService().findByIds(getRelatedIds(jsonObjects, TemplateTypeField.TASKS.getKey()), true);
+    }
+
     private void convertRelatedJSONObjects(Map<String, Object> jsonObject, TemplateDTO templateDTO)
             throws DataException {
         templateDTO.setProjects(convertRelatedJSONObjectToDTO(jsonObject, TemplateTypeField.PROJECTS.getKey(),
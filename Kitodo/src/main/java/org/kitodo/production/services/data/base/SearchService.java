@@ -19,13 +19,18 @@ import static org.opensearch.index.query.QueryBuilders.termsQuery;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import javax.json.JsonObject;
 import javax.ws.rs.HttpMethod;
@@ -45,10 +50,13 @@ import org.kitodo.data.elasticsearch.search.enums.SearchCondition;
 import org.kitodo.data.exceptions.DataException;
 import org.kitodo.production.dto.BaseDTO;
 import org.kitodo.production.helper.Helper;
+import org.kitodo.production.helper.cache.RequestScopeCacheHelper;
 import org.kitodo.production.services.data.ProjectService;
+import org.kitodo.production.services.index.IndexUpdateQueue;
 import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.Operator;
 import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.search.aggregations.AggregationBuilder;
 import org.opensearch.search.aggregations.AggregationBuilders;
 import org.opensearch.search.aggregations.Aggregations;
 import org.opensearch.search.aggregations.BucketOrder;
@@ -67,6 +75,7 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
         extends SearchDatabaseService<T, V> {
 
     private static final Logger logger = LogManager.getLogger(SearchService.class);
+    private static final String RELATED_DTOS_CACHE_KEY = "SearchService.relatedDTOs.";
     protected Searcher searcher;
     protected Indexer indexer;
     protected BaseType type;
@@ -133,6 +142,37 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
         return dao.getAllNotIndexed(offset, size);
     }
 
+    /**
+     * Get objects from database with an id greater than the given one, ordered
+     * by id.
+     *
+     * @param lastId
+     *            id of the last object of the previous page, 0 for the first
+     *            page
+     * @param size
+     *            amount of results
+     * @return list of objects from database following the given id
+     */
+    public List<T> getAllAfterId(int lastId, int size) throws DAOException {
+        return dao.getAllAfterId(lastId, size);
+    }
+
+    /**
+     * Get not indexed objects from database with an id greater than the given
+     * one, ordered by id. Not indexed means that row has index action INDEX or
+     * NULL.
+     *
+     * @param lastId
+     *            id of the last object of the previous page, 0 for the first
+     *            page
+     * @param size
+     *            amount of results
+     * @return list of not indexed objects from database following the given id
+     */
+    public List<T> getAllNotIndexedAfterId(int lastId, int size) throws DAOException {
+        return dao.getAllNotIndexedAfterId(lastId, size);
+    }
+
     /**
      * Get all DTO objects from index an convert them for frontend with all
      * relations.
@@ -198,6 +238,38 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
         }
     }
 
+    /**
+     * Method writes the objects with the given ids to the index in one bulk
+     * request and marks them as indexed in the database. Objects which do not
+     * exist in the database anymore are skipped. Used by
+     * {@link IndexUpdateQueue}.
+     *
+     * @param ids
+     *            ids of the objects, mapped to whether their related objects
+     *            need to be updated in the index as well
+     */
+    public void saveToIndex(Map<Integer, Boolean> ids)
+            throws CustomResponseException, DAOException, DataException, IOException {
+        List<T> baseIndexedBeans = new ArrayList<>();
+        for (Integer id : ids.keySet()) {
+            try {
+                baseIndexedBeans.add(getById(id));
+            } catch (DAOException e) {
+                logger.debug("Object with id {} not found, skip indexing: {}", id, e.getMessage());
+            }
+        }
+        if (baseIndexedBeans.isEmpty()) {
+            return;
+        }
+        indexer.performMultipleRequests(createDocuments(baseIndexedBeans), true);
+        for (T baseIndexedBean : baseIndexedBeans) {
+            if (ids.get(baseIndexedBean.getId())) {
+                manageDependenciesForIndex(baseIndexedBean);
+            }
+        }
+        saveAsIndexed(baseIndexedBeans);
+    }
+
     /**
      * Method adds all object found in database to Elastic Search index.
      *
@@ -213,6 +285,36 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
         }
     }
 
+    /**
+     * Create the index documents for the given objects without sending them to
+     * the index.
+     *
+     * @param baseIndexedBeans
+     *            List of BaseIndexedBean objects
+     * @return documents mapped by the id of their beans
+     */
+    @SuppressWarnings("unchecked")
+    public Map<Integer, Map<String, Object>> createDocuments(List<T> baseIndexedBeans) throws IOException {
+        return type.createDocuments(baseIndexedBeans);
+    }
+
+    /**
+     * Method adds documents created by {@link #createDocuments(List)} to the
+     * index and marks their objects as indexed.
+     *
+     * @param baseIndexedBeans
+     *            List of BaseIndexedBean objects the documents were created from
+     * @param documents
+     *            documents mapped by the id of their beans
+     */
+    public void addDocumentsToIndex(List<T> baseIndexedBeans, Map<Integer, Map<String, Object>> documents)
+            throws CustomResponseException, DAOException {
+        if (!documents.isEmpty()) {
+            indexer.performMultipleRequests(documents);
+            saveAsIndexed(baseIndexedBeans);
+        }
+    }
+
     /**
      * Method removes document from the index of Elastic Search.
      *
@@ -280,6 +382,10 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
      * fails and in that case, even if index is up to date, in some point of the
      * future it will be reindexed by administrator.
      *
+     * <p>
+     * If asynchronous indexing is enabled, the method returns after the first
+     * step and the object is written to the index by {@link IndexUpdateQueue}.
+     *
      * @param baseIndexedBean
      *            object
      *
@@ -289,6 +395,11 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
         try {
             baseIndexedBean.setIndexAction(IndexAction.INDEX);
             saveToDatabase(baseIndexedBean);
+            RequestScopeCacheHelper.removeFromCache(RELATED_DTOS_CACHE_KEY);
+            if (IndexUpdateQueue.isEnabled()) {
+                IndexUpdateQueue.add(this, baseIndexedBean.getId(), updateRelatedObjectsInIndex);
+                return;
+            }
             // TODO: find out why properties lists are save double
             T savedBean = getById(baseIndexedBean.getId());
             saveToIndex(savedBean, true);
@@ -350,6 +461,7 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
         try {
             baseIndexedBean.setIndexAction(IndexAction.DELETE);
             saveToDatabase(baseIndexedBean);
+            RequestScopeCacheHelper.removeFromCache(RELATED_DTOS_CACHE_KEY);
             T savedBean = getById(baseIndexedBean.getId());
             removeFromIndex(savedBean, true);
             manageDependenciesForIndex(savedBean);
@@ -538,6 +650,35 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
         }
     }
 
+    /**
+     * Find a page of sorted DTO objects by query, following the given sort
+     * values. In contrast to paging with an offset, this can read all objects
+     * responding to the query, even beyond the first 10,000.
+     *
+     * @param query
+     *            as QueryBuilder object
+     * @param sort
+     *            sort condition, must give the objects a total order, for
+     *            example by id
+     * @param searchAfter
+     *            sort values of the last object of the previous page, or null
+     *            for the first page
+     * @param size
+     *            number of objects of the page
+     * @param related
+     *            determines if converted object is related to some other object (if
+     *            so, objects related to it are not included in conversion)
+     * @return list of found DTO objects
+     */
+    public List<S> findByQueryAfter(QueryBuilder query, SortBuilder sort, Object[] searchAfter, int size,
+            boolean related) throws DataException {
+        try {
+            return convertJSONObjectsToDTOs(searcher.findDocumentsAfter(query, sort, searchAfter, size), related);
+        } catch (CustomResponseException e) {
+            throw new DataException(e);
+        }
+    }
+
     /**
      * Convert list of JSONObject object to list of DTO objects.
      *
@@ -551,6 +692,9 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
     protected List<S> convertJSONObjectsToDTOs(List<Map<String, Object>> jsonObjects, boolean related)
             throws DataException {
         List<S> results = new ArrayList<>();
+        if (jsonObjects.size() > 1) {
+            prefetchRelatedDTOs(jsonObjects, related);
+        }
 
         for (Map<String, Object> jsonObject : jsonObjects) {
             results.add(convertJSONObjectToDTO(jsonObject, related));
@@ -559,6 +703,138 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
         return results;
     }
 
+    /**
+     * Finds the related objects of all given JSON objects before they are
+     * converted one by one, so that the related objects of a whole result page
+     * are queried with one query per type. The found objects are kept by
+     * {@link #findByIds(Collection, boolean)} and
+     * {@link #findRelatedByIds(Collection, boolean)} until the end of the
+     * request. The default implementation does nothing.
+     *
+     * @param jsonObjects
+     *            JSON objects which are going to be converted
+     * @param related
+     *            whether the JSON objects are converted as related objects
+     */
+    protected void prefetchRelatedDTOs(List<Map<String, Object>> jsonObjects, boolean related)
+            throws DataException {
+    }
+
+    /**
+     * Find DTO objects by their ids with the same restrictions as
+     * {@link #findByQuery(QueryBuilder, boolean)}. Objects not found before in
+     * the current request are queried with one query, and the found objects are
+     * kept until the end of the request. Outside of a request, the objects are
+     * queried on each call.
+     *
+     * @param ids
+     *            ids of the objects
+     * @param related
+     *            determines if converted object is related to some other object (if
+     *            so, objects related to it are not included in conversion)
+     * @return found DTO objects mapped by their ids, in the order of the given
+     *         ids
+     */
+    public Map<Integer, S> findByIds(Collection<Integer> ids, boolean related) throws DataException {
+        Map<Integer, S> foundDTOs = getDTOsOfRequest("query", related);
+        List<Integer> missingIds = getMissingIds(ids, foundDTOs);
+        if (!missingIds.isEmpty()) {
+            for (S dto : findByQuery(createSetQueryForIds(missingIds), related)) {
+                foundDTOs.put(dto.getId(), dto);
+            }
+        }
+        return getFoundDTOs(ids, foundDTOs);
+    }
+
+    /**
+     * Find DTO objects by their ids like {@link #findById(Integer, boolean)}
+     * does, but with one query for all objects not found before in the current
+     * request. The found objects are kept until the end of the request.
+     *
+     * @param ids
+     *            ids of the objects
+     * @param related
+     *            determines if converted object is related to some other object (if
+     *            so, objects related to it are not included in conversion)
+     * @return found DTO objects mapped by their ids, in the order of the given
+     *         ids
+     */
+    public Map<Integer, S> findRelatedByIds(Collection<Integer> ids, boolean related) throws DataException {
+        Map<Integer, S> foundDTOs = getDTOsOfRequest("id", related);
+        List<Integer> missingIds = getMissingIds(ids, foundDTOs);
+        if (!missingIds.isEmpty()) {
+            try {
+                for (Map<String, Object> jsonObject : searcher.findDocuments(createSetQueryForIds(missingIds))) {
+                    S dto = convertJSONObjectToDTO(jsonObject, related);
+                    foundDTOs.put(dto.getId(), dto);
+                }
+            } catch (CustomResponseException e) {
+                throw new DataException(e);
+            }
+        }
+        return getFoundDTOs(ids, foundDTOs);
+    }
+
+    /**
+     * Find object related to previously found object like
+     * {@link #findById(Integer, boolean)} does, using the objects already found
+     * in the current request by {@link #findRelatedByIds(Collection, boolean)}.
+     *
+     * @param id
+     *            related object id
+     * @param related
+     *            determines if converted object is related to some other object (if
+     *            so, objects related to it are not included in conversion)
+     * @return related DTO object
+     */
+    public S findRelatedById(Integer id, boolean related) throws DataException {
+        S dto = findRelatedByIds(Collections.singletonList(id), related).get(id);
+        return Objects.nonNull(dto) ? dto : findById(id, related);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Integer, S> getDTOsOfRequest(String lookup, boolean related) {
+        return RequestScopeCacheHelper.getFromCache(
+            RELATED_DTOS_CACHE_KEY + getClass().getSimpleName() + "." + lookup + "." + related,
+            ConcurrentHashMap::new, Map.class);
+    }
+
+    private List<Integer> getMissingIds(Collection<Integer> ids, Map<Integer, S> foundDTOs) {
+        return ids.stream().filter(id -> Objects.nonNull(id) && id > 0).filter(id -> !foundDTOs.containsKey(id))
+                .distinct().collect(Collectors.toList());
+    }
+
+    private Map<Integer, S> getFoundDTOs(Collection<Integer> ids, Map<Integer, S> foundDTOs) {
+        Map<Integer, S> dtos = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            S dto = foundDTOs.get(id);
+            if (Objects.nonNull(dto)) {
+                dtos.put(id, dto);
+            }
+        }
+        return dtos;
+    }
+
+    /**
+     * Get the ids of the objects related by the given key to any of the given
+     * JSON objects.
+     *
+     * @param jsonObjects
+     *            results from ElasticSearch
+     * @param key
+     *            name of related property
+     * @return ids of related objects
+     */
+    protected Set<Integer> getRelatedIds(List<Map<String, Object>> jsonObjects, String key) {
+        Set<Integer> ids = new HashSet<>();
+        for (Map<String, Object> jsonObject : jsonObjects) {
+            if (jsonObject.get(key) instanceof List) {
+                ids.addAll(getRelatedPropertyForDTO(jsonObject, key));
+            }
+        }
+        return ids;
+    }
+
     /**
      * Convert related JSONObject object to bean object.
      *
@@ -580,7 +856,7 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
             query.must(((ProjectService)service).getProjectsForCurrentUserQuery());
             return service.findByQuery(query, true);
         }
-        return service.findByQuery(createSetQueryForIds(ids), true);
+        return new ArrayList<>(service.findByIds(ids, true).values());
     }
 
     /**
@@ -835,6 +1111,23 @@ public abstract class SearchService<T extends BaseIndexedBean, S extends BaseDTO
         return queryStringQuery(key + ".keyword: *" + value + "*");
     }
 
+    /**
+     * Aggregate the documents responding to the given query.
+     *
+     * @param query
+     *            selecting the documents to aggregate
+     * @param aggregation
+     *            aggregation to compute
+     * @return the results of the aggregation
+     */
+    public Aggregations aggregate(QueryBuilder query, AggregationBuilder aggregation) throws DataException {
+        try {
+            return searcher.aggregateDocuments(query, aggregation);
+        } catch (CustomResponseException e) {
+            throw new DataException(e);
+        }
+    }
+
     protected Long findCountAggregation(QueryBuilder query, String field) throws DataException {
         try {
             Aggregations jsonObject = searcher.aggregateDocuments(query, AggregationBuilders.count(field).field(field));
@@ -0,0 +1,169 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.dataeditor;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.api.dataeditor.rulesetmanagement.RulesetManagementInterface;
+import org.kitodo.production.services.ServiceManager;
+
+/**
+ * Holds the loaded rulesets of the application. A ruleset file is loaded once
+ * and the loaded ruleset is handed out to all callers until one of its files
+ * changes, then it is loaded again. A replaced ruleset remains valid for the
+ * callers still holding it. At most {@value #MAXIMUM_SIZE} rulesets are held,
+ * the ruleset used least recently is dropped first.
+ */
+public class RulesetRegistry {
+    private static final Logger logger = LogManager.getLogger(RulesetRegistry.class);
+    private static final int MAXIMUM_SIZE = 64;
+    private static volatile RulesetRegistry instance = null;
+
+    /**
+     * The current loaded ruleset per ruleset file, in order of use.
+     */
+    private final Map<File, RegisteredRuleset> rulesets = new LinkedHashMap<File, RegisteredRuleset>(16, 0.75f,
+            true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<File, RegisteredRuleset> eldest) {
+            return size() > MAXIMUM_SIZE;
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong reloads = new AtomicLong();
+
+    /**
+     * Return singleton variable of type RulesetRegistry.
+     *
+     * @return unique instance of RulesetRegistry
+     */
+    public static RulesetRegistry getInstance() {
+        RulesetRegistry localReference = instance;
+        if (Objects.isNull(localReference)) {
+            synchronized (RulesetRegistry.class) {
+                localReference = instance;
+                if (Objects.isNull(localReference)) {
+                    localReference = new RulesetRegistry();
+                    instance = localReference;
+                }
+            }
+        }
+        return localReference;
+    }
+
+    /**
+     * Returns the loaded ruleset of a file. The returned ruleset management
+     * must not be loaded with another ruleset.
+     *
+     * @param rulesetFile
+     *            ruleset file
+     * @return the loaded ruleset
+     * @throws IOException
+     *             if the ruleset cannot be loaded
+     */
+    public RulesetManagementInterface open(File rulesetFile) throws IOException {
+        return getRegisteredRuleset(rulesetFile.getAbsoluteFile()).get();
+    }
+
+    /**
+     * Returns how often a ruleset could be handed out without loading it.
+     *
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Returns how often a ruleset had to be loaded for the first time.
+     *
+     * @return the number of misses
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Returns how often a ruleset had to be loaded again because one of its
+     * files was changed.
+     *
+     * @return the number of reloads
+     */
+    public long getReloadCount() {
+        return reloads.get();
+    }
+
+    /**
+     * Removes all loaded rulesets. Rulesets still in use remain valid for
+     * their holders.
+     */
+    public void clear() {
+        synchronized (rulesets) {
+            rulesets.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        int size;
+        synchronized (rulesets) {
+            size = rulesets.size();
+        }
+        return "RulesetRegistry [size=" + size + ", hits=" + hits + ", misses=" + misses + ", reloads=" + reloads
+                + "]";
+    }
+
+    private RegisteredRuleset getRegisteredRuleset(File rulesetFile) {
+        synchronized (rulesets) {
+            return rulesets.computeIfAbsent(rulesetFile, RegisteredRuleset::new);
+        }
+    }
+
+    /**
+     * The loaded ruleset of one file. Loading is synchronized per file, so
+     * that loading one ruleset does not block handing out others.
+     */
+    private final class RegisteredRuleset {
+        private final File rulesetFile;
+        private RulesetManagementInterface rulesetManagement;
+
+        private RegisteredRuleset(File rulesetFile) {
+            this.rulesetFile = rulesetFile;
+        }
+
+        private synchronized RulesetManagementInterface get() throws IOException {
+            if (Objects.nonNull(rulesetManagement) && rulesetManagement.isUpToDate()) {
+                hits.incrementAndGet();
+                return rulesetManagement;
+            }
+            RulesetManagementInterface loaded = ServiceManager.getRulesetManagementService().getRulesetManagement();
+            loaded.load(rulesetFile);
+            if (Objects.isNull(rulesetManagement)) {
+                misses.incrementAndGet();
+            } else {
+                reloads.incrementAndGet();
+            }
+            rulesetManagement = loaded;
+            logger.debug("Loaded ruleset {}, {}", rulesetFile, RulesetRegistry.this);
+            return loaded;
+        }
+    }
+}
@@ -64,6 +64,7 @@ import org.kitodo.production.dto.ProcessDTO;
 import org.kitodo.production.file.BackupFileRotation;
 import org.kitodo.production.helper.Helper;
 import org.kitodo.production.helper.metadata.ImageHelper;
+import org.kitodo.production.helper.metadata.MetsIndexDataCache;
 import org.kitodo.production.helper.metadata.legacytypeimplementations.LegacyMetsModsDigitalDocumentHelper;
 import org.kitodo.production.helper.metadata.pagination.Paginator;
 import org.kitodo.production.helper.tasks.TaskManager;
@@ -339,6 +340,7 @@ public class FileService {
      * @return an output stream to the file at the given URI or null
      */
     public OutputStream write(URI uri) throws IOException {
+        invalidateMetsIndexData(uri);
         return fileManagementModule.write(uri);
     }
 
@@ -388,7 +390,10 @@ public class FileService {
      *             is thrown if renaming the file fails permanently
      */
     public URI renameFile(URI fileUri, String newFileName) throws IOException {
-        return fileManagementModule.rename(fileUri, newFileName);
+        URI renamedUri = fileManagementModule.rename(fileUri, newFileName);
+        invalidateMetsIndexData(fileUri);
+        invalidateMetsIndexData(renamedUri);
+        return renamedUri;
     }
 
     /**
@@ -436,6 +441,7 @@ public class FileService {
      */
     public void copyDirectory(URI sourceDirectory, URI targetDirectory) throws IOException {
         fileManagementModule.copy(sourceDirectory, targetDirectory);
+        invalidateMetsIndexData(targetDirectory);
     }
 
     /**
@@ -450,6 +456,7 @@ public class FileService {
      */
     public void copyFile(URI sourceUri, URI destinationUri) throws IOException {
         fileManagementModule.copy(sourceUri, destinationUri);
+        invalidateMetsIndexData(destinationUri);
     }
 
     /**
@@ -468,6 +475,7 @@ public class FileService {
             targetDirectory = URI.create(target.concat("/"));
         }
         fileManagementModule.copy(sourceDirectory, targetDirectory);
+        invalidateMetsIndexData(targetDirectory);
     }
 
     /**
@@ -480,6 +488,7 @@ public class FileService {
      *             if get of module fails
      */
     public boolean delete(URI uri) throws IOException {
+        invalidateMetsIndexData(uri);
         return fileManagementModule.delete(uri);
     }
 
@@ -561,6 +570,8 @@ public class FileService {
      */
     public void moveDirectory(URI sourceUri, URI targetUri) throws IOException {
         fileManagementModule.move(sourceUri, targetUri);
+        invalidateMetsIndexData(sourceUri);
+        invalidateMetsIndexData(targetUri);
     }
 
     /**
@@ -575,6 +586,8 @@ public class FileService {
      */
     public void moveFile(URI sourceUri, URI targetUri) throws IOException {
         fileManagementModule.move(sourceUri, targetUri);
+        invalidateMetsIndexData(sourceUri);
+        invalidateMetsIndexData(targetUri);
     }
 
     /**
@@ -1068,6 +1081,7 @@ public class FileService {
     public boolean deleteProcessContent(Process process) throws IOException {
         for (ProcessSubType processSubType : ProcessSubType.values()) {
             URI processSubTypeURI = getProcessSubTypeURI(process, processSubType, null);
+            invalidateMetsIndexData(processSubTypeURI);
             if (!fileManagementModule.delete(processSubTypeURI)) {
                 return false;
             }
@@ -1430,6 +1444,25 @@ public class FileService {
         return fileManagementModule.getFile(uri);
     }
 
+    /**
+     * Removes the index data read from METS files at or below the given URI
+     * from the cache, because the files are about to be changed.
+     *
+     * @param uri
+     *            file or directory that is changed
+     */
+    private void invalidateMetsIndexData(URI uri) {
+        if (Objects.isNull(uri)) {
+            return;
+        }
+        try {
+            MetsIndexDataCache.getInstance().invalidate(getFile(uri));
+        } catch (IllegalArgumentException e) {
+            // not a local file, so it cannot be a cached METS file
+            logger.trace("Not a local file: {}", uri);
+        }
+    }
+
     /**
      * Deletes the slash as first character from an uri object.
      *
@@ -20,12 +20,19 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -33,9 +40,16 @@ import java.util.stream.Stream;
 
 import javax.imageio.ImageIO;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.kitodo.api.imagemanagement.ImageFileFormat;
+import org.kitodo.api.validation.ValidationResult;
+import org.kitodo.api.validation.longtermpreservation.FileType;
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.KitodoConfig;
+import org.kitodo.config.enums.ParameterCore;
 import org.kitodo.config.xml.fileformats.FileFormat;
 import org.kitodo.data.database.beans.Folder;
 import org.kitodo.production.enums.GenerationMode;
@@ -45,6 +59,7 @@ import org.kitodo.production.helper.tasks.EmptyTask;
 import org.kitodo.production.model.Subfolder;
 import org.kitodo.production.services.ServiceManager;
 import org.kitodo.production.services.file.FileService;
+import org.kitodo.production.services.validation.LongTermPreservationValidationService;
 import org.kitodo.production.thread.TaskImageGeneratorThread;
 import org.kitodo.production.thread.TaskScriptThread;
 
@@ -56,6 +71,13 @@ import org.kitodo.production.thread.TaskScriptThread;
  */
 public class ImageGenerator implements Runnable {
     private static final Logger logger = LogManager.getLogger(ImageGenerator.class);
+
+    /**
+     * Configuration key of the SSH hosts on which the image management module
+     * runs ImageMagick.
+     */
+    private static final String IMAGE_MANAGEMENT_SSH_HOSTS = "ImageManagement.sshHosts";
+
     private final FileService fileService = ServiceManager.getFileService();
     private final ImageService imageService = ServiceManager.getImageService();
 
@@ -99,6 +121,11 @@ public class ImageGenerator implements Runnable {
      */
     private final GenerationMode mode;
 
+    /**
+     * Validation results of the images existing in the output folders, by URI.
+     */
+    private final Map<URI, ValidationResult> validationResults = new HashMap<>();
+
     /**
      * Creates a new image generator.
      *
@@ -151,7 +178,9 @@ public class ImageGenerator implements Runnable {
     }
 
     /**
-     * Generates a set of derivatives.
+     * Generates a set of derivatives. All derivatives which are created by the
+     * image management module are created in one call, so that the source
+     * image is read only once.
      *
      * @param instruction
      *            Instruction, which pictures are to be generated. Left: image
@@ -164,8 +193,20 @@ public class ImageGenerator implements Runnable {
      */
     public void createDerivatives(ContentToBeGenerated instruction) {
         try {
+            Map<URI, Pair<Double, ImageFileFormat>> derivatives = new LinkedHashMap<>();
             for (Subfolder destinationFolder : instruction.getSubfoldersWhoseContentsAreToBeGenerated()) {
-                generateDerivative(instruction.getSourceURI(), destinationFolder, instruction.getCanonical());
+                Optional<Double> optionalDerivative = destinationFolder.getFolder().getDerivative();
+                Optional<ImageFileFormat> optionalImageFileFormat = destinationFolder.getFileFormat()
+                        .getImageFileFormat();
+                if (optionalDerivative.isPresent() && optionalImageFileFormat.isPresent()) {
+                    derivatives.put(destinationFolder.getUri(instruction.getCanonical()),
+                        Pair.of(optionalDerivative.get(), optionalImageFileFormat.get()));
+                } else {
+                    generateDerivative(instruction.getSourceURI(), destinationFolder, instruction.getCanonical());
+                }
+            }
+            if (!derivatives.isEmpty()) {
+                imageService.createDerivatives(instruction.getSourceURI(), derivatives);
             }
         } catch (IOException e) {
             throw new UndeclaredThrowableException(e);
@@ -215,7 +256,7 @@ public class ImageGenerator implements Runnable {
      */
     public List<Subfolder> determineFoldersThatNeedDerivatives(String canonical) {
         List<Subfolder> foldersThatNeedDerivatives = new ArrayList<>(outputs.size());
-        Predicate<? super Subfolder> requiresGeneration = mode.getFilter(canonical);
+        Predicate<? super Subfolder> requiresGeneration = mode.getFilter(canonical, validationResults);
         for (Subfolder folder : outputs) {
             if (requiresGeneration.test(folder)) {
                 foldersThatNeedDerivatives.add(folder);
@@ -224,6 +265,31 @@ public class ImageGenerator implements Runnable {
         return foldersThatNeedDerivatives;
     }
 
+    /**
+     * Validates the images existing in the output folders for all sources in
+     * one go per folder, so that the validation module can validate several
+     * images at the same time. Only needed if damaged images are to be
+     * generated again.
+     */
+    public void validateExistingImages() {
+        if (!mode.equals(GenerationMode.MISSING_OR_DAMAGED)) {
+            return;
+        }
+        LongTermPreservationValidationService validationService = new LongTermPreservationValidationService();
+        for (Subfolder folder : outputs) {
+            Optional<FileType> fileType = folder.getFileFormat().getFileType();
+            if (fileType.isPresent()) {
+                List<URI> existingImages = new ArrayList<>(sources.size());
+                for (Pair<String, URI> source : sources) {
+                    folder.getURIIfExists(source.getKey()).ifPresent(existingImages::add);
+                }
+                if (!existingImages.isEmpty()) {
+                    validationResults.putAll(validationService.validate(existingImages, fileType.get()));
+                }
+            }
+        }
+    }
+
     /**
      * Gets the file list from the content folder, converts it into the required
      * form, and stores it in the sources field.
@@ -236,7 +302,8 @@ public class ImageGenerator implements Runnable {
     }
 
     /**
-     * Generates the derivative depending on the declared generator function.
+     * Generates a derivative with the on-board tools of Java, if the
+     * destination folder declares it.
      *
      * @param sourceImage
      *            source file
@@ -254,16 +321,93 @@ public class ImageGenerator implements Runnable {
         boolean isChangingDpi = imageProperties.getDpi().isPresent();
         boolean isGettingSizedWebImage = imageProperties.getImageSize().isPresent();
 
-        Optional<Double> optionalDerivative = imageProperties.getDerivative();
-        if (optionalDerivative.isPresent() && destinationImage.getFileFormat().getImageFileFormat().isPresent()) {
-            imageService.createDerivative(sourceImage, optionalDerivative.get(), destinationImage.getUri(canonical),
-                destinationImage.getFileFormat().getImageFileFormat().orElseThrow(IllegalStateException::new));
-        } else if (isChangingDpi || isGettingSizedWebImage) {
+        if (isChangingDpi || isGettingSizedWebImage) {
             createImageWithImageIO(sourceImage, imageProperties, destinationImage.getFileFormat(),
                 destinationImage.getUri(canonical));
         }
     }
 
+    /**
+     * Generates all elements to be generated. Several images are generated at
+     * the same time, depending on the configured number of threads per host
+     * and the number of hosts running ImageMagick. The progress is reported
+     * to the supervisor after each image.
+     */
+    public void generateImages() {
+        int threads = Math.min(getNumberOfThreads(), contentToBeGenerated.size());
+        if (threads <= 1) {
+            for (ContentToBeGenerated instruction : contentToBeGenerated) {
+                if (isInterrupted()) {
+                    return;
+                }
+                generateImage(instruction);
+            }
+            return;
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, ImageGenerator.class.getSimpleName() + '-'
+                    + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> results = new ArrayList<>(contentToBeGenerated.size());
+            for (ContentToBeGenerated instruction : contentToBeGenerated) {
+                results.add(workers.submit(() -> {
+                    if (!isInterrupted()) {
+                        generateImage(instruction);
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new UndeclaredThrowableException(e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Generates the derivatives of one source image and reports the progress.
+     *
+     * @param instruction
+     *            the element to be generated
+     */
+    private void generateImage(ContentToBeGenerated instruction) {
+        letTheSupervisorDo(emptyTask -> emptyTask.setWorkDetail(
+            Helper.getTranslation("generateImages", instruction.getCanonical())));
+        logger.info("Generating {}", instruction);
+        createDerivatives(instruction);
+        synchronized (this) {
+            position++;
+            setProgress();
+        }
+    }
+
+    /**
+     * Returns the number of images to generate at the same time.
+     *
+     * @return the number of threads
+     */
+    private static int getNumberOfThreads() {
+        int threadsPerHost = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.IMAGE_GENERATOR_THREADS_PER_HOST);
+        String sshHosts = KitodoConfig.getParameter(IMAGE_MANAGEMENT_SSH_HOSTS, "");
+        int hosts = Math.max(1, (int) Stream.of(sshHosts.split(",")).filter(StringUtils::isNotBlank).count());
+        return Math.max(1, threadsPerHost) * hosts;
+    }
+
+    private boolean isInterrupted() {
+        return Objects.nonNull(supervisor) && supervisor.isInterrupted();
+    }
+
     /**
      * Returns from contentToBeGenerated the item specified by position.
      *
@@ -357,7 +501,7 @@ public class ImageGenerator implements Runnable {
      */
     @Override
     public void run() {
-        do {
+        while (!state.equals(ImageGeneratorStep.GENERATE_IMAGES)) {
             state.accept(this);
             if (state.equals(ImageGeneratorStep.DETERMINE_WHICH_IMAGES_NEED_TO_BE_GENERATED) && position == -1
                     && sources.isEmpty()) {
@@ -369,12 +513,14 @@ public class ImageGenerator implements Runnable {
             }
             position++;
             setProgress();
-            if (Objects.nonNull(supervisor) && supervisor.isInterrupted()) {
+            if (isInterrupted()) {
                 return;
             }
-        } while (!(state.equals(ImageGeneratorStep.GENERATE_IMAGES)
-                && getPosition() == getContentToBeGenerated().size()));
-        logger.info("Completed");
+        }
+        state.accept(this);
+        if (!isInterrupted()) {
+            logger.info("Completed");
+        }
     }
 
     /**
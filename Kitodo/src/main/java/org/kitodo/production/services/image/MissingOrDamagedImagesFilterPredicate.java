@@ -12,6 +12,9 @@
 package org.kitodo.production.services.image;
 
 import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -62,6 +65,11 @@ public class MissingOrDamagedImagesFilterPredicate implements Predicate<Subfolde
      */
     private final String canonical;
 
+    /**
+     * Validation results of images which have already been validated, by URI.
+     */
+    private final Map<URI, ValidationResult> validationResults;
+
     /**
      * Creates a filter predicate that checks if the file exists in the folder
      * and can be validated. The name of the file results from the settings of
@@ -72,7 +80,23 @@ public class MissingOrDamagedImagesFilterPredicate implements Predicate<Subfolde
      *            the canonical part of the file name
      */
     public MissingOrDamagedImagesFilterPredicate(String canonical) {
+        this(canonical, Collections.emptyMap());
+    }
+
+    /**
+     * Creates a filter predicate that checks if the file exists in the folder
+     * and can be validated. Files whose validation result is passed in are not
+     * validated again.
+     *
+     * @param canonical
+     *            the canonical part of the file name
+     * @param validationResults
+     *            validation results of images which have already been
+     *            validated, by URI
+     */
+    public MissingOrDamagedImagesFilterPredicate(String canonical, Map<URI, ValidationResult> validationResults) {
         this.canonical = canonical;
+        this.validationResults = validationResults;
     }
 
     /**
@@ -95,8 +119,11 @@ public class MissingOrDamagedImagesFilterPredicate implements Predicate<Subfolde
         }
         Optional<FileType> fileType = folder.getFileFormat().getFileType();
         if (fileType.isPresent()) {
-            LongTermPreservationValidationService serviceLoader = new LongTermPreservationValidationService();
-            ValidationResult validated = serviceLoader.validate(imageURI.get(), fileType.get());
+            ValidationResult validated = validationResults.get(imageURI.get());
+            if (Objects.isNull(validated)) {
+                LongTermPreservationValidationService serviceLoader = new LongTermPreservationValidationService();
+                validated = serviceLoader.validate(imageURI.get(), fileType.get());
+            }
             if (validated.getState().equals(State.SUCCESS)) {
                 logger.info(VALIDATION_SUCCESS, canonical, folder, validated.getState());
                 return false;
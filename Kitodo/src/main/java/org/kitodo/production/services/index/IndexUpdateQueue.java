@@ -0,0 +1,208 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.index;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.annotation.WebListener;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.enums.ParameterCore;
+import org.kitodo.production.services.data.base.SearchService;
+
+/**
+ * Collects objects which have been saved to the database and writes them to
+ * the index in the background. Objects saved several times before the next
+ * write are indexed only once, and all objects of one type are sent in one bulk
+ * request. If writing fails, the objects keep their index action INDEX in the
+ * database, so that they are picked up by indexing the remaining objects.
+ *
+ * <p>The class is registered as listener of the servlet container, so that
+ * pending objects are written when the application is shut down.</p>
+ */
+@WebListener
+public class IndexUpdateQueue implements ServletContextListener {
+
+    private static final Logger logger = LogManager.getLogger(IndexUpdateQueue.class);
+
+    /**
+     * Ids of the objects to index per service, mapped to whether their related
+     * objects have to be updated in the index as well.
+     */
+    private static final Map<SearchService<?, ?, ?>, Map<Integer, Boolean>> pending = new LinkedHashMap<>();
+
+    private static ScheduledExecutorService writer;
+
+    /**
+     * Whether objects taken from the queue are being written to the index.
+     */
+    private static boolean flushing;
+
+    /**
+     * Returns whether saved objects are written to the index asynchronously.
+     *
+     * @return whether asynchronous indexing is enabled
+     */
+    public static boolean isEnabled() {
+        return ConfigCore.getBooleanParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_ASYNC_INDEXING);
+    }
+
+    /**
+     * Adds an object to be written to the index. If the object is already
+     * pending, it is indexed only once. If asynchronous indexing is enabled,
+     * the writer thread is started with the first object.
+     *
+     * @param searchService
+     *            service of the object
+     * @param id
+     *            id of the object
+     * @param updateRelatedObjects
+     *            whether related objects need to be updated in the index
+     */
+    public static void add(SearchService<?, ?, ?> searchService, Integer id, boolean updateRelatedObjects) {
+        synchronized (pending) {
+            pending.computeIfAbsent(searchService, key -> new LinkedHashMap<>()).merge(id, updateRelatedObjects,
+                Boolean::logicalOr);
+            if (Objects.isNull(writer) && isEnabled()) {
+                startWriter();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of objects waiting to be written to the index.
+     *
+     * @return number of pending objects
+     */
+    public static int size() {
+        synchronized (pending) {
+            return pending.values().stream().mapToInt(Map::size).sum();
+        }
+    }
+
+    /**
+     * Writes all pending objects to the index and waits until they are
+     * visible to search.
+     */
+    public static synchronized void flush() {
+        Map<SearchService<?, ?, ?>, Map<Integer, Boolean>> objects;
+        synchronized (pending) {
+            objects = new LinkedHashMap<>(pending);
+            pending.clear();
+            flushing = true;
+        }
+        try {
+            for (Map.Entry<SearchService<?, ?, ?>, Map<Integer, Boolean>> entry : objects.entrySet()) {
+                try {
+                    entry.getKey().saveToIndex(entry.getValue());
+                } catch (Exception e) {
+                    logger.error("Writing {} objects to the index failed, they remain marked for indexing",
+                        entry.getValue().size(), e);
+                }
+            }
+        } finally {
+            synchronized (pending) {
+                flushing = false;
+                pending.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until all pending objects have been written to the index, either
+     * by the writer thread or by {@link #flush()}.
+     *
+     * @param timeout
+     *            maximum time to wait
+     * @param unit
+     *            unit of the timeout
+     * @return whether all objects have been written, {@code false} if the
+     *         timeout elapsed before
+     * @throws InterruptedException
+     *             if the thread is interrupted while waiting
+     */
+    public static boolean awaitFlushed(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (pending) {
+            while (!pending.isEmpty() || flushing) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(pending, remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Stops the writer thread and discards all pending objects. They remain
+     * marked for indexing in the database.
+     */
+    static void reset() {
+        synchronized (pending) {
+            stopWriter();
+            pending.clear();
+            pending.notifyAll();
+        }
+    }
+
+    private static void startWriter() {
+        int interval = ConfigCore.getIntParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_ASYNC_INDEXING_INTERVAL);
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, IndexUpdateQueue.class.getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(IndexUpdateQueue::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * When the servlet is unloaded, the pending objects are written to the
+     * index and the writer thread is stopped.
+     *
+     * @see javax.servlet.ServletContextListener#contextDestroyed(javax.servlet.ServletContextEvent)
+     */
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        synchronized (pending) {
+            stopWriter();
+        }
+        flush();
+    }
+
+    private static void stopWriter() {
+        if (Objects.nonNull(writer)) {
+            writer.shutdownNow();
+            writer = null;
+        }
+    }
+
+    /**
+     * The writer thread is started with the first pending object.
+     *
+     * @see javax.servlet.ServletContextListener#contextInitialized(javax.servlet.ServletContextEvent)
+     */
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        // nothing is done here
+    }
+}
@@ -47,6 +47,7 @@ import org.kitodo.data.exceptions.DataException;
 import org.kitodo.production.enums.IndexStates;
 import org.kitodo.production.enums.ObjectType;
 import org.kitodo.production.helper.Helper;
+import org.kitodo.production.helper.IndexPipeline;
 import org.kitodo.production.helper.IndexWorker;
 import org.kitodo.production.helper.IndexWorkerStatus;
 import org.kitodo.production.services.ServiceManager;
@@ -317,15 +318,24 @@ public class IndexingService {
         // create new thread-safe indexing status
         indexWorkerStatus = new IndexWorkerStatus(maxBatch);
 
-        logger.info("start " + threads + " threads for indexing " + type.toString());
+        List<Runnable> workers = new LinkedList<>();
+        if (ConfigCore.getBooleanParameterOrDefaultValue(ParameterCore.ELASTICSEARCH_PIPELINE)) {
+            workers.addAll(new IndexPipeline(getService(type), type, indexWorkerStatus, indexAllObjects, threads)
+                    .getStages());
+        } else {
+            for (int i = 0; i < threads; i++) {
+                workers.add(new IndexWorker(getService(type), type, indexWorkerStatus, indexAllObjects));
+            }
+        }
+
+        logger.info("start " + workers.size() + " threads for indexing " + type.toString());
         ExecutorService executor = null;
         try {
-            executor = createDeamonizedExecutorService(threads);
+            executor = createDeamonizedExecutorService(workers.size());
 
             List<Future<?>> futures = new LinkedList<Future<?>>();
-            for (int i = 0; i < threads; i++) {
-                Future<?> future = executor.submit(new IndexWorker(getService(type), type, indexWorkerStatus, indexAllObjects));
-                futures.add(future);
+            for (Runnable worker : workers) {
+                futures.add(executor.submit(worker));
             }
 
             waitWhileIndexing(type, futures, pollingChannel);
@@ -19,6 +19,7 @@ import org.kitodo.data.database.beans.User;
 import org.kitodo.data.exceptions.DataException;
 import org.kitodo.production.security.SecurityUserDetails;
 import org.kitodo.production.services.ServiceManager;
+import org.kitodo.security.AuthorityIndex;
 import org.kitodo.security.SecurityAccess;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -82,7 +83,8 @@ public class SecurityAccessService extends SecurityAccess {
 
     /**
      * Update Authentication object of current threads security context
-     * after changing current parameters of authenticated user.
+     * after changing current parameters of authenticated user. The authorities
+     * of the user are compiled for the permission checks of the session.
      *
      * @param updatedUser as Object of the updated authenticated user
      */
@@ -91,6 +93,7 @@ public class SecurityAccessService extends SecurityAccess {
         userDetails.setSessionClient(ServiceManager.getUserService().getSessionClientOfAuthenticatedUser());
         Authentication authentication = new UsernamePasswordAuthenticationToken(userDetails, userDetails.getPassword(),
                 userDetails.getAuthorities());
+        userDetails.setAuthorityIndex(AuthorityIndex.compile(authentication.getAuthorities()));
         SecurityContextHolder.getContext().setAuthentication(authentication);
     }
 
@@ -0,0 +1,316 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.statistic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.enums.ParameterCore;
+import org.kitodo.data.database.enums.TaskStatus;
+import org.kitodo.data.elasticsearch.index.type.enums.ProcessTypeField;
+import org.kitodo.data.elasticsearch.index.type.enums.TaskTypeField;
+import org.kitodo.data.exceptions.DataException;
+import org.kitodo.production.services.ServiceManager;
+import org.kitodo.production.services.data.base.SearchService;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.aggregations.Aggregations;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregation;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.composite.CompositeValuesSourceBuilder;
+import org.opensearch.search.aggregations.bucket.composite.TermsValuesSourceBuilder;
+import org.opensearch.search.aggregations.metrics.Min;
+import org.opensearch.search.aggregations.metrics.TopHits;
+import org.opensearch.search.sort.SortOrder;
+
+/**
+ * Computes the statistics of a selection of processes with aggregations in the
+ * index, so that the processes do not have to be loaded from the database. The
+ * selection is given as a query on the process index. Its processes are
+ * determined first, then the tasks of these processes are aggregated. The
+ * results are kept for a short time per client and query, so that switching
+ * between the charts does not compute them again.
+ */
+public class StatisticService {
+
+    private static volatile StatisticService instance = null;
+
+    /**
+     * Number of buckets read from the index at a time.
+     */
+    private static final int BUCKETS_PER_REQUEST = 1000;
+
+    /**
+     * Number of process IDs the tasks are aggregated for in one go. Stays
+     * below the maximum number of terms of a terms query.
+     */
+    private static final int PROCESS_IDS_PER_QUERY = 10000;
+
+    private static final int CACHE_SIZE = 20;
+
+    private static final String PROCESS = "process";
+    private static final String ORDERING = "ordering";
+    private static final String TASK = "task";
+    private static final String ID = "_id";
+
+    private static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+
+    /**
+     * Dates of a task a duration is computed from. A task lasts from its
+     * processing begin, or else its processing time, to its processing end.
+     */
+    private static final TaskTypeField[] DATES = {TaskTypeField.PROCESSING_BEGIN, TaskTypeField.PROCESSING_TIME,
+        TaskTypeField.PROCESSING_END };
+
+    private final long timeToLiveNanos;
+    private final Map<String, CachedStatistic> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedStatistic> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Return singleton variable of type StatisticService.
+     *
+     * @return unique instance of StatisticService
+     */
+    public static StatisticService getInstance() {
+        StatisticService localReference = instance;
+        if (Objects.isNull(localReference)) {
+            synchronized (StatisticService.class) {
+                localReference = instance;
+                if (Objects.isNull(localReference)) {
+                    localReference = new StatisticService(
+                            ConfigCore.getIntParameterOrDefaultValue(ParameterCore.STATISTICS_CACHE_TTL_SEC));
+                    instance = localReference;
+                }
+            }
+        }
+        return localReference;
+    }
+
+    /**
+     * Creates a statistic service.
+     *
+     * @param timeToLiveSecs
+     *            seconds the results are kept, 0 disables caching
+     */
+    StatisticService(long timeToLiveSecs) {
+        this.timeToLiveNanos = TimeUnit.SECONDS.toNanos(timeToLiveSecs);
+    }
+
+    /**
+     * Counts the processes by the title of their current task. The current
+     * task of a process is its first task which is open or in work. Processes
+     * without such a task are not counted.
+     *
+     * @param processQuery
+     *            query selecting the processes
+     * @return number of processes by title of the current task
+     */
+    public Map<String, Integer> getProcessTaskStates(QueryBuilder processQuery) throws DataException {
+        return getCached("states", processQuery, () -> {
+            Map<String, Integer> processTaskStates = new LinkedHashMap<>();
+            for (List<Integer> processIds : findProcessIds(processQuery)) {
+                QueryBuilder query = QueryBuilders.boolQuery()
+                        .filter(QueryBuilders.termsQuery(TaskTypeField.PROCESS_ID.getKey(), processIds))
+                        .filter(QueryBuilders.termsQuery(TaskTypeField.PROCESSING_STATUS.getKey(),
+                            Arrays.asList(TaskStatus.OPEN.getValue(), TaskStatus.INWORK.getValue())));
+                CompositeAggregationBuilder aggregation = new CompositeAggregationBuilder(PROCESS,
+                        Collections.singletonList(new TermsValuesSourceBuilder(PROCESS)
+                                .field(TaskTypeField.PROCESS_ID.getKey())))
+                        .subAggregation(AggregationBuilders.topHits(TASK).size(1)
+                                .sort(TaskTypeField.ORDERING.getKey(), SortOrder.ASC)
+                                .fetchSource(TaskTypeField.TITLE.getKey(), null));
+                forEachBucket(ServiceManager.getTaskService(), query, aggregation, (key, aggregations) -> {
+                    TopHits currentTask = aggregations.get(TASK);
+                    String title = Objects.toString(currentTask.getHits().getAt(0).getSourceAsMap()
+                            .get(TaskTypeField.TITLE.getKey()), "");
+                    processTaskStates.merge(title, 1, Math::addExact);
+                });
+            }
+            return processTaskStates;
+        });
+    }
+
+    /**
+     * Returns the processing durations of the tasks, in days. A task which has
+     * not yet been finished lasts until now. The tasks are aggregated by their
+     * document ID, since the tasks of parallel workflow branches share their
+     * ordering. Tasks of the same ordering are listed by their ID.
+     *
+     * @param processQuery
+     *            query selecting the processes
+     * @return the durations by task title, in task order, by process title
+     */
+    public Map<String, Map<String, Integer>> getDurationOfTasks(QueryBuilder processQuery) throws DataException {
+        return getCached("durations", processQuery, () -> {
+            Map<String, List<TaskDuration>> tasksOfProcesses = new LinkedHashMap<>();
+            long currentTime = System.currentTimeMillis();
+            // dates are indexed in local time, but read as UTC
+            double now = currentTime + TimeZone.getDefault().getOffset(currentTime);
+            for (List<Integer> processIds : findProcessIds(processQuery)) {
+                QueryBuilder query = QueryBuilders.termsQuery(TaskTypeField.PROCESS_ID.getKey(), processIds);
+                List<CompositeValuesSourceBuilder<?>> sources = Arrays.asList(
+                    new TermsValuesSourceBuilder(PROCESS).field(TaskTypeField.PROCESS_ID.getKey()),
+                    new TermsValuesSourceBuilder(ORDERING).field(TaskTypeField.ORDERING.getKey()),
+                    new TermsValuesSourceBuilder(TASK).field(ID));
+                CompositeAggregationBuilder aggregation = new CompositeAggregationBuilder(PROCESS, sources)
+                        .subAggregation(AggregationBuilders.topHits(TASK).size(1).fetchSource(
+                            new String[] {TaskTypeField.TITLE.getKey(), TaskTypeField.PROCESS_TITLE.getKey() },
+                            null));
+                for (TaskTypeField date : DATES) {
+                    aggregation.subAggregation(AggregationBuilders.min(date.getKey()).field(date.getKey()));
+                }
+                forEachBucket(ServiceManager.getTaskService(), query, aggregation, (key, aggregations) -> {
+                    Map<String, Object> task = ((TopHits) aggregations.get(TASK)).getHits().getAt(0)
+                            .getSourceAsMap();
+                    String processTitle = Objects.toString(task.get(TaskTypeField.PROCESS_TITLE.getKey()), "");
+                    double end = getDate(aggregations, TaskTypeField.PROCESSING_END, now);
+                    double begin = getDate(aggregations, TaskTypeField.PROCESSING_BEGIN,
+                        getDate(aggregations, TaskTypeField.PROCESSING_TIME, now));
+                    tasksOfProcesses.computeIfAbsent(processTitle, title -> new ArrayList<>())
+                            .add(new TaskDuration(((Number) key.get(ORDERING)).intValue(),
+                                    Integer.parseInt(key.get(TASK).toString()),
+                                    Objects.toString(task.get(TaskTypeField.TITLE.getKey()), ""),
+                                    Math.toIntExact((long) (end - begin) / MILLIS_PER_DAY)));
+                });
+            }
+            Map<String, Map<String, Integer>> durationOfTasks = new LinkedHashMap<>();
+            for (Map.Entry<String, List<TaskDuration>> tasksOfProcess : tasksOfProcesses.entrySet()) {
+                // document IDs are aggregated as strings, so sort them by number
+                tasksOfProcess.getValue().sort(Comparator.comparingInt((TaskDuration task) -> task.ordering)
+                        .thenComparingInt(task -> task.id));
+                Map<String, Integer> durations = new LinkedHashMap<>();
+                for (TaskDuration task : tasksOfProcess.getValue()) {
+                    durations.put(task.title, task.duration);
+                }
+                durationOfTasks.put(tasksOfProcess.getKey(), durations);
+            }
+            return durationOfTasks;
+        });
+    }
+
+    private static double getDate(Aggregations aggregations, TaskTypeField date, double missing) {
+        double value = ((Min) aggregations.get(date.getKey())).getValue();
+        return Double.isInfinite(value) ? missing : value;
+    }
+
+    /**
+     * Determines the IDs of the processes responding to the query, in slices
+     * small enough to be used in a terms query.
+     */
+    private List<List<Integer>> findProcessIds(QueryBuilder processQuery) throws DataException {
+        List<List<Integer>> slices = new ArrayList<>();
+        CompositeAggregationBuilder aggregation = new CompositeAggregationBuilder(PROCESS,
+                Collections.singletonList(new TermsValuesSourceBuilder(PROCESS).field(ProcessTypeField.ID.getKey())));
+        forEachBucket(ServiceManager.getProcessService(), processQuery, aggregation, (key, aggregations) -> {
+            if (slices.isEmpty() || slices.get(slices.size() - 1).size() == PROCESS_IDS_PER_QUERY) {
+                slices.add(new ArrayList<>());
+            }
+            slices.get(slices.size() - 1).add(((Number) key.get(PROCESS)).intValue());
+        });
+        return slices;
+    }
+
+    /**
+     * Reads all buckets of a composite aggregation, page by page.
+     */
+    private static void forEachBucket(SearchService<?, ?, ?> searchService, QueryBuilder query,
+            CompositeAggregationBuilder aggregation, BiConsumer<Map<String, Object>, Aggregations> action)
+            throws DataException {
+        aggregation.size(BUCKETS_PER_REQUEST);
+        Map<String, Object> afterKey = null;
+        do {
+            aggregation.aggregateAfter(afterKey);
+            CompositeAggregation result = searchService.aggregate(query, aggregation).get(aggregation.getName());
+            if (Objects.isNull(result)) {
+                return;
+            }
+            for (CompositeAggregation.Bucket bucket : result.getBuckets()) {
+                action.accept(bucket.getKey(), bucket.getAggregations());
+            }
+            afterKey = result.getBuckets().size() < BUCKETS_PER_REQUEST ? null : result.afterKey();
+        } while (Objects.nonNull(afterKey));
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized <T> T getCachedValue(String key) {
+        CachedStatistic cached = cache.get(key);
+        if (Objects.isNull(cached)) {
+            return null;
+        }
+        if (System.nanoTime() - cached.expires >= 0) {
+            cache.remove(key);
+            return null;
+        }
+        return (T) cached.value;
+    }
+
+    private synchronized void putCachedValue(String key, Object value) {
+        if (timeToLiveNanos > 0) {
+            cache.put(key, new CachedStatistic(value, System.nanoTime() + timeToLiveNanos));
+        }
+    }
+
+    private <T> T getCached(String statistic, QueryBuilder processQuery, StatisticSupplier<T> computation)
+            throws DataException {
+        String key = ServiceManager.getUserService().getSessionClientId() + " " + statistic + " " + processQuery;
+        T value = getCachedValue(key);
+        if (Objects.isNull(value)) {
+            value = computation.get();
+            putCachedValue(key, value);
+        }
+        return value;
+    }
+
+    @FunctionalInterface
+    private interface StatisticSupplier<T> {
+        T get() throws DataException;
+    }
+
+    private static class CachedStatistic {
+        private final Object value;
+        private final long expires;
+
+        CachedStatistic(Object value, long expires) {
+            this.value = value;
+            this.expires = expires;
+        }
+    }
+
+    private static class TaskDuration {
+        private final int ordering;
+        private final int id;
+        private final String title;
+        private final int duration;
+
+        TaskDuration(int ordering, int id, String title, int duration) {
+            this.ordering = ordering;
+            this.id = id;
+            this.title = title;
+            this.duration = duration;
+        }
+    }
+}
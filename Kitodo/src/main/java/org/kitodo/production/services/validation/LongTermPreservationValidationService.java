@@ -12,6 +12,8 @@
 package org.kitodo.production.services.validation;
 
 import java.net.URI;
+import java.util.Collection;
+import java.util.Map;
 
 import org.kitodo.api.validation.ValidationResult;
 import org.kitodo.api.validation.longtermpreservation.FileType;
@@ -53,4 +55,18 @@ public class LongTermPreservationValidationService {
     public ValidationResult validate(URI fileUri, FileType fileType) {
         return longTermPreservationValidation.validate(fileUri, fileType);
     }
+
+    /**
+     * Validates several files of the same type for longTimePreservation. The
+     * module may validate the files concurrently.
+     *
+     * @param fileUris
+     *            The uris to the images, which should be validated.
+     * @param fileType
+     *            The fileType of the images at the given paths.
+     * @return the validation results, by uri
+     */
+    public Map<URI, ValidationResult> validate(Collection<URI> fileUris, FileType fileType) {
+        return longTermPreservationValidation.validate(fileUris, fileType);
+    }
 }
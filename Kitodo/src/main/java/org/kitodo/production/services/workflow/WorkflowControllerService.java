@@ -53,6 +53,7 @@ import org.kitodo.production.helper.metadata.legacytypeimplementations.LegacyPre
 import org.kitodo.production.helper.tasks.TaskManager;
 import org.kitodo.production.metadata.MetadataLock;
 import org.kitodo.production.services.ServiceManager;
+import org.kitodo.production.services.command.CommandService;
 import org.kitodo.production.services.data.TaskService;
 import org.kitodo.production.thread.TaskScriptThread;
 
@@ -670,7 +671,8 @@ public class WorkflowControllerService {
 
         script = replacer.replace(script);
 
-        CommandResult commandResult = ServiceManager.getCommandService().runCommand(script);
+        CommandResult commandResult = ServiceManager.getCommandService().runCommand(script,
+            CommandService.CONDITION_SCRIPT);
         return commandResult.isSuccessful();
     }
 
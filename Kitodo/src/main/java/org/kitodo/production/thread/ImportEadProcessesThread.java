@@ -24,6 +24,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 import javax.xml.namespace.QName;
 import javax.xml.parsers.ParserConfigurationException;
@@ -45,11 +46,13 @@ import org.kitodo.api.Metadata;
 import org.kitodo.api.MetadataEntry;
 import org.kitodo.api.dataeditor.rulesetmanagement.FunctionalMetadata;
 import org.kitodo.api.dataeditor.rulesetmanagement.RulesetManagementInterface;
+import org.kitodo.api.schemaconverter.DataRecord;
 import org.kitodo.config.ConfigCore;
 import org.kitodo.config.enums.ParameterCore;
 import org.kitodo.constants.StringConstants;
 import org.kitodo.data.database.beans.Client;
 import org.kitodo.data.database.beans.ImportConfiguration;
+import org.kitodo.data.database.beans.Process;
 import org.kitodo.data.database.beans.User;
 import org.kitodo.data.database.exceptions.DAOException;
 import org.kitodo.data.exceptions.DataException;
@@ -94,6 +97,7 @@ public class ImportEadProcessesThread extends EmptyTask {
     private final Client client;
     private TempProcess parentProcess = null;
     private int count;
+    private int linkedChildren;
 
     /**
      * Standard constructor, creating instance of ImportEadProcessesThread with settings from given
@@ -129,6 +133,8 @@ public class ImportEadProcessesThread extends EmptyTask {
         List<Integer> newProcessIds = new ArrayList<>();
         int newParentId = 0;
         boolean stopOnError = ConfigCore.getBooleanParameter(ParameterCore.STOP_EAD_COLLECTION_IMPORT_ON_EXCEPTION);
+        int batchSize = ImportService.getHierarchyImportBatchSize();
+        List<String> batch = new ArrayList<>(batchSize);
         try {
             int numberOfElements = XMLUtils.getNumberOfEADElements(xmlString, eadLevel);
             XMLInputFactory inputFactory = XMLInputFactory.newInstance();
@@ -195,18 +201,14 @@ public class ImportEadProcessesThread extends EmptyTask {
                         EndElement endElement = event.asEndElement();
                         String endElementName = endElement.getName().getLocalPart();
                         if (inProcessElement && StringConstants.C_TAG_NAME.equals(endElementName)) {
-                            int progress = (count * 100) / numberOfElements;
-                            setProgress(progress);
                             inProcessElement = false;
                             String content = event.toString();
                             stringBuilder.append(removeDefaultNamespaceUri(content));
-                            try {
-                                newProcessIds.add(parseXmlStringToProcessedTempProcess(stringBuilder.toString()).getProcess().getId());
-                            } catch (Exception e) {
-                                logger.error(e.getMessage(), e);
-                                if (stopOnError) {
-                                    throw new ProcessGenerationException("Unable to create process. Cause: " + e.getMessage());
-                                }
+                            batch.add(stringBuilder.toString());
+                            if (batch.size() >= batchSize) {
+                                importBatch(batch, newProcessIds, stopOnError);
+                                batch.clear();
+                                setProgress((count * 100) / numberOfElements);
                             }
                             stringBuilder = new StringBuilder();
                         } else {
@@ -228,11 +230,12 @@ public class ImportEadProcessesThread extends EmptyTask {
                         break;
                 }
             }
-
+            importBatch(batch, newProcessIds, stopOnError);
+            setProgress(100);
         } catch (XMLStreamException | IOException | ParserConfigurationException | SAXException
                  | UnsupportedFormatException | XPathExpressionException | ProcessGenerationException
                  | URISyntaxException | InvalidMetadataValueException | TransformerException
-                 | NoSuchMetadataFieldException | DataException | CommandException e) {
+                 | NoSuchMetadataFieldException | DataException | CommandException | DAOException e) {
             logger.error(e.getMessage(), e);
             cleanUpProcesses(newProcessIds, newParentId);
             throw new RuntimeException(e);
@@ -296,17 +299,100 @@ public class ImportEadProcessesThread extends EmptyTask {
 
     private TempProcess processTempProcess(TempProcess tempProcess) throws ProcessGenerationException, IOException,
             InvalidMetadataValueException, NoSuchMetadataFieldException, DataException, CommandException {
+        prepareTempProcess(tempProcess);
+        saveTempProcessMetadata(tempProcess);
+        return tempProcess;
+    }
+
+    private void prepareTempProcess(TempProcess tempProcess) throws ProcessGenerationException, IOException,
+            InvalidMetadataValueException, NoSuchMetadataFieldException {
         ProcessHelper.generateAtstslFields(tempProcess, Collections.emptyList(), CREATE, priorityList, false);
         tempProcess.getProcessMetadata().preserve();
         ImportService.processTempProcess(tempProcess, rulesetManagementInterface, CREATE, priorityList, parentProcess);
-        saveTempProcessMetadata(tempProcess);
+    }
+
+    /**
+     * Creates the processes of a batch of EAD elements. The elements are
+     * converted in parallel. The new processes are saved to the database in
+     * one transaction, linked to the parent process at once, and finally
+     * saved again and written to the index in bulk requests.
+     */
+    private void importBatch(List<String> xmlElementStrings, List<Integer> newProcessIds, boolean stopOnError)
+            throws ProcessGenerationException, DAOException, DataException, IOException, CommandException {
+        List<TempProcess> tempProcesses = new ArrayList<>(xmlElementStrings.size());
+        for (Document document : convertXmlStrings(xmlElementStrings, stopOnError)) {
+            try {
+                if (Objects.isNull(document)) {
+                    continue;
+                }
+                TempProcess tempProcess = importService.createTempProcessFromDocument(importConfiguration, document,
+                    templateId, projectId);
+                prepareTempProcess(tempProcess);
+                if (Objects.nonNull(parentProcess)) {
+                    ProcessService.setParentRelations(parentProcess.getProcess(), tempProcess.getProcess());
+                }
+                tempProcesses.add(tempProcess);
+            } catch (ProcessGenerationException | IOException | TransformerException | InvalidMetadataValueException
+                    | NoSuchMetadataFieldException | RuntimeException e) {
+                logger.error(e.getMessage(), e);
+                if (stopOnError) {
+                    throw new ProcessGenerationException("Unable to create process. Cause: " + e.getMessage());
+                }
+            }
+        }
+        if (tempProcesses.isEmpty()) {
+            return;
+        }
+        List<Process> processes = tempProcesses.stream().map(TempProcess::getProcess).collect(Collectors.toList());
+        ServiceManager.getProcessService().saveList(processes);
+        for (Process process : processes) {
+            newProcessIds.add(process.getId());
+        }
+        for (TempProcess tempProcess : tempProcesses) {
+            URI processBaseUri = ServiceManager.getFileService().createProcessLocation(tempProcess.getProcess());
+            tempProcess.getProcess().setProcessBaseUri(processBaseUri);
+            ProcessHelper.saveTempProcessMetadata(tempProcess, rulesetManagementInterface, CREATE, priorityList);
+        }
         if (Objects.nonNull(parentProcess)) {
-            ProcessService.setParentRelations(parentProcess.getProcess(), tempProcess.getProcess());
-            MetadataEditor.addLink(parentProcess.getProcess(), String.valueOf(count - 1), tempProcess.getProcess()
-                    .getId());
-            ServiceManager.getProcessService().save(tempProcess.getProcess(), true);
+            MetadataEditor.addLinks(parentProcess.getProcess(), String.valueOf(linkedChildren),
+                processes.stream().map(Process::getId).collect(Collectors.toList()));
+            linkedChildren += processes.size();
         }
-        return tempProcess;
+        ServiceManager.getProcessService().saveListAndIndex(processes);
+    }
+
+    private List<Document> convertXmlStrings(List<String> xmlElementStrings, boolean stopOnError)
+            throws ProcessGenerationException {
+        List<DataRecord> records = new ArrayList<>(xmlElementStrings.size());
+        try {
+            for (String xmlElementString : xmlElementStrings) {
+                Element element = XMLUtils.parseXMLString(xmlElementString).getDocumentElement();
+                records.add(importService.createRecordFromElement(element, importConfiguration));
+            }
+            return importService.convertDataRecordsToInternal(records, importConfiguration, false);
+        } catch (IOException | ParserConfigurationException | SAXException | TransformerException
+                | UnsupportedFormatException | XPathExpressionException | ProcessGenerationException
+                | URISyntaxException | RuntimeException e) {
+            if (stopOnError) {
+                logger.error(e.getMessage(), e);
+                throw new ProcessGenerationException("Unable to create process. Cause: " + e.getMessage());
+            }
+        }
+        // convert one by one to skip only the elements that cause errors
+        List<Document> documents = new ArrayList<>(xmlElementStrings.size());
+        for (String xmlElementString : xmlElementStrings) {
+            try {
+                Element element = XMLUtils.parseXMLString(xmlElementString).getDocumentElement();
+                documents.add(importService.convertDataRecordToInternal(
+                    importService.createRecordFromElement(element, importConfiguration), importConfiguration, false));
+            } catch (IOException | ParserConfigurationException | SAXException | TransformerException
+                    | UnsupportedFormatException | XPathExpressionException | ProcessGenerationException
+                    | URISyntaxException | RuntimeException e) {
+                logger.error(e.getMessage(), e);
+                documents.add(null);
+            }
+        }
+        return documents;
     }
 
     // used to parse parent (e.g. "collection")
@@ -318,15 +404,6 @@ public class ImportEadProcessesThread extends EmptyTask {
         return importService.createTempProcessFromElement(element, importConfiguration, projectId, templateId, isParent);
     }
 
-    // used to parse children (e.g. "files")
-    private TempProcess parseXmlStringToProcessedTempProcess(String xmlElementString) throws IOException,
-            ParserConfigurationException, SAXException, UnsupportedFormatException, XPathExpressionException,
-            ProcessGenerationException, URISyntaxException, InvalidMetadataValueException, TransformerException,
-            NoSuchMetadataFieldException, DataException, CommandException {
-        TempProcess tempProcess = parseXmlStringToTempProcess(xmlElementString, false);
-        return processTempProcess(tempProcess);
-    }
-
     private String getRecordIdentifier(TempProcess tempProcess) {
         Collection<String> recordIdMetadata = rulesetManagementInterface
                 .getFunctionalKeys(FunctionalMetadata.RECORD_IDENTIFIER);
@@ -0,0 +1,385 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.thread;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.enums.ParameterCore;
+import org.kitodo.data.database.beans.Client;
+import org.kitodo.data.database.beans.ImportConfiguration;
+import org.kitodo.data.database.beans.User;
+import org.kitodo.exceptions.ConfigException;
+import org.kitodo.exceptions.ImportException;
+import org.kitodo.production.helper.Helper;
+import org.kitodo.production.helper.TempProcess;
+import org.kitodo.production.helper.tasks.EmptyTask;
+import org.kitodo.production.security.SecurityUserDetails;
+import org.kitodo.production.services.data.ImportService;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Imports the records of a mass import in the background. Up to
+ * {@code massImportParallelRecords} records are retrieved and converted to
+ * processes at the same time, each by a worker with an import service of its
+ * own. The new processes are saved and indexed in batches of
+ * {@code massImportBatchSize}. The IDs of the imported records are written to
+ * a status file in the temporary directory after each batch, so that a mass
+ * import of the same records, started again after it was stopped or after a
+ * restart of the server, continues with the records not yet imported. Failed
+ * records can be imported again.
+ */
+public class MassImportThread extends EmptyTask {
+
+    private static final Logger logger = LogManager.getLogger(MassImportThread.class);
+
+    private final Map<String, Map<String, List<String>>> presetMetadata;
+    private final int projectId;
+    private final int templateId;
+    private final ImportConfiguration importConfiguration;
+    private final User user;
+    private final Client client;
+    private final Path statusFile;
+    private final Set<String> imported;
+    private final Map<String, String> errors;
+    private final Set<String> titles;
+    private final ThreadLocal<ImportService> importService = ThreadLocal.withInitial(ImportService::new);
+
+    /**
+     * Creates a mass import of the given records.
+     *
+     * @param presetMetadata
+     *            record IDs to import, in order, mapped to the metadata to add
+     *            to each imported process
+     * @param projectId
+     *            ID of project for which processes are created
+     * @param templateId
+     *            ID of template used to create processes
+     * @param importConfiguration
+     *            import configuration used to retrieve the records
+     * @param user
+     *            user starting the import
+     * @param client
+     *            session client of the user
+     */
+    public MassImportThread(Map<String, Map<String, List<String>>> presetMetadata, int projectId, int templateId,
+            ImportConfiguration importConfiguration, User user, Client client) {
+        this(presetMetadata, projectId, templateId, importConfiguration, user, client,
+                getStatusFile(presetMetadata.keySet(), projectId, templateId, importConfiguration));
+    }
+
+    private MassImportThread(Map<String, Map<String, List<String>>> presetMetadata, int projectId, int templateId,
+            ImportConfiguration importConfiguration, User user, Client client, Path statusFile) {
+        super(importConfiguration.getTitle());
+        this.presetMetadata = new LinkedHashMap<>(presetMetadata);
+        this.projectId = projectId;
+        this.templateId = templateId;
+        this.importConfiguration = importConfiguration;
+        this.user = user;
+        this.client = client;
+        this.statusFile = statusFile;
+        this.imported = ConcurrentHashMap.newKeySet();
+        this.errors = new ConcurrentHashMap<>();
+        this.titles = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Clone constructor. Provides the ability to restart the import if it was
+     * previously interrupted. Records already imported are kept.
+     *
+     * @param source
+     *            terminated thread
+     */
+    private MassImportThread(MassImportThread source) {
+        super(source);
+        this.presetMetadata = source.presetMetadata;
+        this.projectId = source.projectId;
+        this.templateId = source.templateId;
+        this.importConfiguration = source.importConfiguration;
+        this.user = source.user;
+        this.client = source.client;
+        this.statusFile = source.statusFile;
+        this.imported = source.imported;
+        this.errors = source.errors;
+        this.titles = source.titles;
+    }
+
+    private static Path getStatusFile(Iterable<String> recordIds, int projectId, int templateId,
+            ImportConfiguration importConfiguration) {
+        String key = Objects.toString(importConfiguration.getId()) + '\n' + projectId + '\n' + templateId + '\n'
+                + String.join("\n", recordIds);
+        return Paths.get(ConfigCore.getParameterOrDefaultValue(ParameterCore.DIR_TEMP),
+            "massImport-" + DigestUtils.sha256Hex(key) + ".status");
+    }
+
+    /**
+     * Creates a mass import of the records that failed in this one. It shares
+     * the status file of this mass import.
+     *
+     * @return a not-yet-executed mass import of the failed records
+     */
+    public MassImportThread retryFailedImports() {
+        Map<String, Map<String, List<String>>> failedRecords = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, List<String>>> entry : presetMetadata.entrySet()) {
+            if (errors.containsKey(entry.getKey())) {
+                failedRecords.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return new MassImportThread(failedRecords, projectId, templateId, importConfiguration, user, client,
+                statusFile);
+    }
+
+    @Override
+    public MassImportThread replace() {
+        return new MassImportThread(this);
+    }
+
+    /**
+     * Imports the records not yet imported. If the thread is interrupted, no
+     * further records are started, but the records being imported are
+     * finished and saved, so that no partly created processes remain. When
+     * all records are imported, the status file is deleted.
+     */
+    @Override
+    public void run() {
+        setAuthenticatedUser();
+        List<String> recordIds = getRecordsToImport();
+        int parallelRecords = Math.max(1,
+            ConfigCore.getIntParameterOrDefaultValue(ParameterCore.MASS_IMPORT_PARALLEL_RECORDS));
+        int batchSize = Math.max(1, ConfigCore.getIntParameterOrDefaultValue(ParameterCore.MASS_IMPORT_BATCH_SIZE));
+        ExecutorService executor = Executors.newFixedThreadPool(parallelRecords, this::createWorker);
+        CompletionService<String> completionService = new ExecutorCompletionService<>(executor);
+        Map<String, TempProcess> created = new ConcurrentHashMap<>();
+        Map<String, TempProcess> batch = new LinkedHashMap<>();
+        Iterator<String> pending = recordIds.iterator();
+        int running = 0;
+        boolean stopping = false;
+        boolean interrupted = false;
+        try {
+            while (running > 0 || (!stopping && pending.hasNext())) {
+                while (!stopping && running < parallelRecords && pending.hasNext()) {
+                    String recordId = pending.next();
+                    completionService.submit(() -> createProcess(recordId, created), recordId);
+                    running++;
+                }
+                try {
+                    Future<String> finished = completionService.take();
+                    running--;
+                    String recordId = finished.get();
+                    addToBatch(recordId, created.remove(recordId), batch, batchSize);
+                    setWorkDetail(recordId);
+                    updateProgress();
+                } catch (InterruptedException e) {
+                    // the records being imported are waited for, the interrupt is restored afterwards
+                    interrupted = true;
+                    stopping = true;
+                } catch (ExecutionException e) {
+                    setException(e.getCause());
+                    stopping = true;
+                }
+                stopping |= Thread.currentThread().isInterrupted() || Objects.nonNull(getException());
+            }
+            saveBatch(batch);
+            updateProgress();
+        } finally {
+            executor.shutdown();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        deleteStatusFileIfDone();
+    }
+
+    private void updateProgress() {
+        setProgress(100 * getNumberOfProcessedRecords() / presetMetadata.size());
+    }
+
+    private List<String> getRecordsToImport() {
+        readStatusFile().stream().filter(presetMetadata::containsKey).forEach(imported::add);
+        List<String> recordIds = presetMetadata.keySet().stream().filter(recordId -> !imported.contains(recordId))
+                .collect(Collectors.toList());
+        errors.keySet().removeAll(recordIds);
+        return recordIds;
+    }
+
+    private Thread createWorker(Runnable runnable) {
+        Thread worker = new Thread(runnable, getName() + "-worker");
+        worker.setDaemon(true);
+        return worker;
+    }
+
+    private void createProcess(String recordId, Map<String, TempProcess> created) {
+        setAuthenticatedUser();
+        try {
+            created.put(recordId, importService.get().createProcessFromRecord(recordId, projectId, templateId,
+                importConfiguration, presetMetadata.get(recordId)));
+        } catch (ConfigException e) {
+            // the same configuration error would occur for all records
+            errors.put(recordId, e.getLocalizedMessage());
+            setException(e);
+        } catch (ImportException | RuntimeException e) {
+            logger.warn("Importing record {} failed: {}", recordId, e.getMessage(), e);
+            errors.put(recordId, Objects.toString(e.getLocalizedMessage(), e.getClass().getSimpleName()));
+        }
+    }
+
+    private void addToBatch(String recordId, TempProcess tempProcess, Map<String, TempProcess> batch,
+            int batchSize) {
+        if (Objects.isNull(tempProcess)) {
+            return;
+        }
+        // processes of the same mass import are not yet in the index when the workers check their titles
+        String title = tempProcess.getProcess().getTitle();
+        if (titles.add(title)) {
+            batch.put(recordId, tempProcess);
+        } else {
+            errors.put(recordId, Helper.getTranslation("processTitleAlreadyInUse", title));
+        }
+        if (batch.size() >= batchSize) {
+            saveBatch(batch);
+        }
+    }
+
+    private void saveBatch(Map<String, TempProcess> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            importService.get().saveImportedProcesses(new ArrayList<>(batch.values()));
+            imported.addAll(batch.keySet());
+            writeStatusFile(batch.keySet());
+        } catch (ImportException | RuntimeException e) {
+            logger.warn("Saving records {} failed: {}", batch.keySet(), e.getMessage(), e);
+            String message = Objects.toString(e.getLocalizedMessage(), e.getClass().getSimpleName());
+            for (String recordId : batch.keySet()) {
+                errors.put(recordId, message);
+            }
+        }
+        batch.clear();
+    }
+
+    private List<String> readStatusFile() {
+        if (!Files.exists(statusFile)) {
+            return new ArrayList<>();
+        }
+        try {
+            return Files.readAllLines(statusFile, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("Cannot read status file {} of mass import: {}", statusFile, e.getMessage(), e);
+            return new ArrayList<>();
+        }
+    }
+
+    private void writeStatusFile(Iterable<String> recordIds) {
+        try {
+            Files.createDirectories(statusFile.getParent());
+            Files.write(statusFile, recordIds, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.warn("Cannot write status file {} of mass import: {}", statusFile, e.getMessage(), e);
+        }
+    }
+
+    private void deleteStatusFileIfDone() {
+        if (!imported.containsAll(presetMetadata.keySet())) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(statusFile);
+        } catch (IOException e) {
+            logger.warn("Cannot delete status file {} of mass import: {}", statusFile, e.getMessage(), e);
+        }
+    }
+
+    private void setAuthenticatedUser() {
+        SecurityUserDetails securityUserDetails = new SecurityUserDetails(user);
+        securityUserDetails.setSessionClient(client);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(securityUserDetails, null,
+                securityUserDetails.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    /**
+     * Returns the number of records of the mass import.
+     *
+     * @return the number of records
+     */
+    public int getNumberOfRecords() {
+        return presetMetadata.size();
+    }
+
+    /**
+     * Returns the number of records imported or failed.
+     *
+     * @return the number of processed records
+     */
+    public int getNumberOfProcessedRecords() {
+        return imported.size() + errors.size();
+    }
+
+    /**
+     * Returns the IDs of the records imported successfully, in the order of the
+     * mass import.
+     *
+     * @return the IDs of the imported records
+     */
+    public List<String> getSuccessfulImports() {
+        return presetMetadata.keySet().stream().filter(imported::contains).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the IDs of the records whose import failed, in the order of the
+     * mass import.
+     *
+     * @return the IDs of the failed records
+     */
+    public List<String> getFailedImports() {
+        return presetMetadata.keySet().stream().filter(errors::containsKey).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the error message of the import of a record.
+     *
+     * @param recordId
+     *            ID of the record
+     * @return the error message, or {@code null} if the record was imported
+     *         without error or is not yet processed
+     */
+    public String getImportErrorMessage(String recordId) {
+        return errors.get(recordId);
+    }
+}
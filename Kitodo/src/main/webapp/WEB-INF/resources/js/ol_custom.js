@@ -289,7 +289,9 @@ class KitodoDetailMap {
         let image = $("#imagePreviewForm\\:mediaPreviewGraphicImage");
         if (image.length > 0) {
             image.on("load", this.onImageLoad.bind(this, image));
-            image[0].src = image[0].src.replace(/&uuid=[a-z0-9]+/i, "") + "&uuid=" + KitodoDetailMap.randomUUID(8);
+            let url = new URL(image[0].src, window.location.href);
+            url.searchParams.set("uuid", KitodoDetailMap.randomUUID(8));
+            image[0].src = url.toString();
         }
     }
 
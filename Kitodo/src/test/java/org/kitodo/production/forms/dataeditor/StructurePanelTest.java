@@ -11,24 +11,40 @@
 
 package org.kitodo.production.forms.dataeditor;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 import org.junit.jupiter.api.Test;
 import org.kitodo.DummyRulesetManagement;
+import org.kitodo.api.dataeditor.rulesetmanagement.RulesetManagementInterface;
 import org.kitodo.api.dataeditor.rulesetmanagement.StructuralElementViewInterface;
 import org.kitodo.api.dataformat.LogicalDivision;
+import org.kitodo.api.dataformat.PhysicalDivision;
+import org.kitodo.api.dataformat.View;
+import org.kitodo.api.dataformat.Workpiece;
 import org.kitodo.api.dataformat.mets.LinkedMetsResource;
 import org.kitodo.data.database.beans.Process;
 import org.kitodo.data.database.beans.Template;
 import org.kitodo.data.database.beans.Workflow;
 import org.kitodo.production.services.ServiceManager;
+import org.primefaces.event.TreeDragDropEvent;
 import org.primefaces.model.DefaultTreeNode;
 import org.primefaces.model.TreeNode;
 
@@ -70,4 +86,120 @@ public class StructurePanelTest {
         final StructurePanel underTest = new StructurePanel(dummyDataEditorForm);
         assertFalse(underTest.isSeparateMedia());
     }
+
+    @Test
+    public void shouldKeepNodesWhenDeletingLogicalDivision() {
+        Workpiece workpiece = createWorkpiece();
+        LogicalDivision chapter = workpiece.getLogicalStructure().getChildren().get(0);
+        LogicalDivision section = chapter.getChildren().get(0);
+        LogicalDivision otherChapter = workpiece.getLogicalStructure().getChildren().get(1);
+        StructurePanel underTest = new StructurePanel(createDataEditorForm(workpiece));
+        underTest.show();
+        TreeNode chapterNode = findNode(underTest.getLogicalTree(), chapter);
+        TreeNode otherChapterNode = findNode(underTest.getLogicalTree(), otherChapter);
+        chapterNode.setExpanded(false);
+
+        underTest.deleteLogicalDivision(section);
+
+        assertEquals(Collections.emptyList(), chapter.getChildren(), "Logical division was not deleted");
+        assertSame(chapterNode, findNode(underTest.getLogicalTree(), chapter), "Node of parent was replaced");
+        assertFalse(chapterNode.isExpanded(), "Expansion state of parent was lost");
+        assertEquals(1, chapterNode.getChildCount(), "Node of deleted division was not removed");
+        assertSame(otherChapterNode, findNode(underTest.getLogicalTree(), otherChapter),
+            "Node of unaffected division was replaced");
+        assertNull(findNode(underTest.getLogicalTree(), section), "Node of deleted division is still shown");
+    }
+
+    @Test
+    public void shouldKeepExpansionStatesAfterDragAndDrop() {
+        Workpiece workpiece = createWorkpiece();
+        LogicalDivision monograph = workpiece.getLogicalStructure();
+        LogicalDivision chapter = monograph.getChildren().get(0);
+        LogicalDivision section = chapter.getChildren().get(0);
+        LogicalDivision otherChapter = monograph.getChildren().get(1);
+        StructurePanel underTest = new StructurePanel(createDataEditorForm(workpiece));
+        underTest.show();
+        TreeNode monographNode = findNode(underTest.getLogicalTree(), monograph);
+        TreeNode chapterNode = findNode(underTest.getLogicalTree(), chapter);
+        TreeNode otherChapterNode = findNode(underTest.getLogicalTree(), otherChapter);
+        chapterNode.setExpanded(false);
+        findNode(underTest.getLogicalTree(), section).setExpanded(false);
+
+        // the tree has already been changed on the client side when the event arrives
+        monographNode.getChildren().remove(otherChapterNode);
+        chapterNode.getChildren().add(otherChapterNode);
+        TreeDragDropEvent event = mock(TreeDragDropEvent.class);
+        when(event.getDragNode()).thenReturn(otherChapterNode);
+        when(event.getDropNode()).thenReturn(chapterNode);
+        underTest.onDragDrop(event);
+
+        assertEquals(Collections.singletonList(chapter), monograph.getChildren(), "Division was not moved");
+        assertEquals(Arrays.asList(section, otherChapter), chapter.getChildren(), "Division was not moved");
+        assertSame(monographNode, findNode(underTest.getLogicalTree(), monograph), "Node of root was replaced");
+        TreeNode movedNode = findNode(underTest.getLogicalTree(), otherChapter);
+        assertNotNull(movedNode, "Moved division is not shown");
+        assertSame(findNode(underTest.getLogicalTree(), chapter), movedNode.getParent(),
+            "Moved division is not shown below its new parent");
+        assertTrue(movedNode.getParent().isExpanded(), "Node of drop target was not expanded");
+        assertFalse(findNode(underTest.getLogicalTree(), section).isExpanded(), "Expansion state was lost");
+        assertEquals(2, workpiece.getPhysicalStructure().getChildren().size(), "Media were lost");
+        assertNotNull(findNode(movedNode, otherChapter.getViews().getFirst()), "View of moved division is not shown");
+    }
+
+    private static Workpiece createWorkpiece() {
+        Workpiece workpiece = new Workpiece();
+        workpiece.getLogicalStructure().setType("Monograph");
+        workpiece.getPhysicalStructure().setType("Book");
+        LogicalDivision chapter = createLogicalDivision("Chapter", 1, workpiece);
+        chapter.getChildren().add(createLogicalDivision("Section", 1, null));
+        workpiece.getLogicalStructure().getChildren().add(chapter);
+        workpiece.getLogicalStructure().getChildren().add(createLogicalDivision("Chapter", 2, workpiece));
+        return workpiece;
+    }
+
+    private static LogicalDivision createLogicalDivision(String type, int order, Workpiece workpiece) {
+        LogicalDivision logicalDivision = new LogicalDivision();
+        logicalDivision.setType(type);
+        logicalDivision.setOrder(order);
+        if (Objects.nonNull(workpiece)) {
+            PhysicalDivision page = new PhysicalDivision();
+            page.setType(PhysicalDivision.TYPE_PAGE);
+            page.setOrder(order);
+            page.setOrderlabel(Integer.toString(order));
+            page.getLogicalDivisions().add(logicalDivision);
+            workpiece.getPhysicalStructure().getChildren().add(page);
+            logicalDivision.getViews().add(View.of(page));
+        }
+        return logicalDivision;
+    }
+
+    private static DataEditorForm createDataEditorForm(Workpiece workpiece) {
+        StructuralElementViewInterface divisionView = mock(StructuralElementViewInterface.class);
+        when(divisionView.getLabel()).thenReturn("Division");
+        when(divisionView.getAllowedSubstructuralElements())
+                .thenReturn(Collections.singletonMap("Chapter", "Chapter"));
+        RulesetManagementInterface ruleset = mock(RulesetManagementInterface.class);
+        when(ruleset.getStructuralElementView(anyString(), any(), any())).thenReturn(divisionView);
+        DataEditorForm dataEditorForm = mock(DataEditorForm.class);
+        when(dataEditorForm.getWorkpiece()).thenReturn(workpiece);
+        when(dataEditorForm.getProcess()).thenReturn(new Process());
+        when(dataEditorForm.getRulesetManagement()).thenReturn(ruleset);
+        when(dataEditorForm.getGalleryPanel()).thenReturn(mock(GalleryPanel.class));
+        when(dataEditorForm.getPaginationPanel()).thenReturn(mock(PaginationPanel.class));
+        return dataEditorForm;
+    }
+
+    private static TreeNode findNode(TreeNode treeNode, Object dataObject) {
+        if (treeNode.getData() instanceof StructureTreeNode
+                && ((StructureTreeNode) treeNode.getData()).getDataObject() == dataObject) {
+            return treeNode;
+        }
+        for (TreeNode child : treeNode.getChildren()) {
+            TreeNode found = findNode(child, dataObject);
+            if (Objects.nonNull(found)) {
+                return found;
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,147 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.handler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MediaServletTest {
+
+    private static final String CONTENT = "0123456789";
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private Map<String, String> headers;
+    private ByteArrayOutputStream body;
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = Files.write(tempDir.resolve("00000001.jpg"), CONTENT.getBytes(StandardCharsets.US_ASCII));
+        headers = new HashMap<>();
+        body = new ByteArrayOutputStream();
+        request = mock(HttpServletRequest.class);
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getHeader(anyString())).thenAnswer(invocation -> headers.get(invocation.getArgument(0)));
+        when(request.getDateHeader(anyString())).thenReturn(-1L);
+        response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+        });
+    }
+
+    @Test
+    public void shouldSendWholeFile() throws IOException {
+        MediaServlet.send(request, response, file, "image/jpeg");
+
+        verify(response).setContentType("image/jpeg");
+        verify(response).setContentLengthLong(CONTENT.length());
+        verify(response, never()).setStatus(anyInt());
+        assertArrayEquals(CONTENT.getBytes(StandardCharsets.US_ASCII), body.toByteArray(), "Wrong content sent");
+    }
+
+    @Test
+    public void shouldSendRequestedRange() throws IOException {
+        headers.put("Range", "bytes=2-5");
+
+        MediaServlet.send(request, response, file, "image/jpeg");
+
+        verify(response).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        verify(response).setHeader("Content-Range", "bytes 2-5/10");
+        verify(response).setContentLengthLong(4);
+        assertEquals("2345", body.toString(StandardCharsets.US_ASCII.name()), "Wrong range sent");
+    }
+
+    @Test
+    public void shouldSendSuffixRange() throws IOException {
+        headers.put("Range", "bytes=-3");
+
+        MediaServlet.send(request, response, file, "image/jpeg");
+
+        verify(response).setHeader("Content-Range", "bytes 7-9/10");
+        assertEquals("789", body.toString(StandardCharsets.US_ASCII.name()), "Wrong range sent");
+    }
+
+    @Test
+    public void shouldRejectUnsatisfiableRange() throws IOException {
+        headers.put("Range", "bytes=20-");
+
+        MediaServlet.send(request, response, file, "image/jpeg");
+
+        verify(response).sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        assertEquals(0, body.size(), "Content was sent");
+    }
+
+    @Test
+    public void shouldAnswerNotModifiedForMatchingEntityTag() throws IOException {
+        MediaServlet.send(request, response, file, "image/jpeg");
+        String entityTag = '"' + Long.toHexString(CONTENT.length()) + '-'
+                + Long.toHexString(Files.getLastModifiedTime(file).toMillis()) + '"';
+        verify(response).setHeader("ETag", entityTag);
+        body.reset();
+
+        headers.put("If-None-Match", "\"other\", " + entityTag);
+        MediaServlet.send(request, response, file, "image/jpeg");
+
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        assertEquals(0, body.size(), "Content was sent");
+    }
+
+    @Test
+    public void shouldSendWholeFileIfRangeConditionFails() throws IOException {
+        headers.put("Range", "bytes=2-5");
+        headers.put("If-Range", "\"outdated\"");
+
+        MediaServlet.send(request, response, file, "image/jpeg");
+
+        verify(response, never()).setStatus(anyInt());
+        assertEquals(CONTENT, body.toString(StandardCharsets.US_ASCII.name()), "Wrong content sent");
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.helper;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kitodo.MockDatabase;
+import org.kitodo.SecurityTestUtils;
+import org.kitodo.data.database.beans.User;
+import org.kitodo.data.exceptions.DataException;
+import org.kitodo.production.enums.ObjectType;
+import org.kitodo.production.enums.SearchResultFormat;
+import org.kitodo.production.services.ServiceManager;
+import org.kitodo.production.services.data.ProcessService;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+public class SearchResultGenerationIT {
+
+    private static long numberOfProcesses;
+
+    @BeforeAll
+    public static void prepareDatabase() throws Exception {
+        MockDatabase.startNode();
+        MockDatabase.insertProcessesFull();
+        MockDatabase.setUpAwaitility();
+        User userOne = ServiceManager.getUserService().getById(1);
+        SecurityTestUtils.addUserDataToSecurityContext(userOne, 1);
+        await().until(() -> {
+            SecurityTestUtils.addUserDataToSecurityContext(userOne, 1);
+            return !ServiceManager.getProcessService().findByTitle("First process").isEmpty();
+        });
+        numberOfProcesses = ServiceManager.getProcessService().count(
+            new SearchResultGeneration("", true, true).getQueryForFilter(ObjectType.PROCESS));
+    }
+
+    @AfterAll
+    public static void cleanDatabase() throws Exception {
+        MockDatabase.stopNode();
+        MockDatabase.cleanDatabase();
+        SecurityTestUtils.cleanSecurityContext();
+    }
+
+    @Test
+    public void shouldWriteCsv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SearchResultGeneration("", true, true).writeResult(SearchResultFormat.CSV, out);
+        String[] lines = out.toString(StandardCharsets.UTF_8.name()).split("\n");
+        assertTrue(numberOfProcesses > 0, "Processes were not indexed!");
+        assertEquals(numberOfProcesses + 1, lines.length, "Not all processes were written!");
+    }
+
+    @Test
+    public void shouldWriteXlsx() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SearchResultGeneration("", true, true).writeResult(SearchResultFormat.XLSX, out);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(numberOfProcesses + 1, workbook.getSheetAt(0).getLastRowNum(),
+                "Not all processes were written!");
+        }
+    }
+
+    @Test
+    public void shouldWritePdf() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SearchResultGeneration("", true, true).writeResult(SearchResultFormat.PDF, out);
+        assertTrue(out.toString(StandardCharsets.ISO_8859_1.name()).startsWith("%PDF"), "No PDF was written!");
+    }
+
+    @Test
+    public void shouldFailIfProcessesCannotBeRead() throws Exception {
+        ProcessService processService = spy(ServiceManager.getProcessService());
+        doThrow(new DataException("Index is not available")).when(processService).findByQueryAfter(any(), any(),
+            any(), anyInt(), anyBoolean());
+        try (MockedStatic<ServiceManager> serviceManager = Mockito.mockStatic(ServiceManager.class,
+            Mockito.CALLS_REAL_METHODS)) {
+            serviceManager.when(ServiceManager::getProcessService).thenReturn(processService);
+            assertThrows(IOException.class, () -> new SearchResultGeneration("", true, true)
+                    .writeResult(SearchResultFormat.CSV, new ByteArrayOutputStream()),
+                "Incomplete search result was written without error!");
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.helper.metadata;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.File;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+public class MetsIndexDataCacheTest {
+
+    private static final File FIRST_FILE = new File("metadata/1/meta.xml");
+    private static final File SECOND_FILE = new File("metadata/2/meta.xml");
+    private static final File THIRD_FILE = new File("metadata/3/meta.xml");
+
+    @Test
+    public void shouldOnlyReturnDataOfUnchangedFile() {
+        MetsIndexDataCache cache = new MetsIndexDataCache(10);
+        MetsIndexData metsIndexData = createMetsIndexData();
+        cache.put(1, FIRST_FILE, 100, 1000, metsIndexData);
+
+        assertSame(metsIndexData, cache.get(1, FIRST_FILE, 100, 1000), "Cached data was not returned");
+        assertNull(cache.get(1, FIRST_FILE, 100, 2000), "Data of modified file was returned");
+        assertNull(cache.get(1, FIRST_FILE, 120, 1000), "Data of file with other size was returned");
+        assertNull(cache.get(1, SECOND_FILE, 100, 1000), "Data of other file was returned");
+        assertEquals(1, cache.getHitCount(), "Number of hits is wrong");
+        assertEquals(3, cache.getMissCount(), "Number of misses is wrong");
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntry() {
+        MetsIndexDataCache cache = new MetsIndexDataCache(2);
+        cache.put(1, FIRST_FILE, 100, 1000, createMetsIndexData());
+        cache.put(2, SECOND_FILE, 100, 1000, createMetsIndexData());
+        cache.get(1, FIRST_FILE, 100, 1000);
+        cache.put(3, THIRD_FILE, 100, 1000, createMetsIndexData());
+
+        assertEquals(2, cache.size(), "Cache exceeds its capacity");
+        assertEquals(1, cache.getEvictionCount(), "Number of evictions is wrong");
+        assertNull(cache.get(2, SECOND_FILE, 100, 1000), "Least recently used entry was not evicted");
+    }
+
+    @Test
+    public void shouldInvalidateFilesAndDirectories() {
+        MetsIndexDataCache cache = new MetsIndexDataCache(10);
+        cache.put(1, FIRST_FILE, 100, 1000, createMetsIndexData());
+        cache.put(2, SECOND_FILE, 100, 1000, createMetsIndexData());
+        cache.put(3, THIRD_FILE, 100, 1000, createMetsIndexData());
+
+        cache.invalidate(FIRST_FILE);
+        cache.invalidate(new File("metadata/2"));
+        cache.invalidate(new File("metadata/3/images"));
+
+        assertNull(cache.get(1, FIRST_FILE, 100, 1000), "Changed file was not invalidated");
+        assertNull(cache.get(2, SECOND_FILE, 100, 1000), "File in changed directory was not invalidated");
+        assertEquals(1, cache.size(), "Unrelated entry was invalidated");
+        assertEquals(2, cache.getInvalidationCount(), "Number of invalidations is wrong");
+    }
+
+    private static MetsIndexData createMetsIndexData() {
+        return new MetsIndexData(Collections.emptyList(), 2, 6, 4, "Manuscript");
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.helper.metadata;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.XML;
+import org.junit.jupiter.api.Test;
+
+public class MetsIndexDataReaderTest {
+
+    private static final String METADATA_DIRECTORY = "src/test/resources/metadata";
+    private static final String METADATA_FILE = "src/test/resources/metadata/metadataFiles/testmeta.xml";
+
+    @Test
+    public void shouldReadCountsAndBaseType() throws IOException {
+        MetsIndexData metsIndexData = read(METADATA_FILE);
+
+        assertEquals(2, metsIndexData.getNumberOfImages(), "Number of images is wrong");
+        assertEquals(6, metsIndexData.getNumberOfMetadata(), "Number of metadata is wrong");
+        assertEquals(4, metsIndexData.getNumberOfStructures(), "Number of structures is wrong");
+        assertEquals("Manuscript", metsIndexData.getBaseType(), "Base type is wrong");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldReadMetadataForIndex() throws IOException {
+        List<Map<String, Object>> metadata = read(METADATA_FILE).getMetadata();
+
+        assertEquals(3, metadata.size(), "Number of descriptive metadata sections is wrong");
+        Map<String, Object> dmdSec = metadata.get(0);
+        assertEquals("DMDLOG_0000", dmdSec.get("ID"), "ID of metadata section is wrong");
+        Map<String, Object> kitodo = (Map<String, Object>) ((Map<String, Object>) ((Map<String, Object>) dmdSec
+                .get("mdWrap")).get("xmlData")).get("kitodo");
+        List<Map<String, Object>> entries = (List<Map<String, Object>>) kitodo.get("metadata");
+        assertEquals("TitleDocMain", entries.get(0).get("name"), "Metadata key is wrong");
+        assertEquals("Otsar ha-kavod", entries.get(0).get("content"), "Metadata value is wrong");
+    }
+
+    @Test
+    public void shouldReadMetadataLikeXmlToJsonObject() throws IOException {
+        List<Path> metadataFiles;
+        try (Stream<Path> paths = Files.walk(Paths.get(METADATA_DIRECTORY))) {
+            metadataFiles = paths.filter(path -> path.toString().endsWith(".xml")).sorted()
+                    .collect(Collectors.toList());
+        }
+
+        for (Path metadataFile : metadataFiles) {
+            assertEquals(readWithXmlToJsonObject(metadataFile), read(metadataFile.toString()).getMetadata(),
+                "Metadata for index differ from XML.toJSONObject() in " + metadataFile);
+        }
+    }
+
+    private static MetsIndexData read(String file) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(Paths.get(file))) {
+            return MetsIndexDataReader.read(inputStream);
+        }
+    }
+
+    /**
+     * Reads the metadata for the index the way it was done before the
+     * MetsIndexDataReader, as reference.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> readWithXmlToJsonObject(Path file) throws IOException {
+        JSONObject xmlJSONObject = XML.toJSONObject(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        Map<String, Object> json = iterateOverJsonObject(xmlJSONObject);
+        List<Map<String, Object>> metadata = new ArrayList<>();
+        if (json.containsKey("mets")) {
+            Object dmdSec = ((Map<String, Object>) json.get("mets")).get("dmdSec");
+            if (dmdSec instanceof List) {
+                metadata = (List<Map<String, Object>>) dmdSec;
+            } else if (dmdSec instanceof Map) {
+                metadata.add((Map<String, Object>) dmdSec);
+            }
+        }
+        return metadata;
+    }
+
+    private static Map<String, Object> iterateOverJsonObject(JSONObject xmlJSONObject) {
+        Iterator<String> keys = xmlJSONObject.keys();
+        Map<String, Object> json = new HashMap<>();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            Object value = xmlJSONObject.get(key);
+            if (value instanceof String || value instanceof Integer) {
+                json.put(prepareKey(key), value);
+            } else if (value instanceof Long || value instanceof BigInteger) {
+                json.put(prepareKey(key), value.toString());
+            } else if (value instanceof JSONObject) {
+                json.put(prepareKey(key), iterateOverJsonObject((JSONObject) value));
+            } else if (value instanceof JSONArray) {
+                json.put(prepareKey(key), iterateOverJsonArray((JSONArray) value));
+            }
+        }
+        return json;
+    }
+
+    private static List<Object> iterateOverJsonArray(JSONArray jsonArray) {
+        List<Object> json = new ArrayList<>(jsonArray.length());
+        for (int i = 0; i < jsonArray.length(); i++) {
+            Object value = jsonArray.get(i);
+            if (value instanceof JSONObject) {
+                json.add(iterateOverJsonObject((JSONObject) value));
+            } else if (value instanceof String) {
+                json.add(value);
+            } else if (value instanceof JSONArray) {
+                json.add(iterateOverJsonArray((JSONArray) value));
+            }
+        }
+        return json;
+    }
+
+    private static String prepareKey(String key) {
+        return key.contains(":") ? key.substring(key.indexOf(':') + 1) : key;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.interfaces.activemq;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import javax.jms.JMSException;
+import javax.jms.MapMessage;
+import javax.jms.Session;
+
+import org.junit.jupiter.api.Test;
+import org.kitodo.exceptions.ProcessorException;
+
+public class ActiveMQProcessorTest {
+
+    private static ActiveMQProcessor processorThatThrows(Exception exception) {
+        return new ActiveMQProcessor("test") {
+            @Override
+            protected void process(MapMessageObjectReader ticket) throws ProcessorException, JMSException {
+                if (exception instanceof ProcessorException) {
+                    throw (ProcessorException) exception;
+                } else if (exception instanceof RuntimeException) {
+                    throw (RuntimeException) exception;
+                }
+            }
+        };
+    }
+
+    private static MapMessage message(String id) throws JMSException {
+        MapMessage message = mock(MapMessage.class);
+        when(message.getString("id")).thenReturn(id);
+        return message;
+    }
+
+    @Test
+    public void shouldCommitBeforeReportingSuccess() throws Exception {
+        Session session = mock(Session.class);
+        assertTrue(processorThatThrows(null).handleMessage(message("1"), false, session),
+            "Message should have been processed");
+        verify(session).commit();
+        verify(session, never()).rollback();
+    }
+
+    @Test
+    public void shouldFailIfCommitFails() throws Exception {
+        Session session = mock(Session.class);
+        doThrow(new JMSException("commit failed")).when(session).commit();
+        assertFalse(processorThatThrows(null).handleMessage(message("1"), false, session),
+            "Message whose commit failed should not be successful");
+        verify(session).rollback();
+    }
+
+    @Test
+    public void shouldRollBackFailedMessage() throws Exception {
+        Session session = mock(Session.class);
+        assertFalse(processorThatThrows(new ProcessorException("failed")).handleMessage(message("1"), false,
+            session), "Failed message should not be successful");
+        verify(session).rollback();
+        verify(session, never()).commit();
+    }
+
+    @Test
+    public void shouldNotDeliverInvalidMessageAgain() throws Exception {
+        Session session = mock(Session.class);
+        assertFalse(processorThatThrows(null).handleMessage(message(null), false, session),
+            "Message without ID should not be successful");
+        verify(session).commit();
+        verify(session, never()).rollback();
+    }
+}
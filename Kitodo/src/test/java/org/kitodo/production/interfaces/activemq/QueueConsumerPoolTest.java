@@ -0,0 +1,77 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.interfaces.activemq;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.jms.Connection;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageListener;
+import javax.jms.Queue;
+import javax.jms.Session;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class QueueConsumerPoolTest {
+
+    @Test
+    public void shouldPassEachConsumerItsSession() throws Exception {
+        Connection connection = mock(Connection.class);
+        Session session = mock(Session.class);
+        MessageConsumer consumer = mock(MessageConsumer.class);
+        when(connection.createSession(true, Session.SESSION_TRANSACTED)).thenReturn(session);
+        when(session.createQueue(anyString())).thenReturn(mock(Queue.class));
+        when(session.createConsumer(any())).thenReturn(consumer);
+
+        ActiveMQProcessor first = mock(ActiveMQProcessor.class);
+        when(first.getConsumers()).thenReturn(2);
+        List<ActiveMQProcessor> created = new ArrayList<>();
+        QueueConsumerPool consumerPool = new QueueConsumerPool("test", 3);
+        consumerPool.start(connection, first, () -> {
+            ActiveMQProcessor processor = mock(ActiveMQProcessor.class);
+            created.add(processor);
+            return processor;
+        });
+        assertEquals(1, created.size(), "Each further consumer should get a processor of its own");
+
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(consumer, times(2)).setMessageListener(listener.capture());
+        Message succeeding = mock(Message.class);
+        when(first.handleMessage(eq(succeeding), anyBoolean(), eq(session))).thenReturn(true);
+        listener.getAllValues().get(0).onMessage(succeeding);
+        verify(first).handleMessage(succeeding, false, session);
+
+        Message failing = mock(Message.class);
+        when(failing.propertyExists("JMSXDeliveryCount")).thenReturn(true);
+        when(failing.getIntProperty("JMSXDeliveryCount")).thenReturn(4);
+        listener.getAllValues().get(0).onMessage(failing);
+        verify(first).handleMessage(failing, true, session);
+
+        assertEquals(2, consumerPool.getReceived(), "Received messages should be counted");
+        assertEquals(1, consumerPool.getFailed(), "Failed messages should be counted");
+        verify(created.get(0), never()).handleMessage(any(), anyBoolean(), any());
+    }
+}
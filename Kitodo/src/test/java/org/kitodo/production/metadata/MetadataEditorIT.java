@@ -12,6 +12,7 @@
 package org.kitodo.production.metadata;
 
 import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.kitodo.test.utils.ProcessTestUtils.METADATA_BASE_DIR;
@@ -20,6 +21,7 @@ import static org.kitodo.test.utils.ProcessTestUtils.META_XML;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -98,6 +100,36 @@ public class MetadataEditorIT {
         FileUtils.deleteQuietly(new File(METADATA_BASE_DIR + parentId + "/meta.xml.1"));
     }
 
+    @Test
+    public void shouldAddLinks() throws Exception {
+        int parentId = testProcessIds.get(MockDatabase.HIERARCHY_PARENT);
+        File metaXmlFile = new File(METADATA_BASE_DIR + parentId + META_XML);
+        List<String> metaXmlContentBefore = FileUtils.readLines(metaXmlFile, StandardCharsets.UTF_8);
+        int numberOfChildrenBefore = ServiceManager.getMetsService().loadWorkpiece(metaXmlFile.toURI())
+                .getLogicalStructure().getChildren().size();
+
+        try {
+            MetadataEditor.addLinks(processService.getById(parentId), "0", Arrays.asList(1001, 1002));
+            MetadataEditor.addLinks(processService.getById(parentId), "-1", Arrays.asList(1003, 1004));
+
+            List<LogicalDivision> children = ServiceManager.getMetsService().loadWorkpiece(metaXmlFile.toURI())
+                    .getLogicalStructure().getChildren();
+            assertEquals(numberOfChildrenBefore + 4, children.size(), "Wrong number of children after adding links");
+            assertEquals(processService.getProcessURI(1001), children.get(0).getLink().getUri(),
+                "First link was not inserted at the insertion position");
+            assertEquals(processService.getProcessURI(1002), children.get(1).getLink().getUri(),
+                "Second link was not inserted after the first one");
+            assertEquals(processService.getProcessURI(1003), children.get(children.size() - 2).getLink().getUri(),
+                "Links were not appended at negative insertion position");
+            assertEquals(processService.getProcessURI(1004), children.get(children.size() - 1).getLink().getUri(),
+                "Links appended at negative insertion position are not in order");
+        } finally {
+            FileUtils.writeLines(metaXmlFile, StandardCharsets.UTF_8.toString(), metaXmlContentBefore);
+            FileUtils.deleteQuietly(new File(METADATA_BASE_DIR + parentId + "/meta.xml.1"));
+            FileUtils.deleteQuietly(new File(METADATA_BASE_DIR + parentId + "/meta.xml.2"));
+        }
+    }
+
     @Test
     public void shouldAddMultipleStructuresWithoutMetadata() throws Exception {
         int testProcessId = MockDatabase.insertTestProcess(TEST_PROCESS_TITLE, 1, 1, 1);
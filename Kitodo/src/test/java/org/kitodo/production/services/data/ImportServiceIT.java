@@ -26,12 +26,14 @@ import com.xebialabs.restito.server.StubServer;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Method;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -41,6 +43,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -54,6 +59,7 @@ import org.kitodo.SecurityTestUtils;
 import org.kitodo.api.Metadata;
 import org.kitodo.api.MetadataEntry;
 import org.kitodo.api.dataeditor.rulesetmanagement.RulesetManagementInterface;
+import org.kitodo.api.dataformat.LogicalDivision;
 import org.kitodo.api.dataformat.Workpiece;
 import org.kitodo.api.schemaconverter.DataRecord;
 import org.kitodo.api.schemaconverter.ExemplarRecord;
@@ -69,6 +75,7 @@ import org.kitodo.data.database.beans.Ruleset;
 import org.kitodo.data.database.beans.Template;
 import org.kitodo.data.database.beans.UrlParameter;
 import org.kitodo.data.database.beans.User;
+import org.kitodo.data.database.enums.IndexAction;
 import org.kitodo.data.database.exceptions.DAOException;
 import org.kitodo.data.exceptions.DataException;
 import org.kitodo.exceptions.ImportException;
@@ -382,6 +389,54 @@ public class ImportServiceIT {
         }
     }
 
+    /**
+     * Tests that the links added to a parent process by several mass import
+     * workers at the same time are all kept.
+     *
+     * @throws Exception when preparing test environment fails
+     */
+    @Test
+    public void shouldLinkChildrenOfParallelImportsToParent() throws Exception {
+        int parentProcessId = MockDatabase.insertTestProcess("Parent process", PROJECT_ID, TEMPLATE_ID, RULESET_ID);
+        Process parentProcess = ServiceManager.getProcessService().getById(parentProcessId);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ProcessTestUtils.copyTestMetadataFile(parentProcessId, PARENT_PROCESS_TEST_FILE);
+            URI metadataFileUri = ServiceManager.getProcessService().getMetadataFileUri(parentProcess);
+            int linksBefore = ServiceManager.getMetsService().loadWorkpiece(metadataFileUri).getLogicalStructure()
+                    .getChildren().size();
+            int childrenBefore = parentProcess.getChildren().size();
+            Method linkToParent = ImportService.class.getDeclaredMethod("linkToParent", Process.class);
+            linkToParent.setAccessible(true);
+            List<Future<Object>> workers = new ArrayList<>();
+            for (int worker = 0; worker < 2; worker++) {
+                int firstChildId = 1000 + worker * 10;
+                workers.add(executor.submit(() -> {
+                    for (int childId = firstChildId; childId < firstChildId + 10; childId++) {
+                        Process childProcess = new Process();
+                        childProcess.setId(childId);
+                        childProcess.setParent(parentProcess);
+                        linkToParent.invoke(null, childProcess);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Object> worker : workers) {
+                worker.get();
+            }
+            Workpiece parentWorkpiece = ServiceManager.getMetsService().loadWorkpiece(metadataFileUri);
+            assertEquals(linksBefore + 20, parentWorkpiece.getLogicalStructure().getChildren().size(),
+                "Links added to the parent workpiece were lost");
+            assertEquals(childrenBefore + 20, parentProcess.getChildren().size(),
+                "Child processes added to the parent process were lost");
+        } finally {
+            executor.shutdown();
+            // the child processes were not saved
+            parentProcess.getChildren().clear();
+            ProcessTestUtils.removeTestProcess(parentProcessId);
+        }
+    }
+
     /**
      * Tests whether transforming external SRU MODS record to internal succeeds or not.
      *
@@ -568,7 +623,7 @@ public class ImportServiceIT {
     public void shouldImportEadCollection() throws Exception {
         User user = ServiceManager.getUserService().getById(1);
         Client client = ServiceManager.getClientService().getById(1);
-        Project eadProject = MockDatabase.insertProjectForEadImport(user, client);
+        Project eadProject = getProjectForEadImport(user, client);
         Template eadTemplate = eadProject.getTemplates().get(0);
         CreateProcessForm createProcessForm = new CreateProcessForm();
         createProcessForm.setProject(eadProject);
@@ -578,7 +633,7 @@ public class ImportServiceIT {
         createProcessForm.setCurrentImportConfiguration(eadProject.getDefaultImportConfiguration());
         createProcessForm.updateRulesetAndDocType(eadTemplate.getRuleset());
         File script = new File(ConfigCore.getParameter(ParameterCore.SCRIPT_CREATE_DIR_META));
-        List<Integer> allIds = ServiceManager.getProcessService().findAllIDs();
+        List<Process> allProcesses = ServiceManager.getProcessService().getAll();
         if (!SystemUtils.IS_OS_WINDOWS) {
             ExecutionPermission.setExecutePermission(script);
         }
@@ -597,13 +652,105 @@ public class ImportServiceIT {
         if (!SystemUtils.IS_OS_WINDOWS) {
             ExecutionPermission.setNoExecutePermission(script);
         }
-        List<Integer> allIdsWithEad = ServiceManager.getProcessService().findAllIDs();
+        List<Process> newProcesses = ServiceManager.getProcessService().getAll();
+        newProcesses.removeAll(allProcesses);
         // EAD test file contains one collection and 5 files, so the system should contain 6 new processes altogether
-        assertEquals(allIds.size() + 6, allIdsWithEad.size(),
+        assertEquals(6, newProcesses.size(),
                 "Database does not contain the correct number of processes after EAD import");
-        if (allIdsWithEad.removeAll(allIds)) {
-            for (int processId : allIdsWithEad) {
-                ProcessTestUtils.removeTestProcess(processId);
+        for (Process process : newProcesses) {
+            // removing a process removes its children as well
+            if (!newProcesses.contains(process.getParent())) {
+                ProcessTestUtils.removeTestProcess(process.getId());
+            }
+        }
+    }
+
+    private static Project getProjectForEadImport(User user, Client client) throws Exception {
+        // the EAD import tests share the project, whichever of them runs first inserts it
+        for (Project project : ServiceManager.getProjectService().getAll()) {
+            if ("EAD test project".equals(project.getTitle())) {
+                return project;
+            }
+        }
+        return MockDatabase.insertProjectForEadImport(user, client);
+    }
+
+    /**
+     * Test EAD import with the files saved, linked and indexed in several
+     * batches.
+     *
+     * @throws Exception when something goes wrong
+     */
+    @Test
+    public void shouldImportEadCollectionInBatches() throws Exception {
+        User user = ServiceManager.getUserService().getById(1);
+        Client client = ServiceManager.getClientService().getById(1);
+        Project eadProject = getProjectForEadImport(user, client);
+        Template eadTemplate = eadProject.getTemplates().get(0);
+        CreateProcessForm createProcessForm = new CreateProcessForm();
+        createProcessForm.setProject(eadProject);
+        createProcessForm.setTemplate(eadTemplate);
+        createProcessForm.setSelectedEadLevel(FILE);
+        createProcessForm.setSelectedParentEadLevel(COLLECTION);
+        createProcessForm.setCurrentImportConfiguration(eadProject.getDefaultImportConfiguration());
+        createProcessForm.updateRulesetAndDocType(eadTemplate.getRuleset());
+        File script = new File(ConfigCore.getParameter(ParameterCore.SCRIPT_CREATE_DIR_META));
+        List<Process> allProcesses = ServiceManager.getProcessService().getAll();
+        String batchSizeKey = ParameterCore.HIERARCHY_IMPORT_BATCH_SIZE.toString();
+        Object batchSize = ConfigCore.getConfig().getProperty(batchSizeKey);
+        ConfigCore.getConfig().setProperty(batchSizeKey, 2);
+        if (!SystemUtils.IS_OS_WINDOWS) {
+            ExecutionPermission.setExecutePermission(script);
+        }
+        try (InputStream inputStream = Thread.currentThread().getContextClassLoader()
+                .getResourceAsStream(EAD_COLLECTION_FILE)) {
+            createProcessForm.setXmlString(IOUtils.toString(Objects.requireNonNull(inputStream),
+                Charset.defaultCharset()));
+            ImportEadProcessesThread eadProcessesThread = new ImportEadProcessesThread(createProcessForm, user, client);
+            eadProcessesThread.start();
+            eadProcessesThread.join(60000);
+            assertFalse(eadProcessesThread.isAlive(), "Process should have been stopped");
+        } finally {
+            ConfigCore.getConfig().setProperty(batchSizeKey, batchSize);
+            if (!SystemUtils.IS_OS_WINDOWS) {
+                ExecutionPermission.setNoExecutePermission(script);
+            }
+        }
+        List<Process> newProcesses = ServiceManager.getProcessService().getAll();
+        newProcesses.removeAll(allProcesses);
+        try {
+            // EAD test file contains one collection and 5 files, saved in batches of 2, 2 and 1
+            assertEquals(6, newProcesses.size(),
+                "Database does not contain the correct number of processes after EAD import");
+            Process collection = null;
+            for (Process process : newProcesses) {
+                if (Objects.isNull(process.getParent())) {
+                    collection = process;
+                }
+            }
+            assertNotNull(collection, "Collection process was not created");
+            List<Process> files = collection.getChildren();
+            assertEquals(5, files.size(), "Files were not all assigned to the collection");
+            Workpiece workpiece = ServiceManager.getMetsService().loadWorkpiece(
+                ServiceManager.getProcessService().getMetadataFileUri(collection));
+            List<URI> links = new ArrayList<>();
+            for (LogicalDivision child : workpiece.getLogicalStructure().getChildren()) {
+                if (Objects.nonNull(child.getLink())) {
+                    links.add(child.getLink().getUri());
+                }
+            }
+            List<URI> expectedLinks = new ArrayList<>();
+            for (Process file : files) {
+                expectedLinks.add(ServiceManager.getProcessService().getProcessURI(file));
+                assertEquals(IndexAction.DONE, file.getIndexAction(), "File was not indexed");
+            }
+            assertEquals(expectedLinks, links, "Files were not linked to the collection in order");
+        } finally {
+            for (Process process : newProcesses) {
+                // removing a process removes its children as well
+                if (!newProcesses.contains(process.getParent())) {
+                    ProcessTestUtils.removeTestProcess(process.getId());
+                }
             }
         }
     }
@@ -50,6 +50,7 @@ import org.kitodo.data.database.beans.Process;
 import org.kitodo.data.database.beans.Project;
 import org.kitodo.data.database.beans.Task;
 import org.kitodo.data.database.beans.User;
+import org.kitodo.data.database.enums.IndexAction;
 import org.kitodo.data.database.enums.TaskStatus;
 import org.kitodo.data.database.exceptions.DAOException;
 import org.kitodo.data.elasticsearch.index.converter.ProcessConverter;
@@ -127,6 +128,34 @@ public class ProcessServiceIT {
         assertEquals(Long.valueOf(7), amount, "Processes were not counted correctly!");
     }
 
+    @Test
+    public void shouldSaveListAndIndex() throws Exception {
+        User user = ServiceManager.getUserService().getById(1);
+        Project project = ServiceManager.getProjectService().getById(1);
+        List<Process> processes = Arrays.asList(new Process(), new Process());
+        for (int i = 0; i < processes.size(); i++) {
+            processes.get(i).setProject(project);
+            processes.get(i).setTitle("Batch_process_" + (i + 1));
+        }
+
+        processService.saveListAndIndex(processes);
+        try {
+            for (Process process : processes) {
+                assertNotNull(process.getId(), "Process was not saved to database!");
+                assertEquals(IndexAction.DONE, processService.getById(process.getId()).getIndexAction(),
+                    "Process was not marked as indexed!");
+                await().untilAsserted(() -> {
+                    SecurityTestUtils.addUserDataToSecurityContext(user, 1);
+                    assertEquals(1, processService.findByTitle(process.getTitle(), true).size(), processNotFound);
+                });
+            }
+        } finally {
+            for (Process process : processes) {
+                processService.remove(process.getId());
+            }
+        }
+    }
+
     @Test
     public void shouldFindByInChoiceListShown() throws DataException, DAOException {
         List<Process> byInChoiceListShown = ServiceManager.getProcessService().getTemplateProcesses();
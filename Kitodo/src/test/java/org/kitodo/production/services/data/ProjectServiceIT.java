@@ -18,7 +18,10 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.opensearch.index.query.QueryBuilders.matchQuery;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -173,4 +176,12 @@ public class ProjectServiceIT {
         List<ProjectDTO> byQuery = projectService.findByQuery(projectsForCurrentUserQuery, true);
         assertEquals(2, byQuery.size(), "Wrong amount of projects found");
     }
+
+    @Test
+    public void shouldFindRelatedByIds() throws DataException {
+        Map<Integer, ProjectDTO> projects = projectService.findRelatedByIds(Arrays.asList(2, 1, 2, 0), true);
+        assertEquals(Arrays.asList(2, 1), new ArrayList<>(projects.keySet()), "Wrong projects found");
+        assertEquals(firstProject, projects.get(1).getTitle(), projectNotFound);
+        assertEquals(firstProject, projectService.findRelatedById(1, true).getTitle(), projectNotFound);
+    }
 }
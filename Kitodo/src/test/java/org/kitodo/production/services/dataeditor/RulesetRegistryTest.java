@@ -0,0 +1,49 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.dataeditor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kitodo.api.dataeditor.rulesetmanagement.RulesetManagementInterface;
+
+public class RulesetRegistryTest {
+
+    @Test
+    public void shouldShareRulesetUntilFileChanges(@TempDir Path tempDir) throws Exception {
+        RulesetRegistry registry = RulesetRegistry.getInstance();
+        File rulesetFile = Files.copy(Path.of("src/test/resources/rulesets/monograph.xml"),
+            tempDir.resolve("monograph.xml")).toFile();
+        long misses = registry.getMissCount();
+        long hits = registry.getHitCount();
+        long reloads = registry.getReloadCount();
+
+        RulesetManagementInterface first = registry.open(rulesetFile);
+        RulesetManagementInterface second = registry.open(rulesetFile);
+        assertSame(first, second, "Loaded ruleset was not shared");
+        assertEquals(misses + 1, registry.getMissCount(), "Number of misses is wrong");
+        assertEquals(hits + 1, registry.getHitCount(), "Number of hits is wrong");
+
+        assertTrue(rulesetFile.setLastModified(rulesetFile.lastModified() + 1000));
+        RulesetManagementInterface reloaded = registry.open(rulesetFile);
+        assertNotSame(first, reloaded, "Changed ruleset was not loaded again");
+        assertEquals(reloads + 1, registry.getReloadCount(), "Number of reloads is wrong");
+    }
+}
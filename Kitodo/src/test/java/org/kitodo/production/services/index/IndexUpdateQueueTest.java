@@ -0,0 +1,98 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kitodo.production.services.data.base.SearchService;
+
+public class IndexUpdateQueueTest {
+
+    @BeforeEach
+    @AfterEach
+    public void resetQueue() {
+        IndexUpdateQueue.reset();
+    }
+
+    @Test
+    public void shouldCoalesceRepeatedSaves() throws Exception {
+        SearchService<?, ?, ?> searchService = mock(SearchService.class);
+
+        IndexUpdateQueue.add(searchService, 1, false);
+        IndexUpdateQueue.add(searchService, 2, false);
+        IndexUpdateQueue.add(searchService, 1, true);
+        IndexUpdateQueue.add(searchService, 2, false);
+        assertEquals(2, IndexUpdateQueue.size(), "Repeatedly saved objects were not coalesced");
+        IndexUpdateQueue.flush();
+
+        Map<Integer, Boolean> expected = new LinkedHashMap<>();
+        expected.put(1, true);
+        expected.put(2, false);
+        verify(searchService).saveToIndex(expected);
+        assertEquals(0, IndexUpdateQueue.size(), "Objects were not removed from queue");
+    }
+
+    @Test
+    public void shouldContinueAfterFailedType() throws Exception {
+        SearchService<?, ?, ?> failingService = mock(SearchService.class);
+        SearchService<?, ?, ?> searchService = mock(SearchService.class);
+        doThrow(new IOException("index not available")).when(failingService).saveToIndex(Map.of(1, false));
+
+        IndexUpdateQueue.add(failingService, 1, false);
+        IndexUpdateQueue.add(searchService, 3, false);
+        IndexUpdateQueue.flush();
+
+        verify(searchService).saveToIndex(Map.of(3, false));
+        IndexUpdateQueue.flush();
+        verify(searchService, never()).saveToIndex(Map.of(1, false));
+    }
+
+    @Test
+    public void shouldAwaitRunningFlush() throws Exception {
+        SearchService<?, ?, ?> searchService = mock(SearchService.class);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            written.await();
+            return null;
+        }).when(searchService).saveToIndex(any());
+
+        IndexUpdateQueue.add(searchService, 1, false);
+        assertFalse(IndexUpdateQueue.awaitFlushed(10, TimeUnit.MILLISECONDS), "Pending object was not awaited");
+        Thread flushThread = new Thread(IndexUpdateQueue::flush);
+        flushThread.start();
+        writing.await();
+        assertEquals(0, IndexUpdateQueue.size(), "Object was not taken from queue");
+        assertFalse(IndexUpdateQueue.awaitFlushed(10, TimeUnit.MILLISECONDS), "Running flush was not awaited");
+        written.countDown();
+        assertTrue(IndexUpdateQueue.awaitFlushed(10, TimeUnit.SECONDS), "Finished flush was not noticed");
+        flushThread.join();
+    }
+}
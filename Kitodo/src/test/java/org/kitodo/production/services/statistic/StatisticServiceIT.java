@@ -0,0 +1,141 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.services.statistic;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kitodo.MockDatabase;
+import org.kitodo.SecurityTestUtils;
+import org.kitodo.data.database.beans.Process;
+import org.kitodo.data.database.beans.Task;
+import org.kitodo.data.database.beans.User;
+import org.kitodo.data.database.enums.TaskStatus;
+import org.kitodo.production.dto.ProcessDTO;
+import org.kitodo.production.services.ServiceManager;
+import org.kitodo.production.services.data.ProcessService;
+import org.opensearch.index.query.QueryBuilder;
+
+public class StatisticServiceIT {
+
+    private static final ProcessService processService = ServiceManager.getProcessService();
+    private static final String PARALLEL_PROCESS = "Parallel process";
+
+    private static QueryBuilder allProcesses;
+
+    @BeforeAll
+    public static void prepareDatabase() throws Exception {
+        MockDatabase.startNode();
+        MockDatabase.insertProcessesFull();
+        MockDatabase.setUpAwaitility();
+        insertProcessWithParallelTasks();
+        User userOne = ServiceManager.getUserService().getById(1);
+        SecurityTestUtils.addUserDataToSecurityContext(userOne, 1);
+        await().until(() -> {
+            SecurityTestUtils.addUserDataToSecurityContext(userOne, 1);
+            return !processService.findByTitle("First process").isEmpty()
+                    && !processService.findByTitle(PARALLEL_PROCESS).isEmpty();
+        });
+        allProcesses = processService.getQueryForFilter(true, true, "");
+    }
+
+    /**
+     * Adds a process whose first two tasks form parallel branches of the
+     * workflow, so they share their ordering.
+     */
+    private static void insertProcessWithParallelTasks() throws Exception {
+        Process process = MockDatabase.addProcess(PARALLEL_PROCESS, 1, 1);
+        addTask(process, "Scanning", 1, TaskStatus.DONE, LocalDate.of(2016, 1, 1), LocalDate.of(2016, 1, 11));
+        addTask(process, "Cataloguing", 1, TaskStatus.DONE, LocalDate.of(2016, 1, 5), LocalDate.of(2016, 1, 25));
+        addTask(process, "Quality control", 2, TaskStatus.DONE, LocalDate.of(2016, 1, 25),
+            LocalDate.of(2016, 1, 26));
+        processService.save(process, true);
+    }
+
+    private static void addTask(Process process, String title, int ordering, TaskStatus status, LocalDate begin,
+            LocalDate end) throws Exception {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setOrdering(ordering);
+        task.setProcessingStatus(status);
+        task.setProcessingBegin(Date.from(begin.atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        task.setProcessingEnd(Date.from(end.atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        task.setProcess(process);
+        process.getTasks().add(task);
+        ServiceManager.getTaskService().save(task, true);
+    }
+
+    @AfterAll
+    public static void cleanDatabase() throws Exception {
+        MockDatabase.stopNode();
+        MockDatabase.cleanDatabase();
+        SecurityTestUtils.cleanSecurityContext();
+    }
+
+    @Test
+    public void shouldCountProcessesByCurrentTask() throws Exception {
+        Map<String, Integer> expected = new LinkedHashMap<>();
+        for (ProcessDTO processDTO : processService.findByQuery(allProcesses, true)) {
+            Task currentTask = processService.getCurrentTask(processService.getById(processDTO.getId()));
+            if (Objects.nonNull(currentTask)) {
+                expected.merge(currentTask.getTitle(), 1, Integer::sum);
+            }
+        }
+        assertFalse(expected.isEmpty(), "Test data contains no current tasks!");
+        assertEquals(expected, new StatisticService(0).getProcessTaskStates(allProcesses),
+            "Processes were not counted by current task correctly!");
+    }
+
+    @Test
+    public void shouldSumDurationOfTasks() throws Exception {
+        Map<String, Map<String, Integer>> expected = new LinkedHashMap<>();
+        for (ProcessDTO processDTO : processService.findByQuery(allProcesses, true)) {
+            Process process = processService.getById(processDTO.getId());
+            for (Task task : process.getTasks()) {
+                expected.computeIfAbsent(process.getTitle(), title -> new LinkedHashMap<>()).put(task.getTitle(),
+                    Math.toIntExact(ServiceManager.getTaskService().getDurationInDays(task)));
+            }
+        }
+        assertFalse(expected.isEmpty(), "Test data contains no tasks!");
+        assertEquals(expected, new StatisticService(0).getDurationOfTasks(allProcesses),
+            "Durations of tasks were not summed correctly!");
+    }
+
+    @Test
+    public void shouldKeepDurationsOfParallelTasksApart() throws Exception {
+        Map<String, Integer> expected = new LinkedHashMap<>();
+        expected.put("Scanning", 10);
+        expected.put("Cataloguing", 20);
+        expected.put("Quality control", 1);
+        assertEquals(expected, new StatisticService(0).getDurationOfTasks(allProcesses).get(PARALLEL_PROCESS),
+            "Durations of parallel tasks were mixed up!");
+    }
+
+    @Test
+    public void shouldKeepStatisticsForTheSameQuery() throws Exception {
+        StatisticService statisticService = new StatisticService(60);
+        assertSame(statisticService.getProcessTaskStates(allProcesses),
+            statisticService.getProcessTaskStates(allProcesses), "Statistics were computed again!");
+    }
+}
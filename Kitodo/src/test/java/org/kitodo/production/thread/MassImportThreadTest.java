@@ -0,0 +1,234 @@
+/*
+ * (c) Kitodo. Key to digital objects e. V. <contact@kitodo.org>
+ *
+ * This file is part of the Kitodo project.
+ *
+ * It is licensed under GNU General Public License version 3 or later.
+ *
+ * For the full copyright and license information, please read the
+ * GPL3-License.txt file that was distributed with this source code.
+ */
+
+package org.kitodo.production.thread;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kitodo.api.dataformat.Workpiece;
+import org.kitodo.config.ConfigCore;
+import org.kitodo.config.enums.ParameterCore;
+import org.kitodo.data.database.beans.Client;
+import org.kitodo.data.database.beans.ImportConfiguration;
+import org.kitodo.data.database.beans.Process;
+import org.kitodo.data.database.beans.User;
+import org.kitodo.exceptions.ImportException;
+import org.kitodo.production.helper.TempProcess;
+import org.kitodo.production.services.data.ImportService;
+import org.mockito.stubbing.Answer;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class MassImportThreadTest {
+
+    private static final List<String> RECORD_IDS = Arrays.asList("1", "2", "3", "4");
+    private static final List<String> PARAMETERS = Arrays.asList(
+        ParameterCore.MASS_IMPORT_PARALLEL_RECORDS.toString(), ParameterCore.MASS_IMPORT_BATCH_SIZE.toString(),
+        ParameterCore.DIR_TEMP.toString());
+
+    @TempDir
+    File tempDirectory;
+
+    private final Map<String, Object> parameters = new HashMap<>();
+    private final List<List<String>> savedBatches = new CopyOnWriteArrayList<>();
+    private final Set<Thread> savingThreads = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    public void setParameters() {
+        for (String parameter : PARAMETERS) {
+            parameters.put(parameter, ConfigCore.getConfig().getProperty(parameter));
+        }
+        ConfigCore.getConfig().setProperty(PARAMETERS.get(0), 2);
+        ConfigCore.getConfig().setProperty(PARAMETERS.get(1), 10);
+        ConfigCore.getConfig().setProperty(PARAMETERS.get(2), tempDirectory.getAbsolutePath());
+    }
+
+    @AfterEach
+    public void resetParameters() {
+        for (String parameter : PARAMETERS) {
+            ConfigCore.getConfig().setProperty(parameter, parameters.get(parameter));
+        }
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void shouldImportRecordsInParallelWithAnImportServicePerWorker() throws Exception {
+        // both workers must import a record at the same time to pass the barrier
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        Map<ImportService, Set<Thread>> threadsByImportService = new ConcurrentHashMap<>();
+        MassImportThread massImportThread = createMassImportThread(invocation -> {
+            threadsByImportService.computeIfAbsent((ImportService) invocation.getMock(),
+                importService -> ConcurrentHashMap.newKeySet()).add(Thread.currentThread());
+            barrier.await(10, TimeUnit.SECONDS);
+            return createTempProcess(invocation.getArgument(0));
+        });
+
+        massImportThread.run();
+
+        assertNull(massImportThread.getException(), "Mass import failed");
+        assertEquals(RECORD_IDS, massImportThread.getSuccessfulImports(), "Records were not all imported");
+        assertEquals(Collections.emptyList(), massImportThread.getFailedImports(), "Records failed");
+        assertEquals(2, threadsByImportService.size(), "Workers did not use an import service each");
+        for (Set<Thread> threads : threadsByImportService.values()) {
+            assertEquals(1, threads.size(), "Import service was used by several workers");
+        }
+    }
+
+    @Test
+    public void shouldFinishRunningRecordsWhenInterrupted() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        MassImportThread massImportThread = createMassImportThread(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return createTempProcess(invocation.getArgument(0));
+        });
+        AtomicBoolean interruptedAfterRun = new AtomicBoolean();
+        Thread runner = new Thread(() -> {
+            massImportThread.run();
+            interruptedAfterRun.set(Thread.currentThread().isInterrupted());
+        });
+
+        runner.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS), "Workers did not start");
+        runner.interrupt();
+        release.countDown();
+        runner.join(10000);
+
+        assertEquals(RECORD_IDS.subList(0, 2), massImportThread.getSuccessfulImports(),
+            "Running records were not finished, or further records were started");
+        assertEquals(2, massImportThread.getNumberOfProcessedRecords(), "Further records were processed");
+        assertEquals(1, savedBatches.size(), "Finished records were not saved");
+        assertTrue(interruptedAfterRun.get(), "Interrupt was not restored");
+    }
+
+    @Test
+    public void shouldSaveCreatedProcessesInBatches() throws Exception {
+        ConfigCore.getConfig().setProperty(PARAMETERS.get(1), 3);
+        MassImportThread massImportThread = createMassImportThread(
+            invocation -> createTempProcess(invocation.getArgument(0)));
+
+        massImportThread.run();
+
+        assertEquals(RECORD_IDS, massImportThread.getSuccessfulImports(), "Records were not all imported");
+        assertEquals(Arrays.asList(3, 1), savedBatches.stream().map(List::size).collect(Collectors.toList()),
+            "Processes were not saved in batches");
+        assertEquals(Collections.singleton(Thread.currentThread()), savingThreads,
+            "Processes were not saved by the mass import thread");
+    }
+
+    @Test
+    public void shouldRejectDuplicateTitlesOfTheSameImport() throws Exception {
+        MassImportThread massImportThread = createMassImportThread(invocation -> {
+            String recordId = invocation.getArgument(0);
+            return createTempProcess("3".equals(recordId) ? "1" : recordId);
+        });
+
+        massImportThread.run();
+
+        assertEquals(Arrays.asList("1", "2", "4"), massImportThread.getSuccessfulImports(),
+            "Records with unique titles were not imported");
+        assertEquals(Collections.singletonList("3"), massImportThread.getFailedImports(),
+            "Record with duplicate title was imported");
+    }
+
+    @Test
+    public void shouldSkipImportedRecordsWhenStartedAgain() throws Exception {
+        MassImportThread firstImport = createMassImportThread(invocation -> {
+            if ("3".equals(invocation.getArgument(0))) {
+                throw new ImportException("Catalogue not available");
+            }
+            return createTempProcess(invocation.getArgument(0));
+        });
+        firstImport.run();
+        assertEquals(Collections.singletonList("3"), firstImport.getFailedImports(), "Record did not fail");
+        assertEquals(1, Objects.requireNonNull(tempDirectory.list()).length, "Status file was not written");
+
+        // a new mass import of the same records, as started after a restart of the server
+        List<String> createdRecords = new CopyOnWriteArrayList<>();
+        MassImportThread secondImport = createMassImportThread(invocation -> {
+            createdRecords.add(invocation.getArgument(0));
+            return createTempProcess(invocation.getArgument(0));
+        });
+        secondImport.run();
+
+        assertEquals(Collections.singletonList("3"), createdRecords, "Imported records were imported again");
+        assertEquals(RECORD_IDS, secondImport.getSuccessfulImports(), "Records were not all imported");
+        assertEquals(0, Objects.requireNonNull(tempDirectory.list()).length, "Status file was not deleted");
+    }
+
+    private MassImportThread createMassImportThread(Answer<Object> createProcess) throws Exception {
+        Map<String, Map<String, List<String>>> presetMetadata = new LinkedHashMap<>();
+        for (String recordId : RECORD_IDS) {
+            presetMetadata.put(recordId, Collections.emptyMap());
+        }
+        ImportConfiguration importConfiguration = new ImportConfiguration();
+        importConfiguration.setTitle("Mass import");
+        MassImportThread massImportThread = new MassImportThread(presetMetadata, 1, 1, importConfiguration,
+                new User(), new Client());
+        Field importService = MassImportThread.class.getDeclaredField("importService");
+        importService.setAccessible(true);
+        importService.set(massImportThread, ThreadLocal.withInitial(() -> {
+            ImportService mock = mock(ImportService.class);
+            try {
+                when(mock.createProcessFromRecord(anyString(), anyInt(), anyInt(), any(), any()))
+                        .thenAnswer(createProcess);
+                doAnswer(invocation -> {
+                    List<TempProcess> tempProcesses = invocation.getArgument(0);
+                    savedBatches.add(tempProcesses.stream().map(tempProcess -> tempProcess.getProcess().getTitle())
+                            .collect(Collectors.toList()));
+                    savingThreads.add(Thread.currentThread());
+                    return null;
+                }).when(mock).saveImportedProcesses(anyList());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return mock;
+        }));
+        return massImportThread;
+    }
+
+    private static TempProcess createTempProcess(String title) {
+        Process process = new Process();
+        process.setTitle(title);
+        return new TempProcess(process, new Workpiece());
+    }
+}
@@ -396,7 +396,7 @@ public class ProcessesPage extends Page<ProcessesPage> {
 
         await("Wait for search result excel file download").pollDelay(700, TimeUnit.MILLISECONDS)
                 .atMost(30, TimeUnit.SECONDS).ignoreExceptions()
-                .until(() -> isFileDownloaded.test(new File(Browser.DOWNLOAD_DIR + "search.xls")));
+                .until(() -> isFileDownloaded.test(new File(Browser.DOWNLOAD_DIR + "search.xlsx")));
     }
 
     public void downloadSearchResultAsPdf() {